@@ -0,0 +1,76 @@
+package de.wolkenfarmer.environment.logic;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The vectorized versions of the {@link BitOps bit operations}. <br>
+ * Every loop works on as many words per instruction as the preferred vector size of the CPU allows
+ * (e.g. 4 words with AVX2) and does the remaining words one by one.
+ * Since jdk.incubator.vector of JDK 17 has no lanewise popcount, the bits get counted within every lane
+ * with the usual shifts and masks (SWAR) and the lanes get summed up in the end. <br>
+ * This class only gets loaded by {@link BitOps} via reflection, because it requires the JVM to be started with
+ * "--add-modules jdk.incubator.vector". For the same reason, it lies in the optional source folder "src-vector",
+ * which has to be compiled with this option as well, while "src" compiles without it.
+ * @author Wolkenfarmer
+ */
+final class VectorBitOps implements BitOps.Kernels {
+	/** The preferred vector shape of the CPU.*/
+	private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+
+	@Override
+	public void xor(long[] a, long[] b, long[] out, int words) {
+		int i = 0;
+		for (int bound = SPECIES.loopBound(words); i < bound; i += SPECIES.length()) {
+			LongVector.fromArray(SPECIES, a, i).lanewise(VectorOperators.XOR, LongVector.fromArray(SPECIES, b, i)).intoArray(out, i);
+		}
+		for (; i < words; i++) {
+			out[i] = a[i] ^ b[i];
+		}
+	}
+
+
+	@Override
+	public int countDifferences(long[] a, long[] b, int words) {
+		int i = 0;
+		LongVector sum = LongVector.zero(SPECIES);
+		for (int bound = SPECIES.loopBound(words); i < bound; i += SPECIES.length()) {
+			sum = sum.add(bitCount(LongVector.fromArray(SPECIES, a, i).lanewise(VectorOperators.XOR, LongVector.fromArray(SPECIES, b, i))));
+		}
+		int diff = (int) sum.reduceLanes(VectorOperators.ADD);
+		for (; i < words; i++) {
+			diff += Long.bitCount(a[i] ^ b[i]);
+		}
+		return diff;
+	}
+
+
+	@Override
+	public void majority(long[] a, long[] b, long[] c, long[] out, int words) {
+		int i = 0;
+		for (int bound = SPECIES.loopBound(words); i < bound; i += SPECIES.length()) {
+			LongVector va = LongVector.fromArray(SPECIES, a, i);
+			LongVector vb = LongVector.fromArray(SPECIES, b, i);
+			LongVector vc = LongVector.fromArray(SPECIES, c, i);
+			va.and(vb).or(vc.and(va.or(vb))).intoArray(out, i);
+		}
+		for (; i < words; i++) {
+			out[i] = (a[i] & b[i]) | (c[i] & (a[i] | b[i]));
+		}
+	}
+
+
+	/**
+	 * Counts the set bits of every lane (SWAR).
+	 * @param v The lanes.
+	 * @return Returns the number of set bits of every lane.
+	 */
+	private static LongVector bitCount(LongVector v) {
+		v = v.sub(v.lanewise(VectorOperators.LSHR, 1).and(0x5555555555555555L));
+		v = v.and(0x3333333333333333L).add(v.lanewise(VectorOperators.LSHR, 2).and(0x3333333333333333L));
+		v = v.add(v.lanewise(VectorOperators.LSHR, 4)).and(0x0F0F0F0F0F0F0F0FL);
+		return v.mul(0x0101010101010101L).lanewise(VectorOperators.LSHR, 56);
+	}
+}
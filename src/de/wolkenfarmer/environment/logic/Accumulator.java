@@ -0,0 +1,259 @@
+package de.wolkenfarmer.environment.logic;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Streaming statistics of one metric of the communication experiment (e.g. the changed characters per trial). <br>
+ * Every trial's value gets {@link #add(double) added} and immediately folded into the statistics, so the memory doesn't
+ * depend on the number of trials. The mean and the variance get calculated with Welford's algorithm and the quantiles
+ * with a log-linear histogram (like HDR histograms): every power of two is divided into {@link #SUB_BUCKETS} equally wide buckets,
+ * so every quantile has a relative error of at most 1 / {@link #SUB_BUCKETS}. Integers below 2 * {@link #SUB_BUCKETS} are exact.
+ * Two accumulators (e.g. from different threads) can be {@link #merge(Accumulator) merged}.
+ * The whole state can be {@link #write(DataOutput) written} and {@link #read(DataInput) read} (e.g. by {@link ResultStore}),
+ * so that results of different sessions can be merged as well.
+ * @author Wolkenfarmer
+ * @see Result
+ */
+public class Accumulator {
+	/** The number of bits of the mantissa which select the sub-bucket within a power of two.*/
+	static final int SUB_BITS = 5;
+	/** The number of buckets per power of two.*/
+	static final int SUB_BUCKETS = 1 << SUB_BITS;
+	/** The smallest power of two with its own buckets. Smaller absolute values get counted in its first bucket.*/
+	static final int MIN_EXPONENT = -10;
+	/** The largest power of two with its own buckets. Larger absolute values get counted in its last bucket.*/
+	static final int MAX_EXPONENT = 50;
+	/** The number of buckets for each sign.*/
+	static final int BUCKETS = (MAX_EXPONENT - MIN_EXPONENT + 1) * SUB_BUCKETS;
+
+	/** The number of added values.*/
+	private long count;
+	/** The running mean of the added values.*/
+	private double mean;
+	/** The running sum of the squared differences from the mean (Welford's M2).*/
+	private double m2;
+	/** The smallest added value.*/
+	private double min = Double.POSITIVE_INFINITY;
+	/** The largest added value.*/
+	private double max = Double.NEGATIVE_INFINITY;
+	/** The histogram of the positive values.*/
+	private final long[] positive = new long[BUCKETS];
+	/** The histogram of the negative values (by their absolute value).*/
+	private final long[] negative = new long[BUCKETS];
+	/** The number of added zeros.*/
+	private long zeros;
+
+
+	/**
+	 * Adds the value of one trial.
+	 * @param v The value.
+	 */
+	public void add(double v) {
+		count++;
+		double delta = v - mean;
+		mean += delta / count;
+		m2 += delta * (v - mean);
+		if (v < min) min = v;
+		if (v > max) max = v;
+
+		if (v > 0) positive[bucket(v)]++;
+		else if (v < 0) negative[bucket(-v)]++;
+		else zeros++;
+	}
+
+
+	/**
+	 * Adds all values of the given accumulator to this one (Chan's parallel algorithm for the variance).
+	 * @param other The accumulator to be merged into this one. It doesn't get changed.
+	 */
+	public void merge(Accumulator other) {
+		if (other.count == 0) return;
+		long n = count + other.count;
+		double delta = other.mean - mean;
+		mean += delta * other.count / n;
+		m2 += other.m2 + delta * delta * count * other.count / n;
+		count = n;
+		if (other.min < min) min = other.min;
+		if (other.max > max) max = other.max;
+		for (int i = 0; i < BUCKETS; i++) {
+			positive[i] += other.positive[i];
+			negative[i] += other.negative[i];
+		}
+		zeros += other.zeros;
+	}
+
+
+	/**
+	 * Removes all added values.
+	 */
+	public void reset() {
+		count = 0;
+		mean = 0;
+		m2 = 0;
+		min = Double.POSITIVE_INFINITY;
+		max = Double.NEGATIVE_INFINITY;
+		Arrays.fill(positive, 0);
+		Arrays.fill(negative, 0);
+		zeros = 0;
+	}
+
+
+	/**
+	 * @return Returns an independent copy of this accumulator.
+	 */
+	public Accumulator copy() {
+		Accumulator c = new Accumulator();
+		c.merge(this);
+		return c;
+	}
+
+
+	/**
+	 * Writes the whole state of this accumulator. Only the used buckets of the histograms get written (index and count).
+	 * @param out The output to write into.
+	 * @throws IOException If the output couldn't be written.
+	 */
+	public void write(DataOutput out) throws IOException {
+		out.writeLong(count);
+		out.writeDouble(mean);
+		out.writeDouble(m2);
+		out.writeDouble(min);
+		out.writeDouble(max);
+		out.writeLong(zeros);
+		writeBuckets(out, positive);
+		writeBuckets(out, negative);
+	}
+
+
+	/**
+	 * Reads an accumulator which got written by {@link #write(DataOutput)}.
+	 * @param in The input to read from.
+	 * @return Returns the read accumulator.
+	 * @throws IOException If the input couldn't be read or isn't a valid accumulator.
+	 */
+	public static Accumulator read(DataInput in) throws IOException {
+		Accumulator a = new Accumulator();
+		a.count = in.readLong();
+		a.mean = in.readDouble();
+		a.m2 = in.readDouble();
+		a.min = in.readDouble();
+		a.max = in.readDouble();
+		a.zeros = in.readLong();
+		readBuckets(in, a.positive);
+		readBuckets(in, a.negative);
+		return a;
+	}
+
+
+	/**
+	 * Writes the number of used buckets followed by the index and the count of every used bucket.
+	 * @param out The output to write into.
+	 * @param buckets The histogram to be written.
+	 * @throws IOException If the output couldn't be written.
+	 */
+	private static void writeBuckets(DataOutput out, long[] buckets) throws IOException {
+		int used = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			if (buckets[i] != 0) used++;
+		}
+		out.writeShort(used);
+		for (int i = 0; i < BUCKETS; i++) {
+			if (buckets[i] != 0) {
+				out.writeShort(i);
+				out.writeLong(buckets[i]);
+			}
+		}
+	}
+
+
+	/**
+	 * Reads a histogram which got written by {@link #writeBuckets(DataOutput, long[])}.
+	 * @param in The input to read from.
+	 * @param buckets The histogram to be filled.
+	 * @throws IOException If the input couldn't be read or contains an invalid bucket.
+	 */
+	private static void readBuckets(DataInput in, long[] buckets) throws IOException {
+		int used = in.readUnsignedShort();
+		for (int k = 0; k < used; k++) {
+			int i = in.readUnsignedShort();
+			if (i >= BUCKETS) throw new IOException("Invalid histogram bucket " + i);
+			buckets[i] = in.readLong();
+		}
+	}
+
+
+	/**
+	 * Calculates the histogram bucket of a positive value from its exponent and the first {@link #SUB_BITS} bits of its mantissa.
+	 * @param v The positive value.
+	 * @return Returns the index of the bucket.
+	 */
+	static int bucket(double v) {
+		long bits = Double.doubleToRawLongBits(v);
+		int exponent = (int) (bits >>> 52) - 1023;
+		if (exponent < MIN_EXPONENT) return 0;
+		if (exponent > MAX_EXPONENT) return BUCKETS - 1;
+		int sub = (int) (bits >>> (52 - SUB_BITS)) & (SUB_BUCKETS - 1);
+		return (exponent - MIN_EXPONENT) * SUB_BUCKETS + sub;
+	}
+
+
+	/**
+	 * @param index The index of a bucket.
+	 * @return Returns the smallest (absolute) value of the bucket.
+	 */
+	static double lowerBound(int index) {
+		int exponent = index / SUB_BUCKETS + MIN_EXPONENT;
+		int sub = index % SUB_BUCKETS;
+		return Math.scalb(1.0 + (double) sub / SUB_BUCKETS, exponent);
+	}
+
+
+	/**
+	 * Estimates the given quantile from the histogram. <br>
+	 * Returns the lower bound of the bucket containing the requested rank, limited to {@link #getMin()} and {@link #getMax()}.
+	 * @param q The quantile between 0 and 1 (e.g. 0.99 for the 99th percentile).
+	 * @return Returns the estimated quantile or NaN if no value got added yet.
+	 */
+	public double getQuantile(double q) {
+		if (count == 0) return Double.NaN;
+		long rank = Math.max(1, (long) Math.ceil(q * count));
+		long seen = 0;
+		for (int i = BUCKETS - 1; i >= 0; i--) {
+			seen += negative[i];
+			if (seen >= rank) return clamp(-lowerBound(i));
+		}
+		seen += zeros;
+		if (seen >= rank) return clamp(0);
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += positive[i];
+			if (seen >= rank) return clamp(lowerBound(i));
+		}
+		return max;
+	}
+
+
+	/**
+	 * @param v The value to be limited.
+	 * @return Returns the value limited to {@link #min} and {@link #max}.
+	 */
+	private double clamp(double v) {
+		return Math.min(max, Math.max(min, v));
+	}
+
+
+	/** @return Returns the number of added values.*/
+	public long getCount() {return count;}
+	/** @return Returns the mean of the added values or NaN if there are none.*/
+	public double getMean() {return count == 0 ? Double.NaN : mean;}
+	/** @return Returns the sample variance of the added values or 0 if there are less than 2.*/
+	public double getVariance() {return count < 2 ? 0 : m2 / (count - 1);}
+	/** @return Returns the half width of the 95% confidence interval of the mean (normal approximation).*/
+	public double getConfidence95() {return count < 2 ? 0 : 1.96 * Math.sqrt(getVariance() / count);}
+	/** @return Returns the smallest added value or NaN if there are none.*/
+	public double getMin() {return count == 0 ? Double.NaN : min;}
+	/** @return Returns the largest added value or NaN if there are none.*/
+	public double getMax() {return count == 0 ? Double.NaN : max;}
+}
@@ -0,0 +1,128 @@
+package de.wolkenfarmer.environment.logic;
+
+/**
+ * Bit operations over whole buffers of packed bits (see {@link PackedBinary}),
+ * e.g. applying a noise mask, counting bit errors or majority voting. <br>
+ * Every operation exists as scalar version in this class and as vectorized version in VectorBitOps,
+ * which uses the Vector API of the JDK (jdk.incubator.vector) in order to work on multiple words per instruction.
+ * VectorBitOps lies in the optional source folder "src-vector", so that the source folder "src" compiles without the module.
+ * The vectorized versions only get used if {@link #vectorized} = true and VectorBitOps got compiled and can be loaded,
+ * which requires the JVM to be started with "--add-modules jdk.incubator.vector".
+ * Otherwise, this class falls back to the scalar versions automatically.
+ * @author Wolkenfarmer
+ */
+public class BitOps {
+	/** Defines whether the vectorized versions should be used if they are available.
+	 * Can be turned off in order to compare their throughput (see {@link Metrics}) with the scalar versions.
+	 * Currently this variable can only be set manually.*/
+	public static boolean vectorized = true;
+	/** The vectorized versions or null if the Vector API isn't available.*/
+	private static final Kernels vector = loadVector();
+
+
+	/**
+	 * Loads VectorBitOps via reflection, so that this class can still be compiled and loaded without it and jdk.incubator.vector.
+	 * @return Returns the vectorized versions or null if they can't be loaded.
+	 */
+	private static Kernels loadVector() {
+		try {
+			return (Kernels) Class.forName("de.wolkenfarmer.environment.logic.VectorBitOps").getDeclaredConstructor().newInstance();
+		} catch (ReflectiveOperationException | LinkageError e) {
+			Log.debug("Bit operations - the Vector API isn't available, so the scalar versions get used\n" + e);
+			return null;
+		}
+	}
+
+
+	/**
+	 * @return Returns whether the vectorized versions currently get used.
+	 */
+	public static boolean isVectorized() {return vectorized && vector != null;}
+
+
+	/**
+	 * Writes a XOR b into out, e.g. in order to apply a noise mask to a code. out can be a or b.
+	 * @param a The first words.
+	 * @param b The second words.
+	 * @param out The words to write into.
+	 * @param words The number of words.
+	 */
+	public static void xor(long[] a, long[] b, long[] out, int words) {
+		if (isVectorized()) {
+			vector.xor(a, b, out, words);
+			return;
+		}
+		for (int i = 0; i < words; i++) {
+			out[i] = a[i] ^ b[i];
+		}
+	}
+
+
+	/**
+	 * Counts the bits in which a and b differ (XOR and popcount), e.g. in order to count the bit errors.
+	 * @param a The first words.
+	 * @param b The second words.
+	 * @param words The number of words.
+	 * @return Returns the number of differing bits.
+	 */
+	public static int countDifferences(long[] a, long[] b, int words) {
+		if (isVectorized()) return vector.countDifferences(a, b, words);
+		int diff = 0;
+		for (int i = 0; i < words; i++) {
+			diff += Long.bitCount(a[i] ^ b[i]);
+		}
+		return diff;
+	}
+
+
+	/**
+	 * Writes the bitwise majority of a, b and c into out, e.g. in order to decode a threefold repetition. out can be a, b or c.
+	 * @param a The first words.
+	 * @param b The second words.
+	 * @param c The third words.
+	 * @param out The words to write into.
+	 * @param words The number of words.
+	 */
+	public static void majority(long[] a, long[] b, long[] c, long[] out, int words) {
+		if (isVectorized()) {
+			vector.majority(a, b, c, out, words);
+			return;
+		}
+		for (int i = 0; i < words; i++) {
+			out[i] = (a[i] & b[i]) | (c[i] & (a[i] | b[i]));
+		}
+	}
+
+
+	/**
+	 * Transposes a 64 x 64 bit matrix in place, so that afterwards bit j of word t is what bit t of word j was 
+	 * (bit 0 being the lowest bit). This turns 64 bit slices of {@link Run#batched batched trials} into one word per trial, 
+	 * whose bits can then be counted. It swaps blocks of 32, 16, ..., 1 bits, which needs 6 x 32 steps instead of 64 x 64. 
+	 * There is no vectorized version, since the steps depend on each other.
+	 * @param m The 64 words of the matrix.
+	 */
+	public static void transpose(long[] m) {
+		long mask = 0x00000000FFFFFFFFL;
+		for (int j = 32; j != 0; j >>>= 1, mask ^= mask << j) {
+			for (int k = 0; k < 64; k = ((k | j) + 1) & ~j) {
+				long t = ((m[k] >>> j) ^ m[k | j]) & mask;
+				m[k] ^= t << j;
+				m[k | j] ^= t;
+			}
+		}
+	}
+
+
+	/**
+	 * The operations of {@link BitOps}, which get implemented by VectorBitOps (source folder "src-vector").
+	 * @author Wolkenfarmer
+	 */
+	interface Kernels {
+		/** @see BitOps#xor(long[], long[], long[], int) */
+		void xor(long[] a, long[] b, long[] out, int words);
+		/** @see BitOps#countDifferences(long[], long[], int) */
+		int countDifferences(long[] a, long[] b, int words);
+		/** @see BitOps#majority(long[], long[], long[], long[], int) */
+		void majority(long[] a, long[] b, long[] c, long[] out, int words);
+	}
+}
@@ -0,0 +1,38 @@
+package de.wolkenfarmer.environment.logic;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder event for a conversion of {@link UniDataType} from one data type to another
+ * (see {@link UniDataType#converter(UniDataType.Format)}). Conversions which need intermediate steps contain one event per step. <br>
+ * The event only gets filled and committed if it's recorded, so that it has next to no overhead otherwise.
+ * @author Wolkenfarmer
+ * @see StageEvent
+ */
+@Name("de.wolkenfarmer.Conversion")
+@Label("Conversion")
+@Category({"Source-Channel-Coding-Environment", "Communication experiment"})
+@Description("A conversion of the universal data type")
+public class ConversionEvent extends Event {
+	/** The data type before the conversion.*/
+	@Label("From")
+	String from;
+	/** The requested data type.*/
+	@Label("To")
+	String to;
+	/** The name of the experiment element which requested the conversion or null if it's unknown.*/
+	@Label("Element")
+	String element;
+	/** The number of characters of the original message.*/
+	@Label("Message Length")
+	int messageLength;
+	/** The number of bits of the converted data.*/
+	@Label("Code Length")
+	@DataAmount(DataAmount.BITS)
+	long codeLength;
+}
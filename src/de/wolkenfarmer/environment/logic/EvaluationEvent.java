@@ -0,0 +1,31 @@
+package de.wolkenfarmer.environment.logic;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder event for the evaluation of a trial by {@link Result#addResult(String, String, String, String, String, String)}. <br>
+ * The event only gets filled and committed if it's recorded, so that it has next to no overhead otherwise.
+ * @author Wolkenfarmer
+ * @see StageEvent
+ */
+@Name("de.wolkenfarmer.Evaluation")
+@Label("Evaluation")
+@Category({"Source-Channel-Coding-Environment", "Communication experiment"})
+@Description("The evaluation of a trial of the communication experiment")
+public class EvaluationEvent extends Event {
+	/** The name of the used transcoder.*/
+	@Label("Element")
+	String element;
+	/** The number of characters of the original message.*/
+	@Label("Message Length")
+	int messageLength;
+	/** The number of bits of the encoded message.*/
+	@Label("Code Length")
+	@DataAmount(DataAmount.BITS)
+	long codeLength;
+}
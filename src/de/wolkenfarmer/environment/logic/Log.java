@@ -0,0 +1,158 @@
+package de.wolkenfarmer.environment.logic;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Prints the log messages of the environment into the console without slowing down the communication experiment. <br>
+ * Every message has a level ({@link #ERROR}, {@link #WARN}, {@link #INFO} or {@link #DEBUG}) and only gets printed
+ * if it's not above {@link #level}. The messages get put into a bounded queue ({@link #QUEUE_CAPACITY}) and are printed
+ * by a separate thread. If the queue is full, the message gets dropped instead of waiting and the number of dropped messages
+ * gets printed later on. <br>
+ * The message-versions of every trial get saved in a ring buffer with the last {@link #TRACE_CAPACITY} trials
+ * (see {@link #trial(String, String, String, String, String, String)}), but only every {@link #trialSampling}-th trial gets printed.
+ * The saved trials can be printed on demand with {@link #dumpTraces()} (F2 on the home page).
+ * @author Wolkenfarmer
+ */
+public class Log {
+	/** Level for errors, which e.g. made a trial fail.*/
+	public static final byte ERROR = 0;
+	/** Level for unexpected but handled situations.*/
+	public static final byte WARN = 1;
+	/** Level for general information like the results of the trials.*/
+	public static final byte INFO = 2;
+	/** Level for details which are only relevant for debugging.*/
+	public static final byte DEBUG = 3;
+	/** The prefixes of the levels.*/
+	private static final String[] PREFIX = {"[ERROR] ", "[WARN] ", "[INFO] ", "[DEBUG] "};
+	/** The highest level which gets printed. Currently this variable can only be set manually.*/
+	public static byte level = INFO;
+	/** Every how many trials one gets printed. The first trial of a run always gets printed.
+	 * 0 turns the printing of trials off. Currently this variable can only be set manually.*/
+	public static int trialSampling = 100;
+	/** The number of messages which can wait for the printing thread.*/
+	static final int QUEUE_CAPACITY = 4096;
+	/** The number of trials which get saved in the ring buffer for {@link #dumpTraces()}.*/
+	static final int TRACE_CAPACITY = 64;
+
+	/** The messages waiting for {@link #printer}.*/
+	private static final ArrayBlockingQueue<String> queue = new ArrayBlockingQueue<String>(QUEUE_CAPACITY);
+	/** The number of messages which got dropped since the last message got printed.*/
+	private static final AtomicLong dropped = new AtomicLong();
+	/** The thread which prints the messages of {@link #queue}.*/
+	private static final Thread printer;
+	/** The ring buffer with the message-versions of the last trials. Every slot gets reused.*/
+	static final String[][] traces = new String[TRACE_CAPACITY][6];
+	/** The number of trials which got added via {@link #trial(String, String, String, String, String, String)} in the current run.*/
+	static long trials;
+
+	static {
+		printer = new Thread(() -> {
+			try {
+				while (true) {
+					String message = queue.take();
+					long d = dropped.getAndSet(0);
+					if (d > 0) System.out.println(PREFIX[WARN] + d + " log messages got dropped");
+					System.out.println(message);
+				}
+			} catch (InterruptedException e) {
+				// the application gets closed
+			}
+		}, "Log");
+		printer.setDaemon(true);
+		printer.start();
+	}
+
+
+	/** @param message The message to be logged with the level {@link #ERROR}.*/
+	public static void error(String message) {log(ERROR, message);}
+	/** @param message The message to be logged with the level {@link #WARN}.*/
+	public static void warn(String message) {log(WARN, message);}
+	/** @param message The message to be logged with the level {@link #INFO}.*/
+	public static void info(String message) {log(INFO, message);}
+	/** @param message The message to be logged with the level {@link #DEBUG}.*/
+	public static void debug(String message) {log(DEBUG, message);}
+
+
+	/**
+	 * @param l The level.
+	 * @return Returns whether messages of the given level get printed.
+	 * Can be used to avoid building messages which wouldn't be printed anyways.
+	 */
+	public static boolean isEnabled(byte l) {return l <= level;}
+
+
+	/**
+	 * Hands the message to the printing thread if its level is enabled. If the queue is full, the message gets dropped.
+	 * @param l The level of the message.
+	 * @param message The message.
+	 */
+	public static void log(byte l, String message) {
+		if (l > level) return;
+		if (!queue.offer(PREFIX[l] + message)) dropped.incrementAndGet();
+	}
+
+
+	/**
+	 * Gets called by {@link Run} before the first trial of a run in order to print its first trial.
+	 */
+	public static synchronized void startRun() {
+		trials = 0;
+	}
+
+
+	/**
+	 * Saves the message-versions of a trial in the ring buffer and prints every {@link #trialSampling}-th trial
+	 * (if {@link #INFO} is enabled and the message is shorter than 100 characters).
+	 * Only the references get saved, so that the trial doesn't get slowed down.
+	 * @param originalMessage Refers to {@link Run#originalMessage}.
+	 * @param originalCode Refers to {@link Run#originalCode}.
+	 * @param changedCode Refers to {@link Run#changedCode}.
+	 * @param changedMessage Refers to {@link Run#changedMessage}.
+	 * @param correctedMessage Refers to {@link Run#correctedMessage}.
+	 * @param correctedFlaggedMessage Refers to {@link Run#correctedFlaggedMessage}.
+	 */
+	public static synchronized void trial(String originalMessage, String originalCode, String changedCode, String changedMessage,
+			String correctedMessage, String correctedFlaggedMessage) {
+		String[] trace = traces[(int) (trials % TRACE_CAPACITY)];
+		trace[0] = originalMessage;
+		trace[1] = originalCode;
+		trace[2] = changedCode;
+		trace[3] = changedMessage;
+		trace[4] = correctedMessage;
+		trace[5] = correctedFlaggedMessage;
+
+		if (trialSampling > 0 && trials % trialSampling == 0 && isEnabled(INFO)
+				&& originalMessage != null && originalMessage.length() < 100) {
+			info("Communication experiment result of trial " + (trials + 1) + ":" + formatTrace(trace));
+		}
+		trials++;
+	}
+
+
+	/**
+	 * Prints the saved trials of the ring buffer (oldest first) regardless of {@link #level}.
+	 */
+	public static synchronized void dumpTraces() {
+		long first = Math.max(0, trials - TRACE_CAPACITY);
+		if (!queue.offer("Last " + (trials - first) + " trials:")) dropped.incrementAndGet();
+		for (long t = first; t < trials; t++) {
+			String message = "Trial " + (t + 1) + ":" + formatTrace(traces[(int) (t % TRACE_CAPACITY)]);
+			if (!queue.offer(message)) dropped.incrementAndGet();
+		}
+	}
+
+
+	/**
+	 * @param trace The message-versions of a trial.
+	 * @return Returns the message-versions one per line.
+	 */
+	private static String formatTrace(String[] trace) {
+		return "\n  original message:              " + trace[0]
+				+ "\n  original encoded code:         " + trace[1]
+				+ "\n  changed encoded code:          " + trace[2]
+				+ "\n  changed message:               " + trace[3]
+				+ "\n  corrected message:             " + trace[4]
+				+ "\n  corrected and flagged message: " + trace[5];
+	}
+}
@@ -106,6 +106,7 @@ public class Main extends Application {
 	/** Input handling. This ArrayList gets filled / used in {@link #start(Stage)} by the scene listeners.*/
 	public static ArrayList<String> input = new ArrayList<String>();
 	/** Input handling. This event handler checks the {@link #input input} for (Esc) and closes the program when pressed.
+	 * On (F2), it prints the last trials into the console (see {@link Log#dumpTraces()}).
 	 * It is only used for the {@link Home home page}.
 	 * @see Home#reload(Group, boolean) */
 	public static EventHandler<KeyEvent> krlClose;
@@ -134,6 +135,15 @@ public class Main extends Application {
     /** Static reference to the input handler "User input" in order for {@link InputHandler}, 
      * {@link Run} and {@link Result} to have simple access to it.*/
     public static UserInput inputHandler_UserInput = new UserInput();
+    /** Static reference to the input handler "File input" in order for {@link InputHandler}, 
+     * {@link Run} and {@link Result} to have simple access to it.*/
+    public static FileInput inputHandler_FileInput = new FileInput();
+    /** Static reference to the input handler "Corpus input" in order for {@link InputHandler}, 
+     * {@link Run} and {@link Result} to have simple access to it.*/
+    public static CorpusInput inputHandler_CorpusInput = new CorpusInput();
+    /** Static reference to the input handler "Random message" in order for {@link InputHandler}, 
+     * {@link Run} and {@link Result} to have simple access to it.*/
+    public static RandomMessage inputHandler_RandomMessage = new RandomMessage();
     /** Static reference to the transcoder "DeselectInputHandler" in order for the {@link Transcoder transcoder page}, 
      * {@link Run} and {@link Result} to have simple access to it.*/
     public static DeselectTranscoder transcoder_Deselect = new DeselectTranscoder();
@@ -143,12 +153,42 @@ public class Main extends Application {
     /** Static reference to the transcoder "RepetitionCode" in order for the {@link Transcoder transcoder page}, 
      * {@link Run} and {@link Result} to have simple access to it.*/
     public static RepetitionCode transcoder_RepetitionCode = new RepetitionCode();
+    /** Static reference to the transcoder "ProductCode" in order for the {@link Transcoder transcoder page}, 
+     * {@link Run} and {@link Result} to have simple access to it.*/
+    public static ProductCode transcoder_ProductCode = new ProductCode();
+    /** Static reference to the transcoder "GolayTranscoder" in order for the {@link Transcoder transcoder page}, 
+     * {@link Run} and {@link Result} to have simple access to it.*/
+    public static GolayTranscoder transcoder_Golay = new GolayTranscoder();
+    /** Static reference to the transcoder "BchTranscoder" in order for the {@link Transcoder transcoder page}, 
+     * {@link Run} and {@link Result} to have simple access to it.*/
+    public static BchTranscoder transcoder_Bch = new BchTranscoder();
+    /** Static reference to the transcoder "PolarTranscoder" in order for the {@link Transcoder transcoder page}, 
+     * {@link Run} and {@link Result} to have simple access to it.*/
+    public static PolarTranscoder transcoder_Polar = new PolarTranscoder();
+    /** Static reference to the transcoder "TurboTranscoder" in order for the {@link Transcoder transcoder page}, 
+     * {@link Run} and {@link Result} to have simple access to it.*/
+    public static TurboTranscoder transcoder_Turbo = new TurboTranscoder();
+    /** Static reference to the transcoder "LtTranscoder" in order for the {@link Transcoder transcoder page}, 
+     * {@link Run} and {@link Result} to have simple access to it.*/
+    public static LtTranscoder transcoder_Lt = new LtTranscoder();
+    /** Static reference to the transcoder "ArqTranscoder" in order for the {@link Transcoder transcoder page}, 
+     * {@link Run} and {@link Result} to have simple access to it.*/
+    public static ArqTranscoder transcoder_Arq = new ArqTranscoder();
+    /** Static reference to the transcoder "Interleaver" in order for the {@link Transcoder transcoder page}, 
+     * {@link Run} and {@link Result} to have simple access to it.*/
+    public static Interleaver transcoder_Interleaver = new Interleaver();
+    /** Static reference to the transcoder "TranscoderChain" in order for the {@link Transcoder transcoder page}, 
+     * {@link Run} and {@link Result} to have simple access to it.*/
+    public static TranscoderChain transcoder_TranscoderChain = new TranscoderChain();
     /** Static reference to the noise source "DeselectInputHandler" in order for the {@link NoiseSource noise source page}, 
      * {@link Run} and {@link Result} to have simple access to it.*/
     public static DeselectNoiseSource noiSource_Deselect = new DeselectNoiseSource();
     /** Static reference to the noise source "Individual changes" in order for the {@link NoiseSource noise source page}, 
      * {@link Run} and {@link Result} to have simple access to it.*/
     public static IndividualChanges noiSource_IndividualChanges = new IndividualChanges();
+    /** Static reference to the noise source "Packet erasure" in order for the {@link NoiseSource noise source page}, 
+     * {@link Run} and {@link Result} to have simple access to it.*/
+    public static PacketErasure noiSource_PacketErasure = new PacketErasure();
     
     
     /** Saves the selected input handler for further use in the {@link de.wolkenfarmer.environment environment} 
@@ -239,6 +279,9 @@ public class Main extends Application {
                 if (input.contains("ESCAPE")) {
                 	Platform.exit();
                 }
+                if (input.contains("F2")) {
+                	Log.dumpTraces();
+                }
                 input.remove(e.getCode().toString());
             }
         });
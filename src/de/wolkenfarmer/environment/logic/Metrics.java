@@ -0,0 +1,189 @@
+package de.wolkenfarmer.environment.logic;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Always-on registry of the performance metrics of the communication experiment. <br>
+ * It contains named counters (e.g. the {@link #CONVERSIONS conversions} of {@link UniDataType}) and
+ * {@link Timer timers} (e.g. the nanoseconds of every stage of a trial), which keep a histogram via {@link Accumulator}.
+ * Every counter and timer gets registered once and then used via its reference, so that counting doesn't need a lookup.
+ * Counters can be incremented from any thread without locking ({@link LongAdder}). <br>
+ * All metrics get reset at the {@link #startRun() beginning of every run}, so that a {@link #snapshot() snapshot}
+ * after the run shows the trials and bits per second of this run, the time every stage took
+ * and the bytes which got allocated per trial (via the ThreadMXBean of the JVM).
+ * The snapshot gets shown on the {@link de.wolkenfarmer.environment.pages.Home home page} and printed into the console.
+ * @author Wolkenfarmer
+ */
+public class Metrics {
+	/** The registered counters by name.*/
+	private static final Map<String, LongAdder> counters = new LinkedHashMap<String, LongAdder>();
+	/** The registered timers by name.*/
+	private static final Map<String, Timer> timers = new LinkedHashMap<String, Timer>();
+
+	/** Counts the evaluated trials.*/
+	public static final LongAdder TRIALS = counter("Trials");
+	/** Counts the bits which got sent through the channel (the encoded messages).*/
+	public static final LongAdder CHANNEL_BITS = counter("Channel bits");
+	/** Counts the conversions of {@link UniDataType} (including intermediate steps).*/
+	public static final LongAdder CONVERSIONS = counter("Conversions");
+	/** Counts the bytes which got allocated by the threads running the trials.*/
+	public static final LongAdder ALLOCATED_BYTES = counter("Allocated bytes");
+
+	/** The ThreadMXBean of the JVM if it can measure the allocated bytes of a thread, otherwise null.*/
+	private static final com.sun.management.ThreadMXBean threads = threadMXBean();
+	/** The time the current run started in nanoseconds.*/
+	private static long runStart;
+	/** The time the last run took in nanoseconds.*/
+	private static long runNanos;
+
+
+	/**
+	 * Registers a counter or returns the one which is already registered under the given name.
+	 * @param name The name of the counter.
+	 * @return Returns the counter.
+	 */
+	public static synchronized LongAdder counter(String name) {
+		return counters.computeIfAbsent(name, n -> new LongAdder());
+	}
+
+
+	/**
+	 * Registers a timer or returns the one which is already registered under the given name.
+	 * @param name The name of the timer.
+	 * @return Returns the timer.
+	 */
+	public static synchronized Timer timer(String name) {
+		return timers.computeIfAbsent(name, Timer::new);
+	}
+
+
+	/**
+	 * Resets all metrics and starts the time of the run. Gets called by {@link Run} before the first trial.
+	 */
+	public static synchronized void startRun() {
+		for (LongAdder counter : counters.values()) {
+			counter.reset();
+		}
+		for (Timer timer : timers.values()) {
+			timer.reset();
+		}
+		runStart = System.nanoTime();
+	}
+
+
+	/**
+	 * Stops the time of the run. Gets called by {@link Run} after the last trial.
+	 */
+	public static void finishRun() {
+		runNanos = System.nanoTime() - runStart;
+	}
+
+
+	/**
+	 * @return Returns the bytes which got allocated by the current thread so far or 0 if the JVM can't measure it.
+	 */
+	public static long allocatedBytes() {
+		if (threads == null) return 0;
+		return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+
+	/**
+	 * @return Returns the ThreadMXBean of the JVM if it supports measuring the allocated bytes of threads, otherwise null.
+	 */
+	private static com.sun.management.ThreadMXBean threadMXBean() {
+		try {
+			if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+				com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+				if (bean.isThreadAllocatedMemorySupported()) {
+					bean.setThreadAllocatedMemoryEnabled(true);
+					return bean;
+				}
+			}
+		} catch (RuntimeException | LinkageError e) {
+			Log.warn("Metrics exception - the allocated bytes can't be measured\n" + e);
+		}
+		return null;
+	}
+
+
+	/**
+	 * Summarizes the last run: trials and channel bits per second, every counter per trial
+	 * (e.g. the conversions and allocated bytes) and the mean and 99th percentile of every timer in microseconds.
+	 * @return Returns the rows of the snapshot as description and value.
+	 */
+	public static synchronized String[][] snapshot() {
+		double seconds = runNanos / 1e9;
+		long trials = Math.max(1, TRIALS.sum());
+		String[][] rows = new String[counters.size() + timers.size() + 2][];
+		int r = 0;
+
+		rows[r++] = new String[] {"Run time", String.format("%.3f s", seconds)};
+		rows[r++] = new String[] {"Throughput", String.format("%.0f trials/s, %.0f bits/s through the channel",
+				TRIALS.sum() / seconds, CHANNEL_BITS.sum() / seconds)};
+		for (Map.Entry<String, LongAdder> counter : counters.entrySet()) {
+			long sum = counter.getValue().sum();
+			rows[r++] = new String[] {counter.getKey(), String.format("%d (%.1f per trial)", sum, (double) sum / trials)};
+		}
+		for (Map.Entry<String, Timer> timer : timers.entrySet()) {
+			rows[r++] = new String[] {timer.getKey() + " time", timer.getValue().toString()};
+		}
+		return rows;
+	}
+
+
+	/**
+	 * Prints the {@link #snapshot()} into the console.
+	 */
+	public static void log() {
+		StringBuilder sb = new StringBuilder("Metrics of the last run:");
+		for (String[] row : snapshot()) {
+			sb.append("\n  " + row[0] + ": " + row[1]);
+		}
+		Log.info(sb.toString());
+	}
+
+
+	/**
+	 * Measures durations in nanoseconds and keeps their statistics in an {@link Accumulator}.
+	 * @author Wolkenfarmer
+	 */
+	public static class Timer {
+		/** The name of the timer.*/
+		private final String name;
+		/** The measured durations in nanoseconds.*/
+		private final Accumulator nanos = new Accumulator();
+
+		/** @param name The name of the timer.*/
+		private Timer(String name) {
+			this.name = name;
+		}
+
+		/** @return Returns the name of the timer.*/
+		public String getName() {return name;}
+
+		/**
+		 * Adds a measured duration.
+		 * @param duration The duration in nanoseconds.
+		 */
+		public synchronized void record(long duration) {
+			nanos.add(duration);
+		}
+
+		/** Removes all measured durations.*/
+		synchronized void reset() {
+			nanos.reset();
+		}
+
+		/** @return Returns the number of measurements, the mean and the 99th percentile in microseconds.*/
+		@Override
+		public synchronized String toString() {
+			if (nanos.getCount() == 0) return "-";
+			return String.format("%d x %.2f us (p99 %.2f us, max %.2f us)", nanos.getCount(), nanos.getMean() / 1000,
+					nanos.getQuantile(0.99) / 1000, nanos.getMax() / 1000);
+		}
+	}
+}
@@ -0,0 +1,237 @@
+package de.wolkenfarmer.environment.logic;
+
+/**
+ * Packed binary data type for {@link UniDataType}. <br>
+ * Instead of saving every bit as a character (like in "String(binary)"), the bits get packed into a long[]
+ * with 64 bits per element. The first bit of the data is the most significant bit of the first element,
+ * which is why every element reads like a 64 bit long section of the String(binary) without the '-'. <br>
+ * The division into units (e.g. bytes in UTF8 or the 9 bit long units of the
+ * {@link de.wolkenfarmer.experiment_elements.transcoder.ParityCheck parity check}) gets saved in {@link #unitLength}.
+ * Therefore, all units have to be equally long.
+ * @author Wolkenfarmer
+ * @see UniDataType#getPackedBinary()
+ */
+public class PackedBinary {
+	/** The packed bits. The first bit is the most significant bit of words[0].*/
+	private long[] words;
+	/** The number of used bits in {@link #words}.*/
+	private int length;
+	/** The length of every unit in bits. Example: 8 for UTF8 or 9 for a byte with an attached parity bit.*/
+	private int unitLength;
+
+
+	/**
+	 * Creates an empty (all bits 0) packed binary.
+	 * @param length The number of bits.
+	 * @param unitLength The length of each unit in bits.
+	 */
+	public PackedBinary(int length, int unitLength) {
+		this.words = new long[(length + 63) >>> 6];
+		this.length = length;
+		this.unitLength = unitLength;
+	}
+
+	/**
+	 * Creates a packed binary around the given words without copying them.
+	 * @param words The packed bits (see {@link #words}).
+	 * @param length The number of used bits.
+	 * @param unitLength The length of each unit in bits.
+	 */
+	public PackedBinary(long[] words, int length, int unitLength) {
+		this.words = words;
+		this.length = length;
+		this.unitLength = unitLength;
+	}
+
+
+	/**
+	 * Packs the given bytes as 8 bit units.
+	 * @param bytes The bytes to be packed.
+	 * @param offset The index of the first byte.
+	 * @param count The number of bytes.
+	 * @return Returns the packed bytes.
+	 */
+	public static PackedBinary fromBytes(byte[] bytes, int offset, int count) {
+		PackedBinary p = new PackedBinary(count * 8, 8);
+		p.setBytes(bytes, offset, count);
+		return p;
+	}
+
+	/**
+	 * Overwrites this packed binary with the given bytes as 8 bit units.
+	 * The words only get reallocated if they are too short, which makes this method usable for reused buffers.
+	 * @param bytes The bytes to be packed.
+	 * @param offset The index of the first byte.
+	 * @param count The number of bytes.
+	 */
+	public void setBytes(byte[] bytes, int offset, int count) {
+		ensureCapacity(count * 8);
+		length = count * 8;
+		unitLength = 8;
+		int i = 0;
+		int w = 0;
+		for (; i + 8 <= count; i += 8) {
+			long v = 0;
+			for (int k = 0; k < 8; k++) {
+				v = (v << 8) | (bytes[offset + i + k] & 0xFF);
+			}
+			words[w++] = v;
+		}
+		if (i < count) {
+			long v = 0;
+			int k = 0;
+			for (; i < count; i++, k++) {
+				v = (v << 8) | (bytes[offset + i] & 0xFF);
+			}
+			words[w] = v << (64 - k * 8);
+		}
+	}
+
+	/**
+	 * Unpacks the data into bytes. Only makes sense for a {@link #unitLength} of 8 but works with every length
+	 * (the last byte gets filled up with 0s).
+	 * @return Returns the bytes.
+	 */
+	public byte[] toBytes() {
+		byte[] bytes = new byte[(length + 7) >>> 3];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = (byte) (words[i >>> 3] >>> (56 - ((i & 7) << 3)));
+		}
+		return bytes;
+	}
+
+
+	/**
+	 * Makes sure that {@link #words} can hold at least the given number of bits. Already set bits get kept.
+	 * @param bits The minimum number of bits.
+	 */
+	public void ensureCapacity(int bits) {
+		int needed = (bits + 63) >>> 6;
+		if (words.length < needed) {
+			long[] newWords = new long[needed];
+			System.arraycopy(words, 0, newWords, 0, words.length);
+			words = newWords;
+		}
+	}
+
+
+	/**
+	 * @param i The index of the bit.
+	 * @return Returns the bit at the given index.
+	 */
+	public boolean get(int i) {
+		return (words[i >>> 6] & (1L << (63 - (i & 63)))) != 0;
+	}
+
+	/**
+	 * @param i The index of the bit.
+	 * @param v The new value of the bit.
+	 */
+	public void set(int i, boolean v) {
+		if (v) words[i >>> 6] |= 1L << (63 - (i & 63));
+		else words[i >>> 6] &= ~(1L << (63 - (i & 63)));
+	}
+
+	/**
+	 * Switches the bit at the given index.
+	 * @param i The index of the bit.
+	 */
+	public void flip(int i) {
+		words[i >>> 6] ^= 1L << (63 - (i & 63));
+	}
+
+	/**
+	 * Reads up to 64 consecutive bits. The first bit will be the most significant one of the result,
+	 * e.g. a unit "011000011" will be returned as 0b011000011.
+	 * @param from The index of the first bit.
+	 * @param count The number of bits (1 - 64).
+	 * @return Returns the bits right-aligned.
+	 */
+	public long getBits(int from, int count) {
+		int w = from >>> 6;
+		int off = from & 63;
+		long v = words[w] << off;
+		if (off != 0 && off + count > 64) v |= words[w + 1] >>> (64 - off);
+		return v >>> (64 - count);
+	}
+
+	/**
+	 * Writes up to 64 consecutive bits. The counterpart of {@link #getBits(int, int)}.
+	 * @param from The index of the first bit.
+	 * @param count The number of bits (1 - 64).
+	 * @param bits The bits right-aligned.
+	 */
+	public void setBits(int from, int count, long bits) {
+		int w = from >>> 6;
+		int off = from & 63;
+		long aligned = bits << (64 - count);
+		long mask = -1L << (64 - count);
+		words[w] = (words[w] & ~(mask >>> off)) | (aligned >>> off);
+		if (off != 0 && off + count > 64) {
+			words[w + 1] = (words[w + 1] & ~(mask << (64 - off))) | (aligned << (64 - off));
+		}
+	}
+
+
+	/**
+	 * Counts the bits in which this and the given packed binary differ (XOR and popcount over the words, see {@link BitOps}).
+	 * Bits after the end of the shorter one get counted as different.
+	 * @param other The packed binary to compare against.
+	 * @return Returns the number of differing bits.
+	 */
+	public int countDifferences(PackedBinary other) {
+		int common = Math.min(length, other.length);
+		int full = common >>> 6;
+		int diff = BitOps.countDifferences(words, other.words, full);
+		int rest = common & 63;
+		if (rest != 0) {
+			diff += Long.bitCount((words[full] ^ other.words[full]) & (-1L << (64 - rest)));
+		}
+		return diff + Math.abs(length - other.length);
+	}
+
+
+	/**
+	 * Writes the bits as '0' / '1' and puts a '-' after every unit (the format "String(binary)" of {@link UniDataType}).
+	 * @return Returns the bits as String(binary).
+	 */
+	public String toBinaryString() {
+		StringBuilder sb = new StringBuilder(length + getUnits() + 1);
+		for (int i = 0; i < length; i++) {
+			sb.append(get(i) ? '1' : '0');
+			if ((i + 1) % unitLength == 0) sb.append('-');
+		}
+		return sb.toString();
+	}
+
+
+	/** @return Returns a deep copy.*/
+	public PackedBinary copy() {
+		return new PackedBinary(words.clone(), length, unitLength);
+	}
+
+	/**
+	 * Overwrites this packed binary with the content of the given one.
+	 * The words only get reallocated if they are too short.
+	 * @param other The packed binary to be copied.
+	 */
+	public void copyFrom(PackedBinary other) {
+		ensureCapacity(other.length);
+		System.arraycopy(other.words, 0, words, 0, (other.length + 63) >>> 6);
+		length = other.length;
+		unitLength = other.unitLength;
+	}
+
+
+	/** @return Returns {@link #words}. Changes to the array directly change the data.*/
+	public long[] getWords() {return words;}
+	/** @return Returns {@link #length}.*/
+	public int getLength() {return length;}
+	/** @return Returns {@link #unitLength}.*/
+	public int getUnitLength() {return unitLength;}
+	/** @return Returns the number of units.*/
+	public int getUnits() {return unitLength == 0 ? 0 : length / unitLength;}
+	/** Sets {@link #unitLength} to v.
+	 * @param v New value for {@link #unitLength}.*/
+	public void setUnitLength(int v) {unitLength = v;}
+}
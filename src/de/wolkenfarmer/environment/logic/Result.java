@@ -1,5 +1,12 @@
 package de.wolkenfarmer.environment.logic;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 
@@ -10,6 +17,11 @@ import javafx.collections.ObservableList;
  * got added, {@link #updateResult()} gets called, which calculates the average of each added run, 
  * summarizes the final results in a String[], and lastly updates 
  * {@link de.wolkenfarmer.environment.pages.Home#tvResTable the results-table on the home page}.
+ * Every metric is saved as an {@link Accumulator}, which keeps its mean, variance and quantiles over all trials in constant memory.
+ * Besides the character-based metrics, the bit error rates get counted directly on the bits via XOR and popcount 
+ * ({@link PackedBinary#countDifferences(PackedBinary)}), which doesn't need any alignment of the message-versions.
+ * The last result can be {@link #saveLastResult() saved} via {@link ResultStore}, 
+ * the saved ones {@link #updateHistory() browsed} and {@link #showStoredResult(int, boolean) shown or merged}.
  * This class gets only called by {@link Run}.
  * @author Wolkenfarmer
  */
@@ -24,37 +36,133 @@ public class Result {
 	 * for the last run of the communication experiment.*/
 	public static String noiseSource;
 	
+	/** The names of the metrics in the order of {@link #getMetrics()}. They identify the metrics in the files of {@link ResultStore}.*/
+	public static final String[] METRIC_NAMES = {"changes", "changedChars", "correctedChars", "mistakenlyCorrectedChars", 
+			"flaggedChars", "mistakenlyFlaggedChars", "information", "informationWithoutCoding", "informationWithCodingCo", 
+			"informationWithCodingCf", "codeBits", "codeBitErrors", "messageBits", "messageBitErrors", "frameErrors", 
+			"undetectedFrameErrors", "symbolsNeeded", "decodeFailures", "goodput", "retransmissionsPerFrame", "deliveryLatency"};
+	/** The labels of the first ten metrics of {@link #METRIC_NAMES} in the result table. The bit-level metrics get shown as rates.*/
+	private static final String[] LABELS = {"Changes in code", "Changed characters", "Corrected characters", 
+			"Mistakenly corrected characters", "Flagged characters", "Mistakenly flagged characters", "Information original", 
+			"Inf. result without coding", "Inf. result with coding (corrected)", "Inf. result with coding (corrected & flagged)"};
+	/** The index of {@link #codeBits} in {@link #METRIC_NAMES}.*/
+	static final int CODE_BITS = 10;
+	/** The index of {@link #codeBitErrors} in {@link #METRIC_NAMES}.*/
+	static final int CODE_BIT_ERRORS = 11;
+	/** The index of {@link #messageBits} in {@link #METRIC_NAMES}.*/
+	static final int MESSAGE_BITS = 12;
+	/** The index of {@link #messageBitErrors} in {@link #METRIC_NAMES}.*/
+	static final int MESSAGE_BIT_ERRORS = 13;
+	/** The index of {@link #frameErrors} in {@link #METRIC_NAMES}.*/
+	static final int FRAME_ERRORS = 14;
+	/** The index of {@link #undetectedFrameErrors} in {@link #METRIC_NAMES}.*/
+	static final int UNDETECTED_FRAME_ERRORS = 15;
+	/** The index of {@link #symbolsNeeded} in {@link #METRIC_NAMES}.*/
+	static final int SYMBOLS_NEEDED = 16;
+	/** The index of {@link #decodeFailures} in {@link #METRIC_NAMES}.*/
+	static final int DECODE_FAILURES = 17;
+	/** The index of {@link #goodput} in {@link #METRIC_NAMES}.*/
+	static final int GOODPUT = 18;
+	/** The index of {@link #retransmissionsPerFrame} in {@link #METRIC_NAMES}.*/
+	static final int RETRANSMISSIONS_PER_FRAME = 19;
+	/** The index of {@link #deliveryLatency} in {@link #METRIC_NAMES}.*/
+	static final int DELIVERY_LATENCY = 20;
+	/** The number of saved results which get shown by {@link #updateHistory()}. Currently this variable can only be set manually.*/
+	public static int historyLength = 100;
+	
 	/** Saves the number of changes in the encoded version of the message made by the 
 	 * {@link de.wolkenfarmer.experiment_elements.noise_sources noise source} by comparing
 	 * {@link Run#originalCode} and {@link Run#changedCode}.*/
-	private static double changes;
+	private static Accumulator changes = new Accumulator();
 	/** Saves the number of changed characters in the {@link Run#changedMessage changed message} in comparison to the 
 	 * {@link Run#originalMessage original message}.*/
-	private static double changedChars;
+	static Accumulator changedChars = new Accumulator();
 	/** Saves the number of corrected characters in the {@link Run#correctedMessage corrected message} in comparison to the 
 	 * {@link Run#originalMessage original message}.*/
-	private static double correctedChars;
+	private static Accumulator correctedChars = new Accumulator();
 	/** Saves the number of mistakenly corrected characters in the {@link Run#correctedMessage corrected message} in comparison to the 
 	 * {@link Run#originalMessage original message}.*/
-	private static double mistakenlyCorrectedChars;
+	private static Accumulator mistakenlyCorrectedChars = new Accumulator();
 	/** Saves the number of flagged characters in the {@link Run#correctedFlaggedMessage corrected+flagged message} in comparison to the 
 	 * {@link Run#originalMessage original message}.*/
-	private static double flaggedChars;
+	static Accumulator flaggedChars = new Accumulator();
 	/** Saves the number of mistakenly flagged characters in the {@link Run#correctedFlaggedMessage corrected+flagged message} 
 	 * in comparison to the {@link Run#originalMessage original message}.*/
-	private static double mistakenlyFlaggedChars;
+	static Accumulator mistakenlyFlaggedChars = new Accumulator();
 	/** Saves the information content of the {@link Run#originalMessage original message}, which is equivalent to its length. 
 	 * @see #addResult(String, String, String, String, String, String) addResult's Note 2 for further information on the term "information"*/
-	private static int information;
+	private static Accumulator information = new Accumulator();
 	/** Saves the information content of the {@link Run#changedMessage changed message}.
 	 * @see #addResult(String, String, String, String, String, String) addResult's Note 2 for further information on the term "information"*/
-	private static double informationWithoutCoding;
+	private static Accumulator informationWithoutCoding = new Accumulator();
 	/** Saves the information content of the {@link Run#correctedMessage corrected message}.
 	 * @see #addResult(String, String, String, String, String, String) addResult's Note 2 for further information on the term "information"*/
-	private static double informationWithCodingCo;
+	private static Accumulator informationWithCodingCo = new Accumulator();
 	/** Saves the information content of the {@link Run#correctedFlaggedMessage corrected+flagged message}.
 	 * @see #addResult(String, String, String, String, String, String) addResult's Note 2 for further information on the term "information"*/
-	private static double informationWithCodingCf;
+	private static Accumulator informationWithCodingCf = new Accumulator();
+	/** Saves the number of bits of the encoded message ({@link Run#originalCode}).*/
+	static Accumulator codeBits = new Accumulator();
+	/** Saves the number of bits which differ between {@link Run#originalCode} and {@link Run#changedCode}.
+	 * Divided by {@link #codeBits}, this is the raw bit error rate of the channel.*/
+	static Accumulator codeBitErrors = new Accumulator();
+	/** Saves the number of bits of the {@link Run#originalMessage original message} in UTF8.*/
+	static Accumulator messageBits = new Accumulator();
+	/** Saves the number of bits which differ between the {@link Run#originalMessage original message} and the 
+	 * {@link Run#correctedMessage corrected message} in UTF8. Divided by {@link #messageBits}, 
+	 * this is the bit error rate after decoding.*/
+	static Accumulator messageBitErrors = new Accumulator();
+	/** Saves for every trial whether the {@link Run#correctedMessage corrected message} still has a wrong bit (1) or not (0). 
+	 * Its mean is the frame error rate.*/
+	static Accumulator frameErrors = new Accumulator();
+	/** Saves for every trial whether the {@link Run#correctedMessage corrected message} still has a wrong bit 
+	 * although nothing got flagged in the {@link Run#correctedFlaggedMessage corrected+flagged message} (1) or not (0). 
+	 * Its mean is the undetected frame error rate.*/
+	static Accumulator undetectedFrameErrors = new Accumulator();
+	/** Saves the number of received code symbols a rateless transcoder needed to recover the message ({@link Run#symbolsNeeded}). 
+	 * Only the trials in which the transcoder reported it count, so that it stays empty for all other transcoders.
+	 * Compared to the number of message symbols, it shows the overhead the code needs. 
+	 * Since it only counts the recovered messages, it has to be read together with {@link #decodeFailures}.*/
+	private static Accumulator symbolsNeeded = new Accumulator();
+	/** Saves the number of blocks a rateless transcoder couldn't recover ({@link Run#decodeFailures}) per trial. 
+	 * Like {@link #symbolsNeeded}, it stays empty for all other transcoders. With one block per message, its mean is the rate 
+	 * of the messages which couldn't be decoded.*/
+	private static Accumulator decodeFailures = new Accumulator();
+	/** Saves the goodput of a retransmitting transcoder ({@link Run#arqGoodput}) in kbit/s per trial. 
+	 * Like {@link #retransmissionsPerFrame} and {@link #deliveryLatency}, it stays empty for all other transcoders.*/
+	private static Accumulator goodput = new Accumulator();
+	/** Saves the number of retransmissions ({@link Run#arqRetransmissions}) divided by the number of frames ({@link Run#arqFrames}) 
+	 * per trial.*/
+	private static Accumulator retransmissionsPerFrame = new Accumulator();
+	/** Saves the simulated delivery latency of every frame ({@link Run#arqLatencies}) in ms, 
+	 * so that its quantiles are the latency percentiles of the frames of all trials.*/
+	private static Accumulator deliveryLatency = new Accumulator();
+	/** The reused packed bits of the original message for {@link #addResult(String, String, String, String, String, String)}.
+	 * Gets set by {@link #packOriginal(String)}.*/
+	private static PackedBinary originalBits = new PackedBinary(0, 8);
+	/** The original message which is packed in {@link #originalBits}.*/
+	private static String packedMessage;
+	/** The reused packed bits of the corrected message for {@link #addResult(String, String, String, String, String, String)}.*/
+	private static PackedBinary correctedBits = new PackedBinary(0, 8);
+	/** The reused packed bits of the changed message for {@link #markChangedUnits(String, String)}.*/
+	private static PackedBinary changedBits = new PackedBinary(0, 8);
+	/** The reused changed units of the original message (one bit per unit), which {@link #markChangedUnits(String, String)} sets.
+	 * Only its words get used, since its length doesn't get updated.*/
+	private static PackedBinary changedUnits = new PackedBinary(0, 1);
+	/** The reused 64 x 64 bit block in which {@link #countErrors(long[], long[], int[])} transposes the bit slices.*/
+	private static long[] block = new long[Long.SIZE];
+	/** The reused bit errors in the code of every trial of a batch for {@link #addBatchResult(long[], long[], long[], long[], long, long[], int)}.*/
+	private static int[] batchCodeBitErrors = new int[Long.SIZE];
+	/** The reused bit errors in the message of every trial of a batch for {@link #addBatchResult(long[], long[], long[], long[], long, long[], int)}.*/
+	private static int[] batchMessageBitErrors = new int[Long.SIZE];
+	/** The rows of the bit-error-rate-vs-noise curve, which get added by {@link #addSweepPoint(double)} and 
+	 * shown by {@link #updateSweepResult()}.*/
+	private static ObservableList<String[]> sweepTableContent = FXCollections.observableArrayList();
+	/** The result of the last run with copies of all metrics. Gets set by {@link #updateResult()}, extended by 
+	 * {@link #showStoredResult(int, boolean)} and saved by {@link #saveLastResult()}.*/
+	private static ResultStore.Record lastResult;
+	/** The saved results which are currently shown by {@link #updateHistory()}, newest first.*/
+	private static ResultStore.Entry[] historyEntries = new ResultStore.Entry[0];
 	
 	
 	/**
@@ -70,10 +178,13 @@ public class Result {
 	 * get corrected if needed (see Note 1 for more information). <br>
 	 * If there is no difference, the corrected and the corrected+flagged message still get compared to the original one 
 	 * in order to search for mistakenly corrected (increments {@link #mistakenlyCorrectedChars}) or 
-	 * (increments {@link #mistakenlyFlaggedChars}) flagged characters.<br><br>
+	 * (increments {@link #mistakenlyFlaggedChars}) flagged characters.<br>
+	 * If the decoder handed over its flags as {@link Run#flaggedUnits bitmap}, the flagged and mistakenly flagged characters 
+	 * get counted on it instead (see Note 4).<br><br>
 	 * 
 	 * Lastly, the information content of the other message versions gets calculated and added to {@link #informationWithoutCoding},
 	 * {@link #informationWithCodingCo} and {@link #informationWithCodingCf} (see Note 2 for further information on the term "information".
+	 * Afterwards, the bit-level metrics get counted (see {@link #addBitResult(String, String, String, String, String)}).
 	 * 
 	 * 
 	 * <dl>
@@ -92,7 +203,11 @@ public class Result {
 	 * or even completely avoided in case of high change-rates.<br>
 	 * If it is sure that every unit will define exactly one character, {@link Run#oneUnitPerChar} can be turned to true, 
 	 * which will deactivate this correction.<br>
-	 * If there is still an StringIndexOutOfBoundsException, it will be caught, this particular run rerun and its current data erased.<br>
+	 * If there is still an StringIndexOutOfBoundsException, it will be caught and the character-level metrics 
+	 * ({@link #changedChars}, {@link #correctedChars}, {@link #mistakenlyCorrectedChars}, {@link #flaggedChars}, 
+	 * {@link #mistakenlyFlaggedChars} and the information) of this particular run won't be added. 
+	 * All other metrics don't depend on the alignment and still get added, so that no trial gets discarded and rerun, 
+	 * which would leave out exactly the trials with the most errors.<br>
 	 * Ultimately, with a higher message length the risk of having false message check-positions increases, 
 	 * which is why long messages should be avoided and instead a higher {@link Run#repeat repeat}-number should be used.</dd>
 	 * 
@@ -105,6 +220,14 @@ public class Result {
 	 * {@link #changes}, {@link #changedChars}, {@link #correctedChars}, {@link #mistakenlyCorrectedChars}, {@link #flaggedChars} and 
 	 * {@link #mistakenlyFlaggedChars} have a local version of themselves here in order for the information content calculations to have 
 	 * the correct information for this particular run if it gets repeated multiple times (and not the accumulated counts).</dd>
+	 * 
+	 * <dt><span class="strong">Note 4:</span></dt><dd>
+	 * Searching for the flag-sign '_' can't tell a flag from an '_' which the noise produced or which was part of the message.
+	 * Therefore, the flags of the {@link Run#flaggedUnits bitmap} get counted instead. Since its units are the bytes of the message 
+	 * in UTF8, they get gathered per character (a lead byte and its continuation bytes), so that the flags get counted in the same unit 
+	 * as the other character-level metrics: a character with at least one flagged byte is flagged, and mistakenly flagged 
+	 * if none of its bytes changed (see {@link #markChangedUnits(String, String)}). Like in the iteration of the message, 
+	 * a character of 4 bytes counts twice, since it's made of two chars.</dd>
 	 * </dl>
 	 * @param originalMessage Refers to {@link Run#originalMessage}.
 	 * @param originalCode Refers to {@link Run#originalCode}.
@@ -122,7 +245,9 @@ public class Result {
 		int mistakenlyCorrectedCharsM = 0;
 		int flaggedCharsM = 0;
 		int mistakenlyFlaggedCharsM = 0;
-		information = 0;
+		int informationM = 0;
+		boolean aligned = true;
+		PackedBinary flags = Run.flaggedUnits;
 		
 		int iOrM = 0;
 		int iChM = 0;
@@ -136,12 +261,12 @@ public class Result {
 		
 		try {
 			for (int i = 0; i < originalMessage.length(); i++) {
-				information++;
+				informationM++;
 				if (originalMessage.charAt(iOrM) != changedMessage.charAt(iChM)) {
 					changedCharsM++;
 					
 					if (originalMessage.charAt(iOrM) == correctedMessage.charAt(iCoM)) correctedCharsM++;
-					if (correctedFlaggedMessage.charAt(iCfM) == '_' && 
+					if (flags == null && correctedFlaggedMessage.charAt(iCfM) == '_' && 
 							changedMessage.charAt(iChM) != '_' && correctedMessage.charAt(iCoM) != '_') flaggedCharsM++;
 					
 					if (!Run.oneUnitPerChar) {
@@ -163,7 +288,7 @@ public class Result {
 								iChM--;
 							}
 						} catch (StringIndexOutOfBoundsException e) {
-							System.out.println("Result output-compare: Couldn't match the Strings "
+							Log.debug("Result output-compare: Couldn't match the Strings "
 									+ "changed message correctly to origin for further comparing");
 						}
 						
@@ -185,7 +310,7 @@ public class Result {
 								iCoM--;
 							}
 						} catch (StringIndexOutOfBoundsException e) {
-							System.out.println("Result output-compare: Couldn't match the Strings "
+							Log.debug("Result output-compare: Couldn't match the Strings "
 									+ "corrected message correctly to origin for further comparing");
 						}
 						
@@ -206,14 +331,14 @@ public class Result {
 								iCfM--;
 							}
 						} catch (StringIndexOutOfBoundsException e) {
-							System.out.println("Result output-compare: Couldn't match the Strings "
+							Log.debug("Result output-compare: Couldn't match the Strings "
 									+ "corrected flagged message correctly to origin for further comparing");
 						}
 					}
 					
 				} else {
 					
-					if ((correctedFlaggedMessage.charAt(iCfM) == '_') && (originalMessage.charAt(iOrM) != '_')) {
+					if (flags == null && (correctedFlaggedMessage.charAt(iCfM) == '_') && (originalMessage.charAt(iOrM) != '_')) {
 						flaggedCharsM++;
 						mistakenlyFlaggedCharsM++;
 					}
@@ -232,105 +357,295 @@ public class Result {
 			
 		} catch (StringIndexOutOfBoundsException e) {
 			
-			Run.repeated--;
-			changesM = 0;
-			changedCharsM = 0;
-			correctedCharsM = 0;
-			mistakenlyCorrectedCharsM = 0;
-			flaggedCharsM = 0;
-			mistakenlyFlaggedCharsM = 0;
-			information = 0;
-			
+			aligned = false;
 			
-			System.out.println("Communication experiment exception - changed message shorter than original one and not alignable\n" + e);
-			System.out.println("\nlog: original message:              " + originalMessage);
-			System.out.println("log: original encoded code:         " + originalCode);
-			System.out.println("log: changed encoded code:          " + changedCode);
-			System.out.println("log: changed message:               " + changedMessage);
+			Log.warn("Communication experiment exception - changed message shorter than original one and not alignable\n" + e
+					+ "\n  original message:              " + originalMessage
+					+ "\n  original encoded code:         " + originalCode
+					+ "\n  changed encoded code:          " + changedCode
+					+ "\n  changed message:               " + changedMessage);
+		}
+		
+		if (flags != null) {
+			int units = Math.min(flags.getLength(), markChangedUnits(originalMessage, changedMessage));
+			long[] message = originalBits.getWords();
+			long[] flagWords = flags.getWords();
+			long[] changedWords = changedUnits.getWords();
+			int chars = 0;
+			boolean flagged = false;
+			boolean changed = false;
+			for (int u = 0; u <= units; u++) {
+				int unit = u < units ? (int) (message[u >>> 3] >>> (56 - ((u & 7) << 3))) & 0xFF : 0;
+				if (u == units || (unit & 0xC0) != 0x80) {
+					if (flagged) flaggedCharsM += chars;
+					if (flagged && !changed) mistakenlyFlaggedCharsM += chars;
+					chars = unit >= 0xF0 ? 2 : 1;
+					flagged = false;
+					changed = false;
+				}
+				if (u < units) {
+					flagged |= flagWords[u >>> 6] << (u & 63) < 0;
+					changed |= changedWords[u >>> 6] << (u & 63) < 0;
+				}
+			}
 		}
+		
+		changes.add(changesM);
+		if (aligned) {
+			information.add(informationM);
+			informationWithoutCoding.add(informationM - (changedCharsM * 2));
+			informationWithCodingCo.add(informationM - ((changedCharsM - (correctedCharsM - mistakenlyCorrectedCharsM)) * 2));
+			informationWithCodingCf.add(informationM - ((changedCharsM - (correctedCharsM - mistakenlyCorrectedCharsM)) * 2)
+					+ (flaggedCharsM - mistakenlyFlaggedCharsM) - mistakenlyFlaggedCharsM);
 			
-		informationWithoutCoding += information - (changedCharsM * 2);
-		informationWithCodingCo += information - ((changedCharsM - (correctedCharsM - mistakenlyCorrectedCharsM)) * 2);
-		informationWithCodingCf += information - ((changedCharsM - (correctedCharsM - mistakenlyCorrectedCharsM)) * 2)
-				+ (flaggedCharsM - mistakenlyFlaggedCharsM) - mistakenlyFlaggedCharsM;
-		
-		changes += changesM;
-		changedChars += changedCharsM;
-		correctedChars += correctedCharsM;
-		mistakenlyCorrectedChars += mistakenlyCorrectedCharsM;
-		flaggedChars += flaggedCharsM;
-		mistakenlyFlaggedChars += mistakenlyFlaggedCharsM;
+			changedChars.add(changedCharsM);
+			correctedChars.add(correctedCharsM);
+			mistakenlyCorrectedChars.add(mistakenlyCorrectedCharsM);
+			flaggedChars.add(flaggedCharsM);
+			mistakenlyFlaggedChars.add(mistakenlyFlaggedCharsM);
+		}
+		
+		addBitResult(originalMessage, originalCode, changedCode, correctedMessage, correctedFlaggedMessage, 
+				aligned ? changedCharsM : -1, aligned ? correctedCharsM : -1, aligned || flags != null ? flaggedCharsM : -1);
+	}
+	
+	
+	/**
+	 * Counts the bit-level metrics of the given trial. <br>
+	 * The codes and the messages (in UTF8) get compared as {@link PackedBinary packed binaries} via XOR and popcount
+	 * ({@link PackedBinary#countDifferences(PackedBinary)}), which makes them independent from the alignment of the characters.
+	 * If the noise source and the transcoder handed their data over packed, their bits ({@link Run#originalCodeBits}, 
+	 * {@link Run#changedCodeBits} and {@link Run#correctedBits}) get compared directly. Only otherwise, the code and the corrected 
+	 * message get packed from their Strings. The original message only gets packed if it differs from the one of the last trial.
+	 * Bits, which are missing or additional in the corrected message, count as errors.
+	 * A trial counts as frame error if the corrected message differs from the original one in at least one bit. 
+	 * If in addition no unit got flagged (on the {@link Run#flaggedUnits bitmap} if there is one, otherwise 
+	 * the corrected+flagged message doesn't contain more {@link Run#flagSignUnicode flag signs} than the original message),
+	 * the frame error counts as undetected.
+	 * If the transcoder reported {@link Run#symbolsNeeded} or {@link Run#decodeFailures}, they get added to {@link #symbolsNeeded} 
+	 * and {@link #decodeFailures}.
+	 * If it retransmitted frames ({@link Run#arqFrames}), its goodput, retransmissions per frame and the latencies of its frames 
+	 * get added to {@link #goodput}, {@link #retransmissionsPerFrame} and {@link #deliveryLatency}.
+	 * Lastly, the trial gets handed to the {@link TrialSink trial sink} together with its character counts.
+	 * @param originalMessage Refers to {@link Run#originalMessage}.
+	 * @param originalCode Refers to {@link Run#originalCode}.
+	 * @param changedCode Refers to {@link Run#changedCode}.
+	 * @param correctedMessage Refers to {@link Run#correctedMessage}.
+	 * @param correctedFlaggedMessage Refers to {@link Run#correctedFlaggedMessage}.
+	 * @param changedCharsM The changed characters of this trial or -1 if they couldn't be aligned.
+	 * @param correctedCharsM The corrected characters of this trial or -1 if they couldn't be aligned.
+	 * @param flaggedCharsM The flagged characters of this trial or -1 if they couldn't be aligned.
+	 */
+	private static void addBitResult(String originalMessage, String originalCode, String changedCode, 
+			String correctedMessage, String correctedFlaggedMessage, int changedCharsM, int correctedCharsM, int flaggedCharsM) {
+		PackedBinary originalCodeBits = Run.originalCodeBits;
+		PackedBinary changedCodeBits = Run.changedCodeBits;
+		if (originalCodeBits == null || changedCodeBits == null) {
+			UniDataType code = new UniDataType();
+			code.setStringBinary(originalCode);
+			originalCodeBits = code.getPackedBinary();
+			code = new UniDataType();
+			code.setStringBinary(changedCode);
+			changedCodeBits = code.getPackedBinary();
+		}
+		
+		packOriginal(originalMessage);
+		PackedBinary correctedMessageBits = Run.correctedBits;
+		if (correctedMessageBits == null) {
+			byte[] bytes = correctedMessage.getBytes(StandardCharsets.UTF_8);
+			correctedBits.setBytes(bytes, 0, bytes.length);
+			correctedMessageBits = correctedBits;
+		}
+		
+		int codeBitErrorsM = originalCodeBits.countDifferences(changedCodeBits);
+		int messageBitErrorsM = originalBits.countDifferences(correctedMessageBits);
+		boolean frameError = messageBitErrorsM > 0;
+		boolean flagged = Run.flaggedUnits != null ? flaggedCharsM > 0 
+				: countFlags(correctedFlaggedMessage) > countFlags(originalMessage);
+		
+		codeBits.add(originalCodeBits.getLength());
+		codeBitErrors.add(codeBitErrorsM);
+		messageBits.add(originalBits.getLength());
+		messageBitErrors.add(messageBitErrorsM);
+		frameErrors.add(frameError ? 1 : 0);
+		undetectedFrameErrors.add(frameError && !flagged ? 1 : 0);
+		if (Run.symbolsNeeded >= 0) symbolsNeeded.add(Run.symbolsNeeded);
+		if (Run.decodeFailures >= 0) decodeFailures.add(Run.decodeFailures);
+		if (Run.arqFrames > 0) {
+			goodput.add(Run.arqGoodput / 1000);
+			retransmissionsPerFrame.add((double) Run.arqRetransmissions / Run.arqFrames);
+			for (int f = 0; f < Run.arqFrames; f++) {
+				deliveryLatency.add(Run.arqLatencies[f] / 1e6);
+			}
+		}
+		Metrics.TRIALS.increment();
+		Metrics.CHANNEL_BITS.add(originalCodeBits.getLength());
+		
+		TrialSink.add(Run.trialSeed, codeBitErrorsM, messageBitErrorsM, changedCharsM, correctedCharsM, flaggedCharsM, Run.decodeNanos);
+	}
+	
+	
+	/**
+	 * Sets {@link #changedUnits} to the units (bytes in UTF8) in which the changed message differs from the original one. <br>
+	 * Both messages get packed and XORed word by word. Every byte of the XOR gets reduced to its lowest bit 
+	 * (set if any bit of the byte is set), and a multiplication gathers these 8 bits into the top byte, 
+	 * so that a word of the messages gives a byte of {@link #changedUnits} without looking at single units. 
+	 * Units after the end of the changed message count as changed.
+	 * @param originalMessage Refers to {@link Run#originalMessage}.
+	 * @param changedMessage Refers to {@link Run#changedMessage}.
+	 * @return Returns the number of units of the original message, which is the number of valid bits in {@link #changedUnits}.
+	 */
+	private static int markChangedUnits(String originalMessage, String changedMessage) {
+		packOriginal(originalMessage);
+		byte[] bytes = changedMessage.getBytes(StandardCharsets.UTF_8);
+		changedBits.setBytes(bytes, 0, bytes.length);
+		int units = originalBits.getLength() >>> 3;
+		int changedLength = changedBits.getLength() >>> 3;
+		changedUnits.ensureCapacity(units);
+		long[] original = originalBits.getWords();
+		long[] changed = changedBits.getWords();
+		long[] marks = changedUnits.getWords();
+		
+		for (int w = 0; w << 3 < units; w++) {
+			long x = original[w] ^ ((w << 3) < changedLength ? changed[w] : 0);
+			x |= x >>> 4;
+			x |= x >>> 2;
+			x |= x >>> 1;
+			x &= 0x0101010101010101L;
+			long mark = (x * 0x0102040810204080L) >>> 56;
+			int missing = (w << 3) + 8 - changedLength;
+			if (missing > 0) mark |= 0xFFL >>> Math.max(0, 8 - missing);
+			int shift = 56 - ((w & 7) << 3);
+			marks[w >>> 3] = (marks[w >>> 3] & ~(0xFFL << shift)) | (mark << shift);
+		}
+		return units;
+	}
+	
+	
+	/**
+	 * Packs the original message (in UTF8) into {@link #originalBits} unless it's still packed from the last trial, 
+	 * which is the case for every trial of a 
+	 * {@link de.wolkenfarmer.experiment_elements.ExperimentElement#isConstantInput() constant input}.
+	 * @param originalMessage Refers to {@link Run#originalMessage}.
+	 */
+	private static void packOriginal(String originalMessage) {
+		if (originalMessage == packedMessage) return;
+		byte[] bytes = originalMessage.getBytes(StandardCharsets.UTF_8);
+		originalBits.setBytes(bytes, 0, bytes.length);
+		packedMessage = originalMessage;
+	}
+	
+	
+	/**
+	 * @param message The message to be searched.
+	 * @return Returns how often {@link Run#flagSignUnicode} occurs in the message.
+	 */
+	private static int countFlags(String message) {
+		int flags = 0;
+		for (int i = 0; i < message.length(); i++) {
+			if (message.charAt(i) == Run.flagSignUnicode) flags++;
+		}
+		return flags;
+	}
+	
+	
+	/**
+	 * Adds the results of up to 64 {@link Run#batched batched trials}, whose bits are sliced (bit t of every long belongs to trial t). <br>
+	 * The bit errors of every trial get counted by {@link #countErrors(long[], long[], int[]) transposing} the XOR of the slices 
+	 * and counting the bits of the trial's word (popcount). Only the bit-level metrics and the {@link #changes} get added, 
+	 * since the characters of the trials never get assembled. The message bits get compared directly after decoding 
+	 * instead of after interpreting them as Unicode. A frame error counts as undetected if no unit of the trial got flagged.
+	 * @param code The bit-sliced original code.
+	 * @param changed The bit-sliced code after the noise source.
+	 * @param message The bit-sliced original message.
+	 * @param corrected The bit-sliced corrected message.
+	 * @param flagged The trials (as bits) in which at least one unit got flagged.
+	 * @param seeds The {@link Run#trialSeed seeds} of the trials.
+	 * @param count The number of trials in the slices.
+	 */
+	public static void addBatchResult(long[] code, long[] changed, long[] message, long[] corrected, long flagged, 
+			long[] seeds, int count) {
+		countErrors(code, changed, batchCodeBitErrors);
+		long frames = countErrors(message, corrected, batchMessageBitErrors);
+		
+		for (int t = 0; t < count; t++) {
+			boolean frameError = (frames >>> t & 1) == 1;
+			boolean flaggedT = (flagged >>> t & 1) == 1;
+			changes.add(batchCodeBitErrors[t]);
+			codeBits.add(code.length);
+			codeBitErrors.add(batchCodeBitErrors[t]);
+			messageBits.add(message.length);
+			messageBitErrors.add(batchMessageBitErrors[t]);
+			frameErrors.add(frameError ? 1 : 0);
+			undetectedFrameErrors.add(frameError && !flaggedT ? 1 : 0);
+			TrialSink.add(seeds[t], batchCodeBitErrors[t], batchMessageBitErrors[t], 0, 0, 0, Run.decodeNanos);
+		}
+		Metrics.TRIALS.add(count);
+		Metrics.CHANNEL_BITS.add((long) count * code.length);
+	}
+	
+	
+	/**
+	 * Counts the bits in which the slices a and b differ for every trial. 
+	 * Every 64 slices get XORed into {@link #block}, {@link BitOps#transpose(long[]) transposed} and 
+	 * the bits of every trial's word get counted.
+	 * @param a The first bit slices.
+	 * @param b The second bit slices.
+	 * @param errors The array to write the number of differing bits of every trial into.
+	 * @return Returns the trials (as bits) in which at least one bit differs.
+	 */
+	private static long countErrors(long[] a, long[] b, int[] errors) {
+		long any = 0;
+		Arrays.fill(errors, 0);
+		for (int from = 0; from < a.length; from += Long.SIZE) {
+			int n = Math.min(Long.SIZE, a.length - from);
+			for (int i = 0; i < Long.SIZE; i++) {
+				block[i] = i < n ? a[from + i] ^ b[from + i] : 0;
+				any |= block[i];
+			}
+			BitOps.transpose(block);
+			for (int t = 0; t < Long.SIZE; t++) {
+				errors[t] += Long.bitCount(block[t]);
+			}
+		}
+		return any;
 	}
 	
 	
 	/**
 	 * The results of the experiment as well as its evaluation get combined to a String[]. <br>
-	 * If {@link Run#repeat} != 1, the evaluated values like {@link #changes} get divided 
-	 * by the number of repeats before the evaluation in order to get the average.
-	 * In the end, it prepares the variables, which count the changes in the code and message as well as the information numbers, 
-	 * for the next communication experiment by setting them to 0. This is crucial to them due being static.<br>
+	 * The evaluated values like {@link #changes} get shown as their average per trial (repeat or e.g. block of a file) 
+	 * with its 95% confidence interval, as well as their median, 99th percentile and maximum (see {@link #format(Accumulator)}).
+	 * The bit error rates get shown as total rates (see {@link #formatRate(Accumulator, Accumulator)}).
+	 * Before all metrics get {@link #reset()} for the next communication experiment in the end, 
+	 * they get copied to the {@link #lastResult last result}, which can be saved.<br>
 	 * Following information gets included in the result:
 	 * {@link de.wolkenfarmer.experiment_elements.input_handlers the used input handler}, 
 	 * {@link de.wolkenfarmer.experiment_elements.transcoder the used transcoder}, 
 	 * {@link de.wolkenfarmer.experiment_elements.noise_sources the used noise source}, 
 	 * {@link #changes}, {@link #changedChars}, {@link #correctedChars}, {@link #mistakenlyCorrectedChars}, 
 	 * {@link #flaggedChars}, {@link #mistakenlyFlaggedChars}, {@link #information}, {@link #informationWithoutCoding}, 
-	 * {@link #informationWithCodingCo}, {@link #informationWithCodingCf}.
+	 * {@link #informationWithCodingCo}, {@link #informationWithCodingCf}, {@link #codeBitErrors}, {@link #messageBitErrors}, 
+	 * {@link #frameErrors}, {@link #undetectedFrameErrors}, {@link #symbolsNeeded} and {@link #decodeFailures}
+	 * (only if a rateless transcoder reported them) and {@link #goodput}, {@link #retransmissionsPerFrame} 
+	 * and {@link #deliveryLatency} (only if frames got retransmitted).
 	 */
 	public static void updateResult() {
-		String[] resultElement = new String[2];
-		ObservableList<String[]> resultTableContent = FXCollections.observableArrayList();
-		
-		resultElement[0] = "Used input handler";
-		resultElement[1] = Main.selectedInputHandler.getName(false);
-		resultTableContent.add(resultElement.clone());
-		resultElement[0] = "Used transcoder";
-		resultElement[1] = Main.selectedTranscoder.getName(false);
-		resultTableContent.add(resultElement.clone());
-		resultElement[0] = "Used noise source";
-		resultElement[1] = Main.selectedNoiSource.getName(false);
-		resultTableContent.add(resultElement.clone());
-		
-		resultElement[0] = "Repetitions";
-		resultElement[1] = "" + Run.repeat;
-		resultTableContent.add(resultElement.clone());
-		
-		resultElement[0] = "Changes in code";
-		resultElement[1] = "" + String.format("%.2f", changes / Run.repeat);
-		resultTableContent.add(resultElement.clone());
-		resultElement[0] = "Changed characters";
-		resultElement[1] = "" + String.format("%.2f", changedChars / Run.repeat);
-		resultTableContent.add(resultElement.clone());
-		
-		resultElement[0] = "Corrected characters";
-		resultElement[1] = "" + String.format("%.2f", correctedChars / Run.repeat);
-		resultTableContent.add(resultElement.clone());
-		resultElement[0] = "Mistakenly corrected characters";
-		resultElement[1] = "" + String.format("%.2f", mistakenlyCorrectedChars / Run.repeat);
-		resultTableContent.add(resultElement.clone());
-		
-		resultElement[0] = "Flagged characters";
-		resultElement[1] = "" + String.format("%.2f", flaggedChars / Run.repeat);
-		resultTableContent.add(resultElement.clone());
-		resultElement[0] = "Mistakenly flagged characters";
-		resultElement[1] = "" + String.format("%.2f", mistakenlyFlaggedChars / Run.repeat);
-		resultTableContent.add(resultElement.clone());
+		inputeHandler = Main.selectedInputHandler.getName(false);
+		transcoder = Main.selectedTranscoder.getName(false);
+		noiseSource = Main.selectedNoiSource.getName(false);
 		
-		resultElement[0] = "Information original";
-		resultElement[1] = "" + information;
-		resultTableContent.add(resultElement.clone());
-		resultElement[0] = "Inf. result without coding";
-		resultElement[1] = "" + String.format("%.2f", informationWithoutCoding / Run.repeat);
-		resultTableContent.add(resultElement.clone());
-		resultElement[0] = "Inf. result with coding (corrected)";
-		resultElement[1] = "" + String.format("%.2f", informationWithCodingCo / Run.repeat);
-		resultTableContent.add(resultElement.clone());
-		resultElement[0] = "Inf. result with coding (corrected & flagged)";
-		resultElement[1] = "" + String.format("%.2f", informationWithCodingCf / Run.repeat);
-		resultTableContent.add(resultElement.clone());
+		Accumulator[] metrics = getMetrics();
+		for (int i = 0; i < metrics.length; i++) {
+			metrics[i] = metrics[i].copy();
+		}
+		lastResult = new ResultStore.Record(System.currentTimeMillis(), Main.selectedInputHandler, Main.selectedTranscoder, 
+				Main.selectedNoiSource, Run.trials, metrics);
 		
+		String[] resultElement = new String[2];
+		ObservableList<String[]> resultTableContent = buildResultTable(lastResult);
 		
-		if (Run.repeat == 1) {
+		if (Run.trials == 1) {
 			resultElement[0] = "original encoded code";
 			resultElement[1] = Run.originalCode;
 			resultTableContent.add(resultElement.clone());
@@ -358,38 +673,271 @@ public class Result {
 		
 		Main.home.updateResultTable(resultTableContent);
 		
+		reset();
+	}
+	
+	
+	/**
+	 * Combines the configuration and the metrics of the given result to the rows of the result table.
+	 * @param result The result to be shown.
+	 * @return Returns the rows of the result table.
+	 */
+	private static ObservableList<String[]> buildResultTable(ResultStore.Record result) {
+		String[] resultElement = new String[2];
+		ObservableList<String[]> resultTableContent = FXCollections.observableArrayList();
+		
+		resultElement[0] = "Used input handler";
+		resultElement[1] = result.inputHandler;
+		resultTableContent.add(resultElement.clone());
+		resultElement[0] = "Used transcoder";
+		resultElement[1] = result.transcoder;
+		resultTableContent.add(resultElement.clone());
+		resultElement[0] = "Used noise source";
+		resultElement[1] = result.noiseSource;
+		resultTableContent.add(resultElement.clone());
+		
+		resultElement[0] = "Repetitions";
+		resultElement[1] = "" + result.trials;
+		resultTableContent.add(resultElement.clone());
+		
+		for (int i = 0; i < LABELS.length; i++) {
+			resultElement[0] = LABELS[i];
+			resultElement[1] = format(result.metrics[i]);
+			resultTableContent.add(resultElement.clone());
+		}
+		
+		resultElement[0] = "Raw bit error rate (channel)";
+		resultElement[1] = formatRate(result.metrics[CODE_BIT_ERRORS], result.metrics[CODE_BITS]);
+		resultTableContent.add(resultElement.clone());
+		resultElement[0] = "Bit error rate after decoding";
+		resultElement[1] = formatRate(result.metrics[MESSAGE_BIT_ERRORS], result.metrics[MESSAGE_BITS]);
+		resultTableContent.add(resultElement.clone());
+		resultElement[0] = "Frame error rate";
+		resultElement[1] = formatRate(result.metrics[FRAME_ERRORS], null);
+		resultTableContent.add(resultElement.clone());
+		resultElement[0] = "Undetected frame error rate";
+		resultElement[1] = formatRate(result.metrics[UNDETECTED_FRAME_ERRORS], null);
+		resultTableContent.add(resultElement.clone());
+		if (result.metrics[SYMBOLS_NEEDED].getCount() > 0 || result.metrics[DECODE_FAILURES].getCount() > 0) {
+			resultElement[0] = "Symbols needed to decode (decoded messages)";
+			resultElement[1] = format(result.metrics[SYMBOLS_NEEDED]);
+			resultTableContent.add(resultElement.clone());
+			resultElement[0] = "Decoding failure rate";
+			resultElement[1] = formatRate(result.metrics[DECODE_FAILURES], null);
+			resultTableContent.add(resultElement.clone());
+		}
+		if (result.metrics[GOODPUT].getCount() > 0) {
+			resultElement[0] = "Goodput (kbit/s)";
+			resultElement[1] = format(result.metrics[GOODPUT]);
+			resultTableContent.add(resultElement.clone());
+			resultElement[0] = "Retransmissions per frame";
+			resultElement[1] = format(result.metrics[RETRANSMISSIONS_PER_FRAME]);
+			resultTableContent.add(resultElement.clone());
+			resultElement[0] = "Delivery latency per frame (ms)";
+			resultElement[1] = String.format("p50 %.4g, p90 %.4g, p99 %.4g, max %.4g", result.metrics[DELIVERY_LATENCY].getQuantile(0.5), 
+					result.metrics[DELIVERY_LATENCY].getQuantile(0.9), result.metrics[DELIVERY_LATENCY].getQuantile(0.99), 
+					result.metrics[DELIVERY_LATENCY].getMax());
+			resultTableContent.add(resultElement.clone());
+		}
 		
-		changes = 0;
-		changedChars = 0;
-		correctedChars = 0;
-		flaggedChars = 0;
-		mistakenlyCorrectedChars = 0;
-		mistakenlyFlaggedChars = 0;
-		information = 0;
-		informationWithoutCoding = 0;
-		informationWithCodingCo = 0;
-		informationWithCodingCf = 0;
+		return resultTableContent;
 	}
 	
 	
 	/**
-	 * Prints the results of the last communication experiment into the console. <br>
-	 * Only the message-versions and the original as well as the changes code are included. 
-	 * Note that these won't be printed in the console if the .exe version got started.
-	 * @param originalMessage Refers to {@link Run#originalMessage}.
-	 * @param originalCode Refers to {@link Run#originalCode}.
-	 * @param changedCode Refers to {@link Run#changedCode}.
-	 * @param changedMessage Refers to {@link Run#changedMessage}.
-	 * @param correctedMessage Refers to {@link Run#correctedMessage}.
-	 * @param correctedFlaggedMessage Refers to {@link Run#correctedFlaggedMessage}.
+	 * Saves the {@link #lastResult last result} via {@link ResultStore#append(ResultStore.Record)}.
+	 * Gets called by {@link de.wolkenfarmer.environment.pages.Home#bConButSaveResult}.
 	 */
-	public static void SysoResult(String originalMessage, String originalCode, String changedCode, String changedMessage, 
-			String correctedMessage, String correctedFlaggedMessage) {
-		System.out.println("\nCommunication experiment result: original message:              " + originalMessage);
-		System.out.println("Communication experiment result: original encoded code:         " + originalCode);
-		System.out.println("Communication experiment result: changed encoded code:          " + changedCode);
-		System.out.println("Communication experiment result: changed message:               " + changedMessage);
-		System.out.println("Communication experiment result: corrected message:             " + correctedMessage);
-		System.out.println("Communication experiment result: corrected and flagged message: " + correctedFlaggedMessage);
+	public static void saveLastResult() {
+		if (lastResult == null) {
+			Log.error("Result store exception - there is no result to be saved yet");
+			return;
+		}
+		try {
+			ResultStore.append(lastResult);
+			Log.info("Result saved!");
+		} catch (IOException e) {
+			Log.error("Result store exception - the result couldn't be saved\n" + e);
+		}
+	}
+	
+	
+	/**
+	 * Shows the last {@link #historyLength} saved results in 
+	 * {@link de.wolkenfarmer.environment.pages.Home#tvResTable the results-table on the home page} (newest first).
+	 * Only their entries in the index file get read (see {@link ResultStore#readEntries(int, int)}).
+	 * The first row explains how to show a saved result.
+	 */
+	public static void updateHistory() {
+		int count = ResultStore.getCount();
+		int length = Math.min(count, historyLength);
+		ResultStore.Entry[] entries;
+		try {
+			entries = ResultStore.readEntries(count - length, length);
+		} catch (IOException e) {
+			Log.error("Result store exception - the saved results couldn't be read\n" + e);
+			entries = new ResultStore.Entry[0];
+		}
+		
+		historyEntries = new ResultStore.Entry[entries.length];
+		for (int i = 0; i < entries.length; i++) {
+			historyEntries[i] = entries[entries.length - 1 - i];
+		}
+		
+		String[] resultElement = new String[2];
+		ObservableList<String[]> resultTableContent = FXCollections.observableArrayList();
+		DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
+		
+		resultElement[0] = "Saved results: " + count;
+		resultElement[1] = "Click a result to show it. Shift + click a result to merge it into the last result.";
+		resultTableContent.add(resultElement.clone());
+		for (ResultStore.Entry entry : historyEntries) {
+			resultElement[0] = "#" + (entry.number + 1) + " " + formatter.format(Instant.ofEpochMilli(entry.time));
+			resultElement[1] = String.format("%d repetitions, BER %.3e, FER %.3e", entry.trials, entry.bitErrorRate, entry.frameErrorRate);
+			resultTableContent.add(resultElement.clone());
+		}
+		
+		Main.home.updateHistoryTable(resultTableContent);
+	}
+	
+	
+	/**
+	 * Reads the saved result of the given row of the history (see {@link #updateHistory()}) and shows it 
+	 * in {@link de.wolkenfarmer.environment.pages.Home#tvResTable the results-table on the home page}.
+	 * If it should be merged, its metrics get merged into the ones of the {@link #lastResult last result} beforehand, 
+	 * which only works if both used the same experiment elements with the same configurations
+	 * (see {@link ResultStore.Record#hasSameConfiguration(ResultStore.Record)}). The merged result can be saved again afterwards.
+	 * @param row The row of the history table.
+	 * @param merge Defines whether the saved result should be merged into the last result or only be shown.
+	 */
+	public static void showStoredResult(int row, boolean merge) {
+		if (row < 1 || row > historyEntries.length) return;
+		ResultStore.Record stored;
+		try {
+			stored = ResultStore.readRecord(historyEntries[row - 1]);
+		} catch (IOException e) {
+			Log.error("Result store exception - the saved result couldn't be read\n" + e);
+			return;
+		}
+		
+		if (merge) {
+			if (lastResult == null || !lastResult.hasSameConfiguration(stored)) {
+				Log.error("Result store exception - only results with the same experiment elements, configurations "
+						+ "and noise probability can be merged");
+				return;
+			}
+			for (int i = 0; i < stored.metrics.length; i++) {
+				lastResult.metrics[i].merge(stored.metrics[i]);
+			}
+			lastResult = new ResultStore.Record(System.currentTimeMillis(), lastResult, lastResult.trials + stored.trials, 
+					lastResult.metrics);
+			stored = lastResult;
+		}
+		
+		Main.home.updateResultTable(buildResultTable(stored));
+	}
+	
+	
+	/**
+	 * @return Returns all metrics in the order of {@link #METRIC_NAMES}.
+	 */
+	private static Accumulator[] getMetrics() {
+		return new Accumulator[] {changes, changedChars, correctedChars, mistakenlyCorrectedChars, flaggedChars, 
+				mistakenlyFlaggedChars, information, informationWithoutCoding, informationWithCodingCo, informationWithCodingCf, 
+				codeBits, codeBitErrors, messageBits, messageBitErrors, frameErrors, undetectedFrameErrors, 
+				symbolsNeeded, decodeFailures, goodput, retransmissionsPerFrame, deliveryLatency};
+	}
+	
+	
+	/**
+	 * Adds the bit error rates of the last run as one point of the bit-error-rate-vs-noise curve to {@link #sweepTableContent}
+	 * and prints it as CSV line into the console. Afterwards, all metrics get reset for the next point.
+	 * Gets called by {@link Run#sweep(de.wolkenfarmer.experiment_elements.ExperimentElement, 
+	 * de.wolkenfarmer.experiment_elements.ExperimentElement, de.wolkenfarmer.experiment_elements.ExperimentElement) Run.sweep()}.
+	 * @param probability The bit error probability of the noise source for the last run.
+	 */
+	public static void addSweepPoint(double probability) {
+		double rawBer = codeBitErrors.getMean() / codeBits.getMean();
+		double ber = messageBitErrors.getMean() / messageBits.getMean();
+		
+		String[] resultElement = new String[2];
+		resultElement[0] = String.format("Bit error probability %.3f", probability);
+		resultElement[1] = String.format("raw BER %.3e, BER %.3e, FER %.3e, undetected FER %.3e", 
+				rawBer, ber, frameErrors.getMean(), undetectedFrameErrors.getMean());
+		sweepTableContent.add(resultElement);
+		
+		if (sweepTableContent.size() == 1) Log.info("Sweep result: probability;raw BER;BER;FER;undetected FER");
+		Log.info(String.format("Sweep result: %.3f;%.6e;%.6e;%.6e;%.6e", 
+				probability, rawBer, ber, frameErrors.getMean(), undetectedFrameErrors.getMean()));
+		
+		reset();
+	}
+	
+	
+	/**
+	 * Shows the bit-error-rate-vs-noise curve collected by {@link #addSweepPoint(double)} in 
+	 * {@link de.wolkenfarmer.environment.pages.Home#tvResTable the results-table on the home page} 
+	 * (one row per bit error probability) and clears it for the next sweep.
+	 */
+	public static void updateSweepResult() {
+		String[] resultElement = new String[2];
+		ObservableList<String[]> resultTableContent = FXCollections.observableArrayList();
+		
+		resultElement[0] = "Used input handler";
+		resultElement[1] = Main.selectedInputHandler.getName(false);
+		resultTableContent.add(resultElement.clone());
+		resultElement[0] = "Used transcoder";
+		resultElement[1] = Main.selectedTranscoder.getName(false);
+		resultTableContent.add(resultElement.clone());
+		resultElement[0] = "Used noise source";
+		resultElement[1] = Main.selectedNoiSource.getName(false);
+		resultTableContent.add(resultElement.clone());
+		resultElement[0] = "Repetitions per point";
+		resultElement[1] = "" + Run.trials;
+		resultTableContent.add(resultElement.clone());
+		
+		resultTableContent.addAll(sweepTableContent);
+		sweepTableContent.clear();
+		
+		Main.home.updateResultTable(resultTableContent);
+	}
+	
+	
+	/**
+	 * Prepares the variables, which count the changes in the code and message, the information numbers and the bit errors,
+	 * for the next communication experiment. This is crucial to them due being static.
+	 */
+	static void reset() {
+		for (Accumulator metric : getMetrics()) {
+			metric.reset();
+		}
+	}
+	
+	
+	/**
+	 * Formats the given metric for the result table as "mean ± half width of the 95% confidence interval"
+	 * followed by its median, its 99th percentile and its maximum.
+	 * @param metric The metric to be formatted.
+	 * @return Returns the formatted metric.
+	 */
+	private static String format(Accumulator metric) {
+		return String.format("%.2f ± %.2f (p50 %.4g, p99 %.4g, max %.4g)", metric.getMean(), metric.getConfidence95(), 
+				metric.getQuantile(0.5), metric.getQuantile(0.99), metric.getMax());
+	}
+	
+	
+	/**
+	 * Formats the given error rate for the result table. <br>
+	 * If bits are given, the rate is the total number of errors divided by the total number of bits of all trials
+	 * (and not the average of the trials' rates, which would overweight short messages).
+	 * Otherwise, the errors are 1 or 0 per trial and the rate is their mean with its 95% confidence interval.
+	 * @param errors The errors per trial.
+	 * @param bits The number of bits per trial or null if the errors are counted per trial.
+	 * @return Returns the formatted error rate.
+	 */
+	private static String formatRate(Accumulator errors, Accumulator bits) {
+		if (bits == null) return String.format("%.3e ± %.1e", errors.getMean(), errors.getConfidence95());
+		return String.format("%.3e (%.0f of %.0f bits)", errors.getMean() / bits.getMean(), 
+				errors.getMean() * errors.getCount(), bits.getMean() * bits.getCount());
 	}
 }
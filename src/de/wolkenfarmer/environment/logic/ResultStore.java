@@ -0,0 +1,387 @@
+package de.wolkenfarmer.environment.logic;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import de.wolkenfarmer.experiment_elements.ExperimentElement;
+
+/**
+ * Saves the results of the communication experiment in local files, so that they don't get lost when the application gets closed. <br>
+ * The results get appended to two files in {@link #directory}: <br>
+ * The data file ({@link #DATA_FILE}) starts with a header containing {@link #MAGIC}, {@link #VERSION} and the names of the
+ * saved metrics ({@link Result#METRIC_NAMES}). It's followed by one record per saved result. Its header contains the configuration: 
+ * the used experiment elements with their {@link de.wolkenfarmer.experiment_elements.ExperimentElement#getConfiguration() 
+ * configurations}, the {@link de.wolkenfarmer.experiment_elements.ExperimentElement#getBitErrorProbability() probability} 
+ * of the noise source and the number of trials. It's followed by the whole state of every metric's {@link Accumulator},
+ * so that results of the same configuration can be merged later on. <br>
+ * The index file ({@link #INDEX_FILE}) contains one fixed-width entry ({@link #ENTRY_SIZE} bytes) per saved result
+ * with the position of its record in the data file and a short summary.
+ * Therefore, the history can be browsed by only reading the entries in question and a record only gets read when it's requested.
+ * Both files only get appended to, so that saved results never get overwritten.
+ * Files of another {@link #VERSION version} or with other metrics can't be read or appended to.
+ * @author Wolkenfarmer
+ * @see Result#saveLastResult()
+ */
+public class ResultStore {
+	/** The directory in which the result files get saved. Currently this variable can only be set manually.*/
+	public static Path directory = Paths.get("results");
+	/** The name of the data file in {@link #directory}.*/
+	static final String DATA_FILE = "results.dat";
+	/** The name of the index file in {@link #directory}.*/
+	static final String INDEX_FILE = "results.idx";
+	/** The first 4 bytes of the data file ("SCCE").*/
+	static final int MAGIC = 0x53434345;
+	/** The version of the file format. It has to be changed together with the layout of the records or the metrics.*/
+	static final short VERSION = 1;
+	/** The size of an entry of the index file in bytes:
+	 * position (8), length (4), time (8), trials (4), bit error rate after decoding (8) and frame error rate (8).*/
+	static final int ENTRY_SIZE = 40;
+
+
+	/**
+	 * Appends the given result to the data file and its entry to the index file.
+	 * If the data file doesn't exist yet, it gets created with its header. Otherwise, its header gets checked beforehand.
+	 * @param record The result to be saved.
+	 * @throws IOException If the files couldn't be written or the data file is of another version or has other metrics.
+	 */
+	public static void append(Record record) throws IOException {
+		Files.createDirectories(directory);
+		if (Files.exists(directory.resolve(DATA_FILE)) && Files.size(directory.resolve(DATA_FILE)) > 0) {
+			try (FileChannel data = FileChannel.open(directory.resolve(DATA_FILE), StandardOpenOption.READ)) {
+				checkHeader(data);
+			}
+		}
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeLong(record.time);
+		out.writeUTF(record.inputHandler);
+		out.writeUTF(record.inputConfiguration);
+		out.writeUTF(record.transcoder);
+		out.writeUTF(record.transcoderConfiguration);
+		out.writeUTF(record.noiseSource);
+		out.writeUTF(record.noiseConfiguration);
+		out.writeDouble(record.noiseProbability);
+		out.writeInt(record.trials);
+		for (Accumulator metric : record.metrics) {
+			metric.write(out);
+		}
+		out.flush();
+
+		try (FileChannel data = FileChannel.open(directory.resolve(DATA_FILE),
+				StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+				FileChannel index = FileChannel.open(directory.resolve(INDEX_FILE),
+				StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+			if (data.size() == 0) writeFully(data, ByteBuffer.wrap(header()));
+			long position = data.size();
+			writeFully(data, ByteBuffer.wrap(bytes.toByteArray()));
+
+			ByteBuffer entry = ByteBuffer.allocate(ENTRY_SIZE);
+			entry.putLong(position);
+			entry.putInt(bytes.size());
+			entry.putLong(record.time);
+			entry.putInt(record.trials);
+			entry.putDouble(record.getBitErrorRate());
+			entry.putDouble(record.getFrameErrorRate());
+			entry.flip();
+			writeFully(index, entry);
+		}
+	}
+
+
+	/**
+	 * @return Returns the header of the data file.
+	 * @throws IOException If the header couldn't be written.
+	 */
+	private static byte[] header() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(MAGIC);
+		out.writeShort(VERSION);
+		out.writeShort(Result.METRIC_NAMES.length);
+		for (String name : Result.METRIC_NAMES) {
+			out.writeUTF(name);
+		}
+		out.flush();
+		return bytes.toByteArray();
+	}
+
+
+	/**
+	 * @return Returns the number of saved results (entries of the index file).
+	 */
+	public static int getCount() {
+		try {
+			return (int) (Files.size(directory.resolve(INDEX_FILE)) / ENTRY_SIZE);
+		} catch (IOException e) {
+			return 0;
+		}
+	}
+
+
+	/**
+	 * Reads the entries of the given results from the index file without reading the data file.
+	 * @param first The number of the first result.
+	 * @param count The number of results.
+	 * @return Returns the entries.
+	 * @throws IOException If the index file couldn't be read.
+	 */
+	public static Entry[] readEntries(int first, int count) throws IOException {
+		Entry[] entries = new Entry[count];
+		try (FileChannel index = FileChannel.open(directory.resolve(INDEX_FILE), StandardOpenOption.READ)) {
+			ByteBuffer buffer = ByteBuffer.allocate(count * ENTRY_SIZE);
+			readFully(index, buffer, (long) first * ENTRY_SIZE);
+			buffer.flip();
+			for (int i = 0; i < count; i++) {
+				entries[i] = new Entry(first + i, buffer.getLong(), buffer.getInt(), buffer.getLong(),
+						buffer.getInt(), buffer.getDouble(), buffer.getDouble());
+			}
+		}
+		return entries;
+	}
+
+
+	/**
+	 * Reads the record of the given entry from the data file.
+	 * @param entry The entry of the result, which should be read.
+	 * @return Returns the record.
+	 * @throws IOException If the data file couldn't be read or is no valid result file.
+	 */
+	public static Record readRecord(Entry entry) throws IOException {
+		try (FileChannel data = FileChannel.open(directory.resolve(DATA_FILE), StandardOpenOption.READ)) {
+			checkHeader(data);
+
+			ByteBuffer buffer = ByteBuffer.allocate(entry.length);
+			readFully(data, buffer, entry.position);
+			DataInputStream in = new DataInputStream(new ByteArrayInputStream(buffer.array()));
+
+			long time = in.readLong();
+			String inputHandler = in.readUTF();
+			String inputConfiguration = in.readUTF();
+			String transcoder = in.readUTF();
+			String transcoderConfiguration = in.readUTF();
+			String noiseSource = in.readUTF();
+			String noiseConfiguration = in.readUTF();
+			double noiseProbability = in.readDouble();
+			int trials = in.readInt();
+			Accumulator[] metrics = new Accumulator[Result.METRIC_NAMES.length];
+			for (int i = 0; i < metrics.length; i++) {
+				metrics[i] = Accumulator.read(in);
+			}
+			return new Record(time, inputHandler, inputConfiguration, transcoder, transcoderConfiguration, 
+					noiseSource, noiseConfiguration, noiseProbability, trials, metrics);
+		}
+	}
+
+
+	/**
+	 * Checks the header of the data file. Its version has to be {@link #VERSION} and its metrics have to be {@link Result#METRIC_NAMES}.
+	 * @param data The opened data file.
+	 * @throws IOException If the header couldn't be read or doesn't fit.
+	 */
+	private static void checkHeader(FileChannel data) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(data.size(), 1 << 16));
+		readFully(data, buffer, 0);
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(buffer.array(), 0, buffer.position()));
+		if (in.readInt() != MAGIC) throw new IOException(DATA_FILE + " is no result file");
+		short version = in.readShort();
+		if (version != VERSION) throw new IOException(DATA_FILE + " has the unknown version " + version);
+
+		boolean sameMetrics = in.readUnsignedShort() == Result.METRIC_NAMES.length;
+		for (int i = 0; sameMetrics && i < Result.METRIC_NAMES.length; i++) {
+			sameMetrics = Result.METRIC_NAMES[i].equals(in.readUTF());
+		}
+		if (!sameMetrics) throw new IOException(DATA_FILE + " was saved with other metrics");
+	}
+
+
+	/**
+	 * Writes the whole buffer into the channel.
+	 * @param channel The channel to write into.
+	 * @param buffer The buffer to be written.
+	 * @throws IOException If the channel couldn't be written.
+	 */
+	private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+
+
+	/**
+	 * Fills the buffer from the channel beginning at the given position or until the end of the channel is reached.
+	 * @param channel The channel to read from.
+	 * @param buffer The buffer to be filled.
+	 * @param position The position in the channel.
+	 * @throws IOException If the channel couldn't be read.
+	 */
+	private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+		while (buffer.hasRemaining()) {
+			int read = channel.read(buffer, position + buffer.position());
+			if (read < 0) break;
+		}
+	}
+
+
+	/**
+	 * The entry of a saved result in the index file.
+	 * @author Wolkenfarmer
+	 */
+	static class Entry {
+		/** The number of the result, beginning with 0 for the first saved one.*/
+		final int number;
+		/** The position of the result's record in the data file.*/
+		final long position;
+		/** The length of the result's record in bytes.*/
+		final int length;
+		/** The time the result got saved in milliseconds since 1970.*/
+		final long time;
+		/** The number of trials of the result.*/
+		final int trials;
+		/** The bit error rate after decoding.*/
+		final double bitErrorRate;
+		/** The frame error rate.*/
+		final double frameErrorRate;
+
+		/**
+		 * @param number The number of the result.
+		 * @param position The position of the result's record in the data file.
+		 * @param length The length of the result's record in bytes.
+		 * @param time The time the result got saved.
+		 * @param trials The number of trials of the result.
+		 * @param bitErrorRate The bit error rate after decoding.
+		 * @param frameErrorRate The frame error rate.
+		 */
+		Entry(int number, long position, int length, long time, int trials, double bitErrorRate, double frameErrorRate) {
+			this.number = number;
+			this.position = position;
+			this.length = length;
+			this.time = time;
+			this.trials = trials;
+			this.bitErrorRate = bitErrorRate;
+			this.frameErrorRate = frameErrorRate;
+		}
+	}
+
+
+	/**
+	 * A result of the communication experiment with its configuration and the state of all its metrics.
+	 * @author Wolkenfarmer
+	 */
+	static class Record {
+		/** The time the result got saved in milliseconds since 1970.*/
+		final long time;
+		/** The name of the used input handler.*/
+		final String inputHandler;
+		/** The configuration of the used input handler ("" if it has none).*/
+		final String inputConfiguration;
+		/** The name of the used transcoder.*/
+		final String transcoder;
+		/** The configuration of the used transcoder ("" if it has none).*/
+		final String transcoderConfiguration;
+		/** The name of the used noise source.*/
+		final String noiseSource;
+		/** The configuration of the used noise source ("" if it has none).*/
+		final String noiseConfiguration;
+		/** The bit error probability of the used noise source or NaN if it has none.*/
+		final double noiseProbability;
+		/** The number of trials.*/
+		final int trials;
+		/** The metrics in the order of {@link Result#METRIC_NAMES}.*/
+		final Accumulator[] metrics;
+
+		/**
+		 * @param time The time the result got saved.
+		 * @param inputHandler The name of the used input handler.
+		 * @param inputConfiguration The configuration of the used input handler.
+		 * @param transcoder The name of the used transcoder.
+		 * @param transcoderConfiguration The configuration of the used transcoder.
+		 * @param noiseSource The name of the used noise source.
+		 * @param noiseConfiguration The configuration of the used noise source.
+		 * @param noiseProbability The bit error probability of the used noise source.
+		 * @param trials The number of trials.
+		 * @param metrics The metrics in the order of {@link Result#METRIC_NAMES}.
+		 */
+		Record(long time, String inputHandler, String inputConfiguration, String transcoder, String transcoderConfiguration, 
+				String noiseSource, String noiseConfiguration, double noiseProbability, int trials, Accumulator[] metrics) {
+			this.time = time;
+			this.inputHandler = inputHandler;
+			this.inputConfiguration = inputConfiguration;
+			this.transcoder = transcoder;
+			this.transcoderConfiguration = transcoderConfiguration;
+			this.noiseSource = noiseSource;
+			this.noiseConfiguration = noiseConfiguration;
+			this.noiseProbability = noiseProbability;
+			this.trials = trials;
+			this.metrics = metrics;
+		}
+
+		/** @return Returns the bit error rate after decoding.*/
+		double getBitErrorRate() {
+			return metrics[Result.MESSAGE_BIT_ERRORS].getMean() / metrics[Result.MESSAGE_BITS].getMean();
+		}
+
+		/** @return Returns the frame error rate.*/
+		double getFrameErrorRate() {
+			return metrics[Result.FRAME_ERRORS].getMean();
+		}
+
+		/**
+		 * Creates the record of a run with the given experiment elements and takes their configurations and the probability 
+		 * of the noise source.
+		 * @param time The time the result got saved.
+		 * @param inputHandler The used input handler.
+		 * @param transcoder The used transcoder.
+		 * @param noiseSource The used noise source.
+		 * @param trials The number of trials.
+		 * @param metrics The metrics in the order of {@link Result#METRIC_NAMES}.
+		 */
+		Record(long time, ExperimentElement inputHandler, ExperimentElement transcoder, ExperimentElement noiseSource, 
+				int trials, Accumulator[] metrics) {
+			this(time, inputHandler.getName(false), configuration(inputHandler), transcoder.getName(false), configuration(transcoder), 
+					noiseSource.getName(false), configuration(noiseSource), noiseSource.getBitErrorProbability(), trials, metrics);
+		}
+
+		/**
+		 * Creates a copy of the given record with other trials and metrics (e.g. after merging).
+		 * @param time The time the result got saved.
+		 * @param record The record whose configuration gets taken.
+		 * @param trials The number of trials.
+		 * @param metrics The metrics in the order of {@link Result#METRIC_NAMES}.
+		 */
+		Record(long time, Record record, int trials, Accumulator[] metrics) {
+			this(time, record.inputHandler, record.inputConfiguration, record.transcoder, record.transcoderConfiguration, 
+					record.noiseSource, record.noiseConfiguration, record.noiseProbability, trials, metrics);
+		}
+
+		/**
+		 * @param element An experiment element.
+		 * @return Returns the {@link ExperimentElement#getConfiguration() configuration} of the element or "" if it has none.
+		 */
+		private static String configuration(ExperimentElement element) {
+			String configuration = element.getConfiguration();
+			return configuration == null ? "" : configuration;
+		}
+
+		/**
+		 * Compares the experiment elements, their configurations and the probability of the noise source.
+		 * @param other Another record.
+		 * @return Returns whether both records have the same configuration.
+		 */
+		boolean hasSameConfiguration(Record other) {
+			return inputHandler.equals(other.inputHandler) && inputConfiguration.equals(other.inputConfiguration)
+					&& transcoder.equals(other.transcoder) && transcoderConfiguration.equals(other.transcoderConfiguration)
+					&& noiseSource.equals(other.noiseSource) && noiseConfiguration.equals(other.noiseConfiguration)
+					&& Double.compare(noiseProbability, other.noiseProbability) == 0;
+		}
+	}
+}
@@ -2,6 +2,9 @@ package de.wolkenfarmer.environment.logic;
 
 import de.wolkenfarmer.experiment_elements.ExperimentElement;
 
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+
 /**
  * Runs the communication experiment with the selected {@link ExperimentElement experiment elements}.
  * @author Wolkenfarmer
@@ -13,10 +16,12 @@ public class Run {
 	 * Currently this variable can only be set manually.*/
 	public static int repeat = 1000;
 	/** Saves the number of times the communication experiment was already repeated.
-	 * Gets incremented in {@link #run(ExperimentElement, ExperimentElement, ExperimentElement)} and 
-	 * - if an evaluation had a caught error - decremented in 
-	 * {@link de.wolkenfarmer.environment.logic.Result#addResult(String, String, String, String, String, String)}.*/
+	 * Gets incremented in {@link #run(ExperimentElement, ExperimentElement, ExperimentElement)}.*/
 	public static int repeated = 0;
+	/** Saves the number of trials of the current run, which gets evaluated by {@link Result}.
+	 * Gets set in {@link #run(ExperimentElement, ExperimentElement, ExperimentElement)} by the input handler's 
+	 * {@link ExperimentElement#getTrials(int)}, which is {@link #repeat} unless e.g. a file gets sent in blocks.*/
+	public static int trials = repeat;
 	/** Defines the interpretation rule for message-version-comparison in {@link Result}. 
 	 * If set to true, no check-position corrections will be made. 
 	 * This is only recommended if just basic characters got used in the example of Unicode text 
@@ -31,9 +36,106 @@ public class Run {
 	/** The standard Unicode message, if no {@link de.wolkenfarmer.experiment_elements.input_handlers input handler} 
 	 * got selected or it was left empty. Currently this variable can only be set manually.*/
 	public static String standardUnicodeMessage = "Hello World!";
+	/** Defines whether the input handler and the encoding run on their own thread ahead of the noise source, decoding and evaluation.
+	 * Both sides get connected via a bounded queue with {@link #pipelineCapacity} trials, so that they can overlap on different cores.
+	 * Currently this variable can only be set manually.*/
+	public static boolean pipelined = true;
+	/** The number of already encoded trials which can wait for the noise source and decoder if {@link #pipelined} = true.
+	 * Currently this variable can only be set manually.*/
+	public static int pipelineCapacity = 64;
+	/** Defines whether the encoded code gets reused for every trial if the input handler gives the 
+	 * {@link ExperimentElement#isConstantInput() same message every time} and the transcoder has a 
+	 * {@link ExperimentElement#getConfiguration() configuration}. Currently this variable can only be set manually.*/
+	public static boolean encodeCache = true;
+	/** Defines whether the trials run in batches of 64 bit-sliced trials (bit j of all 64 codes lives in one long), 
+	 * if the code got {@link #encodeCache cached} and the transcoder and noise source are {@link ExperimentElement#isSliceable() sliceable}.
+	 * Only the bit-level metrics of {@link Result} get evaluated in batches (see {@link #runBatched(ExperimentElement, ExperimentElement)}).
+	 * Currently this variable can only be set manually.*/
+	public static boolean batched = false;
+	/** The bit error probabilities of the noise source for which 
+	 * {@link #sweep(ExperimentElement, ExperimentElement, ExperimentElement)} runs the communication experiment. 
+	 * Currently this variable can only be set manually.*/
+	public static double[] sweepProbabilities = {0.001, 0.005, 0.01, 0.025, 0.05, 0.1};
+	/** The seed from which the {@link #trialSeed seeds of the trials} get derived. 
+	 * If it's 0, a new one gets chosen for every run. Currently this variable can only be set manually.*/
+	public static long seed = 0;
+	/** The seed of the current trial. The noise source should use it for its random numbers, so that every trial can be reproduced.
+	 * Gets set before the noise source alters the data by {@link #nextTrialSeed()}.*/
+	public static long trialSeed;
+	/** The time the decoding of the current trial took in nanoseconds. Gets exported by {@link TrialSink}.*/
+	public static long decodeNanos;
+	/** The number of received code symbols a rateless {@link de.wolkenfarmer.experiment_elements.transcoder transcoder} 
+	 * (e.g. the {@link de.wolkenfarmer.experiment_elements.transcoder.LtTranscoder LT code}) needed to recover the message 
+	 * in the current trial, or -1 if the transcoder doesn't report it or couldn't recover the message. 
+	 * Gets reset before every decoding and added to the result by {@link Result}.*/
+	public static int symbolsNeeded = -1;
+	/** The number of blocks a rateless transcoder couldn't recover in the current trial, or -1 if the transcoder doesn't report it. 
+	 * Gets reset before every decoding and added to the result by {@link Result}, so that the failed trials, 
+	 * which don't report {@link #symbolsNeeded}, still count.*/
+	public static int decodeFailures = -1;
+	/** The number of frames the {@link de.wolkenfarmer.experiment_elements.transcoder.ArqTranscoder ARQ} transmitted 
+	 * in the current trial, or -1 if the transcoder doesn't retransmit. Gets reset before every decoding and added to the result 
+	 * together with {@link #arqRetransmissions}, {@link #arqGoodput} and {@link #arqLatencies} by {@link Result}.*/
+	public static int arqFrames = -1;
+	/** The number of frames the ARQ sent again in the current trial.*/
+	public static int arqRetransmissions;
+	/** The goodput of the ARQ in the current trial in bits per simulated second: the message bits of the frames which passed 
+	 * the error detection divided by the time until the last frame got delivered.*/
+	public static double arqGoodput;
+	/** The simulated time in nanoseconds from the first transmission of every frame until it got delivered in order.
+	 * Only the first {@link #arqFrames} entries belong to the current trial.*/
+	public static long[] arqLatencies;
+	/** The flagged units of the corrected message in the current trial with one bit per unit (byte), which the transcoder attached 
+	 * to the decoded data as {@link UniDataType#getErasures() erasures}, or null if it didn't hand over a packed message 
+	 * with erasures (e.g. {@link de.wolkenfarmer.experiment_elements.transcoder.DeselectTranscoder no transcoder}). Gets set after every decoding together with {@link #correctedBits} 
+	 * and counted by {@link Result}.*/
+	public static PackedBinary flaggedUnits;
+	/** The bits of the corrected message in the current trial (the bytes of the message in UTF8), as the transcoder handed them over 
+	 * {@link UniDataType.Format#PACKED packed}, or null if it handed over another format. 
+	 * Gets set after every decoding by {@link #takeMessageBits(UniDataType)}, so that {@link Result} can compare them directly 
+	 * instead of packing the {@link #correctedMessage corrected message} again.*/
+	public static PackedBinary correctedBits;
+	/** The bits of the code in the current trial before the noise source altered it, 
+	 * or null if the noise source didn't get it {@link UniDataType.Format#PACKED packed}. 
+	 * Gets reset before every trial and set by the noise source next to {@link #originalCode}.*/
+	public static PackedBinary originalCodeBits;
+	/** The bits of the code in the current trial after the noise source altered it, 
+	 * or null if the noise source didn't get it {@link UniDataType.Format#PACKED packed}. 
+	 * Gets reset before every trial and set by the noise source next to {@link #changedCode}.*/
+	public static PackedBinary changedCodeBits;
+	/** The seed of the current run. Gets set in {@link #runTrials(ExperimentElement, ExperimentElement, ExperimentElement)}.*/
+	private static long runSeed;
+	/** The number of trials which got altered by the noise source in the current run.*/
+	private static long attempts;
+	/** The {@link Metrics.Timer timer} of the stage in which the input handler provides the message.*/
+	private static final Metrics.Timer INPUT = Metrics.timer("input");
+	/** The {@link Metrics.Timer timer} of the stage in which the transcoder encodes the message.*/
+	private static final Metrics.Timer ENCODE = Metrics.timer("encode");
+	/** The {@link Metrics.Timer timer} of the stage in which the noise source alters the code.*/
+	private static final Metrics.Timer NOISE = Metrics.timer("noise");
+	/** The {@link Metrics.Timer timer} of the stage in which the transcoder decodes the code.*/
+	private static final Metrics.Timer DECODE = Metrics.timer("decode");
+	/** The {@link Metrics.Timer timer} of the evaluation of the trials by {@link Result}.*/
+	private static final Metrics.Timer EVALUATION = Metrics.timer("evaluation");
+	/** The {@link UniDataType.Format formats} into which the data gets converted before the stages encode, noise and decode.
+	 * Gets planned once per run by {@link #negotiate(ExperimentElement, ExperimentElement, ExperimentElement)}.
+	 * A format of null means that the data gets handed over as it is.*/
+	static UniDataType.Format[] plan = new UniDataType.Format[3];
+	/** The encoded code of the constant message in the format of the noise source. 
+	 * Gets copied for every trial instead of encoding the message again if {@link #cached} = true.*/
+	private static UniDataType cachedCode;
+	/** The message of {@link #cachedCode}.*/
+	private static String cachedMessage;
+	/** Identifies {@link #cachedCode} by the input handler, the message, the transcoder and its configuration, 
+	 * so that it can be reused by the next run as long as none of them changed.*/
+	private static String cacheKey;
+	/** Whether the trials of the current run use {@link #cachedCode}. 
+	 * Gets set in {@link #prepareCache(ExperimentElement, ExperimentElement)}.*/
+	private static boolean cached;
 	
 	/** The original Message, which neither got en- / decoded or changed by a noise source. 
-	 * It gets set by the {@link de.wolkenfarmer.experiment_elements.input_handlers input handler}. */
+	 * The {@link de.wolkenfarmer.experiment_elements.input_handlers input handler} attaches it to its data 
+	 * ({@link UniDataType#getMessage()}) and it gets set from there on the thread which evaluates the trials. */
 	public static String originalMessage;
 	/** Saves the already encoded but not yet by the {@link de.wolkenfarmer.experiment_elements.noise_sources noise source} 
 	 * changed message from the {@link de.wolkenfarmer.experiment_elements.noise_sources noise source}.*/
@@ -57,6 +159,14 @@ public class Run {
 	 * In order to cover as much input handlers and transcoder and noise sources as possible, 
 	 * the data from one experiment element will be transferred via {@link UniDataType} to another 
 	 * converting the given data type to the requested one.
+	 * Depending on {@link #pipelined}, the trials either run one after another or with the encoding on its own thread
+	 * (see {@link #runPipelined(ExperimentElement, ExperimentElement, ExperimentElement) runPipelined()}). 
+	 * If {@link #batched} = true, they might run 64 at once instead 
+	 * (see {@link #runBatched(ExperimentElement, ExperimentElement) runBatched()}).
+	 * Before the first trial, all experiment elements get {@link ExperimentElement#prepareRun() prepared} 
+	 * and the input handler decides how many {@link #trials} there will be.
+	 * If {@link TrialSink#enabled} = true, every trial gets exported by the {@link TrialSink trial sink}.
+	 * Afterwards, the {@link Metrics metrics} of the run get printed and shown on the home page.
 	 * 
 	 * @param inputHandler The {@link de.wolkenfarmer.experiment_elements.input_handlers input handler} 
 	 * which provides the data for this experiment
@@ -67,22 +177,511 @@ public class Run {
 	 * which will alter the data between en- and decoder in the channel a bit.
 	 */
 	public static void run(ExperimentElement inputHandler, ExperimentElement transcoder, ExperimentElement noiseSource) {
-		UniDataType data = new UniDataType();
-				
-		for (repeated = 0; repeated < repeat; repeated++) {
-			data = inputHandler.doJob((byte) 0, data);
-			data = transcoder.doJob((byte) 0, data);
-			data = noiseSource.doJob((byte) 0, data);
-			data = transcoder.doJob((byte) 1, data);
+		Metrics.startRun();
+		TrialSink.open();
+		try {
+			runTrials(inputHandler, transcoder, noiseSource);
+		} finally {
+			TrialSink.close();
+			finishMetrics();
+		}
+		Result.updateResult();
+	}
+	
+	
+	/**
+	 * Runs the communication experiment once for every bit error probability of {@link #sweepProbabilities}. <br>
+	 * The results of the runs don't get shown one after another, 
+	 * but get {@link Result#addSweepPoint(double) collected} as bit-error-rate-vs-noise curve, 
+	 * which gets shown by {@link Result#updateSweepResult()} afterwards.
+	 * The bit error probability of the noise source gets restored in the end.
+	 * If the noise source has no bit error probability (e.g. nothing is selected), a normal run will be made instead.
+	 * @param inputHandler The {@link de.wolkenfarmer.experiment_elements.input_handlers input handler}.
+	 * @param transcoder The {@link de.wolkenfarmer.experiment_elements.transcoder transcoder}.
+	 * @param noiseSource The {@link de.wolkenfarmer.experiment_elements.noise_sources noise source} which will be swept.
+	 */
+	public static void sweep(ExperimentElement inputHandler, ExperimentElement transcoder, ExperimentElement noiseSource) {
+		double previous = noiseSource.getBitErrorProbability();
+		if (Double.isNaN(previous)) {
+			Log.warn("Communication experiment exception - " + noiseSource.getName(false) 
+					+ " has no bit error probability which could be swept");
+			run(inputHandler, transcoder, noiseSource);
+			return;
+		}
+		
+		Metrics.startRun();
+		TrialSink.open();
+		try {
+			for (double probability : sweepProbabilities) {
+				noiseSource.setBitErrorProbability(probability);
+				runTrials(inputHandler, transcoder, noiseSource);
+				Result.addSweepPoint(noiseSource.getBitErrorProbability());
+			}
+		} finally {
+			noiseSource.setBitErrorProbability(previous);
+			TrialSink.close();
+			finishMetrics();
+		}
+		
+		Result.updateSweepResult();
+	}
+	
+	
+	/**
+	 * Runs all {@link #trials} of the communication experiment without evaluating them in the end. <br>
+	 * Before the first trial, the transcoder gets the noise source as its {@link ExperimentElement#setChannel(ExperimentElement.Channel) channel}, 
+	 * which draws the random numbers of every transmission with a seed derived from the {@link #trialSeed seed of the trial}, and all experiment elements get {@link ExperimentElement#prepareRun() prepared} and after the last one, they get {@link ExperimentElement#finishRun() finished}. The flags and packed bits of the last trial 
+	 * ({@link #flaggedUnits}, {@link #correctedBits}, {@link #originalCodeBits} and {@link #changedCodeBits}) get cleared then, 
+	 * so that they can't be mistaken for the ones of a later evaluation.
+	 * It doesn't need the GUI, which is why the tests run the trials with it.
+	 * @param inputHandler The {@link de.wolkenfarmer.experiment_elements.input_handlers input handler}.
+	 * @param transcoder The {@link de.wolkenfarmer.experiment_elements.transcoder transcoder}.
+	 * @param noiseSource The {@link de.wolkenfarmer.experiment_elements.noise_sources noise source}.
+	 */
+	static void runTrials(ExperimentElement inputHandler, ExperimentElement transcoder, ExperimentElement noiseSource) {
+		long allocated = Metrics.allocatedBytes();
+		try {
+			inputHandler.prepareRun();
+			transcoder.setChannel((code, transmission) -> noiseSource.alter(code, SplitMix.derive(trialSeed, transmission)));
+			transcoder.prepareRun();
+			noiseSource.prepareRun();
+			trials = inputHandler.getTrials(repeat);
+			runSeed = seed != 0 ? seed : System.nanoTime();
+			attempts = 0;
+			negotiate(inputHandler, transcoder, noiseSource);
+			cached = prepareCache(inputHandler, transcoder);
+			Log.startRun();
+			
+			if (batched && cached && trials >= Long.SIZE && transcoder.isSliceable() && noiseSource.isSliceable()) {
+				runBatched(transcoder, noiseSource);
+			} else if (pipelined) {
+				runPipelined(inputHandler, transcoder, noiseSource);
+			} else {
+				runSequential(inputHandler, transcoder, noiseSource);
+			}
+		} finally {
+			inputHandler.finishRun();
+			transcoder.finishRun();
+			noiseSource.finishRun();
+			flaggedUnits = null;
+			correctedBits = null;
+			originalCodeBits = null;
+			changedCodeBits = null;
+			Metrics.ALLOCATED_BYTES.add(Metrics.allocatedBytes() - allocated);
+		}
+	}
+	
+	
+	/**
+	 * Plans the conversions of the run by following the {@link UniDataType.Format format} of the data from the input handler 
+	 * to the decoder and saves the result in {@link #plan}. <br>
+	 * For every stage the {@link ExperimentElement#getInputFormats(byte) accepted format} which needs the fewest 
+	 * {@link UniDataType.Format#stepsTo(UniDataType.Format) conversion steps} gets chosen (the preferred one if it's a tie), 
+	 * so that the trials don't have to look up and repeat conversions which could have been avoided.
+	 * @param inputHandler The {@link de.wolkenfarmer.experiment_elements.input_handlers input handler}.
+	 * @param transcoder The {@link de.wolkenfarmer.experiment_elements.transcoder transcoder}.
+	 * @param noiseSource The {@link de.wolkenfarmer.experiment_elements.noise_sources noise source}.
+	 */
+	static void negotiate(ExperimentElement inputHandler, ExperimentElement transcoder, ExperimentElement noiseSource) {
+		ExperimentElement[] elements = {transcoder, noiseSource, transcoder};
+		byte[] tasks = {0, 0, 1};
+		UniDataType.Format current = inputHandler.getOutputFormat((byte) 0);
+		
+		for (int i = 0; i < plan.length; i++) {
+			UniDataType.Format[] accepted = elements[i].getInputFormats(tasks[i]);
+			plan[i] = null;
+			if (accepted != null && accepted.length > 0) {
+				plan[i] = accepted[0];
+				if (current != null) {
+					for (UniDataType.Format format : accepted) {
+						if (current.stepsTo(format) < current.stepsTo(plan[i])) plan[i] = format;
+					}
+				}
+				current = plan[i];
+			}
+			UniDataType.Format output = elements[i].getOutputFormat(tasks[i]);
+			if (output != null) current = output;
+		}
+		Log.debug("Conversion plan: encode " + plan[0] + ", noise " + plan[1] + ", decode " + plan[2]);
+	}
+	
+	
+	/**
+	 * Prepares {@link #cachedCode} if {@link #encodeCache} = true, the input handler gives a 
+	 * {@link ExperimentElement#isConstantInput() constant message} and the transcoder has a 
+	 * {@link ExperimentElement#getConfiguration() configuration}. <br>
+	 * The message gets requested once in order to build the {@link #cacheKey key}. 
+	 * Only if it differs from the one of the last cached run, the message gets encoded and converted into the 
+	 * {@link #plan planned} format of the noise source.
+	 * @param inputHandler The {@link de.wolkenfarmer.experiment_elements.input_handlers input handler}.
+	 * @param transcoder The {@link de.wolkenfarmer.experiment_elements.transcoder transcoder}.
+	 * @return Returns whether the trials of the run can use {@link #cachedCode}.
+	 */
+	private static boolean prepareCache(ExperimentElement inputHandler, ExperimentElement transcoder) {
+		String configuration = transcoder.getConfiguration();
+		if (!encodeCache || !inputHandler.isConstantInput() || configuration == null) return false;
+		
+		UniDataType data = stage(INPUT, null, inputHandler, (byte) 0, new UniDataType());
+		originalMessage = data.getMessage();
+		String key = inputHandler.getName(false) + '\n' + transcoder.getName(false) + '\n' + configuration + '\n' + originalMessage;
+		if (!key.equals(cacheKey)) {
+			cachedCode = stage(ENCODE, plan[0], transcoder, (byte) 0, data);
+			cachedCode.convert(plan[1]);
+			cacheKey = key;
+			Log.debug("Encode cache: the message got encoded for all trials");
+		}
+		cachedMessage = originalMessage;
+		return true;
+	}
+	
+	
+	/**
+	 * Stops the {@link Metrics metrics} of the run, prints their snapshot and shows it on the 
+	 * {@link de.wolkenfarmer.environment.pages.Home home page}.
+	 */
+	private static void finishMetrics() {
+		Metrics.finishRun();
+		Metrics.log();
+		Main.home.updateMetrics(Metrics.snapshot());
+	}
+	
+	
+	/**
+	 * Runs the communication experiment one trial after another on the calling thread.
+	 * Like in {@link #runPipelined(ExperimentElement, ExperimentElement, ExperimentElement) runPipelined()}, every trial starts 
+	 * with new data, since an input handler only sets one data type and the other ones would still hold the last trial.
+	 * If the code got {@link #prepareCache(ExperimentElement, ExperimentElement) cached}, 
+	 * every trial starts with a copy of it instead of encoding the message.
+	 * @param inputHandler The {@link de.wolkenfarmer.experiment_elements.input_handlers input handler}.
+	 * @param transcoder The {@link de.wolkenfarmer.experiment_elements.transcoder transcoder}.
+	 * @param noiseSource The {@link de.wolkenfarmer.experiment_elements.noise_sources noise source}.
+	 */
+	private static void runSequential(ExperimentElement inputHandler, ExperimentElement transcoder, ExperimentElement noiseSource) {
+		for (repeated = 0; repeated < trials; repeated++) {
+			UniDataType data;
+			if (cached) {
+				data = cachedCode.copy();
+			} else {
+				data = stage(INPUT, null, inputHandler, (byte) 0, new UniDataType());
+				originalMessage = data.getMessage();
+				data = stage(ENCODE, plan[0], transcoder, (byte) 0, data);
+			}
+			trialSeed = nextTrialSeed();
+			originalCodeBits = null;
+			changedCodeBits = null;
+			data = stage(NOISE, plan[1], noiseSource, (byte) 0, data);
+			symbolsNeeded = -1;
+			decodeFailures = -1;
+			arqFrames = -1;
+			long start = System.nanoTime();
+			data = stage(DECODE, plan[2], transcoder, (byte) 1, data);
+			decodeNanos = System.nanoTime() - start;
+			correctedBits = takeMessageBits(data);
+			flaggedUnits = correctedBits != null ? data.getErasures() : null;
 			
-			Result.addResult(originalMessage, originalCode, changedCode, changedMessage, correctedMessage, correctedFlaggedMessage);
+			evaluate(originalMessage, transcoder);
 			
-			if (data.getStringUnicode().length() < 100) {
-				Result.SysoResult(originalMessage, originalCode, changedCode, changedMessage, correctedMessage, correctedFlaggedMessage);
+			Log.trial(originalMessage, originalCode, changedCode, changedMessage, correctedMessage, correctedFlaggedMessage);
+		}
+	}
+	
+	
+	/**
+	 * Runs the communication experiment with the input handler and the encoding on a separate thread. <br>
+	 * The encoder thread keeps producing encoded trials and puts them into a queue with {@link #pipelineCapacity} places,
+	 * while the calling thread takes them out, lets the noise source alter them, decodes them and evaluates the result.
+	 * The input handler attaches the message to its data, so that every trial carries its own message through the queue 
+	 * and the encoder thread never touches {@link #originalMessage}. It only gets set on the calling thread before a trial 
+	 * gets altered and decoded, and holds the message of the last evaluated trial after the encoder thread stopped.
+	 * If the code got {@link #prepareCache(ExperimentElement, ExperimentElement) cached}, the encoder thread only copies it.
+	 * The encoder thread gets stopped as soon as all trials got evaluated.
+	 * @param inputHandler The {@link de.wolkenfarmer.experiment_elements.input_handlers input handler}.
+	 * @param transcoder The {@link de.wolkenfarmer.experiment_elements.transcoder transcoder}.
+	 * @param noiseSource The {@link de.wolkenfarmer.experiment_elements.noise_sources noise source}.
+	 */
+	private static void runPipelined(ExperimentElement inputHandler, ExperimentElement transcoder, ExperimentElement noiseSource) {
+		ArrayBlockingQueue<Trial> queue = new ArrayBlockingQueue<Trial>(pipelineCapacity);
+		Trial end = new Trial(null, null);
+		
+		Thread encoder = new Thread(() -> {
+			long allocated = Metrics.allocatedBytes();
+			try {
+				while (!Thread.currentThread().isInterrupted()) {
+					if (cached) {
+						queue.put(new Trial(cachedMessage, cachedCode.copy()));
+						continue;
+					}
+					UniDataType data = new UniDataType();
+					data = stage(INPUT, null, inputHandler, (byte) 0, data);
+					String message = data.getMessage();
+					data = stage(ENCODE, plan[0], transcoder, (byte) 0, data);
+					queue.put(new Trial(message, data));
+				}
+			} catch (InterruptedException e) {
+				// the evaluation is finished
+			} catch (RuntimeException e) {
+				Log.error("Communication experiment exception - encoding failed\n" + e);
+				queue.offer(end);
+			} finally {
+				Metrics.ALLOCATED_BYTES.add(Metrics.allocatedBytes() - allocated);
 			}
+		}, "Encoder");
+		encoder.setDaemon(true);
+		encoder.start();
+		
+		Trial evaluated = null;
+		try {
+			for (repeated = 0; repeated < trials; repeated++) {
+				Trial trial = queue.take();
+				if (trial == end) break;
+				
+				evaluated = trial;
+				originalMessage = trial.message;
+				trialSeed = nextTrialSeed();
+				originalCodeBits = null;
+				changedCodeBits = null;
+				UniDataType data = stage(NOISE, plan[1], noiseSource, (byte) 0, trial.data);
+				symbolsNeeded = -1;
+				decodeFailures = -1;
+				arqFrames = -1;
+				long start = System.nanoTime();
+				data = stage(DECODE, plan[2], transcoder, (byte) 1, data);
+				decodeNanos = System.nanoTime() - start;
+				correctedBits = takeMessageBits(data);
+				flaggedUnits = correctedBits != null ? data.getErasures() : null;
+				
+				evaluate(trial.message, transcoder);
+				
+				Log.trial(trial.message, originalCode, changedCode, changedMessage, correctedMessage, correctedFlaggedMessage);
+			}
+		} catch (InterruptedException e) {
+			Log.error("Communication experiment got interrupted\n" + e);
+		} finally {
+			encoder.interrupt();
+			try {
+				encoder.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			if (evaluated != null) originalMessage = evaluated.message;
+		}
+	}
+	
+	
+	/**
+	 * Runs the communication experiment with 64 trials at once in a bit-sliced layout, in which bit j of the 64 trials lives in one long
+	 * (bit t belongs to trial t). <br>
+	 * The {@link #cachedMessage constant message} gets sliced (every bit becomes 0 or -1) and encoded once via 
+	 * {@link ExperimentElement#encodeSliced(long[])}. For every batch, the noise source alters a copy of the code with the 
+	 * {@link #nextTrialSeed() seeds} of its trials via {@link ExperimentElement#alterSliced(long[], long[], int)}, 
+	 * so that every trial gets the same changes as it would on its own. Afterwards, the transcoder decodes all of them via 
+	 * {@link ExperimentElement#decodeSliced(long[], long[])} and {@link Result#addBatchResult(long[], long[], long[], long[], long, 
+	 * long[], int)} counts their bit errors via popcount. <br>
+	 * Since the messages never get assembled, the trials don't set the message-versions and don't get {@link Log#trial(String, String, 
+	 * String, String, String, String) logged}. The {@link Metrics.Timer timers} of the stages measure whole batches.
+	 * @param transcoder The {@link de.wolkenfarmer.experiment_elements.transcoder transcoder}.
+	 * @param noiseSource The {@link de.wolkenfarmer.experiment_elements.noise_sources noise source}.
+	 */
+	private static void runBatched(ExperimentElement transcoder, ExperimentElement noiseSource) {
+		byte[] bytes = cachedMessage.getBytes(StandardCharsets.UTF_8);
+		long[] message = new long[bytes.length * 8];
+		for (int i = 0; i < message.length; i++) {
+			if ((bytes[i >>> 3] >>> (7 - (i & 7)) & 1) == 1) message[i] = -1L;
+		}
+		originalMessage = cachedMessage;
+		
+		long start = System.nanoTime();
+		long[] code = transcoder.encodeSliced(message);
+		ENCODE.record(System.nanoTime() - start);
+		long[] changed = new long[code.length];
+		long[] corrected = new long[message.length];
+		long[] seeds = new long[Long.SIZE];
+		
+		for (repeated = 0; repeated < trials; repeated += Long.SIZE) {
+			int count = Math.min(Long.SIZE, trials - repeated);
+			for (int t = 0; t < count; t++) {
+				seeds[t] = nextTrialSeed();
+			}
+			trialSeed = seeds[0];
+			System.arraycopy(code, 0, changed, 0, code.length);
+			
+			start = System.nanoTime();
+			noiseSource.alterSliced(changed, seeds, count);
+			NOISE.record(System.nanoTime() - start);
+			start = System.nanoTime();
+			long flagged = transcoder.decodeSliced(changed, corrected);
+			long duration = System.nanoTime() - start;
+			DECODE.record(duration);
+			decodeNanos = duration / count;
+			
+			start = System.nanoTime();
+			Result.addBatchResult(code, changed, message, corrected, flagged, seeds, count);
+			EVALUATION.record(System.nanoTime() - start);
+		}
+		repeated = trials;
+	}
+	
+	
+	/**
+	 * Converts the data into the {@link #plan planned} format, lets the experiment element do its job for one stage of the trial, 
+	 * adds its duration to the stage's {@link Metrics.Timer timer} and records a {@link StageEvent} if the Java Flight Recorder records it. Otherwise, the event doesn't get filled, which leaves next to no overhead.
+	 * While recording, the name of the element gets saved for the {@link ConversionEvent conversions} during the stage.
+	 * The {@link UniDataType#getMessage() message} of the data gets handed over to the returned data, so that it stays with its trial.
+	 * @param stage The timer of the stage ({@link #INPUT}, {@link #ENCODE}, {@link #NOISE} or {@link #DECODE}).
+	 * @param format The format from {@link #plan} or null if the data should be handed over as it is.
+	 * @param element The experiment element.
+	 * @param task The task for {@link ExperimentElement#doJob(byte, UniDataType)}.
+	 * @param data The data for {@link ExperimentElement#doJob(byte, UniDataType)}.
+	 * @return Returns the data returned by the experiment element.
+	 */
+	private static UniDataType stage(Metrics.Timer stage, UniDataType.Format format, ExperimentElement element, byte task, 
+			UniDataType data) {
+		StageEvent event = new StageEvent();
+		String message = data.getMessage();
+		if (!event.isEnabled()) {
+			long start = System.nanoTime();
+			data.convert(format);
+			data = element.doJob(task, data);
+			stage.record(System.nanoTime() - start);
+			if (data.getMessage() == null) data.setMessage(message);
+			return data;
 		}
 		
-		Result.updateResult();		
+		String name = element.getName(false);
+		StageEvent.current.set(name);
+		event.begin();
+		long start = System.nanoTime();
+		data.convert(format);
+		data = element.doJob(task, data);
+		stage.record(System.nanoTime() - start);
+		event.end();
+		if (data.getMessage() == null) data.setMessage(message);
+		StageEvent.current.remove();
+		if (event.shouldCommit()) {
+			event.stage = stage.getName();
+			event.element = name;
+			event.messageLength = data.getMessage() == null ? 0 : data.getMessage().length();
+			event.codeLength = data.getBitLength();
+			event.commit();
+		}
+		return data;
+	}
+	
+	
+	/**
+	 * Evaluates the current trial via {@link Result#addResult(String, String, String, String, String, String)}, 
+	 * adds its duration to {@link #EVALUATION} and records an {@link EvaluationEvent} if the Java Flight Recorder records it.
+	 * While recording, the {@link ConversionEvent conversions} during the evaluation get "Result" as element.
+	 * @param message The original message of the trial.
+	 * @param transcoder The used transcoder.
+	 */
+	private static void evaluate(String message, ExperimentElement transcoder) {
+		EvaluationEvent event = new EvaluationEvent();
+		if (!event.isEnabled()) {
+			long start = System.nanoTime();
+			Result.addResult(message, originalCode, changedCode, changedMessage, correctedMessage, correctedFlaggedMessage);
+			EVALUATION.record(System.nanoTime() - start);
+			return;
+		}
 		
+		StageEvent.current.set("Result");
+		event.begin();
+		long start = System.nanoTime();
+		Result.addResult(message, originalCode, changedCode, changedMessage, correctedMessage, correctedFlaggedMessage);
+		EVALUATION.record(System.nanoTime() - start);
+		event.end();
+		StageEvent.current.remove();
+		if (event.shouldCommit()) {
+			event.element = transcoder.getName(false);
+			event.messageLength = message.length();
+			event.codeLength = originalCode.length() - originalCode.chars().filter(c -> c == '-').count();
+			event.commit();
+		}
+	}
+	
+	
+	/**
+	 * Derives the seed of the next trial from the {@link #runSeed seed of the run} and the number of {@link #attempts}
+	 * ({@link SplitMix}), so that the seeds of the trials are independent from each other.
+	 * @return Returns the seed of the next trial.
+	 */
+	private static long nextTrialSeed() {
+		return SplitMix.derive(runSeed, ++attempts);
+	}
+	
+	
+	/**
+	 * @param data The decoded data.
+	 * @return Returns the packed bits of the decoded data, if they are a packed message with units of 8 bits 
+	 * (the bytes of the message in UTF8), or null otherwise.
+	 */
+	private static PackedBinary takeMessageBits(UniDataType data) {
+		if (data.getFormat() != UniDataType.Format.PACKED || data.getPackedBinary().getUnitLength() != 8) return null;
+		return data.getPackedBinary();
+	}
+	
+	
+	/**
+	 * Builds the {@link #correctedFlaggedMessage corrected+flagged message} from the corrected message and its flagged units. <br>
+	 * Every whole flagged unit gets overwritten with the {@link #getFlagSign(int) flag sign}, so that the flags can be seen in the message.
+	 * This only serves the display and the log, since the transcoders hand the flags over as {@link UniDataType#getErasures() erasures} 
+	 * next to the unchanged corrected message and {@link Result} counts them from there.
+	 * @param corrected The corrected message.
+	 * @param flags The flagged units of the corrected message with one bit per unit.
+	 * @return Returns the corrected+flagged message in Unicode.
+	 */
+	public static String getFlaggedMessage(PackedBinary corrected, PackedBinary flags) {
+		PackedBinary correctedFlagged = corrected.copy();
+		int unitLength = corrected.getUnitLength();
+		long flagSign = Long.parseLong(getFlagSign(unitLength), 2);
+		long[] words = flags.getWords();
+		for (int w = 0; w < words.length; w++) {
+			for (long x = words[w]; x != 0; x &= x - 1) {
+				int u = (w << 6) + 63 - Long.numberOfTrailingZeros(x);
+				if (u < flags.getLength() && (u + 1) * unitLength <= corrected.getLength()) {
+					correctedFlagged.setBits(u * unitLength, unitLength, flagSign);
+				}
+			}
+		}
+		UniDataType message = new UniDataType();
+		message.setPackedBinary(correctedFlagged);
+		return message.getStringUnicode();
+	}
+	
+	
+	/**
+	 * Returns the flag sign for a unit with the given length. <br>
+	 * For 8 bit units this is {@link #flagSignBinary}. Units of other lengths (e.g. inside a 
+	 * {@link de.wolkenfarmer.experiment_elements.transcoder.TranscoderChain transcoder chain}) get the last bits of 
+	 * {@link #flagSignBinary} or - if they are longer - {@link #flagSignBinary} with leading 0s, 
+	 * so that the length of the units doesn't change by flagging them.
+	 * @param length The length of the unit in bits.
+	 * @return Returns the flag sign.
+	 */
+	public static String getFlagSign(int length) {
+		if (length == flagSignBinary.length()) return flagSignBinary;
+		if (length < flagSignBinary.length()) return flagSignBinary.substring(flagSignBinary.length() - length);
+		return "0".repeat(length - flagSignBinary.length()) + flagSignBinary;
+	}
+	
+	
+	/**
+	 * An encoded trial waiting in the queue of {@link Run#runPipelined(ExperimentElement, ExperimentElement, ExperimentElement)}.
+	 * @author Wolkenfarmer
+	 */
+	private static class Trial {
+		/** The original message of this trial.*/
+		final String message;
+		/** The encoded data of this trial.*/
+		final UniDataType data;
+		
+		/**
+		 * @param message The original message of this trial.
+		 * @param data The encoded data of this trial.
+		 */
+		Trial(String message, UniDataType data) {
+			this.message = message;
+			this.data = data;
+		}
 	}
 }
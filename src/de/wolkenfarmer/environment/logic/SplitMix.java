@@ -0,0 +1,36 @@
+package de.wolkenfarmer.environment.logic;
+
+/**
+ * The random number generator SplitMix64, from which the seeds of the trials and the random decisions
+ * of some experiment elements (e.g. the graphs of the LT code) get derived. <br>
+ * Its state only gets increased by {@link #GOLDEN} for every number, so that any number can be computed directly
+ * from the seed and its index without an object, and neighbouring seeds still give independent numbers.
+ * @author Wolkenfarmer
+ * @see <a href="https://prng.di.unimi.it/splitmix64.c">SplitMix64</a>
+ */
+public class SplitMix {
+	/** The increment of the state for every number (2^64 divided by the golden ratio).*/
+	public static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+
+	/**
+	 * The output function of SplitMix64.
+	 * @param z The state of the generator.
+	 * @return Returns the random number of the state.
+	 */
+	public static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+
+	/**
+	 * @param seed The seed of the generator.
+	 * @param index The index of the number.
+	 * @return Returns the index-th random number of the generator with the given seed.
+	 */
+	public static long derive(long seed, long index) {
+		return mix(seed + index * GOLDEN);
+	}
+}
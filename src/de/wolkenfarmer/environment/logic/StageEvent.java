@@ -0,0 +1,39 @@
+package de.wolkenfarmer.environment.logic;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder event for one stage of a trial of the communication experiment 
+ * (input, encode, noise or decode, see {@link Run#stage(String, de.wolkenfarmer.experiment_elements.ExperimentElement, byte, UniDataType)}). <br>
+ * The event only gets filled and committed if it's recorded, so that it has next to no overhead otherwise.
+ * @author Wolkenfarmer
+ * @see <a href="https://docs.oracle.com/en/java/javase/17/jfapi/">JDK Flight Recorder API</a>
+ */
+@Name("de.wolkenfarmer.Stage")
+@Label("Stage")
+@Category({"Source-Channel-Coding-Environment", "Communication experiment"})
+@Description("One stage of a trial of the communication experiment")
+public class StageEvent extends Event {
+	/** The name of the element which is currently running a stage on this thread. 
+	 * Gets only set while recording and used by {@link ConversionEvent}.*/
+	static final ThreadLocal<String> current = new ThreadLocal<String>();
+
+	/** The stage of the trial (input, encode, noise or decode).*/
+	@Label("Stage")
+	String stage;
+	/** The name of the experiment element.*/
+	@Label("Element")
+	String element;
+	/** The number of characters of the original message.*/
+	@Label("Message Length")
+	int messageLength;
+	/** The number of bits of the data after the stage.*/
+	@Label("Code Length")
+	@DataAmount(DataAmount.BITS)
+	long codeLength;
+}
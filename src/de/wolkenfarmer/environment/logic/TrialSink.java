@@ -0,0 +1,281 @@
+package de.wolkenfarmer.environment.logic;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Exports one raw record per trial of the communication experiment for offline analysis (CSV or JSON lines). <br>
+ * Every record contains the number of the trial, its {@link Run#trialSeed seed}, the bit errors in the code and in the
+ * corrected message, the changed, corrected and flagged characters and the time the decoding took. <br>
+ * The trial loop only writes the record's numbers into the next slot of a ring buffer ({@link #RING_SIZE} slots of primitive arrays)
+ * and moves on. A writer thread takes them out, formats them without creating any objects and writes them through
+ * a buffered {@link FileChannel}. The ring buffer has exactly one producer (the thread calling {@link Result#addResult(String,
+ * String, String, String, String, String)}) and one consumer (the writer thread), so two counters are enough to share it without locks.
+ * If the ring buffer is full, the trial loop waits for the writer thread, so that no record gets lost.
+ * @author Wolkenfarmer
+ * @see Result#addResult(String, String, String, String, String, String)
+ */
+public class TrialSink {
+	/** Defines whether the trials get exported. Currently this variable can only be set manually.*/
+	public static boolean enabled = false;
+	/** Defines whether the trials get exported as JSON lines or as CSV. Currently this variable can only be set manually.*/
+	public static boolean json = false;
+	/** The file the trials get exported to. It gets overwritten by every run. Currently this variable can only be set manually.*/
+	public static Path path = Paths.get("results", "trials.csv");
+	/** The number of slots of the ring buffer. Has to be a power of two.*/
+	static final int RING_SIZE = 1 << 16;
+	/** The size of the buffer of the writer thread in bytes.*/
+	static final int BUFFER_SIZE = 1 << 20;
+	/** The maximum length of one formatted record in bytes.*/
+	static final int MAX_RECORD_SIZE = 256;
+	/** The names of the columns.*/
+	static final String[] COLUMNS = {"trial", "seed", "codeBitErrors", "messageBitErrors", "changedChars", "correctedChars",
+			"flaggedChars", "decodeNanos"};
+
+	/** The number of the trial of each slot.*/
+	private static final long[] trial = new long[RING_SIZE];
+	/** The seed of each slot.*/
+	private static final long[] seed = new long[RING_SIZE];
+	/** The bit errors in the code of each slot.*/
+	private static final int[] codeBitErrors = new int[RING_SIZE];
+	/** The bit errors in the corrected message of each slot.*/
+	private static final int[] messageBitErrors = new int[RING_SIZE];
+	/** The changed characters of each slot.*/
+	private static final int[] changedChars = new int[RING_SIZE];
+	/** The corrected characters of each slot.*/
+	private static final int[] correctedChars = new int[RING_SIZE];
+	/** The flagged characters of each slot.*/
+	private static final int[] flaggedChars = new int[RING_SIZE];
+	/** The decoding time in nanoseconds of each slot.*/
+	private static final long[] decodeNanos = new long[RING_SIZE];
+	/** The number of records which got added. Only gets written by the trial loop.*/
+	private static final AtomicLong tail = new AtomicLong();
+	/** The number of records which got written. Only gets written by the writer thread.*/
+	private static final AtomicLong head = new AtomicLong();
+	/** The number of the next trial. Only used by the trial loop.*/
+	private static long nextTrial;
+
+	/** The opened file. Gets opened by {@link #open()} and closed by {@link #close()}.*/
+	private static FileChannel channel;
+	/** The writer thread. It runs from {@link #open()} until {@link #close()}.*/
+	private static Thread writer;
+	/** Tells the writer thread to write the remaining records and stop.*/
+	private static volatile boolean closing;
+
+
+	/**
+	 * Opens {@link #path}, writes the header (CSV only) and starts the writer thread if {@link #enabled} = true.
+	 * Gets called by {@link Run} before the first trial.
+	 */
+	public static void open() {
+		if (!enabled) return;
+		try {
+			if (path.getParent() != null) Files.createDirectories(path.getParent());
+			channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+			if (!json) {
+				ByteBuffer header = ByteBuffer.wrap((String.join(",", COLUMNS) + "\n").getBytes(StandardCharsets.US_ASCII));
+				while (header.hasRemaining()) channel.write(header);
+			}
+		} catch (IOException e) {
+			Log.error("Trial sink exception - " + path + " couldn't be opened\n" + e);
+			channel = null;
+			return;
+		}
+
+		tail.set(0);
+		head.set(0);
+		nextTrial = 0;
+		closing = false;
+		writer = new Thread(TrialSink::write, "Trial sink");
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+
+	/**
+	 * @return Returns whether the trials currently get exported.
+	 */
+	public static boolean isOpen() {return channel != null;}
+
+
+	/**
+	 * Adds the record of a trial to the ring buffer. Waits if the ring buffer is full.
+	 * Does nothing if the sink isn't {@link #isOpen() open}.
+	 * @param trialSeed The seed of the trial.
+	 * @param codeBitErrorsT The bit errors in the code.
+	 * @param messageBitErrorsT The bit errors in the corrected message.
+	 * @param changedCharsT The changed characters or -1 if they couldn't be aligned.
+	 * @param correctedCharsT The corrected characters or -1 if they couldn't be aligned.
+	 * @param flaggedCharsT The flagged characters or -1 if they couldn't be aligned.
+	 * @param decodeNanosT The time the decoding took in nanoseconds.
+	 */
+	public static void add(long trialSeed, int codeBitErrorsT, int messageBitErrorsT, int changedCharsT, int correctedCharsT,
+			int flaggedCharsT, long decodeNanosT) {
+		if (channel == null) return;
+		long t = tail.get();
+		while (t - head.get() >= RING_SIZE) {
+			if (!writer.isAlive()) return;
+			Thread.onSpinWait();
+		}
+		int i = (int) t & (RING_SIZE - 1);
+		trial[i] = nextTrial++;
+		seed[i] = trialSeed;
+		codeBitErrors[i] = codeBitErrorsT;
+		messageBitErrors[i] = messageBitErrorsT;
+		changedChars[i] = changedCharsT;
+		correctedChars[i] = correctedCharsT;
+		flaggedChars[i] = flaggedCharsT;
+		decodeNanos[i] = decodeNanosT;
+		tail.lazySet(t + 1);
+	}
+
+
+	/**
+	 * Stops the writer thread after it wrote the remaining records and closes the file.
+	 * Gets called by {@link Run} after the last trial.
+	 */
+	public static void close() {
+		if (channel == null) return;
+		closing = true;
+		try {
+			writer.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		try {
+			channel.close();
+		} catch (IOException e) {
+			Log.error("Trial sink exception - " + path + " couldn't be closed\n" + e);
+		}
+		channel = null;
+		writer = null;
+	}
+
+
+	/**
+	 * The loop of the writer thread. Formats the records of the ring buffer into a buffer and writes it into {@link #channel}
+	 * whenever it's full or the ring buffer got empty. Parks shortly if there are no records.
+	 */
+	private static void write() {
+		ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+		try {
+			while (true) {
+				boolean last = closing;
+				long h = head.get();
+				long t = tail.get();
+				if (h == t) {
+					flush(buffer);
+					if (last) return;
+					LockSupport.parkNanos(100_000);
+					continue;
+				}
+				for (; h < t; h++) {
+					if (buffer.remaining() < MAX_RECORD_SIZE) flush(buffer);
+					format(buffer, (int) h & (RING_SIZE - 1));
+				}
+				head.lazySet(h);
+			}
+		} catch (IOException e) {
+			Log.error("Trial sink exception - " + path + " couldn't be written\n" + e);
+		}
+	}
+
+
+	/**
+	 * Writes the content of the buffer into {@link #channel} and clears it.
+	 * @param buffer The buffer to be written.
+	 * @throws IOException If the file couldn't be written.
+	 */
+	private static void flush(ByteBuffer buffer) throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) channel.write(buffer);
+		buffer.clear();
+	}
+
+
+	/**
+	 * Formats the record of the given slot as CSV line or JSON line.
+	 * @param buffer The buffer to write into.
+	 * @param i The slot of the ring buffer.
+	 */
+	private static void format(ByteBuffer buffer, int i) {
+		if (json) buffer.put((byte) '{');
+		for (int c = 0; c < COLUMNS.length; c++) {
+			if (c > 0) buffer.put((byte) ',');
+			if (json) {
+				buffer.put((byte) '"');
+				putAscii(buffer, COLUMNS[c]);
+				buffer.put((byte) '"').put((byte) ':');
+			}
+			putLong(buffer, value(c, i));
+		}
+		if (json) buffer.put((byte) '}');
+		buffer.put((byte) '\n');
+	}
+
+
+	/**
+	 * @param c The column (see {@link #COLUMNS}).
+	 * @param i The slot of the ring buffer.
+	 * @return Returns the value of the given column of the slot.
+	 */
+	private static long value(int c, int i) {
+		switch (c) {
+		case 0: return trial[i];
+		case 1: return seed[i];
+		case 2: return codeBitErrors[i];
+		case 3: return messageBitErrors[i];
+		case 4: return changedChars[i];
+		case 5: return correctedChars[i];
+		case 6: return flaggedChars[i];
+		default: return decodeNanos[i];
+		}
+	}
+
+
+	/**
+	 * Writes the given ASCII text into the buffer.
+	 * @param buffer The buffer to write into.
+	 * @param text The text.
+	 */
+	private static void putAscii(ByteBuffer buffer, String text) {
+		for (int i = 0; i < text.length(); i++) {
+			buffer.put((byte) text.charAt(i));
+		}
+	}
+
+
+	/**
+	 * Writes the decimal digits of the given number into the buffer.
+	 * @param buffer The buffer to write into.
+	 * @param v The number.
+	 */
+	private static void putLong(ByteBuffer buffer, long v) {
+		if (v == Long.MIN_VALUE) {
+			putAscii(buffer, Long.toString(v));
+			return;
+		}
+		if (v < 0) {
+			buffer.put((byte) '-');
+			v = -v;
+		}
+		int start = buffer.position();
+		do {
+			buffer.put((byte) ('0' + v % 10));
+			v /= 10;
+		} while (v != 0);
+		for (int a = start, b = buffer.position() - 1; a < b; a++, b--) {
+			byte tmp = buffer.get(a);
+			buffer.put(a, buffer.get(b));
+			buffer.put(b, tmp);
+		}
+	}
+}
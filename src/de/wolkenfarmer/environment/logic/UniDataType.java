@@ -7,11 +7,11 @@ import de.wolkenfarmer.experiment_elements.ExperimentElement;
 
 /**
  * Universal data type to be handed over from one method to another. <br>
- * This class saves the given input and gives it back in the required format {@link #converter(String) converting} it in the process if needed.
+ * This class saves the given input and gives it back in the required format {@link #converter(Format) converting} it in the process if needed.
  * In addition, it works as an universal data type for the interface {@link ExperimentElement experiment element}
  * in order to be able to get an unknown type from an experiment element.
  * @author Wolkenfarmer (+ mkyong, Vincent)
- * @see #converter(String) converter() for further information
+ * @see #converter(Format) converter() for further information
  */
 public class UniDataType {
 	/** The String(Unicode) option as data type. Example: "Hello!"*/
@@ -22,10 +22,31 @@ public class UniDataType {
 	private String[] stringBinaryArray;
 	/** The char[](binary) option as data type. Example: '1', '0', '0', '1', '0', '0', '0', '-'*/
 	private char[] charBinary;
+	/** The PackedBinary option as data type. Example: 1001000110010111011001101100 packed into a long[] with a unit length of 7.
+	 * @see PackedBinary*/
+	private PackedBinary packedBinary;
+	/** Optional reliabilities of the bits of {@link #packedBinary} as log-likelihood ratios (positive for 0), 
+	 * which noise sources with soft outputs can attach. Decoders which can use them take them via {@link #getSoftBits()}. 
+	 * They get dropped whenever the bits get replaced or converted, since they only belong to the bits they were attached to.*/
+	private float[] softBits;
+	/** Optional erasures of {@link #packedBinary} with one bit per unit (the last one can be shorter), 
+	 * where a set bit means that the unit got lost on its way (e.g. a packet dropped by 
+	 * {@link de.wolkenfarmer.experiment_elements.noise_sources.PacketErasure packet erasure}) and its bits are meaningless. 
+	 * Like the {@link #softBits}, they get dropped whenever the bits get replaced or converted.*/
+	private PackedBinary erasures;
+	/** The original message of the trial this data belongs to, which the 
+	 * {@link de.wolkenfarmer.experiment_elements.input_handlers input handler} attaches. 
+	 * Unlike the other variables, it stays through conversions, so that the message travels with its trial 
+	 * (e.g. through the queue of a pipelined run) instead of via {@link Run#originalMessage}.*/
+	private String message;
+	/** The code as a {@link de.wolkenfarmer.experiment_elements.transcoder transcoder} which sends parts of it again 
+	 * (e.g. the {@link de.wolkenfarmer.experiment_elements.transcoder.ArqTranscoder ARQ}) sent it. 
+	 * Like the {@link #message}, it stays through conversions, so that the decoding of the trial finds its own code.*/
+	private PackedBinary sentCode;
 	
 	/**
 	 * String builder for "String(Unicode) to String(binary)" and "String[](binary) to String(binary)".
-	 * @see #converter(String)
+	 * @see #converter(Format)
 	 */
 	StringBuilder sb;
 	
@@ -41,24 +62,34 @@ public class UniDataType {
 	 * The char-representations get divided by a '-'. Uses the 4th code example of the first @ see in a slightly modified version. 
 	 * UTF8 is used for this conversion.<br>
 	 * ... String[](binary): Uses "String(Unicode) to String(binary)" and "String(binary) to String[](binary)".<br>
-	 * ... char[](binary): Uses "String(Unicode) to String(binary)" plus .toCharArray().</dd>
+	 * ... char[](binary): Uses "String(Unicode) to String(binary)" plus .toCharArray().<br>
+	 * ... PackedBinary: Packs the UTF8 bytes of the String directly as 8 bit units.</dd>
 	 * 
 	 * <dt><span class="strong">String(binary) to ...</span></dt><dd>
 	 * ... String(Unicode): Uses the 5th code example of the first @ see as it's base. 
 	 * Got further enhanced with the help of Vincent (see comments under article) and then further improved for the use in this program 
 	 * (various try-catches for example for noisy Unicode interpretation. UTF8 is used for this conversion.<br>
 	 * ... String[](binary): Uses String.split("-").<br>
-	 * ... char[](binary): Uses String.toCharArray().</dd>
+	 * ... char[](binary): Uses String.toCharArray().<br>
+	 * ... PackedBinary: Packs every '0' / '1' and takes the position of the first '-' as unit length.</dd>
 	 * 
 	 * <dt><span class="strong">String[](binary) to ...</span></dt><dd>
 	 * ... String(Unicode): Uses "String[](binary) to String(binary)" and "String(binary) to String(Unicode)".<br>
 	 * ... String(binary): Appends each String[](binary)-element and puts '-' in between.<br>
-	 * ... char[](binary): Uses "String[](binary) to String(binary)" and "String(binary) to char[](binary)".</dd>
+	 * ... char[](binary): Uses "String[](binary) to String(binary)" and "String(binary) to char[](binary)".<br>
+	 * ... PackedBinary: Packs every element and takes the length of the first one as unit length.</dd>
 	 * 
 	 * <dt><span class="strong">char[](binary) to ...</span></dt><dd>
 	 * ... String(Unicode): Uses "char[](binary) to String(binary)" and "String(binary) to String(Unicode)".<br>
 	 * ... String(binary): Uses new String(char[]).<br>
-	 * ... String[](binary): Uses "char[](binary) to String(binary)" and "String(binary) to String[](binary)".</dd>
+	 * ... String[](binary): Uses "char[](binary) to String(binary)" and "String(binary) to String[](binary)".<br>
+	 * ... PackedBinary: Same as "String(binary) to PackedBinary".</dd>
+	 * 
+	 * <dt><span class="strong">PackedBinary to ...</span></dt><dd>
+	 * ... String(Unicode): Uses "PackedBinary to String(binary)" and "String(binary) to String(Unicode)".<br>
+	 * ... String(binary): Writes the bits and puts '-' after every unit.<br>
+	 * ... String[](binary): Writes every unit in its own element, including a shorter last unit.<br>
+	 * ... char[](binary): Uses "PackedBinary to String(binary)" and "String(binary) to char[](binary)".</dd>
 	 * 
 	 * <dt><span class="strong">apiNote:</span></dt><dd>
 	 * If you want to ensure that the content is always available in only one variable, 
@@ -68,11 +99,18 @@ public class UniDataType {
 	 * @param output The requested output.
 	 * @see <a href="https://mkyong.com/java/java-convert-string-to-binary/">mkyong</a>
 	 */
-	private void converter(String output) {		
+	private void converter(Format output) {		
+		Metrics.CONVERSIONS.increment();
+		softBits = null;
+		erasures = null;
+		ConversionEvent event = new ConversionEvent();
+		event.begin();
+		Format input = getFormat();
+		
 		if (stringUnicode != null) {
 			//System.out.println("__UniDataType_converter: input type found: String(Unicode) -> \"" + output + "\"");
 			switch (output) {
-			case "String(binary)":
+			case BINARY_STRING:
 				sb = new StringBuilder();
 				byte[] bInput = stringUnicode.getBytes(StandardCharsets.UTF_8);
 				for (byte b : bInput) {
@@ -87,26 +125,32 @@ public class UniDataType {
 		        stringUnicode = null;
 				break;
 				
-			case "String[](binary)":
-				converter("String(binary)");
-				converter("String[](binary)");
+			case BINARY_STRING_ARRAY:
+				converter(Format.BINARY_STRING);
+				converter(Format.BINARY_STRING_ARRAY);
 				break;
 				
-			case "char[](binary)":
-				converter("String(binary)");
+			case BINARY_CHARS:
+				converter(Format.BINARY_STRING);
 				charBinary = stringBinary.toCharArray();
 				stringBinary = null;
 				break;
 				
+			case PACKED:
+				byte[] bytes = stringUnicode.getBytes(StandardCharsets.UTF_8);
+				packedBinary = PackedBinary.fromBytes(bytes, 0, bytes.length);
+				stringUnicode = null;
+				break;
+				
 			default:
-				System.out.println("__UniDataType_converter: no fitting converter found for \"String(Unicode)\" -> \"" + output + "\"");
+				Log.error("__UniDataType_converter: no fitting converter found for \"String(Unicode)\" -> \"" + output + "\"");
 			}
 			
 			
 		} else if (stringBinary != null) {
 			//System.out.println("__UniDataType_converter: input type found: String(binary) -> \"" + output + "\"");
 			switch (output) {
-			case "String(Unicode)":
+			case UNICODE:
 				String[] stringBA = stringBinary.split("-");
 				String stringBConvert = new String();
 				
@@ -156,30 +200,35 @@ public class UniDataType {
 				stringBinary = null;
 				break;
 				
-			case "String[](binary)":
+			case BINARY_STRING_ARRAY:
 				stringBinaryArray = stringBinary.split("-");
 				stringBinary = null;
 				break;
 				
-			case "char[](binary)":
+			case BINARY_CHARS:
 				charBinary = stringBinary.toCharArray();
 				stringBinary = null;
 				break;
 				
+			case PACKED:
+				packedBinary = pack(stringBinary.toCharArray());
+				stringBinary = null;
+				break;
+				
 			default:
-				System.out.println("__UniDataType_converter: no fitting converter found for \"String(binary)\" -> \"" + output + "\"");
+				Log.error("__UniDataType_converter: no fitting converter found for \"String(binary)\" -> \"" + output + "\"");
 			}
 			
 		
 		} else if (stringBinaryArray != null) {
 			//System.out.println("__UniDataType_converter: input type found: String[](binary) -> \"" + output + "\"");
 			switch (output) {
-			case "String(Unicode)":
-				converter("String(binary)");
-				converter("String(Unicode)");
+			case UNICODE:
+				converter(Format.BINARY_STRING);
+				converter(Format.UNICODE);
 				break;
 				
-			case "String(binary)":
+			case BINARY_STRING:
 				sb = new StringBuilder();
 				for (int i = 0; i < stringBinaryArray.length; i++) {
 					sb.append(stringBinaryArray[i]);
@@ -189,44 +238,222 @@ public class UniDataType {
 				stringBinaryArray = null;
 				break;
 				
-			case "char[](binary)":
-				converter("String(binary)");
-				converter("char[](binary)");
+			case BINARY_CHARS:
+				converter(Format.BINARY_STRING);
+				converter(Format.BINARY_CHARS);
+				break;
+				
+			case PACKED:
+				int bits = 0;
+				for (int i = 0; i < stringBinaryArray.length; i++) bits += stringBinaryArray[i].length();
+				packedBinary = new PackedBinary(bits, stringBinaryArray.length > 0 ? stringBinaryArray[0].length() : 0);
+				int p = 0;
+				for (int i = 0; i < stringBinaryArray.length; i++) {
+					for (int k = 0; k < stringBinaryArray[i].length(); k++) {
+						if (stringBinaryArray[i].charAt(k) == '1') packedBinary.set(p, true);
+						p++;
+					}
+				}
+				stringBinaryArray = null;
 				break;
 				
 			default:
-				System.out.println("__UniDataType_converter: no fitting converter found for \"String[](binary)\" -> \"" + output + "\"");
+				Log.error("__UniDataType_converter: no fitting converter found for \"String[](binary)\" -> \"" + output + "\"");
 			}
 			
 			
 		} else if (charBinary != null) {
 			//System.out.println("__UniDataType_converter: input type found: char[](binary) -> \"" + output + "\"");
 			switch (output) {
-			case "String(Unicode)":
-				converter("String(binary)");
+			case UNICODE:
+				converter(Format.BINARY_STRING);
 				charBinary = null;
-				converter("String(Unicode)");
+				converter(Format.UNICODE);
 				stringBinary = null;
 				break;
 				
-			case "String(binary)":
+			case BINARY_STRING:
 				stringBinary = new String(charBinary);
 				charBinary = null;
 				break;
 				
-			case "String[](binary)":
-				converter("String(binary)");
-				converter("String[](binary)");
+			case BINARY_STRING_ARRAY:
+				converter(Format.BINARY_STRING);
+				converter(Format.BINARY_STRING_ARRAY);
+				break;
+				
+			case PACKED:
+				packedBinary = pack(charBinary);
+				charBinary = null;
+				break;
+				
+			default:
+				Log.error("__UniDataType_converter: no fitting converter found for \"char[](binary)\" -> \"" + output + "\"");
+			}
+			
+			
+		} else if (packedBinary != null) {
+			//System.out.println("__UniDataType_converter: input type found: PackedBinary -> \"" + output + "\"");
+			switch (output) {
+			case UNICODE:
+				converter(Format.BINARY_STRING);
+				converter(Format.UNICODE);
+				break;
+				
+			case BINARY_STRING:
+				stringBinary = packedBinary.toBinaryString();
+				packedBinary = null;
+				break;
+				
+			case BINARY_STRING_ARRAY:
+				int unitLength = packedBinary.getUnitLength();
+				stringBinaryArray = new String[unitLength == 0 ? 0 : (packedBinary.getLength() + unitLength - 1) / unitLength];
+				char[] unit = new char[unitLength];
+				for (int i = 0; i < stringBinaryArray.length; i++) {
+					int length = Math.min(unitLength, packedBinary.getLength() - i * unitLength);
+					for (int k = 0; k < length; k++) {
+						unit[k] = packedBinary.get(i * unitLength + k) ? '1' : '0';
+					}
+					stringBinaryArray[i] = new String(unit, 0, length);
+				}
+				packedBinary = null;
+				break;
+				
+			case BINARY_CHARS:
+				converter(Format.BINARY_STRING);
+				converter(Format.BINARY_CHARS);
 				break;
 				
 			default:
-				System.out.println("__UniDataType_converter: no fitting converter found for \"char[](binary)\" -> \"" + output + "\"");
+				Log.error("__UniDataType_converter: no fitting converter found for \"PackedBinary\" -> \"" + output + "\"");
 			}
 			
 			
 		} else {
-			System.out.println("__UniDataType_converter: no input detected while converting to \"" + output + "\"");
+			Log.error("__UniDataType_converter: no input detected while converting to \"" + output + "\"");
+		}
+		
+		event.end();
+		if (event.shouldCommit()) {
+			event.from = input == null ? null : input.toString();
+			event.to = output.toString();
+			event.element = StageEvent.current.get();
+			String original = message != null ? message : Run.originalMessage;
+			event.messageLength = original == null ? 0 : original.length();
+			event.codeLength = getBitLength();
+			event.commit();
+		}
+	}
+	
+	
+	/**
+	 * @return Returns the format of the data which would be used by {@link #converter(Format)} or null if no data is set.
+	 */
+	public Format getFormat() {
+		if (stringUnicode != null) return Format.UNICODE;
+		if (stringBinary != null) return Format.BINARY_STRING;
+		if (stringBinaryArray != null) return Format.BINARY_STRING_ARRAY;
+		if (charBinary != null) return Format.BINARY_CHARS;
+		if (packedBinary != null) return Format.PACKED;
+		return null;
+	}
+	
+	
+	/**
+	 * Converts the data into the given format unless it's already in it or no data is set. <br>
+	 * Gets used by {@link Run} to convert the data once into the format an experiment element 
+	 * {@link ExperimentElement#getInputFormats(byte) accepts}.
+	 * @param format The requested format or null, if the data should stay as it is.
+	 */
+	public void convert(Format format) {
+		Format current = getFormat();
+		if (format != null && current != null && current != format) converter(format);
+	}
+	
+	
+	/**
+	 * Counts the bits of the data without converting it. Unicode gets counted as UTF8.
+	 * @return Returns the number of bits of the data which would be used by {@link #converter(Format)} or 0 if no data is set.
+	 */
+	public long getBitLength() {
+		if (stringUnicode != null) return 8L * stringUnicode.getBytes(StandardCharsets.UTF_8).length;
+		if (stringBinary != null) return stringBinary.length() - count(stringBinary.toCharArray());
+		if (stringBinaryArray != null) {
+			long bits = 0;
+			for (String unit : stringBinaryArray) {
+				bits += unit.length();
+			}
+			return bits;
+		}
+		if (charBinary != null) return charBinary.length - count(charBinary);
+		if (packedBinary != null) return packedBinary.getLength();
+		return 0;
+	}
+	
+	
+	/**
+	 * @param chars The binary chars.
+	 * @return Returns the number of '-' in the chars.
+	 */
+	private static int count(char[] chars) {
+		int dividers = 0;
+		for (char c : chars) {
+			if (c == '-') dividers++;
+		}
+		return dividers;
+	}
+	
+	
+	/**
+	 * Packs a char[](binary) or the chars of a String(binary) for {@link #converter(Format)}. 
+	 * The position of the first '-' defines the unit length.
+	 * @param chars The binary chars divided by '-'.
+	 * @return Returns the packed bits.
+	 */
+	private static PackedBinary pack(char[] chars) {
+		int bits = 0;
+		int unitLength = 0;
+		for (int i = 0; i < chars.length; i++) {
+			if (chars[i] == '-') {
+				if (unitLength == 0) unitLength = bits;
+			} else {
+				bits++;
+			}
+		}
+		PackedBinary packed = new PackedBinary(bits, unitLength == 0 ? bits : unitLength);
+		int p = 0;
+		for (int i = 0; i < chars.length; i++) {
+			if (chars[i] == '1') packed.set(p, true);
+			if (chars[i] != '-') p++;
+		}
+		return packed;
+	}
+	
+	
+	/**
+	 * Creates a copy of this data without converting it. <br>
+	 * Only the variable which would be used by {@link #converter(Format)}, the {@link #message} and the {@link #sentCode} get copied, 
+	 * arrays and {@link PackedBinary packed binaries} get copied deeply.
+	 * @return Returns the copy.
+	 */
+	public UniDataType copy() {
+		UniDataType c = new UniDataType();
+		c.message = message;
+		c.sentCode = sentCode;
+		if (stringUnicode != null) {
+			c.stringUnicode = stringUnicode;
+		} else if (stringBinary != null) {
+			c.stringBinary = stringBinary;
+		} else if (stringBinaryArray != null) {
+			c.stringBinaryArray = stringBinaryArray.clone();
+		} else if (charBinary != null) {
+			c.charBinary = charBinary.clone();
+		} else if (packedBinary != null) {
+			c.packedBinary = packedBinary.copy();
+			c.softBits = softBits == null ? null : softBits.clone();
+			c.erasures = erasures == null ? null : erasures.copy();
 		}
+		return c;
 	}
 	
 	
@@ -235,11 +462,11 @@ public class UniDataType {
 	public void setStringUnicode(String v) {
 		stringUnicode = v;
 	}
-	/** Returns {@link #stringUnicode} and calls {@link #converter(String)} beforehand if {@link #stringUnicode} was null.
+	/** Returns {@link #stringUnicode} and calls {@link #converter(Format)} beforehand if {@link #stringUnicode} was null.
 	 * @return Returns {@link #stringUnicode}.*/
 	public String getStringUnicode() {
 		if (stringUnicode == null) {
-			converter("String(Unicode)");
+			converter(Format.UNICODE);
 		}
 		return stringUnicode;
 	}
@@ -249,11 +476,11 @@ public class UniDataType {
 	public void setStringBinary(String v) {
 		stringBinary = v;
 	}
-	/** Returns {@link #stringBinary} and calls {@link #converter(String)} beforehand if {@link #stringBinary} was null.
+	/** Returns {@link #stringBinary} and calls {@link #converter(Format)} beforehand if {@link #stringBinary} was null.
 	 * @return Returns {@link #stringBinary}.*/
 	public String getStringBinary() {
 		if (stringBinary == null) {
-			converter("String(binary)");
+			converter(Format.BINARY_STRING);
 		}
 		return stringBinary;
 	}
@@ -263,11 +490,11 @@ public class UniDataType {
 	public void setStringBinaryArray(String[] v) {
 		stringBinaryArray = v;
 	}
-	/** Returns {@link #stringBinaryArray} and calls {@link #converter(String)} beforehand if {@link #stringBinaryArray} was null.
+	/** Returns {@link #stringBinaryArray} and calls {@link #converter(Format)} beforehand if {@link #stringBinaryArray} was null.
 	 * @return Returns {@link #stringBinaryArray}.*/
 	public String[] getStringBinaryArray() {
 		if (stringBinaryArray == null) {
-			converter("String[](binary)");
+			converter(Format.BINARY_STRING_ARRAY);
 		}
 		return stringBinaryArray;
 	}
@@ -277,12 +504,120 @@ public class UniDataType {
 	public void setCharBinary(char[] v) {
 		charBinary = v;
 	}
-	/** Returns {@link #charBinary} and calls {@link #converter(String)} beforehand if {@link #charBinary} was null.
+	/** Returns {@link #charBinary} and calls {@link #converter(Format)} beforehand if {@link #charBinary} was null.
 	 * @return Returns {@link #charBinary}.*/
 	public char[] getCharBinary() {
 		if (charBinary == null) {
-			converter("char[](binary)");
+			converter(Format.BINARY_CHARS);
 		}
 		return charBinary;
 	}
+	
+	/** Sets {@link #packedBinary} to v.
+	 * @param v New value for {@link #packedBinary}.*/
+	public void setPackedBinary(PackedBinary v) {
+		packedBinary = v;
+		softBits = null;
+		erasures = null;
+	}
+	/** Returns {@link #packedBinary} and calls {@link #converter(Format)} beforehand if {@link #packedBinary} was null.
+	 * @return Returns {@link #packedBinary}.*/
+	public PackedBinary getPackedBinary() {
+		if (packedBinary == null) {
+			converter(Format.PACKED);
+		}
+		return packedBinary;
+	}
+	
+	/** Attaches the {@link #softBits} to the current {@link #packedBinary}.
+	 * @param v New value for {@link #softBits} with one entry per bit.*/
+	public void setSoftBits(float[] v) {
+		softBits = v;
+	}
+	/** Returns {@link #softBits} if they fit the current {@link #packedBinary}.
+	 * @return Returns {@link #softBits} or null if there are none (e.g. after a noise source with hard outputs only).*/
+	public float[] getSoftBits() {
+		if (softBits == null || packedBinary == null || softBits.length != packedBinary.getLength()) return null;
+		return softBits;
+	}
+	/** Attaches the {@link #erasures} to the current {@link #packedBinary}.
+	 * @param v New value for {@link #erasures} with one bit per unit.*/
+	public void setErasures(PackedBinary v) {
+		erasures = v;
+	}
+	/** Returns {@link #erasures} if they fit the current {@link #packedBinary}.
+	 * @return Returns {@link #erasures} or null if there are none (e.g. after a noise source which only changes bits).*/
+	public PackedBinary getErasures() {
+		if (erasures == null || packedBinary == null || packedBinary.getUnitLength() <= 0 
+				|| erasures.getLength() != (packedBinary.getLength() + packedBinary.getUnitLength() - 1) / packedBinary.getUnitLength()) {
+			return null;
+		}
+		return erasures;
+	}
+	
+	/** Attaches the original {@link #message} of the trial.
+	 * @param v New value for {@link #message}.*/
+	public void setMessage(String v) {
+		message = v;
+	}
+	/** @return Returns the original {@link #message} of the trial or null if the input handler didn't attach it.*/
+	public String getMessage() {
+		return message;
+	}
+	/** Attaches the {@link #sentCode} of the trial.
+	 * @param v New value for {@link #sentCode}, which doesn't get changed afterwards.*/
+	public void setSentCode(PackedBinary v) {
+		sentCode = v;
+	}
+	/** @return Returns the {@link #sentCode} of the trial or null if no transcoder attached it.*/
+	public PackedBinary getSentCode() {
+		return sentCode;
+	}
+	
+	
+	/**
+	 * The formats in which {@link UniDataType} can hold its data. <br>
+	 * {@link ExperimentElement Experiment elements} declare which of them they {@link ExperimentElement#getInputFormats(byte) accept} 
+	 * and which one they {@link ExperimentElement#getOutputFormat(byte) give back}, so that {@link Run} can plan the conversions 
+	 * between them once per run.
+	 * @author Wolkenfarmer
+	 */
+	public enum Format {
+		/** String(Unicode), see {@link UniDataType#stringUnicode}.*/
+		UNICODE("String(Unicode)"),
+		/** String(binary), see {@link UniDataType#stringBinary}.*/
+		BINARY_STRING("String(binary)"),
+		/** String[](binary), see {@link UniDataType#stringBinaryArray}.*/
+		BINARY_STRING_ARRAY("String[](binary)"),
+		/** char[](binary), see {@link UniDataType#charBinary}.*/
+		BINARY_CHARS("char[](binary)"),
+		/** PackedBinary, see {@link UniDataType#packedBinary}.*/
+		PACKED("PackedBinary");
+		
+		/** The number of steps {@link UniDataType#converter(Format)} needs to convert one format (row) into another (column).
+		 * The steps via String(binary) count twice.*/
+		private static final int[][] STEPS = {
+				{0, 1, 2, 2, 1},
+				{1, 0, 1, 1, 1},
+				{2, 1, 0, 2, 1},
+				{2, 1, 2, 0, 1},
+				{2, 1, 1, 2, 0}};
+		/** The name of the format as used in the documentation of {@link UniDataType#converter(Format)}.*/
+		private final String name;
+		
+		/** @param name The name of the format.*/
+		Format(String name) {
+			this.name = name;
+		}
+		
+		/**
+		 * @param to The format to convert into.
+		 * @return Returns the number of steps needed to convert this format into the given one (0 if they are the same).
+		 */
+		public int stepsTo(Format to) {return STEPS[ordinal()][to.ordinal()];}
+		
+		/** @return Returns the name of the format (e.g. "String(Unicode)").*/
+		@Override
+		public String toString() {return name;}
+	}
 }
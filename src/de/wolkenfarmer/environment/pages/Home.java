@@ -4,6 +4,7 @@ import de.wolkenfarmer.Constants;
 import de.wolkenfarmer.environment.gui_elements.Arrow;
 import de.wolkenfarmer.environment.gui_elements.ModelFactory;
 import de.wolkenfarmer.environment.logic.Main;
+import de.wolkenfarmer.environment.logic.Result;
 import de.wolkenfarmer.environment.logic.Run;
 
 import java.util.Arrays;
@@ -39,7 +40,7 @@ import javafx.util.Callback;
  */
 public class Home {
 	/** Layout container representing the given root from {@link de.wolkenfarmer.environment.logic.Main} to attach the GUI-elements to.
-	 * It's content ({@link #hbHeading}, {@link #pSettings}, {@link #pControls}, {@link #pResults}) gets build in {@link #Home(Group)}.
+	 * It's content ({@link #hbHeading}, {@link #pSettings}, {@link #pControls}, {@link #pResults}, {@link #pMetrics}) gets build in {@link #Home(Group)}.
 	 * When loading another page its content gets first removed and then the layout container will be given to the other class.
 	 * When reloading the page {@link #reload(Group, boolean)} will be used to reattach  the content to the root.*/
 	private static Group root;
@@ -105,12 +106,21 @@ public class Home {
 			private static TableColumn<String[], String> tvResTabDescription;
 			/** The first column of {@link #tvResTable} displaying the values to the descriptions.*/
 			private static TableColumn<String[], String> tvResTabValue;
+	/** Layout container for the metrics segment below {@link #pControls}. Contains {@link #lMetHeading} and {@link #lMetContent} 
+	 * and gets added to {@link #root}.*/
+	private static Pane pMetrics;
+		/** Label which displays the subheading "Metrics". It's part of {@link #pMetrics}.*/
+		private static Label lMetHeading;
+		/** Label which displays the {@link de.wolkenfarmer.environment.logic.Metrics metrics} of the last run below {@link #lMetHeading}. 
+		 * It gets them from {@link #updateMetrics(String[][])} and is part of {@link #pMetrics}.*/
+		private static Label lMetContent;
 	/** Layout container for the controls segment. Contains {@link #lConHeading} and {@link #vbConButtons} and gets added to {@link #root}.*/
 	private static Pane pControls;
 		/** Label which displays the subheading "Controls". It's part of {@link #pControls}.*/
 		private static Label lConHeading;
 		/** Layout container for the buttons below {@link #lConHeading}. 
-		 * Contains {@link #bConButRun}, {@link #bConButSaveResult} and {@link #bConButHelp} and is part of {@link #pControls}.*/
+		 * Contains {@link #bConButRun}, {@link #bConButSweep}, {@link #bConButSaveResult}, {@link #bConButHistory} 
+		 * and {@link #bConButHelp} and is part of {@link #pControls}.*/
 		private static VBox vbConButtons;
 			/** The run button of the controls segment. Uses {@link Constants#BG_GREEN} as background.
 			 * Contains {@link #hbConButRun} and is part of {@link #vbConButtons}. 
@@ -124,9 +134,21 @@ public class Home {
 				private static HBox hbConButRun;
 					/** Label which displays {@link #bConButRun}'s description "Run". It's part of {@link #hbConButRun}.*/
 					private static Label lConButRun;
+			/** The sweep button of the controls segment. Uses {@link Constants#BG_GREEN} as background.
+			 * Contains {@link #hbConButSweep} and is part of {@link #vbConButtons}. 
+			 * It calls 
+			 * {@link de.wolkenfarmer.environment.logic.Run#sweep(de.wolkenfarmer.experiment_elements.ExperimentElement, 
+			 * de.wolkenfarmer.experiment_elements.ExperimentElement, de.wolkenfarmer.experiment_elements.ExperimentElement) sweep} 
+			 * with {@link Main#selectedInputHandler}, {@link Main#selectedTranscoder}, and {@link Main#selectedNoiSource}.*/
+			private static Button bConButSweep;
+				/** Layout container for the buttons description. This is needed in order to align the heading the center of the button. 
+				 * Contains {@link #lConButSweep} and is part of {@link #bConButSweep}.*/
+				private static HBox hbConButSweep;
+					/** Label which displays {@link #bConButSweep}'s description "Sweep noise". It's part of {@link #hbConButSweep}.*/
+					private static Label lConButSweep;
 			/** The save last results button of the controls segment. Uses {@link Constants#BG_BROWN} as background.
-			 * Contains {@link #hbConButSaveResult} and is part of {@link #vbConButtons}. It's functionality is currently a TODO and 
-			 * therefore the button is invisible.*/
+			 * Contains {@link #hbConButSaveResult} and is part of {@link #vbConButtons}. 
+			 * It calls {@link de.wolkenfarmer.environment.logic.Result#saveLastResult()}.*/
 			private static Button bConButSaveResult;
 				/** Layout container for the buttons description. This is needed in order to align the heading the center of the button. 
 				 * Contains {@link #lConButSaveResult} and is part of {@link #bConButSaveResult}.*/
@@ -134,6 +156,16 @@ public class Home {
 					/** Label which displays {@link #bConButSaveResult}'s description "Save last result". 
 					 * It's part of {@link #hbConButSaveResult}.*/
 					private static Label lConButSaveResult;
+			/** The result history button of the controls segment. Uses {@link Constants#BG_BROWN} as background.
+			 * Contains {@link #hbConButHistory} and is part of {@link #vbConButtons}. 
+			 * It calls {@link de.wolkenfarmer.environment.logic.Result#updateHistory()}.*/
+			private static Button bConButHistory;
+				/** Layout container for the buttons description. This is needed in order to align the heading the center of the button. 
+				 * Contains {@link #lConButHistory} and is part of {@link #bConButHistory}.*/
+				private static HBox hbConButHistory;
+					/** Label which displays {@link #bConButHistory}'s description "Result history". 
+					 * It's part of {@link #hbConButHistory}.*/
+					private static Label lConButHistory;
 			/** The help button of the controls segment. Uses {@link Constants#BG_PURPLE} as background.
 			 * Contains {@link #hbConButHelp} and is part of {@link #vbConButtons}. Its functionality is currently a TODO and 
 			 * therefore the button is invisible.*/
@@ -144,6 +176,10 @@ public class Home {
 					/** Label which displays {@link #bConButHelp}'s description "Help". It's part of {@link #hbConButHelp}.*/
 					private static Label lConButHelp;
 	
+	/** Defines whether {@link #tvResTable} currently shows the history of the saved results 
+	 * (see {@link #updateHistoryTable(ObservableList)}) or a result.*/
+	private static boolean boHistory;
+	
 	/** Unified EventHandler for {@link #bSetModDecoder} and {@link #bSetModEncoder}.*/
 	private static EventHandler<ActionEvent> evTranscoderPressed;
 	/** Unified EventHandler for {@link #bSetModDecoder} and {@link #bSetModEncoder}.*/
@@ -313,8 +349,23 @@ public class Home {
 					hbConButRun.setAlignment(Pos.CENTER);
 				bConButRun.setGraphic(hbConButRun);
 				
+				bConButSweep = new Button();
+				bConButSweep.setPrefWidth(vbConButtons.getPrefWidth() - 1);
+				bConButSweep.setPrefHeight(50);
+				bConButSweep.setBackground(Constants.BG_GREEN);
+				bConButSweep.setBorder(Constants.B_NORMAL);
+					hbConButSweep = new HBox();
+						lConButSweep = new Label();
+						lConButSweep.setText("Sweep noise");
+						lConButSweep.setTextFill(Constants.C_NORMAL);
+						lConButSweep.setFont(Constants.F_NORMAL);
+						lConButSweep.setWrapText(false);
+						lConButSweep.setTextAlignment(TextAlignment.CENTER);
+					hbConButSweep.getChildren().add(lConButSweep);
+					hbConButSweep.setAlignment(Pos.CENTER);
+				bConButSweep.setGraphic(hbConButSweep);
+				
 				bConButSaveResult = new Button();
-				bConButSaveResult.setVisible(false);
 				bConButSaveResult.setPrefWidth(vbConButtons.getPrefWidth() - 1);
 				bConButSaveResult.setPrefHeight(50);
 				bConButSaveResult.setBackground(Constants.BG_BROWN);
@@ -330,6 +381,22 @@ public class Home {
 					hbConButSaveResult.setAlignment(Pos.CENTER);
 				bConButSaveResult.setGraphic(hbConButSaveResult);
 				
+				bConButHistory = new Button();
+				bConButHistory.setPrefWidth(vbConButtons.getPrefWidth() - 1);
+				bConButHistory.setPrefHeight(50);
+				bConButHistory.setBackground(Constants.BG_BROWN);
+				bConButHistory.setBorder(Constants.B_NORMAL);
+					hbConButHistory = new HBox();
+						lConButHistory = new Label();
+						lConButHistory.setText("Result history");
+						lConButHistory.setTextFill(Constants.C_NORMAL);
+						lConButHistory.setFont(Constants.F_NORMAL);
+						lConButHistory.setWrapText(false);
+						lConButHistory.setTextAlignment(TextAlignment.CENTER);
+					hbConButHistory.getChildren().add(lConButHistory);
+					hbConButHistory.setAlignment(Pos.CENTER);
+				bConButHistory.setGraphic(hbConButHistory);
+				
 				bConButHelp = new Button();
 				bConButHelp.setVisible(false);
 				bConButHelp.setPrefWidth(vbConButtons.getPrefWidth() - 1);
@@ -346,14 +413,33 @@ public class Home {
 					hbConButHelp.getChildren().add(lConButHelp);
 					hbConButHelp.setAlignment(Pos.CENTER);
 				bConButHelp.setGraphic(hbConButHelp);
-			vbConButtons.getChildren().addAll(bConButRun, bConButSaveResult, bConButHelp);
+			vbConButtons.getChildren().addAll(bConButRun, bConButSweep, bConButSaveResult, bConButHistory, bConButHelp);
 	    pControls.getChildren().addAll(lConHeading, vbConButtons);
+	    
+	    
+	    pMetrics = new Pane();
+	    pMetrics.setLayoutX(pControls.getLayoutX());
+	    pMetrics.setLayoutY(pControls.getLayoutY() + Main.calcHeight(pControls) + Constants.I_DISTANCE_SEGMENT);
+	    pMetrics.setPrefWidth(pControls.getPrefWidth());
+	    	lMetHeading = new Label();
+	    	lMetHeading.setText("Metrics");
+	    	lMetHeading.setTextFill(Constants.C_NORMAL);
+	    	lMetHeading.setFont(Constants.F_SUBHEADING);
+	    	
+	    	lMetContent = new Label();
+	    	lMetContent.setText("No run yet");
+	    	lMetContent.setTextFill(Constants.C_NORMAL);
+	    	lMetContent.setFont(Constants.F_SMALL);
+	    	lMetContent.setWrapText(true);
+	    	lMetContent.setLayoutY(Constants.I_DISTANCE_SUBHEADING);
+	    	lMetContent.setPrefWidth(pMetrics.getPrefWidth());
+	    pMetrics.getChildren().addAll(lMetHeading, lMetContent);
         
         
         addSettingsListener();
         addControlsListener();
-        Main.updateScrollbar(pControls);
-        root.getChildren().addAll(hbHeading, pSettings, pResults, pControls);
+        Main.updateScrollbar(pMetrics);
+        root.getChildren().addAll(hbHeading, pSettings, pResults, pControls, pMetrics);
 	}
 	
 	
@@ -373,9 +459,19 @@ public class Home {
 		bConButRun.setOnMouseEntered(Constants.EH_BUTTON_GREEN_ENTERED);
 		bConButRun.setOnMouseExited(Constants.EH_BUTTON_GREEN_EXITED);
 		
+		bConButSweep.setOnAction(new EventHandler<ActionEvent>() {
+			public void handle(ActionEvent t) {
+				System.out.println("bConButSweep got pressed!");
+				Run.sweep(Main.selectedInputHandler, Main.selectedTranscoder, Main.selectedNoiSource);
+	        }
+	    });
+		bConButSweep.setOnMouseEntered(Constants.EH_BUTTON_GREEN_ENTERED);
+		bConButSweep.setOnMouseExited(Constants.EH_BUTTON_GREEN_EXITED);
+		
 		bConButSaveResult.setOnAction(new EventHandler<ActionEvent>() {
 			public void handle(ActionEvent t) {
 				System.out.println("bConButSaveResults got pressed!");
+				Result.saveLastResult();
 	        }
 	    });
 		bConButSaveResult.setOnMouseEntered(new EventHandler<MouseEvent>() {
@@ -389,6 +485,21 @@ public class Home {
 			}
 		});
 		
+		bConButHistory.setOnAction(new EventHandler<ActionEvent>() {
+			public void handle(ActionEvent t) {
+				System.out.println("bConButHistory got pressed!");
+				Result.updateHistory();
+	        }
+	    });
+		bConButHistory.setOnMouseEntered(Constants.EH_BUTTON_BROWN_ENTERED);
+		bConButHistory.setOnMouseExited(Constants.EH_BUTTON_BROWN_EXITED);
+		
+		tvResTable.setOnMouseClicked(new EventHandler<MouseEvent>() {
+			public void handle(MouseEvent e) {
+				if (boHistory) Result.showStoredResult(tvResTable.getSelectionModel().getSelectedIndex(), e.isShiftDown());
+			}
+		});
+		
 		bConButHelp.setOnAction(new EventHandler<ActionEvent>() {
 			public void handle(ActionEvent t) {
 				System.out.println("bConButHelp got pressed!");
@@ -472,8 +583,8 @@ public class Home {
 	
 	
 	/**
-	 * Reloads the home page. Re-attaches the page's elements ({@link #hbHeading}, {@link #pSettings}, {@link #pResults}, {@link #pControls})
-	 * and {@link Main#krlClose}.
+	 * Reloads the home page. Re-attaches the page's elements ({@link #hbHeading}, {@link #pSettings}, {@link #pResults}, {@link #pControls}, 
+	 * {@link #pMetrics}) and {@link Main#krlClose}.
 	 * Rebuilds the buttons of {@link #pSetModel} if changes on the communication experiment setup were made.
 	 * In addition, {@link Main#updateScrollbar(Region)} gets called 
 	 * (see {@link #Home(Group)} for more information relating to it's view-cases).
@@ -502,10 +613,11 @@ public class Home {
 			pResults.setLayoutY(pSettings.getLayoutY() + Main.calcHeight(pSettings) + Constants.I_DISTANCE_SEGMENT);
 			tvResTable.setPrefHeight(Main.stageHeight - pResults.getLayoutY() - tvResTable.getLayoutY() - Main.pos1 / 3);
 			pControls.setLayoutY(pResults.getLayoutY());
+			pMetrics.setLayoutY(pControls.getLayoutY() + Main.calcHeight(pControls) + Constants.I_DISTANCE_SEGMENT);
 		}
 		
-		Main.updateScrollbar(pControls);
-		root.getChildren().addAll(hbHeading, pSettings, pResults, pControls);
+		Main.updateScrollbar(pMetrics);
+		root.getChildren().addAll(hbHeading, pSettings, pResults, pControls, pMetrics);
 		Main.scene.setOnKeyReleased(Main.krlClose);
 	}
 	
@@ -515,6 +627,36 @@ public class Home {
 	 * @param results The new content to e displayed by the table.
 	 */
 	public void updateResultTable(ObservableList<String[]> results) {
+		boHistory = false;
 		tvResTable.getItems().setAll(results);
 	}
+	
+	
+	/**
+	 * Replaces the content of {@link #tvResTable} with the history of the saved results. 
+	 * Until the next result gets shown, a click on a row of the table shows the saved result of the row 
+	 * (see {@link Result#showStoredResult(int, boolean)}).
+	 * @param history The history given by {@link Result#updateHistory()}.
+	 */
+	public void updateHistoryTable(ObservableList<String[]> history) {
+		tvResTable.getItems().setAll(history);
+		boHistory = true;
+	}
+	
+	
+	/**
+	 * Replaces the content of {@link #lMetContent} with the metrics of the last run and updates the scroll bar, 
+	 * since the metrics can be longer than the controls.
+	 * @param metrics The {@link de.wolkenfarmer.environment.logic.Metrics#snapshot() snapshot} of the metrics 
+	 * given by {@link de.wolkenfarmer.environment.logic.Run}.
+	 */
+	public void updateMetrics(String[][] metrics) {
+		StringBuilder sb = new StringBuilder();
+		for (String[] row : metrics) {
+			if (sb.length() > 0) sb.append("\n");
+			sb.append(row[0] + ": " + row[1]);
+		}
+		lMetContent.setText(sb.toString());
+		Main.updateScrollbar(pMetrics);
+	}
 }
@@ -35,6 +35,18 @@ public class InputHandler extends Settings {
 		 * option under {@link #pOptions options}. <br>
 		 * It gets instantiated in {@link #load} and is part of {@link #vbOptButtons}.*/
 		private static OptionButton bOptButUserInput;
+		/** The {@link OptionButton option button} showing the {@link de.wolkenfarmer.experiment_elements.input_handlers.FileInput file input} 
+		 * option under {@link #pOptions options}. <br>
+		 * It gets instantiated in {@link #load} and is part of {@link #vbOptButtons}.*/
+		private static OptionButton bOptButFileInput;
+		/** The {@link OptionButton option button} showing the {@link de.wolkenfarmer.experiment_elements.input_handlers.CorpusInput corpus input} 
+		 * option under {@link #pOptions options}. <br>
+		 * It gets instantiated in {@link #load} and is part of {@link #vbOptButtons}.*/
+		private static OptionButton bOptButCorpusInput;
+		/** The {@link OptionButton option button} showing the {@link de.wolkenfarmer.experiment_elements.input_handlers.RandomMessage random message} 
+		 * option under {@link #pOptions options}. <br>
+		 * It gets instantiated in {@link #load} and is part of {@link #vbOptButtons}.*/
+		private static OptionButton bOptButRandomMessage;
 			
 	
 	/**
@@ -65,9 +77,15 @@ public class InputHandler extends Settings {
 		bOptButDeselect.setMode((byte) 1);
 		bOptButUserInput = new OptionButton(pOptions.getPrefWidth(), Main.inputHandler_UserInput.getName(true));
 		bOptButUserInput.setOnActionW(Main.inputHandler_UserInput);
+		bOptButFileInput = new OptionButton(pOptions.getPrefWidth(), Main.inputHandler_FileInput.getName(true));
+		bOptButFileInput.setOnActionW(Main.inputHandler_FileInput);
+		bOptButCorpusInput = new OptionButton(pOptions.getPrefWidth(), Main.inputHandler_CorpusInput.getName(true));
+		bOptButCorpusInput.setOnActionW(Main.inputHandler_CorpusInput);
+		bOptButRandomMessage = new OptionButton(pOptions.getPrefWidth(), Main.inputHandler_RandomMessage.getName(true));
+		bOptButRandomMessage.setOnActionW(Main.inputHandler_RandomMessage);
 		System.out.println(Main.inputHandler_UserInput.getName(true));
 		
-		vbOptButtons.getChildren().addAll(bOptButDeselect, bOptButUserInput);
+		vbOptButtons.getChildren().addAll(bOptButDeselect, bOptButUserInput, bOptButFileInput, bOptButCorpusInput, bOptButRandomMessage);
 	}
 		
 		
@@ -80,7 +98,7 @@ public class InputHandler extends Settings {
 	static void load() {
 		lHeaHere.setText("Input Handler");
 		pOveModel.getChildren().addAll(aOveModRelToIn, bOveModInput, aOveModRelInTo);
-		vbOptButtons.getChildren().addAll(bOptButDeselect, bOptButUserInput);
+		vbOptButtons.getChildren().addAll(bOptButDeselect, bOptButUserInput, bOptButFileInput, bOptButCorpusInput, bOptButRandomMessage);
 	}
 	
 
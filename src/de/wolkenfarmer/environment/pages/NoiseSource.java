@@ -35,6 +35,10 @@ public class NoiseSource extends Settings {
 		 * option under {@link #pOptions options}. <br>
 		 * It gets instantiated in {@link #load} and is part of {@link #vbOptButtons}.*/
 		private static OptionButton bOptButIndChanges;
+		/** The {@link OptionButton option button} showing the {@link de.wolkenfarmer.experiment_elements.noise_sources.PacketErasure packet erasure} 
+		 * option under {@link #pOptions options}. <br>
+		 * It gets instantiated in {@link #load} and is part of {@link #vbOptButtons}.*/
+		private static OptionButton bOptButPacketErasure;
 	
 		
 	/**
@@ -63,8 +67,10 @@ public class NoiseSource extends Settings {
 		bOptButDeselect.setMode((byte) 1);
 		bOptButIndChanges = new OptionButton(pOptions.getPrefWidth(), Main.noiSource_IndividualChanges.getName(true));
 		bOptButIndChanges.setOnActionW(Main.noiSource_IndividualChanges);
+		bOptButPacketErasure = new OptionButton(pOptions.getPrefWidth(), Main.noiSource_PacketErasure.getName(true));
+		bOptButPacketErasure.setOnActionW(Main.noiSource_PacketErasure);
 		
-		vbOptButtons.getChildren().addAll(bOptButDeselect, bOptButIndChanges);
+		vbOptButtons.getChildren().addAll(bOptButDeselect, bOptButIndChanges, bOptButPacketErasure);
 	}
 	
 	
@@ -76,7 +82,7 @@ public class NoiseSource extends Settings {
 	static void load() {
 		lHeaHere.setText("Noise Source");
 		pOveModel.getChildren().addAll(bOveModSource, aOveModRelNoToCh, aOveModRelEnToDe);
-		vbOptButtons.getChildren().addAll(bOptButDeselect, bOptButIndChanges);
+		vbOptButtons.getChildren().addAll(bOptButDeselect, bOptButIndChanges, bOptButPacketErasure);
 	}
 	
 	
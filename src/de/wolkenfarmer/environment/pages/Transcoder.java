@@ -50,6 +50,42 @@ public class Transcoder extends Settings {
 		 * option under {@link #pOptions options}. <br>
 		 * It gets build in the {@link #Transcoder() constructor} and is part of {@link #vbOptButtons}.*/
 		private static OptionButton bOptButRepetitionCode;
+		/** The {@link OptionButton option button} showing the {@link de.wolkenfarmer.experiment_elements.transcoder.ProductCode Product Code} 
+		 * option under {@link #pOptions options}. <br>
+		 * It gets build in the {@link #Transcoder() constructor} and is part of {@link #vbOptButtons}.*/
+		private static OptionButton bOptButProductCode;
+		/** The {@link OptionButton option button} showing the {@link de.wolkenfarmer.experiment_elements.transcoder.GolayTranscoder Golay Code} 
+		 * option under {@link #pOptions options}. <br>
+		 * It gets build in the {@link #Transcoder() constructor} and is part of {@link #vbOptButtons}.*/
+		private static OptionButton bOptButGolay;
+		/** The {@link OptionButton option button} showing the {@link de.wolkenfarmer.experiment_elements.transcoder.BchTranscoder BCH Code} 
+		 * option under {@link #pOptions options}. <br>
+		 * It gets build in the {@link #Transcoder() constructor} and is part of {@link #vbOptButtons}.*/
+		private static OptionButton bOptButBch;
+		/** The {@link OptionButton option button} showing the {@link de.wolkenfarmer.experiment_elements.transcoder.PolarTranscoder Polar Code} 
+		 * option under {@link #pOptions options}. <br>
+		 * It gets build in the {@link #Transcoder() constructor} and is part of {@link #vbOptButtons}.*/
+		private static OptionButton bOptButPolar;
+		/** The {@link OptionButton option button} showing the {@link de.wolkenfarmer.experiment_elements.transcoder.TurboTranscoder Turbo Code} 
+		 * option under {@link #pOptions options}. <br>
+		 * It gets build in the {@link #Transcoder() constructor} and is part of {@link #vbOptButtons}.*/
+		private static OptionButton bOptButTurbo;
+		/** The {@link OptionButton option button} showing the {@link de.wolkenfarmer.experiment_elements.transcoder.LtTranscoder LT Code} 
+		 * option under {@link #pOptions options}. <br>
+		 * It gets build in the {@link #Transcoder() constructor} and is part of {@link #vbOptButtons}.*/
+		private static OptionButton bOptButLt;
+		/** The {@link OptionButton option button} showing the {@link de.wolkenfarmer.experiment_elements.transcoder.ArqTranscoder ARQ} 
+		 * option under {@link #pOptions options}. <br>
+		 * It gets build in the {@link #Transcoder() constructor} and is part of {@link #vbOptButtons}.*/
+		private static OptionButton bOptButArq;
+		/** The {@link OptionButton option button} showing the {@link de.wolkenfarmer.experiment_elements.transcoder.Interleaver Interleaver} 
+		 * option under {@link #pOptions options}. <br>
+		 * It gets build in the {@link #Transcoder() constructor} and is part of {@link #vbOptButtons}.*/
+		private static OptionButton bOptButInterleaver;
+		/** The {@link OptionButton option button} showing the {@link de.wolkenfarmer.experiment_elements.transcoder.TranscoderChain Transcoder Chain} 
+		 * option under {@link #pOptions options}. <br>
+		 * It gets build in the {@link #Transcoder() constructor} and is part of {@link #vbOptButtons}.*/
+		private static OptionButton bOptButTranscoderChain;
 			
 	
 	/**
@@ -89,8 +125,26 @@ public class Transcoder extends Settings {
 		bOptButParityCheck.setOnActionW(Main.transcoder_ParityCheck);
 		bOptButRepetitionCode = new OptionButton(pOptions.getPrefWidth(), Main.transcoder_RepetitionCode.getName(true));
 		bOptButRepetitionCode.setOnActionW(Main.transcoder_RepetitionCode);
+		bOptButProductCode = new OptionButton(pOptions.getPrefWidth(), Main.transcoder_ProductCode.getName(true));
+		bOptButProductCode.setOnActionW(Main.transcoder_ProductCode);
+		bOptButGolay = new OptionButton(pOptions.getPrefWidth(), Main.transcoder_Golay.getName(true));
+		bOptButGolay.setOnActionW(Main.transcoder_Golay);
+		bOptButBch = new OptionButton(pOptions.getPrefWidth(), Main.transcoder_Bch.getName(true));
+		bOptButBch.setOnActionW(Main.transcoder_Bch);
+		bOptButPolar = new OptionButton(pOptions.getPrefWidth(), Main.transcoder_Polar.getName(true));
+		bOptButPolar.setOnActionW(Main.transcoder_Polar);
+		bOptButTurbo = new OptionButton(pOptions.getPrefWidth(), Main.transcoder_Turbo.getName(true));
+		bOptButTurbo.setOnActionW(Main.transcoder_Turbo);
+		bOptButLt = new OptionButton(pOptions.getPrefWidth(), Main.transcoder_Lt.getName(true));
+		bOptButLt.setOnActionW(Main.transcoder_Lt);
+		bOptButArq = new OptionButton(pOptions.getPrefWidth(), Main.transcoder_Arq.getName(true));
+		bOptButArq.setOnActionW(Main.transcoder_Arq);
+		bOptButInterleaver = new OptionButton(pOptions.getPrefWidth(), Main.transcoder_Interleaver.getName(true));
+		bOptButInterleaver.setOnActionW(Main.transcoder_Interleaver);
+		bOptButTranscoderChain = new OptionButton(pOptions.getPrefWidth(), Main.transcoder_TranscoderChain.getName(true));
+		bOptButTranscoderChain.setOnActionW(Main.transcoder_TranscoderChain);
 		
-		vbOptButtons.getChildren().addAll(bOptButDeselect, bOptButParityCheck, bOptButRepetitionCode);
+		vbOptButtons.getChildren().addAll(bOptButDeselect, bOptButParityCheck, bOptButRepetitionCode, bOptButProductCode, bOptButGolay, bOptButBch, bOptButPolar, bOptButTurbo, bOptButLt, bOptButArq, bOptButInterleaver, bOptButTranscoderChain);
 	}
 	
 	
@@ -102,7 +156,7 @@ public class Transcoder extends Settings {
 	static void load() {
 		lHeaHere.setText("Transcoder");
 		pOveModel.getChildren().addAll(aOveModRelToEn, bOveModEncoder, aOveModRelEnToDe, bOveModDecoder, aOveModRelDeTo);
-		vbOptButtons.getChildren().addAll(bOptButDeselect, bOptButParityCheck, bOptButRepetitionCode);
+		vbOptButtons.getChildren().addAll(bOptButDeselect, bOptButParityCheck, bOptButRepetitionCode, bOptButProductCode, bOptButGolay, bOptButBch, bOptButPolar, bOptButTurbo, bOptButLt, bOptButArq, bOptButInterleaver, bOptButTranscoderChain);
 	}
 	
 	
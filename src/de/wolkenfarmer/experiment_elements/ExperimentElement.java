@@ -30,7 +30,9 @@ public abstract class ExperimentElement {
 	 * This method has to be overwritten in order for the experiment element to have any distinct functionality hence it is abstract.
 	 * @param task Specifies the requested task from this experiment element. 
 	 * Currently only used for the {@link de.wolkenfarmer.experiment_elements.transcoder transcoder}
-	 * to specify whether the data should be encoded (0) or decoded (1). 
+	 * to specify whether the data should be encoded (0), decoded (1) or decoded without setting any message-versions in Run (2). 
+	 * The last one gets used by {@link de.wolkenfarmer.experiment_elements.transcoder.TranscoderChain} 
+	 * for its inner stages, which hand their corrected data on to the outer stages instead.
 	 * {@link de.wolkenfarmer.experiment_elements.input_handlers input handlers} will always set the data and 
 	 * {@link de.wolkenfarmer.experiment_elements.noise_sources noise sources} will always alter the data for the communication experiment.
 	 * @param data The data which will be used for the requested task.
@@ -55,6 +57,134 @@ public abstract class ExperimentElement {
 	 * in the {@link de.wolkenfarmer.environment.pages.Home#pSetModel home-page's settings model}.
 	 */
 	public void save() {System.out.println(name + " saved!");}
+	/**
+	 * Prepares the experiment element for the next run of the communication experiment (e.g. opening a file). <br>
+	 * Gets called by {@link de.wolkenfarmer.environment.logic.Run#run(ExperimentElement, ExperimentElement, ExperimentElement)}
+	 * before the first trial. Does nothing by default.
+	 */
+	public void prepareRun() {}
+	/**
+	 * Hands over the {@link Channel channel} between the encoding and the decoding of this experiment element. <br>
+	 * Only gets used for the {@link de.wolkenfarmer.experiment_elements.transcoder transcoders} which send parts of their code again
+	 * (e.g. the {@link de.wolkenfarmer.experiment_elements.transcoder.ArqTranscoder ARQ}).
+	 * Gets called by {@link de.wolkenfarmer.environment.logic.Run#run(ExperimentElement, ExperimentElement, ExperimentElement)}
+	 * with the noise source before {@link #prepareRun()} and by transcoders which contain others with the way through their inner ones.
+	 * Does nothing by default.
+	 * @param channel The channel.
+	 */
+	public void setChannel(Channel channel) {}
+	/**
+	 * Releases everything {@link #prepareRun()} acquired. <br>
+	 * Gets called by {@link de.wolkenfarmer.environment.logic.Run#run(ExperimentElement, ExperimentElement, ExperimentElement)}
+	 * after the last trial, even if the run failed. Does nothing by default.
+	 */
+	public void finishRun() {}
+	/**
+	 * Gives the number of trials this experiment element wants the next run to have. <br>
+	 * Only gets used for the {@link de.wolkenfarmer.experiment_elements.input_handlers input handlers}
+	 * and gets called after {@link #prepareRun()}.
+	 * @param repeat The number of trials which is set in {@link de.wolkenfarmer.environment.logic.Run#repeat}.
+	 * @return Returns repeat by default.
+	 */
+	public int getTrials(int repeat) {return repeat;}
+	/**
+	 * Sets the probability with which a bit gets changed. <br>
+	 * Only gets used for the {@link de.wolkenfarmer.experiment_elements.noise_sources noise sources} by
+	 * {@link de.wolkenfarmer.environment.logic.Run#sweep(ExperimentElement, ExperimentElement, ExperimentElement)}.
+	 * Does nothing by default.
+	 * @param probability The probability between 0 and 1.
+	 */
+	public void setBitErrorProbability(double probability) {}
+	/**
+	 * Gives the probability with which a bit gets changed. <br>
+	 * Only gets used for the {@link de.wolkenfarmer.experiment_elements.noise_sources noise sources} by
+	 * {@link de.wolkenfarmer.environment.logic.Run#sweep(ExperimentElement, ExperimentElement, ExperimentElement)}.
+	 * @return Returns the probability between 0 and 1 or NaN if the experiment element can't be swept, which is the default.
+	 */
+	public double getBitErrorProbability() {return Double.NaN;}
+	/**
+	 * Alters the data like {@link #doJob(byte, UniDataType)} with the given seed instead of the one of the trial 
+	 * and without setting the code-versions in {@link de.wolkenfarmer.environment.logic.Run}. <br>
+	 * Only gets used for the {@link de.wolkenfarmer.experiment_elements.noise_sources noise sources}, 
+	 * which are the {@link Channel channel} of the transcoder while {@link #setChannel(Channel) sending parts of a code again}.
+	 * Returns the data unchanged by default.
+	 * @param data The packed binary or binary char[] which will be modified.
+	 * @param seed The seed of the random numbers.
+	 * @return Returns the modified data.
+	 */
+	public UniDataType alter(UniDataType data, long seed) {return data;}
+	/**
+	 * Declares in which {@link UniDataType.Format formats} this experiment element can take the data for the given task. <br>
+	 * Gets called by {@link de.wolkenfarmer.environment.logic.Run} once per run in order to convert the data 
+	 * into one of them before {@link #doJob(byte, UniDataType)} gets called (the one which needs the fewest conversions).
+	 * Experiment elements which accept more than one format have to check the {@link UniDataType#getFormat() format} of the data.
+	 * @param task The task (see {@link #doJob(byte, UniDataType)}).
+	 * @return Returns the accepted formats in order of preference or null if the data should be handed over as it is, which is the default.
+	 */
+	public UniDataType.Format[] getInputFormats(byte task) {return null;}
+	/**
+	 * Declares in which {@link UniDataType.Format format} this experiment element gives back the data for the given task. <br>
+	 * Gets called by {@link de.wolkenfarmer.environment.logic.Run} once per run in order to plan the conversions for the next element.
+	 * @param task The task (see {@link #doJob(byte, UniDataType)}).
+	 * @return Returns the format or null if the data keeps the format it was given in, which is the default.
+	 */
+	public UniDataType.Format getOutputFormat(byte task) {return null;}
+	/**
+	 * Declares whether this experiment element gives the same message for every trial. <br>
+	 * Only gets used for the {@link de.wolkenfarmer.experiment_elements.input_handlers input handlers}. 
+	 * If it's true, {@link de.wolkenfarmer.environment.logic.Run} can encode the message once and reuse the code for every trial.
+	 * @return Returns false by default.
+	 */
+	public boolean isConstantInput() {return false;}
+	/**
+	 * Describes the settings which influence the encoding of this experiment element. <br>
+	 * For the {@link de.wolkenfarmer.experiment_elements.transcoder transcoders}, two encodings of the same message 
+	 * with the same configuration have to give the same code, so that {@link de.wolkenfarmer.environment.logic.Run} 
+	 * can reuse the code (see {@link #isConstantInput()}). 
+	 * For the {@link de.wolkenfarmer.experiment_elements.input_handlers input handlers}, it describes the settings 
+	 * which influence the messages. Every configuration gets saved with the results by 
+	 * {@link de.wolkenfarmer.environment.logic.ResultStore}, so that only results of the same settings get merged.
+	 * @return Returns the configuration or null if the code can't be reused (e.g. because it's random), which is the default.
+	 */
+	public String getConfiguration() {return null;}
+	/**
+	 * Declares whether this experiment element can work on bit-sliced trials, in which bit j of 64 trials lives in one long 
+	 * (bit t belongs to trial t). <br>
+	 * Only gets used for the {@link de.wolkenfarmer.experiment_elements.transcoder transcoders} and 
+	 * {@link de.wolkenfarmer.experiment_elements.noise_sources noise sources}. 
+	 * If both of them are sliceable, {@link de.wolkenfarmer.environment.logic.Run#batched batched runs} use 
+	 * {@link #encodeSliced(long[])}, {@link #alterSliced(long[], long[], int)} and {@link #decodeSliced(long[], long[])} 
+	 * instead of {@link #doJob(byte, UniDataType)}.
+	 * @return Returns false by default.
+	 */
+	public boolean isSliceable() {return false;}
+	/**
+	 * Encodes 64 trials at once (see {@link #isSliceable()}). The code has to have the same bits in the same order 
+	 * as the one of {@link #doJob(byte, UniDataType)} (task 0).
+	 * @param message The bit-sliced message, which consists of 8 bit units.
+	 * @return Returns the bit-sliced code. Returns the message by default.
+	 */
+	public long[] encodeSliced(long[] message) {return message;}
+	/**
+	 * Alters 64 trials at once (see {@link #isSliceable()}). Every trial has to draw its random numbers with its own seed 
+	 * the same way as {@link #doJob(byte, UniDataType)}, so that it changes the same bits.
+	 * @param code The bit-sliced code, which gets altered.
+	 * @param seeds The {@link de.wolkenfarmer.environment.logic.Run#trialSeed seeds} of the trials.
+	 * @param count The number of trials in the slices (the first count bits of every long). 
+	 * Does nothing by default.
+	 */
+	public void alterSliced(long[] code, long[] seeds, int count) {}
+	/**
+	 * Decodes 64 trials at once with error detection and correction (see {@link #isSliceable()}).
+	 * @param code The bit-sliced and altered code.
+	 * @param message The bit-sliced message to write the corrected message into.
+	 * @return Returns the trials (as bits) in which at least one unit got flagged. 
+	 * Copies the code into the message and returns 0 by default.
+	 */
+	public long decodeSliced(long[] code, long[] message) {
+		System.arraycopy(code, 0, message, 0, message.length);
+		return 0;
+	}
 	/** 
 	 * Loads the GUI of the experiment element to be displayed in 
 	 * {@link de.wolkenfarmer.environment.gui_elements.InformationSegment#pInfContent}. <br>
@@ -79,4 +209,19 @@ public abstract class ExperimentElement {
 	 * @since 0.2
 	 */
 	public String getName(boolean optionButton) {return name;}
+	
+	
+	/**
+	 * The way of a code from the encoding of a transcoder to its decoding (see {@link ExperimentElement#setChannel(Channel)}).
+	 */
+	public interface Channel {
+		/**
+		 * Sends the code through the channel.
+		 * @param code The code, which may get modified.
+		 * @param transmission The number of the transmission in the current trial (at least 1), from which the seed of the 
+		 * {@link ExperimentElement#alter(UniDataType, long) noise source} gets derived, so that every transmission can be reproduced.
+		 * @return Returns the received code.
+		 */
+		UniDataType transmit(UniDataType code, long transmission);
+	}
 }
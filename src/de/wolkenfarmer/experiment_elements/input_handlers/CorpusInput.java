@@ -0,0 +1,333 @@
+package de.wolkenfarmer.experiment_elements.input_handlers;
+
+import de.wolkenfarmer.Constants;
+import de.wolkenfarmer.environment.logic.Log;
+import de.wolkenfarmer.environment.logic.Main;
+import de.wolkenfarmer.environment.logic.PackedBinary;
+import de.wolkenfarmer.environment.logic.Run;
+import de.wolkenfarmer.environment.logic.UniDataType;
+import de.wolkenfarmer.experiment_elements.ExperimentElement;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.control.RadioButton;
+import javafx.scene.control.TextField;
+import javafx.scene.control.ToggleGroup;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
+import javafx.scene.layout.CornerRadii;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+
+/**
+ * The {@link de.wolkenfarmer.experiment_elements.input_handlers input handler} corpus input which is selectable on the
+ * {@link de.wolkenfarmer.environment.pages.InputHandler input handler page}.
+ * This input handler uses the files of a directory (the corpus) as messages, so that every trial of the communication experiment
+ * sends another message. Either every file or every line of the files is one message.
+ * The files get read on a {@link #prefetcher prefetch thread} which stays up to {@link #prefetchCapacity} messages ahead of the trials.
+ * @author Wolkenfarmer
+ * @see #doJob(byte, UniDataType) doJob() for further information
+ */
+public class CorpusInput extends ExperimentElement {
+	/** The number of messages the {@link #prefetcher} can read ahead. Currently this variable can only be set manually.*/
+	private static int prefetchCapacity = 256;
+	/** The directory of the corpus. Gets set in {@link #save()} and is null if no valid directory got set.*/
+	private static Path directory;
+	/** Saves whether every file (false) or every line (true) is a message.
+	 * It gets set by {@link #rbPerFile} and {@link #rbPerLine} and its default is false.*/
+	private static boolean boPerLine;
+
+	/** The messages read ahead by {@link #prefetcher}. Gets filled from {@link #prepareRun()} on.*/
+	private static ArrayBlockingQueue<Message> prefetched;
+	/** The thread reading the files of the corpus one after another and putting the messages into {@link #prefetched}.
+	 * After the last file, it starts over with the first one. Gets started in {@link #prepareRun()} and stopped in {@link #finishRun()}.*/
+	private static Thread prefetcher;
+
+	/** Label displaying the description for this experiment element. It gets directly attached to {@link #root}.*/
+	private static Label lDescription;
+	/** The text field for the {@link #directory} of the corpus. It gets directly attached to {@link #root}.*/
+	private static TextField tfDirectory;
+	/** The toggle group to toggle between one message per file ({@link #boPerLine} = false) and one message per line
+	 * ({@link #boPerLine} = true). Connects {@link #rbPerFile} and {@link #rbPerLine}.*/
+	private static ToggleGroup tgSplit;
+	/** The radio button of {@link #tgSplit} which represents one message per file. It's directly attached to {@link #root}.*/
+	private static RadioButton rbPerFile;
+	/** The radio button of {@link #tgSplit} which represents one message per line. It's directly attached to {@link #root}.*/
+	private static RadioButton rbPerLine;
+	/** Label displaying the exception for a wrong {@link #tfDirectory} input.
+	 * It gets updated to fit the current input in {@link #save()}. It gets directly attached to {@link #root}.*/
+	private static Label lException;
+
+
+	/**
+	 * Sets the {@link #name name} of the experiment element.
+	 */
+	public CorpusInput() {name = "Corpus input";}
+
+
+	/**
+	 * Sets the next prefetched message as data and as {@link UniDataType#setMessage(String) original message} of the data. <br>
+	 * The message already got encoded as UTF8 by the {@link #prefetcher}, so its bytes get directly set as
+	 * {@link PackedBinary packed binary}. If the corpus is empty or couldn't be read, {@link Run#standardUnicodeMessage} will be used.
+	 * @param task Will be ignored.
+	 * @param data The data which will be set.
+	 * @return Returns the data containing the next message.
+	 */
+	public UniDataType doJob(byte task, UniDataType data) {
+		Message next = null;
+		if (prefetched != null) {
+			try {
+				next = prefetched.take();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		if (next == null || next.bytes == null) {
+			data.setStringUnicode(Run.standardUnicodeMessage);
+			data.setMessage(Run.standardUnicodeMessage);
+		} else {
+			data.setPackedBinary(PackedBinary.fromBytes(next.bytes, 0, next.bytes.length));
+			data.setMessage(next.message);
+		}
+		return data;
+	}
+
+
+	/**
+	 * Reads the corpus over and over again and puts every message into {@link #prefetched} until it gets interrupted. <br>
+	 * Files which can't be read get skipped. Undecodable bytes get replaced, so the message and its UTF8 bytes always match.
+	 * Empty messages get skipped as well. If no message could be read at all, an empty {@link Message} gets put into
+	 * {@link #prefetched} over and over again, so that {@link #doJob(byte, UniDataType)} falls back to the standard message.
+	 * @param files The files of the corpus.
+	 * @param perLine Whether every line (true) or every file (false) is a message.
+	 * @param queue The queue to put the messages into.
+	 */
+	private static void prefetch(Path[] files, boolean perLine, ArrayBlockingQueue<Message> queue) {
+		try {
+			while (!Thread.currentThread().isInterrupted()) {
+				boolean found = false;
+				for (int i = 0; i < files.length; i++) {
+					try {
+						if (perLine) {
+							try (BufferedReader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(files[i]),
+									StandardCharsets.UTF_8.newDecoder().onMalformedInput(CodingErrorAction.REPLACE)
+									.onUnmappableCharacter(CodingErrorAction.REPLACE)))) {
+								String line;
+								while ((line = reader.readLine()) != null) {
+									if (line.isEmpty()) continue;
+									queue.put(new Message(line));
+									found = true;
+								}
+							}
+						} else {
+							String content = new String(Files.readAllBytes(files[i]), StandardCharsets.UTF_8);
+							if (content.isEmpty()) continue;
+							queue.put(new Message(content));
+							found = true;
+						}
+					} catch (IOException e) {
+						Log.error("Corpus input exception - \"" + files[i] + "\" couldn't be read\n" + e);
+					}
+				}
+				if (!found) queue.put(new Message(null));
+			}
+		} catch (InterruptedException e) {
+			// the run is finished
+		}
+	}
+
+
+	/**
+	 * Lists the files of the {@link #directory} and starts the {@link #prefetcher}.
+	 */
+	@Override
+	public void prepareRun() {
+		finishRun();
+		Path[] files = new Path[0];
+		if (directory != null) {
+			try (Stream<Path> list = Files.list(directory)) {
+				files = list.filter(Files::isRegularFile).sorted().collect(Collectors.toList()).toArray(new Path[0]);
+			} catch (IOException e) {
+				Log.error("Corpus input exception - \"" + directory + "\" couldn't be listed\n" + e);
+			}
+		}
+
+		Path[] corpus = files;
+		boolean perLine = boPerLine;
+		ArrayBlockingQueue<Message> queue = new ArrayBlockingQueue<Message>(prefetchCapacity);
+		prefetched = queue;
+		prefetcher = new Thread(() -> prefetch(corpus, perLine, queue), "Corpus prefetcher");
+		prefetcher.setDaemon(true);
+		prefetcher.start();
+	}
+
+
+	/**
+	 * Stops the {@link #prefetcher} and discards the remaining prefetched messages.
+	 */
+	@Override
+	public void finishRun() {
+		if (prefetcher != null) {
+			prefetcher.interrupt();
+			try {
+				prefetcher.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			prefetcher = null;
+		}
+		prefetched = null;
+	}
+
+
+	public void buildGui(double parentWidth) {
+		root = new Pane();
+		root.setPrefWidth(parentWidth);
+
+		lDescription = new Label();
+		lDescription.setText("This input handler sends another message of a corpus in every repetition of the communication experiment. "
+				+ "The corpus is a directory of UTF8 files and either every file or every line of the files is a message. "
+				+ "If there are less messages than repetitions, the corpus gets sent again.\n"
+				+ "Enter the path of the directory below.");
+		lDescription.setFont(Constants.F_NORMAL);
+		lDescription.setTextFill(Constants.C_NORMAL);
+		lDescription.setAlignment(Pos.TOP_LEFT);
+		lDescription.setWrapText(true);
+		lDescription.setPrefWidth(root.getPrefWidth());
+		lDescription.setPrefHeight(Main.calcHeightLabel(lDescription, parentWidth + 10));
+
+		tfDirectory = new TextField();
+		tfDirectory.setFont(Constants.F_NORMAL);
+		tfDirectory.setPromptText("Path of the directory");
+		tfDirectory.setStyle("-fx-text-inner-color: WHITESMOKE;");
+		tfDirectory.setBackground(new Background(new BackgroundFill(Color.grayRgb(90), new CornerRadii(5),  null)));
+		tfDirectory.setFocusTraversable(false);
+		tfDirectory.setPrefHeight(30);
+		tfDirectory.setPrefWidth(root.getPrefWidth());
+		tfDirectory.setLayoutY(lDescription.getPrefHeight() + 30);
+
+		tgSplit = new ToggleGroup();
+			rbPerFile = new RadioButton("One message per file");
+			rbPerFile.setLayoutY(tfDirectory.getLayoutY() + tfDirectory.getPrefHeight() + 30);
+			rbPerFile.setToggleGroup(tgSplit);
+			rbPerFile.setFont(Constants.F_NORMAL);
+			rbPerFile.setTextFill(Constants.C_NORMAL);
+			rbPerFile.setPrefWidth(parentWidth);
+			rbPerFile.setPrefHeight(Main.calcHeight(rbPerFile));
+			rbPerFile.setSelected(true);
+
+			rbPerLine = new RadioButton("One message per line");
+			rbPerLine.setLayoutY(rbPerFile.getLayoutY() + rbPerFile.getPrefHeight() + 15);
+			rbPerLine.setToggleGroup(tgSplit);
+			rbPerLine.setFont(Constants.F_NORMAL);
+			rbPerLine.setTextFill(Constants.C_NORMAL);
+			rbPerLine.setPrefWidth(parentWidth);
+			rbPerLine.setPrefHeight(Main.calcHeight(rbPerLine));
+
+		lException = new Label();
+		lException.setFont(Constants.F_NORMAL_ITALIC);
+		lException.setTextFill(Constants.C_PINK);
+		lException.setPrefWidth(root.getPrefWidth());
+		lException.setLayoutY(rbPerLine.getLayoutY() + rbPerLine.getPrefHeight() + 20);
+		lException.setWrapText(true);
+		lException.setVisible(false);
+
+		builtGui = true;
+		root.getChildren().addAll(lDescription, tfDirectory, rbPerFile, rbPerLine, lException);
+	}
+
+
+	/**
+	 * Checks whether the given directory in {@link #tfDirectory} exists and if not, it updates {@link #lException} accordingly.
+	 */
+	@Override
+	public void save() {
+		boPerLine = rbPerLine.isSelected();
+		directory = null;
+		try {
+			Path p = Paths.get(tfDirectory.getText());
+			if (Files.isDirectory(p)) {
+				directory = p;
+				lException.setVisible(false);
+			} else {
+				lException.setText("Exception: \"" + tfDirectory.getText() + "\" is no directory. "
+						+ "\"" + Run.standardUnicodeMessage + "\" will be used instead.");
+				lException.setVisible(true);
+			}
+		} catch (InvalidPathException e) {
+			lException.setText("Exception: \"" + tfDirectory.getText() + "\" is no valid path. "
+					+ "\"" + Run.standardUnicodeMessage + "\" will be used instead.");
+			lException.setVisible(true);
+		}
+
+		System.out.println(name + " saved!");
+	}
+
+
+	/**
+	 * Sets the {@link #directory} and whether every line is a message without checking them. 
+	 * Gets used by the tests, which don't have the GUI.
+	 * @param corpus The directory of the corpus or null for {@link Run#standardUnicodeMessage}.
+	 * @param perLine Whether every line (true) or every file (false) is a message.
+	 */
+	static void setCorpus(Path corpus, boolean perLine) {
+		directory = corpus;
+		boPerLine = perLine;
+	}
+
+
+	/**
+	 * A prefetched message of the corpus together with its UTF8 bytes.
+	 * @author Wolkenfarmer
+	 */
+	private static class Message {
+		/** The message.*/
+		final String message;
+		/** The UTF8 bytes of {@link #message} or null if there is no message.*/
+		final byte[] bytes;
+
+		/**
+		 * Encodes the given message as UTF8.
+		 * @param message The message or null if there is none.
+		 */
+		Message(String message) {
+			this.message = message;
+			this.bytes = message == null ? null : message.getBytes(StandardCharsets.UTF_8);
+		}
+	}
+
+
+	/**
+	 * @param task Not used.
+	 * @return Returns {@link UniDataType.Format#PACKED}, since the bytes of the corpus get packed directly 
+	 * (only the fallback message is set as String(Unicode)).
+	 */
+	@Override
+	public UniDataType.Format getOutputFormat(byte task) {
+		return UniDataType.Format.PACKED;
+	}
+
+
+	/**
+	 * @return Returns the {@link #directory} and whether every line is a message ({@link #boPerLine}), 
+	 * which identify the sent messages in saved results.
+	 */
+	@Override
+	public String getConfiguration() {
+		return "directory=" + directory + ",perLine=" + boPerLine;
+	}
+}
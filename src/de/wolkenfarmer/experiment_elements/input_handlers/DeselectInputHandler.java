@@ -23,7 +23,7 @@ public class DeselectInputHandler extends Deselect {
 	 */
 	public UniDataType doJob(byte task, UniDataType data) {
 		data.setStringUnicode(Run.standardUnicodeMessage); 
-		Run.originalMessage = Run.standardUnicodeMessage;
+		data.setMessage(Run.standardUnicodeMessage);
 		return data;
 	}
 	
@@ -36,4 +36,23 @@ public class DeselectInputHandler extends Deselect {
 		super.buildGui(parentWidth);
 		l.setText("\"Save & add\" this option in order to fall back to the default input \"" + Run.standardUnicodeMessage + "\".");
 	}
+
+
+	/**
+	 * @param task Not used.
+	 * @return Returns {@link UniDataType.Format#UNICODE}, since the message gets set as String(Unicode).
+	 */
+	@Override
+	public UniDataType.Format getOutputFormat(byte task) {
+		return UniDataType.Format.UNICODE;
+	}
+
+
+	/**
+	 * @return Returns true, since the same message gets sent in every trial.
+	 */
+	@Override
+	public boolean isConstantInput() {
+		return true;
+	}
 }
@@ -0,0 +1,318 @@
+package de.wolkenfarmer.experiment_elements.input_handlers;
+
+import de.wolkenfarmer.Constants;
+import de.wolkenfarmer.environment.logic.Log;
+import de.wolkenfarmer.environment.logic.Main;
+import de.wolkenfarmer.environment.logic.Run;
+import de.wolkenfarmer.environment.logic.UniDataType;
+import de.wolkenfarmer.experiment_elements.ExperimentElement;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
+import javafx.scene.layout.CornerRadii;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+
+/**
+ * The {@link de.wolkenfarmer.experiment_elements.input_handlers input handler} file input which is selectable on the
+ * {@link de.wolkenfarmer.environment.pages.InputHandler input handler page}.
+ * This input handler sends a local (UTF8) file through the channel in blocks of {@link #blockSize} bytes.
+ * The file doesn't get loaded into the heap but gets memory-mapped window after window ({@link #WINDOW_SIZE}),
+ * so that even files with multiple gigabytes can be used. Every block is one trial of the communication experiment,
+ * which is why the results get aggregated per block.
+ * @author Wolkenfarmer
+ * @see #doJob(byte, UniDataType) doJob() for further information
+ */
+public class FileInput extends ExperimentElement {
+	/** The size of the memory-mapped windows of the file in bytes. Currently this variable can only be set manually.*/
+	private static final long WINDOW_SIZE = 64L << 20;
+	/** The path of the file which will be sent. Gets set in {@link #save()} and is null if no valid file got set.*/
+	private static Path path;
+	/** The number of bytes which will be sent per trial. Gets set in {@link #save()} and its default is 64.*/
+	private static int blockSize = 64;
+
+	/** The opened file. Gets opened in {@link #prepareRun()} and closed in {@link #finishRun()}.*/
+	private static FileChannel channel;
+	/** The size of {@link #channel} in bytes.*/
+	private static long fileSize;
+	/** The number of blocks of the file.*/
+	private static long blocks;
+	/** The index of the block which will be sent next.*/
+	private static long nextBlock;
+	/** The currently mapped window of {@link #channel}.*/
+	private static MappedByteBuffer window;
+	/** The position of {@link #window} in the file.*/
+	private static long windowStart;
+	/** The buffer the current block gets copied into before decoding it. Gets reused for every block.*/
+	private static byte[] buffer;
+
+	/** Label displaying the description for this experiment element. It gets directly attached to {@link #root}.*/
+	private static Label lDescription;
+	/** The text field for the {@link #path} of the file. It gets directly attached to {@link #root}.*/
+	private static TextField tfPath;
+	/** The text field for the {@link #blockSize}. Every character which is not a digit will automatically be replaced by "".
+	 * It gets directly attached to {@link #root}.*/
+	private static TextField tfBlockSize;
+	/** Label displaying the different exceptions for a wrong {@link #tfPath} or {@link #tfBlockSize} input.
+	 * It gets updated to fit the current input in {@link #save()}. It gets directly attached to {@link #root}.*/
+	private static Label lException;
+
+
+	/**
+	 * Sets the {@link #name name} of the experiment element.
+	 */
+	public FileInput() {name = "File input";}
+
+
+	/**
+	 * Sets the next block of the file as data and as {@link UniDataType#setMessage(String) original message} of the data. <br>
+	 * The blocks are {@link #blockSize} bytes long, but start and end at the beginning of an UTF8 character,
+	 * which is why they can be up to 3 bytes longer.
+	 * The bytes get copied from the mapped {@link #window} into the reused {@link #buffer} and are decoded as UTF8.
+	 * After the last block, it starts over with the first one (e.g. if a trial had to be repeated).
+	 * If no file could be opened, {@link Run#standardUnicodeMessage} will be used.
+	 * @param task Will be ignored.
+	 * @param data The data which will be set.
+	 * @return Returns the data containing the next block.
+	 */
+	public UniDataType doJob(byte task, UniDataType data) {
+		String message = Run.standardUnicodeMessage;
+		if (channel != null && blocks > 0) {
+			try {
+				long start = boundary(nextBlock);
+				long end = boundary(nextBlock + 1);
+				nextBlock = (nextBlock + 1) % blocks;
+				int length = (int) (end - start);
+
+				if (start < windowStart || end > windowStart + window.capacity()) map(start);
+				window.position((int) (start - windowStart));
+				window.get(buffer, 0, length);
+				message = new String(buffer, 0, length, StandardCharsets.UTF_8);
+			} catch (IOException e) {
+				Log.error("File input exception - the file couldn't be read\n" + e);
+			}
+		}
+		data.setStringUnicode(message);
+		data.setMessage(message);
+		return data;
+	}
+
+
+	/**
+	 * Calculates the position of the given block in the file. <br>
+	 * The block starts at index * {@link #blockSize} or if this is in the middle of an UTF8 character,
+	 * at the beginning of the following character.
+	 * @param index The index of the block.
+	 * @return Returns the position of the first byte of the block.
+	 * @throws IOException If the window around the block couldn't be mapped.
+	 */
+	private static long boundary(long index) throws IOException {
+		long pos = Math.min(index * blockSize, fileSize);
+		for (int i = 0; i < 3 && pos < fileSize; i++) {
+			if (pos < windowStart || pos >= windowStart + window.capacity()) map(pos);
+			if ((window.get((int) (pos - windowStart)) & 0xC0) != 0x80) break;
+			pos++;
+		}
+		return pos;
+	}
+
+
+	/**
+	 * Maps the window of the file which starts at the given position.
+	 * @param start The position of the first byte of the window.
+	 * @throws IOException If the window couldn't be mapped.
+	 */
+	private static void map(long start) throws IOException {
+		windowStart = start;
+		window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(WINDOW_SIZE, fileSize - start));
+	}
+
+
+	/**
+	 * Opens the file and maps the first window.
+	 */
+	@Override
+	public void prepareRun() {
+		channel = null;
+		blocks = 0;
+		if (path == null) return;
+		try {
+			channel = FileChannel.open(path, StandardOpenOption.READ);
+			fileSize = channel.size();
+			blocks = (fileSize + blockSize - 1) / blockSize;
+			nextBlock = 0;
+			buffer = new byte[blockSize + 3];
+			map(0);
+		} catch (IOException e) {
+			Log.error("File input exception - the file couldn't be opened\n" + e);
+			finishRun();
+			blocks = 0;
+		}
+	}
+
+
+	/**
+	 * Closes the file.
+	 */
+	@Override
+	public void finishRun() {
+		window = null;
+		if (channel != null) {
+			try {
+				channel.close();
+			} catch (IOException e) {
+				Log.error("File input exception - the file couldn't be closed\n" + e);
+			}
+			channel = null;
+		}
+	}
+
+
+	/**
+	 * @return Returns the number of blocks of the file or repeat if no file could be opened.
+	 */
+	@Override
+	public int getTrials(int repeat) {
+		if (blocks == 0) return repeat;
+		return (int) Math.min(blocks, Integer.MAX_VALUE);
+	}
+
+
+	public void buildGui(double parentWidth) {
+		root = new Pane();
+		root.setPrefWidth(parentWidth);
+
+		lDescription = new Label();
+		lDescription.setText("This input handler sends a local UTF8 file through the channel in blocks. "
+				+ "Every block is one repetition of the communication experiment, so the number of repetitions will be the number of blocks.\n"
+				+ "Enter the path of the file and the size of the blocks in bytes below. "
+				+ "The block size has to be between 1 and 65536 (inclusively). "
+				+ "Please note that blocks with more than 100 characters won't be printed to the console.");
+		lDescription.setFont(Constants.F_NORMAL);
+		lDescription.setTextFill(Constants.C_NORMAL);
+		lDescription.setAlignment(Pos.TOP_LEFT);
+		lDescription.setWrapText(true);
+		lDescription.setPrefWidth(root.getPrefWidth());
+		lDescription.setPrefHeight(Main.calcHeightLabel(lDescription, parentWidth + 10));
+
+		tfPath = new TextField();
+		tfPath.setFont(Constants.F_NORMAL);
+		tfPath.setPromptText("Path of the file");
+		tfPath.setStyle("-fx-text-inner-color: WHITESMOKE;");
+		tfPath.setBackground(new Background(new BackgroundFill(Color.grayRgb(90), new CornerRadii(5),  null)));
+		tfPath.setFocusTraversable(false);
+		tfPath.setPrefHeight(30);
+		tfPath.setPrefWidth(root.getPrefWidth());
+		tfPath.setLayoutY(lDescription.getPrefHeight() + 30);
+
+		tfBlockSize = new TextField();
+		tfBlockSize.setFont(Constants.F_NORMAL);
+		tfBlockSize.setPromptText("Block size");
+		tfBlockSize.setStyle("-fx-text-inner-color: WHITESMOKE;");
+		tfBlockSize.setBackground(new Background(new BackgroundFill(Color.grayRgb(90), new CornerRadii(5),  null)));
+		tfBlockSize.setFocusTraversable(false);
+		tfBlockSize.setPrefHeight(30);
+		tfBlockSize.setPrefWidth(130);
+		tfBlockSize.setLayoutY(tfPath.getLayoutY() + tfPath.getPrefHeight() + 20);
+		tfBlockSize.textProperty().addListener((observable, oldValue, newValue) -> {
+			if (!newValue.matches("\\d*")) {
+				tfBlockSize.setText(newValue.replaceAll("[^\\d]", ""));
+			}
+		});
+
+		lException = new Label();
+		lException.setFont(Constants.F_NORMAL_ITALIC);
+		lException.setTextFill(Constants.C_PINK);
+		lException.setPrefWidth(root.getPrefWidth());
+		lException.setLayoutY(tfBlockSize.getLayoutY() + tfBlockSize.getPrefHeight() + 20);
+		lException.setWrapText(true);
+		lException.setVisible(false);
+
+		builtGui = true;
+		root.getChildren().addAll(lDescription, tfPath, tfBlockSize, lException);
+	}
+
+
+	/**
+	 * Sets the {@link #path} and the {@link #blockSize} without checking them. Gets used by the tests, which don't have the GUI.
+	 * @param file The file which will be sent or null for {@link Run#standardUnicodeMessage}.
+	 * @param size The number of bytes per trial.
+	 */
+	static void setFile(Path file, int size) {
+		path = file;
+		blockSize = size;
+	}
+
+
+	/**
+	 * Checks whether the given file in {@link #tfPath} can be read and whether the number in {@link #tfBlockSize} is correct.
+	 * If not, it updates {@link #lException} accordingly.
+	 */
+	@Override
+	public void save() {
+		String exception = "";
+
+		path = null;
+		try {
+			Path p = Paths.get(tfPath.getText());
+			if (Files.isRegularFile(p) && Files.isReadable(p)) {
+				path = p;
+			} else {
+				exception += "Exception: The file \"" + tfPath.getText() + "\" can't be read. "
+						+ "\"" + Run.standardUnicodeMessage + "\" will be used instead.\n";
+			}
+		} catch (InvalidPathException e) {
+			exception += "Exception: \"" + tfPath.getText() + "\" is no valid path. "
+					+ "\"" + Run.standardUnicodeMessage + "\" will be used instead.\n";
+		}
+
+		if (tfBlockSize.getText().equals("")) {
+			blockSize = 64;
+			exception += "Warning: Please enter a block size. 64 got set instead of nothing.";
+		} else if (tfBlockSize.getText().length() > 5 || Integer.parseInt(tfBlockSize.getText()) < 1
+				|| Integer.parseInt(tfBlockSize.getText()) > 65536) {
+			blockSize = 64;
+			exception += "Exception: The block size has to be between 1 and 65536 (inclusively).\n"
+					+ "64 got set instead of \"" + tfBlockSize.getText() + "\".";
+		} else {
+			blockSize = Integer.parseInt(tfBlockSize.getText());
+		}
+
+		lException.setText(exception);
+		lException.setVisible(!exception.equals(""));
+
+		System.out.println(name + " saved!");
+	}
+
+
+	/**
+	 * @param task Not used.
+	 * @return Returns {@link UniDataType.Format#UNICODE}, since the message gets set as String(Unicode).
+	 */
+	@Override
+	public UniDataType.Format getOutputFormat(byte task) {
+		return UniDataType.Format.UNICODE;
+	}
+
+
+	/**
+	 * @return Returns the {@link #path} and the {@link #blockSize}, which identify the sent blocks in saved results.
+	 */
+	@Override
+	public String getConfiguration() {
+		return "path=" + path + ",blockSize=" + blockSize;
+	}
+}
@@ -0,0 +1,398 @@
+package de.wolkenfarmer.experiment_elements.input_handlers;
+
+import de.wolkenfarmer.Constants;
+import de.wolkenfarmer.environment.logic.Main;
+import de.wolkenfarmer.environment.logic.PackedBinary;
+import de.wolkenfarmer.environment.logic.Run;
+import de.wolkenfarmer.environment.logic.UniDataType;
+import de.wolkenfarmer.experiment_elements.ExperimentElement;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.control.RadioButton;
+import javafx.scene.control.TextArea;
+import javafx.scene.control.TextField;
+import javafx.scene.control.ToggleGroup;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
+import javafx.scene.layout.CornerRadii;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+
+/**
+ * The {@link de.wolkenfarmer.experiment_elements.input_handlers input handler} random message which is selectable on the
+ * {@link de.wolkenfarmer.environment.pages.InputHandler input handler page}.
+ * This input handler generates a new message for every trial of the communication experiment from a seeded source model.
+ * Therefore, the results don't depend on one fixed message and are still reproducible.
+ * @author Wolkenfarmer
+ * @see #doJob(byte, UniDataType) doJob() for further information
+ */
+public class RandomMessage extends ExperimentElement {
+	/** Saves the source model: 0 = uniform printable ASCII, 1 = i.i.d. with the character distribution of {@link #sample},
+	 * 2 = Markov chain with the character transitions of {@link #sample}.
+	 * It gets set by {@link #rbUniform}, {@link #rbIid} and {@link #rbMarkov} and its default is 0.*/
+	private static byte model;
+	/** The number of characters of every message. Gets set in {@link #save()} and its default is 12.*/
+	private static int messageLength = 12;
+	/** The seed of the {@link #random random generator}. Gets set in {@link #save()} and its default is 1.*/
+	private static long seed = 1;
+	/** The sample text which the i.i.d. and Markov model get trained with.
+	 * Gets set in {@link #save()} and is {@link Run#standardUnicodeMessage} if left empty.*/
+	private static String sample = Run.standardUnicodeMessage;
+
+	/** The code points of the alphabet of the model.*/
+	private static int[] symbols;
+	/** The UTF8 bytes of all {@link #symbols} one after another.*/
+	private static byte[] symbolBytes;
+	/** The position of every symbol's bytes in {@link #symbolBytes}. Has one more element than {@link #symbols}.*/
+	private static int[] symbolOffset;
+	/** The cumulative counts of the {@link #symbols} (unigram distribution).*/
+	private static int[] unigram;
+	/** The position of every symbol's successors in {@link #successors} and {@link #transitions}. Has one more element than {@link #symbols}.*/
+	private static int[] rowStart;
+	/** The successors of every symbol (indices of {@link #symbols}) grouped by symbol.*/
+	private static int[] successors;
+	/** The cumulative counts of the {@link #successors} within every group.*/
+	private static int[] transitions;
+
+	/** The random generator of the current run. Gets reseeded with {@link #seed} in {@link #prepareRun()}.*/
+	private static final Random random = new Random(seed);
+	/** The buffer the messages get generated into. Gets reused for every message.*/
+	private static byte[] buffer = new byte[0];
+
+	/** Label displaying the description for this experiment element. It gets directly attached to {@link #root}.*/
+	private static Label lDescription;
+	/** The toggle group to toggle between the source models ({@link #model}).
+	 * Connects {@link #rbUniform}, {@link #rbIid} and {@link #rbMarkov}.*/
+	private static ToggleGroup tgModel;
+	/** The radio button of {@link #tgModel} which represents the uniform model. It's directly attached to {@link #root}.*/
+	private static RadioButton rbUniform;
+	/** The radio button of {@link #tgModel} which represents the i.i.d. model. It's directly attached to {@link #root}.*/
+	private static RadioButton rbIid;
+	/** The radio button of {@link #tgModel} which represents the Markov model. It's directly attached to {@link #root}.*/
+	private static RadioButton rbMarkov;
+	/** The text field for the {@link #messageLength}. Every character which is not a digit will automatically be replaced by "".
+	 * It gets directly attached to {@link #root}.*/
+	private static TextField tfLength;
+	/** The text field for the {@link #seed}. Every character which is not a digit will automatically be replaced by "".
+	 * It gets directly attached to {@link #root}.*/
+	private static TextField tfSeed;
+	/** The text area for the {@link #sample} text. It gets directly attached to {@link #root}.*/
+	private static TextArea taSample;
+	/** Label displaying the different exceptions for a wrong {@link #tfLength} or {@link #tfSeed} input.
+	 * It gets updated to fit the current input in {@link #save()}. It gets directly attached to {@link #root}.*/
+	private static Label lException;
+
+
+	/**
+	 * Sets the {@link #name name} of the experiment element and builds the default (uniform) model.
+	 */
+	public RandomMessage() {
+		name = "Random message";
+		buildModel();
+	}
+
+
+	/**
+	 * Generates a new message and sets it as data and as {@link UniDataType#setMessage(String) original message} of the data. <br>
+	 * Every character gets drawn from the {@link #unigram unigram distribution} or for the Markov model
+	 * from the {@link #transitions transitions} of the previous character (if it has got any successors).
+	 * The drawn characters' UTF8 bytes get copied into the reused {@link #buffer}, which directly gets packed afterwards,
+	 * so that the generation itself allocates nothing. <br>
+	 * The message and its packed binary still get allocated for every trial: they belong to the trial and travel with it, 
+	 * e.g. through the queue of a pipelined run, while the noise source changes the packed binary in place. 
+	 * A reused buffer would get overwritten by the next message before the trial got evaluated.
+	 * @param task Will be ignored.
+	 * @param data The data which will be set.
+	 * @return Returns the data containing the new message.
+	 */
+	public UniDataType doJob(byte task, UniDataType data) {
+		int pos = 0;
+		int previous = -1;
+		for (int i = 0; i < messageLength; i++) {
+			int s;
+			if (model == 2 && previous >= 0 && rowStart[previous] < rowStart[previous + 1]) {
+				s = successors[draw(transitions, rowStart[previous], rowStart[previous + 1])];
+			} else {
+				s = draw(unigram, 0, unigram.length);
+			}
+			for (int k = symbolOffset[s]; k < symbolOffset[s + 1]; k++) {
+				buffer[pos++] = symbolBytes[k];
+			}
+			previous = s;
+		}
+
+		String message = new String(buffer, 0, pos, StandardCharsets.UTF_8);
+		data.setPackedBinary(PackedBinary.fromBytes(buffer, 0, pos));
+		data.setMessage(message);
+		return data;
+	}
+
+
+	/**
+	 * Draws an index from the given cumulative counts via binary search.
+	 * @param cumulative The cumulative counts. They have to start anew at from.
+	 * @param from The first index of the range.
+	 * @param to The index after the last one of the range.
+	 * @return Returns the drawn index.
+	 */
+	private static int draw(int[] cumulative, int from, int to) {
+		int r = random.nextInt(cumulative[to - 1]);
+		int lo = from;
+		int hi = to - 1;
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (cumulative[mid] > r) hi = mid;
+			else lo = mid + 1;
+		}
+		return lo;
+	}
+
+
+	/**
+	 * Builds the alphabet and the distributions of the current {@link #model}. <br>
+	 * The uniform model uses the 95 printable ASCII characters with equal counts.
+	 * The i.i.d. and the Markov model use the characters of {@link #sample} and count how often each one occurs
+	 * or follows another one respectively. The transitions get counted by sorting all pairs of neighbouring characters,
+	 * so that only the transitions which actually occur get saved.
+	 */
+	private static void buildModel() {
+		int[] text;
+		if (model == 0) {
+			text = new int[95];
+			for (int i = 0; i < text.length; i++) text[i] = 0x20 + i;
+		} else {
+			text = sample.codePoints().toArray();
+		}
+
+		symbols = Arrays.stream(text).distinct().sorted().toArray();
+		int n = symbols.length;
+		int[] index = new int[text.length];
+		for (int i = 0; i < text.length; i++) index[i] = Arrays.binarySearch(symbols, text[i]);
+
+		symbolOffset = new int[n + 1];
+		byte[][] bytes = new byte[n][];
+		for (int i = 0; i < n; i++) {
+			bytes[i] = new String(Character.toChars(symbols[i])).getBytes(StandardCharsets.UTF_8);
+			symbolOffset[i + 1] = symbolOffset[i] + bytes[i].length;
+		}
+		symbolBytes = new byte[symbolOffset[n]];
+		for (int i = 0; i < n; i++) System.arraycopy(bytes[i], 0, symbolBytes, symbolOffset[i], bytes[i].length);
+
+		unigram = new int[n];
+		for (int i = 0; i < index.length; i++) unigram[index[i]]++;
+		for (int i = 1; i < n; i++) unigram[i] += unigram[i - 1];
+
+		long[] pairs = new long[Math.max(0, index.length - 1)];
+		for (int i = 1; i < index.length; i++) pairs[i - 1] = (long) index[i - 1] * n + index[i];
+		Arrays.sort(pairs);
+		int distinct = 0;
+		for (int i = 0; i < pairs.length; i++) if (i == 0 || pairs[i] != pairs[i - 1]) distinct++;
+		rowStart = new int[n + 1];
+		successors = new int[distinct];
+		transitions = new int[distinct];
+		int p = -1;
+		int row = -1;
+		int sum = 0;
+		for (int i = 0; i < pairs.length; i++) {
+			int r = (int) (pairs[i] / n);
+			if (r != row) {
+				row = r;
+				sum = 0;
+			}
+			if (i == 0 || pairs[i] != pairs[i - 1]) {
+				p++;
+				successors[p] = (int) (pairs[i] % n);
+				rowStart[r + 1]++;
+			}
+			transitions[p] = ++sum;
+		}
+		for (int i = 0; i < n; i++) rowStart[i + 1] += rowStart[i];
+
+		buffer = new byte[messageLength * 4];
+	}
+
+
+	/**
+	 * Sets the model, the length, the seed and the sample text without checking them and {@link #buildModel() builds} the model.
+	 * Gets used by the tests, which don't have the GUI.
+	 * @param sourceModel The {@link #model}.
+	 * @param length The {@link #messageLength}.
+	 * @param newSeed The {@link #seed}.
+	 * @param sampleText The {@link #sample}.
+	 */
+	static void setModel(byte sourceModel, int length, long newSeed, String sampleText) {
+		model = sourceModel;
+		messageLength = length;
+		seed = newSeed;
+		sample = sampleText;
+		buildModel();
+	}
+
+
+	/**
+	 * Reseeds the {@link #random random generator}, so that every run generates the same messages.
+	 */
+	@Override
+	public void prepareRun() {
+		random.setSeed(seed);
+	}
+
+
+	public void buildGui(double parentWidth) {
+		root = new Pane();
+		root.setPrefWidth(parentWidth);
+
+		lDescription = new Label();
+		lDescription.setText("This input handler generates a new random message for every repetition of the communication experiment. "
+				+ "The characters are either uniformly distributed printable ASCII characters, "
+				+ "independently drawn with the frequencies of a sample text (i.i.d.) "
+				+ "or drawn depending on the previous character like in the sample text (Markov).\n"
+				+ "Enter the number of characters per message (1 - 10000), the seed and the sample text below.");
+		lDescription.setFont(Constants.F_NORMAL);
+		lDescription.setTextFill(Constants.C_NORMAL);
+		lDescription.setAlignment(Pos.TOP_LEFT);
+		lDescription.setWrapText(true);
+		lDescription.setPrefWidth(root.getPrefWidth());
+		lDescription.setPrefHeight(Main.calcHeightLabel(lDescription, parentWidth + 10));
+
+		tgModel = new ToggleGroup();
+			rbUniform = new RadioButton("Uniform");
+			rbUniform.setLayoutY(lDescription.getPrefHeight() + 30);
+			rbUniform.setToggleGroup(tgModel);
+			rbUniform.setFont(Constants.F_NORMAL);
+			rbUniform.setTextFill(Constants.C_NORMAL);
+			rbUniform.setPrefWidth(parentWidth);
+			rbUniform.setPrefHeight(Main.calcHeight(rbUniform));
+			rbUniform.setSelected(true);
+
+			rbIid = new RadioButton("I.i.d. like the sample text");
+			rbIid.setLayoutY(rbUniform.getLayoutY() + rbUniform.getPrefHeight() + 15);
+			rbIid.setToggleGroup(tgModel);
+			rbIid.setFont(Constants.F_NORMAL);
+			rbIid.setTextFill(Constants.C_NORMAL);
+			rbIid.setPrefWidth(parentWidth);
+			rbIid.setPrefHeight(Main.calcHeight(rbIid));
+
+			rbMarkov = new RadioButton("Markov chain like the sample text");
+			rbMarkov.setLayoutY(rbIid.getLayoutY() + rbIid.getPrefHeight() + 15);
+			rbMarkov.setToggleGroup(tgModel);
+			rbMarkov.setFont(Constants.F_NORMAL);
+			rbMarkov.setTextFill(Constants.C_NORMAL);
+			rbMarkov.setPrefWidth(parentWidth);
+			rbMarkov.setPrefHeight(Main.calcHeight(rbMarkov));
+
+		tfLength = buildNumberField("Length");
+		tfLength.setLayoutY(rbMarkov.getLayoutY() + rbMarkov.getPrefHeight() + 30);
+		tfSeed = buildNumberField("Seed");
+		tfSeed.setLayoutX(tfLength.getPrefWidth() + 20);
+		tfSeed.setLayoutY(tfLength.getLayoutY());
+
+		taSample = new TextArea();
+		taSample.setFont(Constants.F_NORMAL);
+		taSample.setPromptText("Sample text");
+		taSample.setWrapText(true);
+		taSample.setPrefWidth(root.getPrefWidth());
+		taSample.setPrefHeight(150);
+		taSample.setLayoutY(tfLength.getLayoutY() + tfLength.getPrefHeight() + 20);
+
+		lException = new Label();
+		lException.setFont(Constants.F_NORMAL_ITALIC);
+		lException.setTextFill(Constants.C_PINK);
+		lException.setPrefWidth(root.getPrefWidth());
+		lException.setLayoutY(taSample.getLayoutY() + taSample.getPrefHeight() + 20);
+		lException.setWrapText(true);
+		lException.setVisible(false);
+
+		builtGui = true;
+		root.getChildren().addAll(lDescription, rbUniform, rbIid, rbMarkov, tfLength, tfSeed, taSample, lException);
+	}
+
+
+	/**
+	 * Builds a text field which only accepts digits.
+	 * @param prompt The prompt text of the text field.
+	 * @return Returns the text field.
+	 */
+	private static TextField buildNumberField(String prompt) {
+		TextField tf = new TextField();
+		tf.setFont(Constants.F_NORMAL);
+		tf.setPromptText(prompt);
+		tf.setStyle("-fx-text-inner-color: WHITESMOKE;");
+		tf.setBackground(new Background(new BackgroundFill(Color.grayRgb(90), new CornerRadii(5),  null)));
+		tf.setFocusTraversable(false);
+		tf.setPrefHeight(30);
+		tf.setPrefWidth(130);
+		tf.textProperty().addListener((observable, oldValue, newValue) -> {
+			if (!newValue.matches("\\d*")) {
+				tf.setText(newValue.replaceAll("[^\\d]", ""));
+			}
+		});
+		return tf;
+	}
+
+
+	/**
+	 * Saves the model, the length, the seed and the sample text and checks whether the given numbers are correct.
+	 * If not, {@link #lException} gets updated accordingly. Afterwards the model gets {@link #buildModel() built}.
+	 */
+	@Override
+	public void save() {
+		String exception = "";
+		if (rbMarkov.isSelected()) model = 2;
+		else if (rbIid.isSelected()) model = 1;
+		else model = 0;
+
+		if (tfLength.getText().equals("") || tfLength.getText().length() > 5
+				|| Integer.parseInt(tfLength.getText()) < 1 || Integer.parseInt(tfLength.getText()) > 10000) {
+			messageLength = 12;
+			exception += "Exception: The length has to be between 1 and 10000 (inclusively). 12 got set instead.\n";
+		} else {
+			messageLength = Integer.parseInt(tfLength.getText());
+		}
+
+		if (tfSeed.getText().equals("") || tfSeed.getText().length() > 18) {
+			seed = 1;
+			exception += "Exception: The seed has to be a number with up to 18 digits. 1 got set instead.\n";
+		} else {
+			seed = Long.parseLong(tfSeed.getText());
+		}
+
+		if (taSample.getText().equals("")) {
+			sample = Run.standardUnicodeMessage;
+			if (model != 0) exception += "Warning: Please enter a sample text. \"" + Run.standardUnicodeMessage + "\" got set instead.";
+		} else {
+			sample = taSample.getText();
+		}
+
+		buildModel();
+		lException.setText(exception);
+		lException.setVisible(!exception.equals(""));
+
+		System.out.println(name + " saved!");
+	}
+
+
+	/**
+	 * @param task Not used.
+	 * @return Returns {@link UniDataType.Format#PACKED}, since the generated bytes get packed directly.
+	 */
+	@Override
+	public UniDataType.Format getOutputFormat(byte task) {
+		return UniDataType.Format.PACKED;
+	}
+
+
+	/**
+	 * @return Returns the {@link #model}, the {@link #messageLength}, the {@link #seed} and the hash of the {@link #sample}, 
+	 * which identify the generated messages in saved results.
+	 */
+	@Override
+	public String getConfiguration() {
+		return "model=" + model + ",length=" + messageLength + ",seed=" + seed + ",sample=" + Integer.toHexString(sample.hashCode());
+	}
+}
@@ -81,14 +81,14 @@ public class UserInput extends ExperimentElement {
 	
 	
 	/** 
-	 * Returns the {@link #input} and sets the {@link Run#originalMessage original message in Run}. <br>
+	 * Returns the {@link #input} and attaches it to the data as {@link UniDataType#setMessage(String) original message}. <br>
 	 * If the input is empty, the {@link Run#standardUnicodeMessage standard Unicode message} will be used. 
 	 * @return Returns the input String.
 	 */
 	public UniDataType doJob(byte task, UniDataType data) {
 		if (input.equals("")) input = Run.standardUnicodeMessage;
 		data.setStringUnicode(input);
-		Run.originalMessage = input;
+		data.setMessage(input);
 		return data;
 	}
 	
@@ -242,4 +242,33 @@ public class UserInput extends ExperimentElement {
 		boUnchecked = false;
 		System.out.println(name + " saved!");
 	}
+	
+	
+	/**
+	 * @param task Not used.
+	 * @return Returns {@link UniDataType.Format#UNICODE}, since the message gets set as String(Unicode).
+	 */
+	@Override
+	public UniDataType.Format getOutputFormat(byte task) {
+		return UniDataType.Format.UNICODE;
+	}
+	
+	
+	/**
+	 * @return Returns true, since the same message gets sent in every trial.
+	 */
+	@Override
+	public boolean isConstantInput() {
+		return true;
+	}
+	
+	
+	/**
+	 * @return Returns the length and the hash of the {@link #input}, which identify the message in saved results.
+	 */
+	@Override
+	public String getConfiguration() {
+		String message = input == null || input.equals("") ? Run.standardUnicodeMessage : input;
+		return "length=" + message.length() + ",hash=" + Integer.toHexString(message.hashCode());
+	}
 }
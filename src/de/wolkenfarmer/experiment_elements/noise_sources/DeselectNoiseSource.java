@@ -35,4 +35,23 @@ public class DeselectNoiseSource extends Deselect {
 		super.buildGui(parentWidth);
 		l.setText("\"Save & add\" this option in order to disable the noise source for the communication experiment.");
 	}
+
+
+	/**
+	 * @param task Not used.
+	 * @return Returns {@link UniDataType.Format#BINARY_STRING}, since the code-versions get set from it.
+	 */
+	@Override
+	public UniDataType.Format[] getInputFormats(byte task) {
+		return new UniDataType.Format[] {UniDataType.Format.BINARY_STRING};
+	}
+
+
+	/**
+	 * @return Returns true, since the data doesn't get altered, so that the default bit-sliced method, which does nothing, fits.
+	 */
+	@Override
+	public boolean isSliceable() {
+		return true;
+	}
 }
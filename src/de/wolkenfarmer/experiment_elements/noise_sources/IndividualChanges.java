@@ -1,11 +1,14 @@
 package de.wolkenfarmer.experiment_elements.noise_sources;
 
 import de.wolkenfarmer.Constants;
+import de.wolkenfarmer.environment.logic.BitOps;
 import de.wolkenfarmer.environment.logic.Main;
+import de.wolkenfarmer.environment.logic.PackedBinary;
 import de.wolkenfarmer.environment.logic.Run;
 import de.wolkenfarmer.environment.logic.UniDataType;
 import de.wolkenfarmer.experiment_elements.ExperimentElement;
 
+import java.util.Arrays;
 import java.util.Random;
 
 import javafx.event.ActionEvent;
@@ -29,6 +32,11 @@ public class IndividualChanges extends ExperimentElement {
 	 * 1000 equals 0‰, 975 25‰, 900 1% and so on (a bit will be changed if a random int between 1 and 1000 is bigger 
 	 * than this variable's value. It gets set by {@link #tgChangeRate} and its standard is 975.*/
 	private static float changeRate = 975;
+	/** The random number generator which decides which bits get changed. It gets reseeded with {@link Run#trialSeed} for every trial.*/
+	private static Random random = new Random();
+	/** The noise mask for {@link UniDataType.Format#PACKED packed} data. Every set bit changes the bit of the data at its position. 
+	 * Gets reused for every trial.*/
+	private static long[] mask = new long[0];
 	
 	/** Label displaying the description for this experiment element. It gets directly attached to {@link #root}.*/
 	private static Label lDescription;
@@ -60,16 +68,81 @@ public class IndividualChanges extends ExperimentElement {
 	 * due to being crucial for later decoding and them not existing in normal data transfers 
 	 * (therefore: still representative communication experiment).
 	 * In addition, a pre-changed and post-changed version will be set as {@link Run#originalCode original code} and
-	 * {@link Run#changedCode changed code}.
+	 * {@link Run#changedCode changed code}. The random numbers get drawn with {@link Run#trialSeed}, 
+	 * so that the changes of every trial can be reproduced. <br>
+	 * If the data is {@link UniDataType.Format#PACKED packed}, the bits to be changed get collected in a {@link #mask}, 
+	 * which gets applied to the packed binary with a single {@link BitOps#xor(long[], long[], long[], int) XOR} 
+	 * instead of converting it into a char[] and back. Since one random number gets drawn per bit in both cases, 
+	 * a trial changes the same bits regardless of the format. In addition, copies of the packed code before and after 
+	 * get set as {@link Run#originalCodeBits} and {@link Run#changedCodeBits}.
 	 * @param task Not used for {@link de.wolkenfarmer.experiment_elements.noise_sources noise sources}.
-	 * @param data The binary char[] which will be modified.
+	 * @param data The binary char[] or packed binary which will be modified.
 	 * @return Returns the modified data.
 	 */
 	public UniDataType doJob(byte task, UniDataType data) {
+		if (data.getFormat() == UniDataType.Format.PACKED) {
+			PackedBinary packed = data.getPackedBinary();
+			Run.originalCode = packed.toBinaryString();
+			Run.originalCodeBits = packed.copy();
+			change(packed, Run.trialSeed);
+			Run.changedCode = packed.toBinaryString();
+			Run.changedCodeBits = packed.copy();
+			return data;
+		}
+		
 		char[] charBinary = data.getCharBinary();
 		Run.originalCode = new String(charBinary);
-		
-		Random random = new Random();
+		change(charBinary, Run.trialSeed);
+		Run.changedCode = new String(charBinary);
+		data.setCharBinary(charBinary);
+		return data;
+	}
+	
+	
+	/**
+	 * Changes the bits of the data like {@link #doJob(byte, UniDataType)} with the given seed, 
+	 * but without setting the code-versions in {@link Run}.
+	 * @param data The packed binary or binary char[] which will be modified.
+	 * @param seed The seed of the random numbers.
+	 * @return Returns the modified data.
+	 */
+	@Override
+	public UniDataType alter(UniDataType data, long seed) {
+		if (data.getFormat() == UniDataType.Format.PACKED) {
+			change(data.getPackedBinary(), seed);
+			return data;
+		}
+		char[] charBinary = data.getCharBinary();
+		change(charBinary, seed);
+		data.setCharBinary(charBinary);
+		return data;
+	}
+	
+	
+	/**
+	 * Changes the bits of the packed binary with a single XOR of the {@link #mask}.
+	 * @param packed The packed binary which will be modified.
+	 * @param seed The seed of the random numbers.
+	 */
+	private static void change(PackedBinary packed, long seed) {
+		int words = (packed.getLength() + 63) >>> 6;
+		if (mask.length < words) mask = new long[words];
+		Arrays.fill(mask, 0, words, 0);
+		random.setSeed(seed);
+		for (int i = 0; i < packed.getLength(); i++) {
+			if (random.nextInt(1000) + 1 > changeRate) mask[i >>> 6] |= 1L << (63 - (i & 63));
+		}
+		BitOps.xor(packed.getWords(), mask, packed.getWords(), words);
+	}
+	
+	
+	/**
+	 * Changes the bits of the binary char[] one after another, skipping the '-' pieces.
+	 * @param charBinary The binary char[] which will be modified.
+	 * @param seed The seed of the random numbers.
+	 */
+	private static void change(char[] charBinary, long seed) {
+		random.setSeed(seed);
 		int r;
 		
 		for (int i = 0; i < charBinary.length - 1; i++) {
@@ -84,10 +157,6 @@ public class IndividualChanges extends ExperimentElement {
 				}
 			}
 		}
-		
-		Run.changedCode = new String(charBinary);
-		data.setCharBinary(charBinary);
-		return data;
 	}
 	
 	
@@ -143,4 +212,64 @@ public class IndividualChanges extends ExperimentElement {
         root.getChildren().addAll(lDescription, rbCha25, rbCha15, rbCha5);
         builtGui = true;
 	}
+	
+	
+	/**
+	 * Sets the {@link #changeRate} to the given probability. Since the change rate gets drawn in ‰, 
+	 * the probability gets rounded to whole ‰. {@link #tgChangeRate} doesn't get updated.
+	 * @param probability The probability between 0 and 1.
+	 */
+	@Override
+	public void setBitErrorProbability(double probability) {
+		changeRate = 1000 - Math.round(probability * 1000);
+	}
+	
+	
+	/**
+	 * @return Returns the {@link #changeRate} as probability between 0 and 1.
+	 */
+	@Override
+	public double getBitErrorProbability() {
+		return (1000 - changeRate) / 1000.0;
+	}
+	
+	
+	/**
+	 * @param task Not used.
+	 * @return Returns {@link UniDataType.Format#PACKED} and {@link UniDataType.Format#BINARY_CHARS}, 
+	 * since the bits can be changed in both of them (see {@link #doJob(byte, UniDataType)}).
+	 */
+	@Override
+	public UniDataType.Format[] getInputFormats(byte task) {
+		return new UniDataType.Format[] {UniDataType.Format.PACKED, UniDataType.Format.BINARY_CHARS};
+	}
+	
+	
+	/**
+	 * @return Returns true, since the bits of every trial can be changed in its bit slice.
+	 */
+	@Override
+	public boolean isSliceable() {
+		return true;
+	}
+	
+	
+	/**
+	 * Changes the bits of 64 trials at once (see {@link ExperimentElement#isSliceable()}). 
+	 * For every trial, the random numbers get drawn with its seed in the same order as in {@link #doJob(byte, UniDataType)}, 
+	 * so that every trial changes the same bits as it would on its own, but only its bit of the slices gets switched.
+	 * @param code The bit-sliced code, which gets altered.
+	 * @param seeds The seeds of the trials.
+	 * @param count The number of trials in the slices.
+	 */
+	@Override
+	public void alterSliced(long[] code, long[] seeds, int count) {
+		for (int t = 0; t < count; t++) {
+			long bit = 1L << t;
+			random.setSeed(seeds[t]);
+			for (int i = 0; i < code.length; i++) {
+				if (random.nextInt(1000) + 1 > changeRate) code[i] ^= bit;
+			}
+		}
+	}
 }
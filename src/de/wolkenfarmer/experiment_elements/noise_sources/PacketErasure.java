@@ -0,0 +1,201 @@
+package de.wolkenfarmer.experiment_elements.noise_sources;
+
+import de.wolkenfarmer.Constants;
+import de.wolkenfarmer.environment.logic.Main;
+import de.wolkenfarmer.environment.logic.PackedBinary;
+import de.wolkenfarmer.environment.logic.Run;
+import de.wolkenfarmer.environment.logic.UniDataType;
+import de.wolkenfarmer.experiment_elements.ExperimentElement;
+
+import java.util.Random;
+
+import javafx.event.ActionEvent;
+import javafx.event.EventHandler;
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.control.RadioButton;
+import javafx.scene.control.ToggleGroup;
+import javafx.scene.layout.Pane;
+
+/**
+ * The {@link de.wolkenfarmer.experiment_elements.noise_sources noise source} "packet erasure" which is selectable on the
+ * {@link de.wolkenfarmer.environment.pages.NoiseSource noise source page}.
+ * This noise source drops whole packets of the code instead of changing single bits, like a network which loses packets.
+ * The receiver knows which packets got lost (see {@link UniDataType#getErasures()}), but not what they contained.
+ * It works with probabilities (see {@link #erasureProbability}, {@link #tgErasureProbability}).
+ * @author Wolkenfarmer
+ * @see #doJob(byte, UniDataType) doJob() for further information
+ */
+public class PacketErasure extends ExperimentElement {
+	/** Saves the set probability of dropping a packet. It gets set by {@link #tgErasureProbability} and its standard is 0.1.*/
+	private static double erasureProbability = 0.1;
+	/** The random number generator which decides which packets get dropped. It gets reseeded with {@link Run#trialSeed} for every trial.*/
+	private static Random random = new Random();
+
+	/** Label displaying the description for this experiment element. It gets directly attached to {@link #root}.*/
+	private static Label lDescription;
+	/** The toggle group containing the different options for the {@link #erasureProbability erasure probability}.
+	 * Connects {@link #rbEra20}, {@link #rbEra10} and {@link #rbEra5}.*/
+	private static ToggleGroup tgErasureProbability;
+	/** The radio button of {@link #tgErasureProbability} which represents the {@link #erasureProbability erasure probability} of 20%.
+	 * It's directly attached to {@link #root}.*/
+	private static RadioButton rbEra20;
+	/** The radio button of {@link #tgErasureProbability} which represents the {@link #erasureProbability erasure probability} of 10%.
+	 * It's directly attached to {@link #root}.*/
+	private static RadioButton rbEra10;
+	/** The radio button of {@link #tgErasureProbability} which represents the {@link #erasureProbability erasure probability} of 5%.
+	 * It's directly attached to {@link #root}.*/
+	private static RadioButton rbEra5;
+
+
+	/**
+	 * Sets the {@link #name name} of the experiment element.
+	 */
+	public PacketErasure() {name = "Packet erasure";}
+
+
+	/**
+	 * Drops the packets of the code accordingly to {@link #erasureProbability}. <br>
+	 * Every unit of the packed binary is one packet (or 8 bits if the units are too short or too long for it).
+	 * The bits of a dropped packet get set to 0 and the packet gets marked in the {@link UniDataType#setErasures(PackedBinary) erasures}
+	 * of the data, so that decoders which can handle erasures know which packets are missing.
+	 * Decoders which don't look at the erasures simply see the 0s.
+	 * In addition, a pre-changed and post-changed version will be set as {@link Run#originalCode original code} and
+	 * {@link Run#changedCode changed code} and copies of the packed code as {@link Run#originalCodeBits} and {@link Run#changedCodeBits}.
+	 * One random number gets drawn per packet with {@link Run#trialSeed}, so that the erasures of every trial can be reproduced.
+	 * @param task Not used for {@link de.wolkenfarmer.experiment_elements.noise_sources noise sources}.
+	 * @param data The packed binary which will be modified.
+	 * @return Returns the modified data.
+	 */
+	public UniDataType doJob(byte task, UniDataType data) {
+		PackedBinary packed = data.getPackedBinary();
+		Run.originalCode = packed.toBinaryString();
+		Run.originalCodeBits = packed.copy();
+		drop(data, packed, Run.trialSeed);
+		Run.changedCode = packed.toBinaryString();
+		Run.changedCodeBits = packed.copy();
+		return data;
+	}
+
+
+	/**
+	 * Drops the packets of the code like {@link #doJob(byte, UniDataType)} with the given seed, 
+	 * but without setting the code-versions in {@link Run}.
+	 * @param data The packed binary which will be modified.
+	 * @param seed The seed of the random numbers.
+	 * @return Returns the modified data.
+	 */
+	@Override
+	public UniDataType alter(UniDataType data, long seed) {
+		drop(data, data.getPackedBinary(), seed);
+		return data;
+	}
+
+
+	/**
+	 * Sets the bits of the dropped packets to 0 and attaches the erasures to the data.
+	 * @param data The data of the packed binary.
+	 * @param packed The packed binary which will be modified.
+	 * @param seed The seed of the random numbers.
+	 */
+	private static void drop(UniDataType data, PackedBinary packed, long seed) {
+		int packetLength = packed.getUnitLength() > 0 && packed.getUnitLength() < Long.SIZE ? packed.getUnitLength() : 8;
+		int packets = (packed.getLength() + packetLength - 1) / packetLength;
+		PackedBinary erasures = new PackedBinary(packets, 8);
+		random.setSeed(seed);
+		for (int p = 0; p < packets; p++) {
+			if (random.nextDouble() < erasureProbability) {
+				int from = p * packetLength;
+				packed.setBits(from, Math.min(packetLength, packed.getLength() - from), 0);
+				erasures.set(p, true);
+			}
+		}
+		if (packetLength != packed.getUnitLength()) packed.setUnitLength(packetLength);
+		data.setErasures(erasures);
+	}
+
+
+	public void buildGui(double parentWidth) {
+		root = new Pane();
+		root.setPrefWidth(parentWidth);
+
+		lDescription = new Label();
+		lDescription.setText("This noise source drops whole packets (units) of the code like a network losing packets. "
+				+ "The receiver knows which packets are missing, but not what they contained. "
+				+ "Set below how many packets should get lost.");
+		lDescription.setFont(Constants.F_NORMAL);
+		lDescription.setTextFill(Constants.C_NORMAL);
+		lDescription.setAlignment(Pos.TOP_LEFT);
+		lDescription.setWrapText(true);
+		lDescription.setPrefWidth(root.getPrefWidth());
+		lDescription.setPrefHeight(Main.calcHeightLabel(lDescription, parentWidth + 10));
+
+		tgErasureProbability = new ToggleGroup();
+			rbEra20 = new RadioButton("≈ 20%");
+			rbEra20.setLayoutY(lDescription.getPrefHeight() + 30);
+			rbEra20.setToggleGroup(tgErasureProbability);
+			rbEra20.setFont(Constants.F_NORMAL);
+			rbEra20.setTextFill(Constants.C_NORMAL);
+			rbEra20.setPrefWidth(parentWidth);
+			rbEra20.setPrefHeight(Main.calcHeight(rbEra20));
+			rbEra20.setOnAction(new EventHandler<ActionEvent>() {
+				public void handle(ActionEvent t) {erasureProbability = 0.2;}
+			});
+
+			rbEra10 = new RadioButton("≈ 10%");
+			rbEra10.setLayoutY(rbEra20.getLayoutY() + rbEra20.getPrefHeight() + 15);
+			rbEra10.setToggleGroup(tgErasureProbability);
+			rbEra10.setFont(Constants.F_NORMAL);
+			rbEra10.setTextFill(Constants.C_NORMAL);
+			rbEra10.setPrefWidth(parentWidth);
+			rbEra10.setPrefHeight(Main.calcHeight(rbEra10));
+			rbEra10.setSelected(true);
+			rbEra10.setOnAction(new EventHandler<ActionEvent>() {
+				public void handle(ActionEvent t) {erasureProbability = 0.1;}
+			});
+
+			rbEra5 = new RadioButton("≈ 5%");
+			rbEra5.setLayoutY(rbEra10.getLayoutY() + rbEra10.getPrefHeight() + 15);
+			rbEra5.setToggleGroup(tgErasureProbability);
+			rbEra5.setFont(Constants.F_NORMAL);
+			rbEra5.setTextFill(Constants.C_NORMAL);
+			rbEra5.setPrefWidth(parentWidth);
+			rbEra5.setPrefHeight(Main.calcHeight(rbEra5));
+			rbEra5.setOnAction(new EventHandler<ActionEvent>() {
+				public void handle(ActionEvent t) {erasureProbability = 0.05;}
+			});
+
+		root.getChildren().addAll(lDescription, rbEra20, rbEra10, rbEra5);
+		builtGui = true;
+	}
+
+
+	/**
+	 * Sets the {@link #erasureProbability} to the given probability, so that a {@link Run#sweep(ExperimentElement, ExperimentElement,
+	 * ExperimentElement) sweep} varies the share of lost packets. {@link #tgErasureProbability} doesn't get updated.
+	 * @param probability The probability between 0 and 1.
+	 */
+	@Override
+	public void setBitErrorProbability(double probability) {
+		erasureProbability = probability;
+	}
+
+
+	/**
+	 * @return Returns the {@link #erasureProbability}.
+	 */
+	@Override
+	public double getBitErrorProbability() {
+		return erasureProbability;
+	}
+
+
+	/**
+	 * @param task Not used.
+	 * @return Returns {@link UniDataType.Format#PACKED}, since the erasures get attached to the packed binary.
+	 */
+	@Override
+	public UniDataType.Format[] getInputFormats(byte task) {
+		return new UniDataType.Format[] {UniDataType.Format.PACKED};
+	}
+}
@@ -0,0 +1,280 @@
+package de.wolkenfarmer.experiment_elements.transcoder;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+
+/**
+ * The discrete-event simulation of the retransmission protocols of the {@link ArqTranscoder ARQ}. <br>
+ * Every {@link Event event} (a copy of a frame arriving at the receiver or its feedback arriving at the sender) waits in the
+ * {@link #events scheduler}, a priority queue ordered by the simulated time of the events, which get handled one after another.
+ * The sender puts one frame after another onto the link, which takes {@link #NANOS_PER_BIT} per bit, and every frame and
+ * every feedback needs the link delay to get to the other side. Whether a copy of a frame passes the error detection
+ * gets decided by the {@link Receiver receiver} of the transcoder. If it passes (or the receiver gives up on the frame),
+ * the receiver sends an ACK, otherwise a NAK. The feedback always arrives without errors and its transmission time is neglected.
+ * The simulation ends as soon as every frame got delivered in order. <br>
+ * Every array is a field, which only gets reallocated if more frames come, so that every thread needs an own simulation.
+ * @author Wolkenfarmer
+ */
+final class ArqSimulation {
+	/** The protocol stop-and-wait: the sender waits for the feedback of every frame before it sends the next one.*/
+	static final byte STOP_AND_WAIT = 0;
+	/** The protocol go-back-N: the sender sends up to a window of frames ahead. The receiver only accepts the next frame
+	 * in order, and a NAK makes the sender send this frame and all after it again.*/
+	static final byte GO_BACK_N = 1;
+	/** The protocol selective repeat: the sender sends up to a window of frames ahead. The receiver keeps every frame which
+	 * passed until the frames before it arrived, and a NAK makes the sender only send this frame again.*/
+	static final byte SELECTIVE_REPEAT = 2;
+	/** The transmission time of a bit in nanoseconds, which makes the link 1 Mbit/s fast.*/
+	static final long NANOS_PER_BIT = 1000;
+
+	/** The simulated time from the first transmission of every frame until it got delivered in order in nanoseconds.*/
+	long[] latencies = new long[0];
+	/** The number of copies of frames the sender put onto the link in the last simulation.*/
+	int transmissions;
+
+	/** The scheduler with the events which still have to be handled, ordered by their time.*/
+	private final PriorityQueue<Event> events = new PriorityQueue<Event>();
+	/** The number of scheduled events, which orders the events at the same time in the order they got scheduled.*/
+	private long scheduled;
+	/** The time the first copy of every frame got put onto the link or -1 if it wasn't sent yet.*/
+	private long[] firstSent = new long[0];
+	/** The number of copies of every frame the sender put onto the link.*/
+	private int[] copies = new int[0];
+	/** The number of copies of every frame which failed the error detection.*/
+	private int[] failures = new int[0];
+	/** Whether the receiver accepted the frame.*/
+	private boolean[] received = new boolean[0];
+	/** Whether the sender got an ACK for the frame (only used for {@link #SELECTIVE_REPEAT}).*/
+	private boolean[] acked = new boolean[0];
+
+	/** The protocol of the current simulation.*/
+	private byte protocol;
+	/** The number of frames the sender may send ahead of the oldest one without ACK.*/
+	private int window;
+	/** The number of failed copies of a frame after which the receiver gives up on it.*/
+	private int maxRetries;
+	/** The time a frame and a feedback need to get to the other side in nanoseconds.*/
+	private long delay;
+	/** The number of frames of the current simulation.*/
+	private int frames;
+	/** The transmission time of every frame except the last one in nanoseconds.*/
+	private long frameTime;
+	/** The transmission time of the last frame in nanoseconds.*/
+	private long lastFrameTime;
+	/** The receiver of the current simulation.*/
+	private Receiver receiver;
+	/** The time from which on the link is free for the next frame.*/
+	private long linkFree;
+	/** The oldest frame without ACK.*/
+	private int base;
+	/** The next frame the sender sends.*/
+	private int next;
+	/** The next frame the receiver delivers.*/
+	private int expected;
+
+
+	/**
+	 * Decides whether a copy of a frame passes the error detection of the receiver.
+	 */
+	interface Receiver {
+		/**
+		 * Checks the given copy of the frame, which the receiver only gets to see if it would accept the frame.
+		 * @param frame The index of the frame.
+		 * @param copy The index of the copy (0 for the first transmission).
+		 * @param last Whether the receiver gives up on the frame if this copy fails, so that it gets delivered with its errors.
+		 * @return Returns whether the copy passed the error detection.
+		 */
+		boolean receive(int frame, int copy, boolean last);
+	}
+
+
+	/**
+	 * An event of the simulation, which is either the arrival of a copy of a frame at the receiver or the arrival of
+	 * the feedback for a frame at the sender.
+	 */
+	private static final class Event implements Comparable<Event> {
+		/** The simulated time of the event in nanoseconds.*/
+		final long time;
+		/** The number of the event in the order of scheduling, which breaks ties between events at the same time.*/
+		final long order;
+		/** Whether a copy of a frame arrives (true) or its feedback (false).*/
+		final boolean arrival;
+		/** The index of the frame.*/
+		final int frame;
+		/** The index of the copy of the frame (only for arrivals).*/
+		final int copy;
+		/** Whether the feedback is an ACK (true) or a NAK (false).*/
+		final boolean ack;
+
+		Event(long time, long order, boolean arrival, int frame, int copy, boolean ack) {
+			this.time = time;
+			this.order = order;
+			this.arrival = arrival;
+			this.frame = frame;
+			this.copy = copy;
+			this.ack = ack;
+		}
+
+		@Override
+		public int compareTo(Event other) {
+			if (time != other.time) return Long.compare(time, other.time);
+			return Long.compare(order, other.order);
+		}
+	}
+
+
+	/**
+	 * Simulates the transmission of all frames with the given protocol.
+	 * @param protocol The protocol ({@link #STOP_AND_WAIT}, {@link #GO_BACK_N} or {@link #SELECTIVE_REPEAT}).
+	 * @param window The number of frames the sender may send ahead (1 for {@link #STOP_AND_WAIT}).
+	 * @param maxRetries The number of failed copies of a frame after which the receiver gives up on it.
+	 * @param delay The time a frame and a feedback need to get to the other side in nanoseconds.
+	 * @param frames The number of frames.
+	 * @param frameTime The transmission time of every frame except the last one in nanoseconds.
+	 * @param lastFrameTime The transmission time of the last frame in nanoseconds.
+	 * @param receiver The receiver which checks the copies of the frames.
+	 * @return Returns the simulated time at which the last frame got delivered in nanoseconds.
+	 * The {@link #latencies} of the frames and the {@link #transmissions} get updated.
+	 */
+	long run(byte protocol, int window, int maxRetries, long delay, int frames, long frameTime, long lastFrameTime,
+			Receiver receiver) {
+		ensureCapacity(frames);
+		Arrays.fill(firstSent, 0, frames, -1);
+		Arrays.fill(copies, 0, frames, 0);
+		Arrays.fill(failures, 0, frames, 0);
+		Arrays.fill(received, 0, frames, false);
+		Arrays.fill(acked, 0, frames, false);
+		this.protocol = protocol;
+		this.window = protocol == STOP_AND_WAIT ? 1 : Math.max(1, window);
+		this.maxRetries = maxRetries;
+		this.delay = delay;
+		this.frames = frames;
+		this.frameTime = frameTime;
+		this.lastFrameTime = lastFrameTime;
+		this.receiver = receiver;
+		events.clear();
+		scheduled = 0;
+		linkFree = 0;
+		base = 0;
+		next = 0;
+		expected = 0;
+		transmissions = 0;
+
+		long now = 0;
+		fill(now);
+		while (expected < frames) {
+			Event event = events.poll();
+			if (event == null) break;
+			now = event.time;
+			if (event.arrival) arrive(event, now);
+			else feedback(event, now);
+		}
+		events.clear();
+		this.receiver = null;
+		return now;
+	}
+
+
+	/**
+	 * Sends frames until the window is full.
+	 * @param now The current time.
+	 */
+	private void fill(long now) {
+		while (next < frames && next < base + window) {
+			send(next++, now);
+		}
+	}
+
+
+	/**
+	 * Puts a copy of the frame onto the link as soon as it is free and schedules its arrival.
+	 * @param frame The index of the frame.
+	 * @param now The current time.
+	 */
+	private void send(int frame, long now) {
+		long start = Math.max(now, linkFree);
+		linkFree = start + (frame == frames - 1 ? lastFrameTime : frameTime);
+		if (firstSent[frame] < 0) firstSent[frame] = start;
+		transmissions++;
+		schedule(linkFree + delay, true, frame, copies[frame]++, false);
+	}
+
+
+	/**
+	 * Lets the receiver handle an arriving copy of a frame. <br>
+	 * {@link #GO_BACK_N} and {@link #STOP_AND_WAIT} drop every frame except the expected one without feedback.
+	 * If the copy passes or the receiver gives up on the frame, the frame gets accepted and every accepted frame without
+	 * a missing one in front of it gets delivered. Afterwards, an ACK gets sent, otherwise a NAK.
+	 * @param event The arrival.
+	 * @param now The current time.
+	 */
+	private void arrive(Event event, long now) {
+		int frame = event.frame;
+		if (received[frame] || (protocol != SELECTIVE_REPEAT && frame != expected)) return;
+
+		boolean last = failures[frame] >= maxRetries;
+		if (!receiver.receive(frame, event.copy, last) && !last) {
+			failures[frame]++;
+			schedule(now + delay, false, frame, 0, false);
+			return;
+		}
+		received[frame] = true;
+		while (expected < frames && received[expected]) {
+			latencies[expected] = now - firstSent[expected];
+			expected++;
+		}
+		schedule(now + delay, false, frame, 0, true);
+	}
+
+
+	/**
+	 * Lets the sender handle an arriving feedback. <br>
+	 * An ACK moves the window: with {@link #SELECTIVE_REPEAT} up to the oldest frame without ACK, otherwise behind the frame.
+	 * A NAK makes the sender send the frame again: with {@link #SELECTIVE_REPEAT} only this one, otherwise all from it on.
+	 * @param event The feedback.
+	 * @param now The current time.
+	 */
+	private void feedback(Event event, long now) {
+		int frame = event.frame;
+		if (protocol == SELECTIVE_REPEAT) {
+			if (event.ack) {
+				acked[frame] = true;
+				while (base < frames && acked[base]) base++;
+			} else {
+				send(frame, now);
+			}
+		} else if (frame >= base) {
+			if (event.ack) base = frame + 1;
+			else next = frame;
+		}
+		fill(now);
+	}
+
+
+	/**
+	 * Adds an event to the {@link #events scheduler}.
+	 * @param time The time of the event.
+	 * @param arrival Whether a copy of a frame arrives (true) or its feedback (false).
+	 * @param frame The index of the frame.
+	 * @param copy The index of the copy.
+	 * @param ack Whether the feedback is an ACK.
+	 */
+	private void schedule(long time, boolean arrival, int frame, int copy, boolean ack) {
+		events.add(new Event(time, scheduled++, arrival, frame, copy, ack));
+	}
+
+
+	/**
+	 * Reallocates the arrays if they are too small for the frames.
+	 * @param frames The number of frames.
+	 */
+	private void ensureCapacity(int frames) {
+		if (latencies.length >= frames) return;
+		latencies = new long[frames];
+		firstSent = new long[frames];
+		copies = new int[frames];
+		failures = new int[frames];
+		received = new boolean[frames];
+		acked = new boolean[frames];
+	}
+}
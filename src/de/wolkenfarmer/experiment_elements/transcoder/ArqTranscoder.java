@@ -0,0 +1,492 @@
+package de.wolkenfarmer.experiment_elements.transcoder;
+
+import de.wolkenfarmer.Constants;
+import de.wolkenfarmer.environment.logic.Log;
+import de.wolkenfarmer.environment.logic.Main;
+import de.wolkenfarmer.environment.logic.PackedBinary;
+import de.wolkenfarmer.environment.logic.Run;
+import de.wolkenfarmer.environment.logic.UniDataType;
+import de.wolkenfarmer.experiment_elements.ExperimentElement;
+
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.control.RadioButton;
+import javafx.scene.control.TextField;
+import javafx.scene.control.ToggleGroup;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
+import javafx.scene.layout.CornerRadii;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+
+/**
+ * The {@link de.wolkenfarmer.experiment_elements.transcoder transcoder} "ARQ" which is selectable on the
+ * {@link de.wolkenfarmer.environment.pages.Transcoder transcoder page}.
+ * ARQ (automatic repeat request) doesn't correct errors, but detects them and lets the sender send the frame again.
+ * The message gets split into frames of {@link #frameLength} units, which get protected by a {@link #boCrc CRC or a parity bit}.
+ * The retransmissions get simulated with the {@link ArqSimulation discrete-event simulation} of the chosen {@link #protocol},
+ * in which every copy of a frame passes the {@link #setChannel(Channel) channel} again. Besides the corrected message,
+ * the goodput, the retransmissions per frame and the delivery latency of the frames get reported to {@link Run}.
+ * @author Wolkenfarmer
+ * @see #doJob(byte, UniDataType) doJob() for further information
+ * @see <a href="https://en.wikipedia.org/wiki/Automatic_repeat_request">Wikipedia about ARQ</a>
+ */
+public class ArqTranscoder extends ExperimentElement {
+	/** The number of bits of the CRC if {@link #boCrc} is true.*/
+	private static final int CRC_LENGTH = 16;
+	/** The generator polynomial x^16 + x^12 + x^5 + 1 of the CRC (CRC-16-CCITT) without the x^16.*/
+	private static final int CRC_POLYNOMIAL = 0x1021;
+	/** The initial value of the CRC register, so that a frame of 0s doesn't pass with a CRC of 0s.*/
+	private static final int CRC_INITIAL = 0xFFFF;
+	/** Saves the protocol ({@link ArqSimulation#STOP_AND_WAIT}, {@link ArqSimulation#GO_BACK_N} or
+	 * {@link ArqSimulation#SELECTIVE_REPEAT}). It gets set by {@link #tgProtocol} in {@link #save()}
+	 * and its default is go-back-N.*/
+	private static byte protocol = ArqSimulation.GO_BACK_N;
+	/** Saves the number of message units per frame.
+	 * It gets set by {@link #tfFrameLength} in {@link #save()} and its default is 16.*/
+	private static int frameLength = 16;
+	/** Saves the number of frames the sender may send ahead of the oldest one without ACK.
+	 * It gets set by {@link #tfWindow} in {@link #save()} and its default is 8.*/
+	private static int window = 8;
+	/** Saves the number of times a frame gets sent again before the receiver gives up on it and delivers it with its errors.
+	 * It gets set by {@link #tfMaxRetries} in {@link #save()} and its default is 8.*/
+	private static int maxRetries = 8;
+	/** Saves the time a frame and a feedback need to get to the other side in milliseconds.
+	 * It gets set by {@link #tfDelay} in {@link #save()} and its default is 10.*/
+	private static int delay = 10;
+	/** Saves whether the frames get protected by a CRC of {@link #CRC_LENGTH} bits (true) or a single parity bit (false).
+	 * It gets set by {@link #rbCrc} and {@link #rbParity} in {@link #save()} and its default is true.*/
+	private static boolean boCrc = true;
+	/** The simulation of every thread, since its arrays get reused for every message.*/
+	private static final ThreadLocal<ArqSimulation> simulations = ThreadLocal.withInitial(ArqSimulation::new);
+	/** The channel through which the further copies of the frames get sent. It gets set by {@link #setChannel(Channel)} before every run.*/
+	private Channel channel;
+
+	/** Label displaying the description for this experiment element. It gets directly attached to {@link #root}.*/
+	private static Label lDescription;
+	/** The text field for {@link #frameLength}. Every character which is not a digit will automatically be replaced by "".
+	 * It gets directly attached to {@link #root}.*/
+	private static TextField tfFrameLength;
+	/** The text field for {@link #window}. Every character which is not a digit will automatically be replaced by "".
+	 * It gets directly attached to {@link #root}.*/
+	private static TextField tfWindow;
+	/** The text field for {@link #maxRetries}. Every character which is not a digit will automatically be replaced by "".
+	 * It gets directly attached to {@link #root}.*/
+	private static TextField tfMaxRetries;
+	/** The text field for {@link #delay}. Every character which is not a digit will automatically be replaced by "".
+	 * It gets directly attached to {@link #root}.*/
+	private static TextField tfDelay;
+	/** The toggle group containing the different options for the {@link #protocol}.
+	 * Connects {@link #rbStopAndWait}, {@link #rbGoBackN} and {@link #rbSelectiveRepeat}.*/
+	private static ToggleGroup tgProtocol;
+	/** The radio button of {@link #tgProtocol} which represents stop-and-wait. It's directly attached to {@link #root}.*/
+	private static RadioButton rbStopAndWait;
+	/** The radio button of {@link #tgProtocol} which represents go-back-N. It's directly attached to {@link #root}.*/
+	private static RadioButton rbGoBackN;
+	/** The radio button of {@link #tgProtocol} which represents selective repeat. It's directly attached to {@link #root}.*/
+	private static RadioButton rbSelectiveRepeat;
+	/** The toggle group to toggle between the parity bit ({@link #boCrc} = false) and the CRC ({@link #boCrc} = true).
+	 * Connects {@link #rbParity} and {@link #rbCrc}.*/
+	private static ToggleGroup tgDetection;
+	/** The radio button of {@link #tgDetection} which represents the parity bit. It's directly attached to {@link #root}.*/
+	private static RadioButton rbParity;
+	/** The radio button of {@link #tgDetection} which represents the CRC. It's directly attached to {@link #root}.*/
+	private static RadioButton rbCrc;
+	/** Label displaying the different exceptions for wrong input of the text fields.
+	 * It gets updated to fit the current input in {@link #save()}. It gets directly attached to {@link #root}.*/
+	private static Label lException;
+
+
+	/**
+	 * Sets the {@link #name name} of the experiment element.
+	 */
+	public ArqTranscoder() {name = "ARQ";}
+
+
+	/**
+	 * Does the en- and decoding of the ARQ. <br>
+	 * Every frame has {@link #frameLength} units of the message (the last one possibly less) followed by its check bits.
+	 * The code keeps the unit length of the message.<br><br>
+	 *
+	 * <dl>
+	 * <dt><span class="strong">Encoding</span></dt><dd>
+	 * The frames get written one after another, each followed by its {@link #check(PackedBinary, int, int) CRC or parity bit}.
+	 * This is the first transmission of every frame. A copy of the code gets attached to the data as its 
+	 * {@link UniDataType#setSentCode(PackedBinary) sent code}, so that it travels with its trial to the decoding.</dd>
+	 *
+	 * <dt><span class="strong">Decoding</span></dt><dd>
+	 * The first copies of the frames come from the received code, which also gives the changed message.
+	 * The further copies get taken from the {@link UniDataType#getSentCode() sent code} and sent through the {@link #channel},
+	 * which is the noise source or inside a {@link TranscoderChain transcoder chain} the inner stages together with the noise source. 
+	 * The number of the transmission consists of the frame and the copy, so that every trial can be reproduced.
+	 * A copy passes if its check bits fit and none of its units got {@link UniDataType#getErasures() erased}.
+	 * The {@link ArqSimulation simulation} decides which copies the receiver gets to see. The message part of the copy the receiver
+	 * accepted goes into the corrected message. If the receiver gave up on a frame, its units get flagged in the
+	 * {@link UniDataType#setErasures(PackedBinary) erasures}. Afterwards, the frames, the retransmissions, the goodput and the
+	 * latencies get handed to {@link Run#arqFrames} and the following fields.
+	 * Since the further copies pass the channel during the decoding, they count into its duration, but not into the changes
+	 * in the code. If there is no channel or the sent code doesn't fit the received one (e.g. because an inner stage changed
+	 * the length of the code), no frame gets sent again and nothing gets reported.</dd>
+	 * </dl>
+	 * @param task Defines whether the input (data) should be encoded (task = 0), decoded (task = 1)
+	 * or decoded without setting the message-versions in {@link Run} (task = 2).
+	 * @param data The packed data which will be modified.
+	 * @return Returns the modified data.
+	 */
+	public UniDataType doJob(byte task, UniDataType data) {
+		PackedBinary in = data.getPackedBinary();
+		int unitLength = in.getUnitLength() > 0 && in.getUnitLength() < Long.SIZE ? in.getUnitLength() : 8;
+		int payload = frameLength * unitLength;
+		int checkLength = boCrc ? CRC_LENGTH : 1;
+
+		if (task == 0) {
+			int frames = (in.getLength() + payload - 1) / payload;
+			PackedBinary code = new PackedBinary(in.getLength() + frames * checkLength, unitLength);
+			for (int f = 0, out = 0; f < frames; f++) {
+				int from = f * payload;
+				int bits = Math.min(payload, in.getLength() - from);
+				copyBits(in, from, code, out, bits);
+				code.setBits(out + bits, checkLength, check(in, from, bits));
+				out += bits + checkLength;
+			}
+			data.setPackedBinary(code);
+			data.setSentCode(code.copy());
+			return data;
+		}
+
+		int frameBits = payload + checkLength;
+		int frames = (in.getLength() + frameBits - 1) / frameBits;
+		int bits = Math.max(0, in.getLength() - frames * checkLength);
+		PackedBinary changed = new PackedBinary(bits, unitLength);
+		for (int f = 0; f < frames; f++) {
+			copyBits(in, f * frameBits, changed, f * payload, Math.min(payload, bits - f * payload));
+		}
+		PackedBinary corrected = changed.copy();
+		PackedBinary flags = new PackedBinary((bits + unitLength - 1) / unitLength, 8);
+		PackedBinary sent = data.getSentCode();
+		Channel channel = this.channel;
+		if (channel == null || sent == null || sent.getLength() != in.getLength()) {
+			Log.debug("ARQ exception - there is no channel or sent code which fits the received one, so that no frame gets sent again");
+		} else if (frames > 0) {
+			PackedBinary erasures = data.getErasures();
+			long[] goodBits = new long[1];
+
+			int lastPayload = bits - (frames - 1) * payload;
+			ArqSimulation.Receiver receiver = (frame, copy, last) -> {
+				int from = frame * frameBits;
+				int length = Math.min(payload, bits - frame * payload);
+				PackedBinary received = in;
+				boolean passed;
+				if (copy == 0) {
+					passed = !isErased(erasures, from, length + checkLength, in.getUnitLength())
+							&& check(in, from, length) == in.getBits(from + length, checkLength);
+				} else {
+					PackedBinary frameCode = new PackedBinary(length + checkLength, unitLength);
+					copyBits(sent, from, frameCode, 0, length + checkLength);
+					UniDataType copyData = new UniDataType();
+					copyData.setPackedBinary(frameCode);
+					copyData = channel.transmit(copyData, (long) frame << 32 | copy);
+					copyData.convert(UniDataType.Format.PACKED);
+					received = copyData.getPackedBinary();
+					from = 0;
+					passed = !isErased(copyData.getErasures(), 0, length + checkLength, received.getUnitLength())
+							&& check(received, 0, length) == received.getBits(length, checkLength);
+				}
+				if (passed || last) copyBits(received, from, corrected, frame * payload, length);
+				if (passed) goodBits[0] += length;
+				else if (last) {
+					for (int u = frame * frameLength; u < flags.getLength() && u < (frame + 1) * frameLength; u++) {
+						flags.set(u, true);
+					}
+				}
+				return passed;
+			};
+
+			ArqSimulation simulation = simulations.get();
+			long finish = simulation.run(protocol, window, maxRetries, delay * 1000000L, frames,
+					frameBits * ArqSimulation.NANOS_PER_BIT, (lastPayload + checkLength) * ArqSimulation.NANOS_PER_BIT, receiver);
+
+			Run.arqFrames = frames;
+			Run.arqRetransmissions = simulation.transmissions - frames;
+			Run.arqGoodput = finish > 0 ? goodBits[0] * 1e9 / finish : 0;
+			Run.arqLatencies = simulation.latencies;
+		}
+
+		if (task == 1) {
+			UniDataType changedMessage = new UniDataType();
+			UniDataType correctedMessage = new UniDataType();
+			changedMessage.setPackedBinary(changed);
+			correctedMessage.setPackedBinary(corrected);
+			Run.changedMessage = changedMessage.getStringUnicode();
+			Run.correctedMessage = correctedMessage.getStringUnicode();
+			Run.correctedFlaggedMessage = Run.getFlaggedMessage(corrected, flags);
+		}
+		data.setPackedBinary(corrected);
+		data.setErasures(flags);
+		return data;
+	}
+
+
+	/**
+	 * @param erasures The erased units of the code or null if there are none.
+	 * @param from The index of the first bit of the frame.
+	 * @param count The number of bits of the frame.
+	 * @param unitLength The length of the units of the code.
+	 * @return Returns whether a unit of the frame got erased.
+	 */
+	private static boolean isErased(PackedBinary erasures, int from, int count, int unitLength) {
+		if (erasures == null || count == 0) return false;
+		for (int u = from / unitLength; u <= (from + count - 1) / unitLength; u++) {
+			if (erasures.get(u)) return true;
+		}
+		return false;
+	}
+
+
+	/**
+	 * Computes the check bits of the given bits: the CRC (bit after bit through the shift register)
+	 * or the parity bit, which makes the number of ones even.
+	 * @param bits The packed bits.
+	 * @param from The index of the first bit.
+	 * @param count The number of bits.
+	 * @return Returns the CRC or the parity bit right-aligned.
+	 */
+	private static long check(PackedBinary bits, int from, int count) {
+		if (!boCrc) {
+			int ones = 0;
+			for (int i = 0; i < count; i += Long.SIZE) {
+				ones += Long.bitCount(bits.getBits(from + i, Math.min(Long.SIZE, count - i)));
+			}
+			return ones & 1;
+		}
+
+		int reg = CRC_INITIAL;
+		for (int i = 0; i < count; i += Long.SIZE) {
+			int length = Math.min(Long.SIZE, count - i);
+			long chunk = bits.getBits(from + i, length);
+			for (int b = length - 1; b >= 0; b--) {
+				int top = (reg >>> (CRC_LENGTH - 1) & 1) ^ (int) (chunk >>> b & 1);
+				reg = (reg << 1) & ((1 << CRC_LENGTH) - 1);
+				if (top == 1) reg ^= CRC_POLYNOMIAL;
+			}
+		}
+		return reg;
+	}
+
+
+	/**
+	 * Copies bits from one packed binary into another in chunks of 64 bits.
+	 * @param from The packed binary to copy from.
+	 * @param fromIndex The index of the first bit to copy.
+	 * @param to The packed binary to copy into.
+	 * @param toIndex The index of the first bit to write.
+	 * @param count The number of bits.
+	 */
+	private static void copyBits(PackedBinary from, int fromIndex, PackedBinary to, int toIndex, int count) {
+		for (int i = 0; i < count; i += Long.SIZE) {
+			int length = Math.min(Long.SIZE, count - i);
+			to.setBits(toIndex + i, length, from.getBits(fromIndex + i, length));
+		}
+	}
+
+
+	/**
+	 * @param channel The channel through which the further copies of the frames get sent.
+	 */
+	@Override
+	public void setChannel(Channel channel) {
+		this.channel = channel;
+	}
+
+
+	public void buildGui(double parentWidth) {
+		root = new Pane();
+		root.setPrefWidth(parentWidth);
+
+		lDescription = new Label();
+		lDescription.setText("This transcoder only detects errors and lets the sender send the frame again. "
+				+ "Every copy of a frame passes the noise source again, and the transmissions get simulated on a link of 1 Mbit/s. "
+				+ "The result shows the goodput, the retransmissions per frame and the latency until the frames got delivered.\n"
+				+ "Enter the units per frame (between 1 and 1024), the window (between 1 and 64), the retries before giving up "
+				+ "(between 0 and 32) and the delay of the link in ms (between 0 and 10000) below and choose the protocol "
+				+ "and the error detection.");
+		lDescription.setFont(Constants.F_NORMAL);
+		lDescription.setTextFill(Constants.C_NORMAL);
+		lDescription.setAlignment(Pos.TOP_LEFT);
+		lDescription.setWrapText(true);
+		lDescription.setPrefWidth(root.getPrefWidth());
+		lDescription.setPrefHeight(Main.calcHeightLabel(lDescription, parentWidth + 10));
+
+		tfFrameLength = buildNumberField("Units per frame");
+		tfFrameLength.setLayoutY(lDescription.getPrefHeight() + 30);
+		tfWindow = buildNumberField("Window");
+		tfWindow.setLayoutX(tfFrameLength.getPrefWidth() + 20);
+		tfWindow.setLayoutY(tfFrameLength.getLayoutY());
+		tfMaxRetries = buildNumberField("Retries");
+		tfMaxRetries.setLayoutX(tfWindow.getLayoutX() + tfWindow.getPrefWidth() + 20);
+		tfMaxRetries.setLayoutY(tfFrameLength.getLayoutY());
+		tfDelay = buildNumberField("Delay in ms");
+		tfDelay.setLayoutX(tfMaxRetries.getLayoutX() + tfMaxRetries.getPrefWidth() + 20);
+		tfDelay.setLayoutY(tfFrameLength.getLayoutY());
+
+		tgProtocol = new ToggleGroup();
+			rbStopAndWait = new RadioButton("Stop-and-wait");
+			rbStopAndWait.setLayoutY(tfFrameLength.getLayoutY() + tfFrameLength.getPrefHeight() + 30);
+			rbStopAndWait.setToggleGroup(tgProtocol);
+			rbStopAndWait.setFont(Constants.F_NORMAL);
+			rbStopAndWait.setTextFill(Constants.C_NORMAL);
+			rbStopAndWait.setPrefWidth(parentWidth);
+			rbStopAndWait.setPrefHeight(Main.calcHeight(rbStopAndWait));
+			rbStopAndWait.setSelected(protocol == ArqSimulation.STOP_AND_WAIT);
+
+			rbGoBackN = new RadioButton("Go-back-N");
+			rbGoBackN.setLayoutY(rbStopAndWait.getLayoutY() + rbStopAndWait.getPrefHeight() + 15);
+			rbGoBackN.setToggleGroup(tgProtocol);
+			rbGoBackN.setFont(Constants.F_NORMAL);
+			rbGoBackN.setTextFill(Constants.C_NORMAL);
+			rbGoBackN.setPrefWidth(parentWidth);
+			rbGoBackN.setPrefHeight(Main.calcHeight(rbGoBackN));
+			rbGoBackN.setSelected(protocol == ArqSimulation.GO_BACK_N);
+
+			rbSelectiveRepeat = new RadioButton("Selective repeat");
+			rbSelectiveRepeat.setLayoutY(rbGoBackN.getLayoutY() + rbGoBackN.getPrefHeight() + 15);
+			rbSelectiveRepeat.setToggleGroup(tgProtocol);
+			rbSelectiveRepeat.setFont(Constants.F_NORMAL);
+			rbSelectiveRepeat.setTextFill(Constants.C_NORMAL);
+			rbSelectiveRepeat.setPrefWidth(parentWidth);
+			rbSelectiveRepeat.setPrefHeight(Main.calcHeight(rbSelectiveRepeat));
+			rbSelectiveRepeat.setSelected(protocol == ArqSimulation.SELECTIVE_REPEAT);
+
+		tgDetection = new ToggleGroup();
+			rbParity = new RadioButton("Parity bit");
+			rbParity.setLayoutY(rbSelectiveRepeat.getLayoutY() + rbSelectiveRepeat.getPrefHeight() + 30);
+			rbParity.setToggleGroup(tgDetection);
+			rbParity.setFont(Constants.F_NORMAL);
+			rbParity.setTextFill(Constants.C_NORMAL);
+			rbParity.setPrefWidth(parentWidth);
+			rbParity.setPrefHeight(Main.calcHeight(rbParity));
+			rbParity.setSelected(!boCrc);
+
+			rbCrc = new RadioButton("CRC-16");
+			rbCrc.setLayoutY(rbParity.getLayoutY() + rbParity.getPrefHeight() + 15);
+			rbCrc.setToggleGroup(tgDetection);
+			rbCrc.setFont(Constants.F_NORMAL);
+			rbCrc.setTextFill(Constants.C_NORMAL);
+			rbCrc.setPrefWidth(parentWidth);
+			rbCrc.setPrefHeight(Main.calcHeight(rbCrc));
+			rbCrc.setSelected(boCrc);
+
+		lException = new Label();
+		lException.setFont(Constants.F_NORMAL_ITALIC);
+		lException.setTextFill(Constants.C_PINK);
+		lException.setPrefWidth(root.getPrefWidth());
+		lException.setLayoutY(rbCrc.getLayoutY() + rbCrc.getPrefHeight() + 20);
+		lException.setWrapText(true);
+		lException.setVisible(false);
+
+		builtGui = true;
+		root.getChildren().addAll(lDescription, tfFrameLength, tfWindow, tfMaxRetries, tfDelay, rbStopAndWait, rbGoBackN,
+				rbSelectiveRepeat, rbParity, rbCrc, lException);
+	}
+
+
+	/**
+	 * Builds a text field which only accepts digits.
+	 * @param prompt The prompt text of the text field.
+	 * @return Returns the text field.
+	 */
+	private static TextField buildNumberField(String prompt) {
+		TextField tf = new TextField();
+		tf.setFont(Constants.F_NORMAL);
+		tf.setPromptText(prompt);
+		tf.setStyle("-fx-text-inner-color: WHITESMOKE;");
+		tf.setBackground(new Background(new BackgroundFill(Color.grayRgb(90), new CornerRadii(5),  null)));
+		tf.setFocusTraversable(false);
+		tf.setPrefHeight(30);
+		tf.setPrefWidth(130);
+		tf.textProperty().addListener((observable, oldValue, newValue) -> {
+			if (!newValue.matches("\\d*")) {
+				tf.setText(newValue.replaceAll("[^\\d]", ""));
+			}
+		});
+		return tf;
+	}
+
+
+	/**
+	 * Saves the protocol, the error detection and the numbers of the text fields and checks whether the given numbers are correct.
+	 * If not, {@link #lException} gets updated accordingly and 16 units per frame, a window of 8, 8 retries and a delay of 10 ms
+	 * get set instead.
+	 */
+	@Override
+	public void save() {
+		if (rbStopAndWait.isSelected()) protocol = ArqSimulation.STOP_AND_WAIT;
+		else if (rbSelectiveRepeat.isSelected()) protocol = ArqSimulation.SELECTIVE_REPEAT;
+		else protocol = ArqSimulation.GO_BACK_N;
+		boCrc = rbCrc.isSelected();
+		if (tfFrameLength.getText().equals("") || tfWindow.getText().equals("") || tfMaxRetries.getText().equals("")
+				|| tfDelay.getText().equals("") || tfFrameLength.getText().length() > 4 || tfWindow.getText().length() > 2
+				|| tfMaxRetries.getText().length() > 2 || tfDelay.getText().length() > 5
+				|| Integer.parseInt(tfFrameLength.getText()) < 1 || Integer.parseInt(tfFrameLength.getText()) > 1024
+				|| Integer.parseInt(tfWindow.getText()) < 1 || Integer.parseInt(tfWindow.getText()) > 64
+				|| Integer.parseInt(tfMaxRetries.getText()) > 32 || Integer.parseInt(tfDelay.getText()) > 10000) {
+			frameLength = 16;
+			window = 8;
+			maxRetries = 8;
+			delay = 10;
+			lException.setText("Exception: The units per frame have to be between 1 and 1024, the window between 1 and 64, "
+					+ "the retries between 0 and 32 and the delay between 0 and 10000 ms (inclusively).\n"
+					+ "16 units per frame, a window of 8, 8 retries and a delay of 10 ms got set instead.");
+			lException.setVisible(true);
+		} else {
+			frameLength = Integer.parseInt(tfFrameLength.getText());
+			window = Integer.parseInt(tfWindow.getText());
+			maxRetries = Integer.parseInt(tfMaxRetries.getText());
+			delay = Integer.parseInt(tfDelay.getText());
+			lException.setVisible(false);
+		}
+		System.out.println(name + " saved!");
+	}
+
+
+	/**
+	 * @return Returns {@link #name} or if it's not for the option button, the name with the protocol and its settings.
+	 */
+	@Override
+	public String getName(boolean optionButton) {
+		if (optionButton) return name;
+		String protocolName = protocol == ArqSimulation.STOP_AND_WAIT ? "stop-and-wait"
+				: protocol == ArqSimulation.GO_BACK_N ? "go-back-" + window : "selective repeat " + window;
+		return name + " (" + protocolName + ", " + frameLength + " units + " + (boCrc ? "CRC" : "parity") + ", " + maxRetries
+				+ " retries, " + delay + " ms)";
+	}
+
+
+	/**
+	 * @param task Not used, since every task works on packed binaries.
+	 * @return Returns {@link UniDataType.Format#PACKED}.
+	 */
+	@Override
+	public UniDataType.Format[] getInputFormats(byte task) {
+		return new UniDataType.Format[] {UniDataType.Format.PACKED};
+	}
+
+	/**
+	 * @param task Not used, since every task works on packed binaries.
+	 * @return Returns {@link UniDataType.Format#PACKED}.
+	 */
+	@Override
+	public UniDataType.Format getOutputFormat(byte task) {
+		return UniDataType.Format.PACKED;
+	}
+
+
+	/**
+	 * @return Returns {@link #protocol}, {@link #frameLength}, {@link #window}, {@link #maxRetries}, {@link #delay} and {@link #boCrc}.
+	 */
+	@Override
+	public String getConfiguration() {
+		return "protocol=" + protocol + ",frame=" + frameLength + ",window=" + window + ",retries=" + maxRetries
+				+ ",delay=" + delay + ",crc=" + boCrc;
+	}
+}
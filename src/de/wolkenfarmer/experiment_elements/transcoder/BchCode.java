@@ -0,0 +1,284 @@
+package de.wolkenfarmer.experiment_elements.transcoder;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The binary BCH code of length n = 2^m - 1, which corrects up to t errors per codeword, as {@link BinaryBlockCode block code}. <br>
+ * The generator polynomial is the product of (x + a^j) for every power a^j, which is conjugated to one of a^1 ... a^2t,
+ * with a being the primitive element of the Galois field GF(2^m) (see {@link #PRIMITIVES}).
+ * It gets computed once per (m, t), since the codes only get created by {@link #get(int, int)},
+ * which keeps the last used ones in {@link #cache}. <br>
+ * Encoding divides the message by the generator polynomial with a table-driven shift register (like a CRC),
+ * which handles {@link #chunk} bits per step. Decoding computes the syndromes with the {@link #exp} and {@link #log} tables
+ * of the field, the error locator polynomial with the Berlekamp-Massey algorithm and its roots with the Chien search.
+ * @author Wolkenfarmer
+ * @see <a href="https://en.wikipedia.org/wiki/BCH_code">Wikipedia about BCH codes</a>
+ */
+public class BchCode extends BinaryBlockCode {
+	/** The primitive polynomials of GF(2^m) for m = 0 ... 6 with the bit i being the coefficient of x^i.
+	 * Since the words of a {@link BinaryBlockCode block code} have at most 63 bits, m can only be between 3 and 6.*/
+	private static final int[] PRIMITIVES = {0, 0, 0, 0xB, 0x13, 0x25, 0x43};
+	/** The number of codes {@link #cache} keeps.*/
+	private static final int CACHE_SIZE = 8;
+	/** The last used codes with (m, t) as key. The least recently used one gets removed if there are more than {@link #CACHE_SIZE}.*/
+	private static final Map<Integer, BchCode> cache = new LinkedHashMap<Integer, BchCode>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Integer, BchCode> eldest) {
+			return size() > CACHE_SIZE;
+		}
+	};
+
+	/** The number of bits of a codeword.*/
+	private final int n;
+	/** The number of errors the code corrects.*/
+	private final int t;
+	/** The degree of the generator polynomial, which is the number of check bits.*/
+	private final int r;
+	/** The powers of the primitive element (exp[i] = a^i) twice in a row, so that sums of two logarithms don't need a modulo.*/
+	private final int[] exp;
+	/** The logarithms of the field elements (the inverse of {@link #exp}).*/
+	private final int[] log;
+	/** The number of bits the shift register handles per step (8 or less if there are less check bits).*/
+	private final int chunk;
+	/** The remainder of every chunk (multiplied with x^r) divided by the generator polynomial.*/
+	private final long[] remainders;
+	/** The syndromes, the error locator polynomial, its previous version and a copy of it of every thread,
+	 * since the encoder and the decoder can work on different trials at the same time.*/
+	private final ThreadLocal<int[][]> scratch;
+
+
+	/**
+	 * Builds the field tables, the generator polynomial and the {@link #remainders}.
+	 * @param m The degree of the field.
+	 * @param t The number of errors the code should correct.
+	 */
+	private BchCode(int m, int t) {
+		this.t = t;
+		n = (1 << m) - 1;
+		exp = new int[2 * n];
+		log = new int[n + 1];
+		for (int i = 0, x = 1; i < n; i++) {
+			exp[i] = x;
+			exp[i + n] = x;
+			log[x] = i;
+			x <<= 1;
+			if (x > n) x ^= PRIMITIVES[m];
+		}
+
+		boolean[] roots = new boolean[n];
+		for (int j = 1; j <= 2 * t; j++) {
+			for (int c = j % n; !roots[c]; c = 2 * c % n) {
+				roots[c] = true;
+			}
+		}
+		int[] generator = {1};
+		for (int j = 0; j < n; j++) {
+			if (!roots[j]) continue;
+			int[] product = new int[generator.length + 1];
+			for (int i = 0; i < generator.length; i++) {
+				product[i + 1] ^= generator[i];
+				product[i] ^= multiply(generator[i], exp[j]);
+			}
+			generator = product;
+		}
+		r = generator.length - 1;
+		long g = 0;
+		for (int i = 0; i <= r; i++) {
+			g |= (long) generator[i] << i;
+		}
+
+		chunk = Math.min(8, r);
+		remainders = new long[1 << chunk];
+		for (int v = 0; v < remainders.length; v++) {
+			long reg = (long) v << (r - chunk);
+			for (int bit = 0; bit < chunk; bit++) {
+				reg = (reg >>> (r - 1) & 1) == 1 ? (reg << 1) ^ g : reg << 1;
+			}
+			remainders[v] = reg & ((1L << r) - 1);
+		}
+		scratch = ThreadLocal.withInitial(() -> new int[4][2 * t + 2]);
+	}
+
+
+	/**
+	 * Returns the code from the {@link #cache} or builds it if it isn't cached.
+	 * @param m The degree of the field (3 - 6), so that the length of the codewords is 2^m - 1.
+	 * @param t The number of errors the code should correct (at least 1).
+	 * @return Returns the BCH code or null if it has no message bits.
+	 */
+	public static synchronized BchCode get(int m, int t) {
+		Integer key = m * 64 + t;
+		BchCode code = cache.get(key);
+		if (code == null) {
+			code = new BchCode(m, t);
+			if (code.r >= code.n) return null;
+			cache.put(key, code);
+		}
+		return code;
+	}
+
+
+	@Override
+	public int getLength() {return n;}
+
+
+	@Override
+	public int getDimension() {return n - r;}
+
+
+	@Override
+	public String getName() {return "BCH t=" + t;}
+
+
+	/**
+	 * Appends the check bits, which are the {@link #remainder(long, int) remainder} of the message.
+	 * @param message The message bits.
+	 * @return Returns the codeword.
+	 */
+	@Override
+	public long encode(long message) {
+		return (message << r) | remainder(message, n - r);
+	}
+
+
+	/**
+	 * Corrects up to {@link #t} errors. <br>
+	 * First, the syndromes S_1 ... S_2t get computed by evaluating the word at a^1 ... a^2t.
+	 * If all of them are 0, the word is a codeword. Otherwise, the Berlekamp-Massey algorithm finds the shortest
+	 * error locator polynomial, whose roots are the inverses of the powers of a, at which the word has errors.
+	 * They get found by trying every power of a (Chien search).
+	 * @param word The received word.
+	 * @return Returns the corrected codeword or {@link #FAILURE} if the error locator polynomial has a higher degree than {@link #t}
+	 * or not as many roots as its degree, because then more than {@link #t} errors happened.
+	 */
+	@Override
+	public long decode(long word) {
+		int[][] s = scratch.get();
+		int[] syndromes = s[0];
+		int[] locator = s[1];
+		int[] previous = s[2];
+		int[] copy = s[3];
+
+		boolean errors = false;
+		for (int j = 1; j <= 2 * t; j++) {
+			int syndrome = 0;
+			if ((j & 1) == 0) {
+				syndrome = multiply(syndromes[j / 2], syndromes[j / 2]);
+			} else {
+				for (long w = word; w != 0; w &= w - 1) {
+					syndrome ^= exp[j * Long.numberOfTrailingZeros(w) % n];
+				}
+			}
+			syndromes[j] = syndrome;
+			errors |= syndrome != 0;
+		}
+		if (!errors) return word;
+
+		Arrays.fill(locator, 0);
+		Arrays.fill(previous, 0);
+		locator[0] = 1;
+		previous[0] = 1;
+		int degree = 0;
+		int shift = 1;
+		int previousDiscrepancy = 1;
+		for (int i = 0; i < 2 * t; i++) {
+			int discrepancy = syndromes[i + 1];
+			for (int j = 1; j <= degree; j++) {
+				discrepancy ^= multiply(locator[j], syndromes[i + 1 - j]);
+			}
+			if (discrepancy == 0) {
+				shift++;
+				continue;
+			}
+			int factor = divide(discrepancy, previousDiscrepancy);
+			if (2 * degree <= i) {
+				System.arraycopy(locator, 0, copy, 0, locator.length);
+				for (int j = shift; j < locator.length; j++) {
+					locator[j] ^= multiply(factor, previous[j - shift]);
+				}
+				System.arraycopy(copy, 0, previous, 0, copy.length);
+				degree = i + 1 - degree;
+				previousDiscrepancy = discrepancy;
+				shift = 1;
+			} else {
+				for (int j = shift; j < locator.length; j++) {
+					locator[j] ^= multiply(factor, previous[j - shift]);
+				}
+				shift++;
+			}
+		}
+		if (degree > t) return FAILURE;
+
+		int roots = 0;
+		for (int i = 0; i < n; i++) {
+			int value = 0;
+			for (int j = 0; j <= degree; j++) {
+				if (locator[j] != 0) value ^= exp[log[locator[j]] + (n - i) * j % n];
+			}
+			if (value == 0) {
+				word ^= 1L << i;
+				roots++;
+			}
+		}
+		return roots == degree ? word : FAILURE;
+	}
+
+
+	/**
+	 * @param word The received word.
+	 * @return Returns whether the word is divisible by the generator polynomial.
+	 */
+	@Override
+	public boolean isCodeword(long word) {
+		return remainder(word, n) == 0;
+	}
+
+
+	/**
+	 * Divides the bits (multiplied with x^r) by the generator polynomial with the shift register.
+	 * Every step handles {@link #chunk} bits via {@link #remainders}, the remaining bits get handled the same way one by one.
+	 * @param bits The bits with the first one being the most significant one.
+	 * @param count The number of bits.
+	 * @return Returns the r bits of the remainder.
+	 */
+	private long remainder(long bits, int count) {
+		long mask = (1L << r) - 1;
+		long reg = 0;
+		int i = count;
+		for (; i >= chunk; i -= chunk) {
+			int top = (int) ((reg >>> (r - chunk)) ^ (bits >>> (i - chunk))) & ((1 << chunk) - 1);
+			reg = ((reg << chunk) & mask) ^ remainders[top];
+		}
+		for (; i > 0; i--) {
+			int top = (int) ((reg >>> (r - 1)) ^ (bits >>> (i - 1))) & 1;
+			reg = ((reg << 1) & mask) ^ remainders[top];
+		}
+		return reg;
+	}
+
+
+	/**
+	 * @param a A field element.
+	 * @param b A field element.
+	 * @return Returns the product of both elements.
+	 */
+	private int multiply(int a, int b) {
+		if (a == 0 || b == 0) return 0;
+		return exp[log[a] + log[b]];
+	}
+
+
+	/**
+	 * @param a A field element.
+	 * @param b A field element other than 0.
+	 * @return Returns a divided by b.
+	 */
+	private int divide(int a, int b) {
+		if (a == 0) return 0;
+		return exp[log[a] + n - log[b]];
+	}
+}
@@ -0,0 +1,162 @@
+package de.wolkenfarmer.experiment_elements.transcoder;
+
+import de.wolkenfarmer.Constants;
+import de.wolkenfarmer.environment.logic.Main;
+import de.wolkenfarmer.environment.logic.UniDataType;
+
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
+import javafx.scene.layout.CornerRadii;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+
+/**
+ * The {@link de.wolkenfarmer.experiment_elements.transcoder transcoder} "BCH Code" which is selectable on the
+ * {@link de.wolkenfarmer.environment.pages.Transcoder transcoder page}.
+ * It encodes the message word after word with the {@link BchCode BCH code} of the length 2^{@link #m} - 1,
+ * which corrects up to {@link #t} changes per word. The units of a word with more changes get flagged,
+ * if the decoder notices them.
+ * @author Wolkenfarmer
+ * @see BlockCodeTranscoder#doJob(byte, UniDataType) doJob() for further information
+ */
+public class BchTranscoder extends BlockCodeTranscoder {
+	/** Saves the degree of the field, which defines the length 2^m - 1 of the words.
+	 * It gets set by {@link #tfM} in {@link #save()} and its default is 5.*/
+	private static int m = 5;
+	/** Saves the number of changes per word the code should correct.
+	 * It gets set by {@link #tfT} in {@link #save()} and its default is 2.*/
+	private static int t = 2;
+
+	/** Label displaying the description for this experiment element. It gets directly attached to {@link #root}.*/
+	private static Label lDescription;
+	/** The text field for {@link #m}. Every character which is not a digit will automatically be replaced by "".
+	 * It gets directly attached to {@link #root}.*/
+	private static TextField tfM;
+	/** The text field for {@link #t}. Every character which is not a digit will automatically be replaced by "".
+	 * It gets directly attached to {@link #root}.*/
+	private static TextField tfT;
+	/** Label displaying the different exceptions for wrong {@link #tfM} or {@link #tfT} input.
+	 * It gets updated to fit the current input in {@link #save()}. It gets directly attached to {@link #root}.*/
+	private static Label lException;
+
+
+	/**
+	 * Sets the {@link #name name} of the experiment element.
+	 */
+	public BchTranscoder() {name = "BCH Code";}
+
+
+	public void buildGui(double parentWidth) {
+		root = new Pane();
+		root.setPrefWidth(parentWidth);
+
+		lDescription = new Label();
+		lDescription.setText("This transcoder encodes the message word after word with a BCH code, "
+				+ "whose words have a length of 2^m - 1 bits and which corrects up to t changes per word.\n"
+				+ "Enter m (between 3 and 6 inclusively) and t below. "
+				+ "The more changes get corrected, the less message bits fit into one word.");
+		lDescription.setFont(Constants.F_NORMAL);
+		lDescription.setTextFill(Constants.C_NORMAL);
+		lDescription.setAlignment(Pos.TOP_LEFT);
+		lDescription.setWrapText(true);
+		lDescription.setPrefWidth(root.getPrefWidth());
+		lDescription.setPrefHeight(Main.calcHeightLabel(lDescription, parentWidth + 10));
+
+		tfM = buildNumberField("m");
+		tfM.setLayoutY(lDescription.getPrefHeight() + 30);
+		tfT = buildNumberField("t");
+		tfT.setLayoutX(tfM.getPrefWidth() + 20);
+		tfT.setLayoutY(tfM.getLayoutY());
+
+		lException = new Label();
+		lException.setFont(Constants.F_NORMAL_ITALIC);
+		lException.setTextFill(Constants.C_PINK);
+		lException.setPrefWidth(root.getPrefWidth());
+		lException.setLayoutY(tfM.getLayoutY() + tfM.getPrefHeight() + 20);
+		lException.setWrapText(true);
+		lException.setVisible(false);
+
+		builtGui = true;
+		root.getChildren().addAll(lDescription, tfM, tfT, lException);
+	}
+
+
+	/**
+	 * Builds a text field which only accepts digits.
+	 * @param prompt The prompt text of the text field.
+	 * @return Returns the text field.
+	 */
+	private static TextField buildNumberField(String prompt) {
+		TextField tf = new TextField();
+		tf.setFont(Constants.F_NORMAL);
+		tf.setPromptText(prompt);
+		tf.setStyle("-fx-text-inner-color: WHITESMOKE;");
+		tf.setBackground(new Background(new BackgroundFill(Color.grayRgb(90), new CornerRadii(5),  null)));
+		tf.setFocusTraversable(false);
+		tf.setPrefHeight(30);
+		tf.setPrefWidth(130);
+		tf.textProperty().addListener((observable, oldValue, newValue) -> {
+			if (!newValue.matches("\\d*")) {
+				tf.setText(newValue.replaceAll("[^\\d]", ""));
+			}
+		});
+		return tf;
+	}
+
+
+	/**
+	 * Saves {@link #m} and {@link #t} and checks whether the given numbers are correct.
+	 * If not, {@link #lException} gets updated accordingly and m = 5 and t = 2 get set instead.
+	 * The BCH code itself gets built (or taken from the cache) by {@link BchCode#get(int, int)}.
+	 */
+	@Override
+	public void save() {
+		if (tfM.getText().equals("") || tfT.getText().equals("")
+				|| Integer.parseInt(tfM.getText()) < 3 || Integer.parseInt(tfM.getText()) > 6
+				|| Integer.parseInt(tfT.getText()) < 1
+				|| BchCode.get(Integer.parseInt(tfM.getText()), Integer.parseInt(tfT.getText())) == null) {
+			m = 5;
+			t = 2;
+			lException.setText("Exception: m has to be between 3 and 6 (inclusively) "
+					+ "and t has to be at least 1 and small enough for a word to have message bits.\n"
+					+ "m = 5 and t = 2 got set instead.");
+			lException.setVisible(true);
+		} else {
+			m = Integer.parseInt(tfM.getText());
+			t = Integer.parseInt(tfT.getText());
+			lException.setVisible(false);
+		}
+		System.out.println(name + " saved!");
+	}
+
+
+	/**
+	 * @return Returns {@link #name} or if it's not for the option button, the name of the BCH code with its parameters.
+	 */
+	@Override
+	public String getName(boolean optionButton) {
+		if (optionButton) return name;
+		else return getCode().toString();
+	}
+
+
+	/**
+	 * @return Returns the {@link BchCode BCH code} of {@link #m} and {@link #t}.
+	 */
+	@Override
+	protected BinaryBlockCode getCode() {
+		return BchCode.get(m, t);
+	}
+
+
+	/**
+	 * @return Returns {@link #m} and {@link #t}.
+	 */
+	@Override
+	public String getConfiguration() {
+		return "m=" + m + ",t=" + t;
+	}
+}
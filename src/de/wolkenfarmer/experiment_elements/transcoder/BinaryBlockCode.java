@@ -0,0 +1,69 @@
+package de.wolkenfarmer.experiment_elements.transcoder;
+
+/**
+ * A linear binary block code, which encodes {@link #getDimension() k} message bits into a codeword of {@link #getLength() n} bits. <br>
+ * Unlike the {@link de.wolkenfarmer.experiment_elements.ExperimentElement experiment elements}, a block code doesn't work
+ * on the data of a trial, but on single words of up to 63 bits, so that it can be used as component code by other transcoders
+ * (e.g. for the rows and columns of the {@link ProductCode product code}).
+ * The words are right-aligned and the first bit is the most significant one (like {@link
+ * de.wolkenfarmer.environment.logic.PackedBinary#getBits(int, int)}). Every code is systematic:
+ * the message bits come first, followed by the n - k check bits.
+ * @author Wolkenfarmer
+ */
+public abstract class BinaryBlockCode {
+	/** Gets returned by {@link #decode(long)} if the word has errors, which can't be corrected.*/
+	public static final long FAILURE = -1L;
+
+
+	/**
+	 * @return Returns the number of bits of a codeword (n).
+	 */
+	public abstract int getLength();
+
+
+	/**
+	 * @return Returns the number of message bits of a codeword (k).
+	 */
+	public abstract int getDimension();
+
+
+	/**
+	 * @return Returns the name of the code without its parameters, e.g. "Hamming".
+	 */
+	public abstract String getName();
+
+
+	/**
+	 * Encodes the message by appending the check bits.
+	 * @param message The {@link #getDimension() k} message bits.
+	 * @return Returns the codeword.
+	 */
+	public abstract long encode(long message);
+
+
+	/**
+	 * Corrects the errors of the received word as far as the code allows.
+	 * @param word The received word of {@link #getLength() n} bits.
+	 * @return Returns the corrected codeword (the word itself if it is a codeword) or {@link #FAILURE}
+	 * if errors got detected but can't be corrected.
+	 */
+	public abstract long decode(long word);
+
+
+	/**
+	 * @param word The received word.
+	 * @return Returns whether the word is a codeword. Decodes the word by default.
+	 */
+	public boolean isCodeword(long word) {
+		return decode(word) == word;
+	}
+
+
+	/**
+	 * @return Returns the name and the parameters of the code, e.g. "Hamming (7, 4)".
+	 */
+	@Override
+	public String toString() {
+		return getName() + " (" + getLength() + ", " + getDimension() + ")";
+	}
+}
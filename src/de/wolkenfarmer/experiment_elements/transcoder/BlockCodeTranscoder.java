@@ -0,0 +1,113 @@
+package de.wolkenfarmer.experiment_elements.transcoder;
+
+import de.wolkenfarmer.environment.logic.PackedBinary;
+import de.wolkenfarmer.environment.logic.Run;
+import de.wolkenfarmer.environment.logic.UniDataType;
+import de.wolkenfarmer.experiment_elements.ExperimentElement;
+
+/**
+ * The base of the {@link de.wolkenfarmer.experiment_elements.transcoder transcoders}, which encode the message word after word
+ * with a {@link BinaryBlockCode block code} (e.g. the {@link GolayTranscoder Golay code} or the {@link BchTranscoder BCH code}).
+ * The subclasses only build the GUI and choose the {@link #getCode() block code}.
+ * @author Wolkenfarmer
+ * @see #doJob(byte, UniDataType) doJob() for further information
+ */
+public abstract class BlockCodeTranscoder extends ExperimentElement {
+	/**
+	 * @return Returns the block code the message gets encoded with.
+	 */
+	protected abstract BinaryBlockCode getCode();
+
+
+	/**
+	 * Does the en- and decoding with the {@link #getCode() block code}.<br><br>
+	 *
+	 * <dl>
+	 * <dt><span class="strong">Encoding</span></dt><dd>
+	 * Every k bits of the message get encoded into one word of the block code.
+	 * If the last word has less than k message bits, the missing ones are 0 and don't get sent, since both sides know them.</dd>
+	 *
+	 * <dt><span class="strong">Decoding</span></dt><dd>
+	 * The number of message bits follows from the length of the code, so that the last word gets filled up again.
+	 * Every word gets corrected by the block code. The units of the message with bits in a word, which the block code
+	 * couldn't correct, get flagged in the {@link UniDataType#setErasures(PackedBinary) erasures} of the decoded message. The code keeps the unit length of the message, so that the decoded message gets its units back
+	 * (e.g. inside a {@link TranscoderChain transcoder chain}).</dd>
+	 * </dl>
+	 * @param task Defines whether the input (data) should be encoded (task = 0), decoded (task = 1)
+	 * or decoded without setting the message-versions in {@link Run} (task = 2).
+	 * @param data The packed data which will be modified.
+	 * @return Returns the modified data.
+	 */
+	public UniDataType doJob(byte task, UniDataType data) {
+		BinaryBlockCode blockCode = getCode();
+		int n = blockCode.getLength();
+		int k = blockCode.getDimension();
+		PackedBinary in = data.getPackedBinary();
+
+		if (task == 0) {
+			PackedBinary code = new PackedBinary(in.getLength() + (in.getLength() + k - 1) / k * (n - k), in.getUnitLength());
+			for (int i = 0, out = 0; i < in.getLength(); i += k) {
+				int d = Math.min(k, in.getLength() - i);
+				long word = blockCode.encode(in.getBits(i, d) << (k - d));
+				code.setBits(out, d, word >>> (n - d));
+				code.setBits(out + d, n - k, word);
+				out += d + n - k;
+			}
+			data.setPackedBinary(code);
+			return data;
+		}
+
+		int messageBits = in.getLength() / n * k + (in.getLength() % n == 0 ? 0 : in.getLength() % n - (n - k));
+		int unitLength = in.getUnitLength() > 0 && in.getUnitLength() < Long.SIZE ? in.getUnitLength() : 8;
+		PackedBinary changed = new PackedBinary(messageBits, unitLength);
+		PackedBinary corrected = new PackedBinary(messageBits, unitLength);
+		PackedBinary flags = new PackedBinary((messageBits + unitLength - 1) / unitLength, 8);
+		for (int i = 0, out = 0; out < messageBits; out += k) {
+			int d = Math.min(k, messageBits - out);
+			long received = in.getBits(i, d);
+			long check = in.getBits(i + d, n - k);
+			i += d + n - k;
+			changed.setBits(out, d, received);
+			long word = blockCode.decode((received << (k - d) << (n - k)) | check);
+			if (word == BinaryBlockCode.FAILURE) {
+				corrected.setBits(out, d, received);
+				for (int u = out / unitLength; u <= (out + d - 1) / unitLength; u++) {
+					flags.set(u, true);
+				}
+			} else {
+				corrected.setBits(out, d, word >>> (n - d));
+			}
+		}
+		if (task == 1) {
+			UniDataType changedMessage = new UniDataType();
+			UniDataType correctedMessage = new UniDataType();
+			changedMessage.setPackedBinary(changed);
+			correctedMessage.setPackedBinary(corrected);
+			Run.changedMessage = changedMessage.getStringUnicode();
+			Run.correctedMessage = correctedMessage.getStringUnicode();
+			Run.correctedFlaggedMessage = Run.getFlaggedMessage(corrected, flags);
+		}
+		data.setPackedBinary(corrected);
+		data.setErasures(flags);
+		return data;
+	}
+
+
+	/**
+	 * @param task Not used, since every task works on packed binaries.
+	 * @return Returns {@link UniDataType.Format#PACKED}.
+	 */
+	@Override
+	public UniDataType.Format[] getInputFormats(byte task) {
+		return new UniDataType.Format[] {UniDataType.Format.PACKED};
+	}
+
+	/**
+	 * @param task Not used, since every task works on packed binaries.
+	 * @return Returns {@link UniDataType.Format#PACKED}.
+	 */
+	@Override
+	public UniDataType.Format getOutputFormat(byte task) {
+		return UniDataType.Format.PACKED;
+	}
+}
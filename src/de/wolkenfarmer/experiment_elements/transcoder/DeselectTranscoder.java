@@ -22,7 +22,7 @@ public class DeselectTranscoder extends Deselect {
 	 * Sets the necessary message-versions in {@link Run} for a flawless data analysis.
 	 */
 	public UniDataType doJob(byte task, UniDataType data) {
-		if (task != 0) {
+		if (task == 1) {
 			Run.changedMessage = data.getStringUnicode();
 			Run.correctedMessage = data.getStringUnicode();
 			Run.correctedFlaggedMessage = data.getStringUnicode();
@@ -39,4 +39,35 @@ public class DeselectTranscoder extends Deselect {
 		super.buildGui(parentWidth);
 		l.setText("\"Save & add\" this option in order to disable the transcoder for the communication experiment.");
 	}
+
+
+	/**
+	 * @param task The task (see {@link #doJob(byte, UniDataType)}).
+	 * @return Returns {@link UniDataType.Format#UNICODE} while decoding, since the message-versions get set from it, 
+	 * and null otherwise.
+	 */
+	@Override
+	public UniDataType.Format[] getInputFormats(byte task) {
+		if (task == 1) return new UniDataType.Format[] {UniDataType.Format.UNICODE};
+		return null;
+	}
+
+
+	/**
+	 * @return Returns an empty configuration, since the data doesn't get encoded.
+	 */
+	@Override
+	public String getConfiguration() {
+		return "";
+	}
+
+
+	/**
+	 * @return Returns true, since the data doesn't get encoded, so that the default bit-sliced methods, 
+	 * which hand the bits over as they are, fit.
+	 */
+	@Override
+	public boolean isSliceable() {
+		return true;
+	}
 }
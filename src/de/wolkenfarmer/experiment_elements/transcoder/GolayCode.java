@@ -0,0 +1,113 @@
+package de.wolkenfarmer.experiment_elements.transcoder;
+
+/**
+ * The binary Golay code (23, 12) as {@link BinaryBlockCode block code}, which corrects up to three errors per codeword,
+ * or the extended Golay code (24, 12), which additionally detects four errors with an overall parity bit. <br>
+ * The code is cyclic with the generator polynomial {@link #GENERATOR}: the 11 check bits are the remainder of the message bits
+ * (shifted by 11) divided by it, and the syndrome of a word is the remainder of the whole word.
+ * The Golay code is perfect, which means that every one of the 2048 syndromes belongs to exactly one error pattern
+ * with at most three ones. Therefore, decoding is a lookup in {@link #ERRORS} and a XOR.
+ * @author Wolkenfarmer
+ * @see <a href="https://en.wikipedia.org/wiki/Binary_Golay_code">Wikipedia about the binary Golay code</a>
+ */
+public class GolayCode extends BinaryBlockCode {
+	/** The generator polynomial x^11 + x^10 + x^6 + x^5 + x^4 + x^2 + 1 with the bit i being the coefficient of x^i.*/
+	private static final int GENERATOR = 0xC75;
+	/** The remainder of every 12-bit message (shifted by 11) divided by the {@link #GENERATOR}, which are the check bits of the message.*/
+	private static final int[] REMAINDERS = new int[1 << 12];
+	/** The error pattern with at most three ones of every syndrome.*/
+	private static final int[] ERRORS = new int[1 << 11];
+	/** Whether the overall parity bit gets appended (24, 12) or not (23, 12).*/
+	private final boolean extended;
+
+	static {
+		for (int m = 0; m < REMAINDERS.length; m++) {
+			int r = m << 11;
+			for (int bit = 22; bit >= 11; bit--) {
+				if ((r >>> bit & 1) == 1) r ^= GENERATOR << (bit - 11);
+			}
+			REMAINDERS[m] = r;
+		}
+		for (int a = 0; a < 23; a++) {
+			for (int b = a; b < 23; b++) {
+				for (int c = b; c < 23; c++) {
+					int e = (1 << a) | (1 << b) | (1 << c);
+					ERRORS[syndrome(e)] = e;
+				}
+			}
+		}
+		ERRORS[0] = 0;
+	}
+
+
+	/**
+	 * @param extended Whether the overall parity bit should be appended (24, 12) or not (23, 12).
+	 */
+	public GolayCode(boolean extended) {
+		this.extended = extended;
+	}
+
+
+	@Override
+	public int getLength() {return extended ? 24 : 23;}
+
+
+	@Override
+	public int getDimension() {return 12;}
+
+
+	@Override
+	public String getName() {return extended ? "Extended Golay" : "Golay";}
+
+
+	/**
+	 * Appends the check bits from {@link #REMAINDERS} and, if {@link #extended}, the parity bit.
+	 * @param message The message bits.
+	 * @return Returns the codeword.
+	 */
+	@Override
+	public long encode(long message) {
+		int word = ((int) message << 11) | REMAINDERS[(int) message];
+		if (!extended) return word;
+		return ((long) word << 1) | (Integer.bitCount(word) & 1);
+	}
+
+
+	/**
+	 * Switches the bits of the error pattern of the syndrome (see {@link #ERRORS}).
+	 * If the code is {@link #extended}, the parity of the whole word tells whether the parity bit got changed as well,
+	 * so that four errors (the error pattern and the parity bit) get detected.
+	 * @param word The received word.
+	 * @return Returns the corrected codeword or {@link #FAILURE} if four errors got detected.
+	 */
+	@Override
+	public long decode(long word) {
+		if (!extended) return word ^ ERRORS[syndrome((int) word)];
+
+		int error = ERRORS[syndrome((int) (word >>> 1))];
+		int errors = Integer.bitCount(error);
+		if ((errors & 1) == (Long.bitCount(word) & 1)) return word ^ ((long) error << 1);
+		if (errors == 3) return FAILURE;
+		return word ^ ((long) error << 1) ^ 1;
+	}
+
+
+	/**
+	 * @param word The received word.
+	 * @return Returns whether the syndrome (and if {@link #extended} the parity) of the word is 0.
+	 */
+	@Override
+	public boolean isCodeword(long word) {
+		if (!extended) return syndrome((int) word) == 0;
+		return syndrome((int) (word >>> 1)) == 0 && (Long.bitCount(word) & 1) == 0;
+	}
+
+
+	/**
+	 * @param word A word of 23 bits.
+	 * @return Returns the remainder of the word divided by the {@link #GENERATOR}.
+	 */
+	private static int syndrome(int word) {
+		return REMAINDERS[word >>> 11] ^ (word & 0x7FF);
+	}
+}
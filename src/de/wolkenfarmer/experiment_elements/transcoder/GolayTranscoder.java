@@ -0,0 +1,123 @@
+package de.wolkenfarmer.experiment_elements.transcoder;
+
+import de.wolkenfarmer.Constants;
+import de.wolkenfarmer.environment.logic.Main;
+import de.wolkenfarmer.environment.logic.UniDataType;
+
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.control.RadioButton;
+import javafx.scene.control.ToggleGroup;
+import javafx.scene.layout.Pane;
+
+/**
+ * The {@link de.wolkenfarmer.experiment_elements.transcoder transcoder} "Golay Code" which is selectable on the
+ * {@link de.wolkenfarmer.environment.pages.Transcoder transcoder page}.
+ * It encodes every 12 bits of the message with the {@link GolayCode Golay code} (23, 12), which corrects up to three changes
+ * per word, or with the extended Golay code (24, 12), which additionally detects four changes.
+ * The units of a word with four detected changes get flagged.
+ * @author Wolkenfarmer
+ * @see BlockCodeTranscoder#doJob(byte, UniDataType) doJob() for further information
+ */
+public class GolayTranscoder extends BlockCodeTranscoder {
+	/** The Golay code (23, 12).*/
+	static final GolayCode GOLAY = new GolayCode(false);
+	/** The extended Golay code (24, 12).*/
+	static final GolayCode EXTENDED_GOLAY = new GolayCode(true);
+	/** Saves whether the extended Golay code (true) or the Golay code (false) should be used.
+	 * It gets set by {@link #rbGolay} and {@link #rbExtended} in {@link #save()} and its default is false.*/
+	private static boolean boExtended;
+
+	/** Label displaying the description for this experiment element. It gets directly attached to {@link #root}.*/
+	private static Label lDescription;
+	/** The toggle group to toggle between the Golay code ({@link #boExtended} = false) and the extended Golay code
+	 * ({@link #boExtended} = true). Connects {@link #rbGolay} and {@link #rbExtended}.*/
+	private static ToggleGroup tgType;
+	/** The radio button of {@link #tgType} which represents the Golay code. It's directly attached to {@link #root}.*/
+	private static RadioButton rbGolay;
+	/** The radio button of {@link #tgType} which represents the extended Golay code. It's directly attached to {@link #root}.*/
+	private static RadioButton rbExtended;
+
+
+	/**
+	 * Sets the {@link #name name} of the experiment element.
+	 */
+	public GolayTranscoder() {name = "Golay Code";}
+
+
+	public void buildGui(double parentWidth) {
+		root = new Pane();
+		root.setPrefWidth(parentWidth);
+
+		lDescription = new Label();
+		lDescription.setText("This transcoder encodes every 12 bits of the message into a word of the Golay code.\n"
+				+ "Choose either the Golay code (23, 12), which corrects up to three changes per word, "
+				+ "or the extended Golay code (24, 12), which additionally detects four changes.");
+		lDescription.setFont(Constants.F_NORMAL);
+		lDescription.setTextFill(Constants.C_NORMAL);
+		lDescription.setAlignment(Pos.TOP_LEFT);
+		lDescription.setWrapText(true);
+		lDescription.setPrefWidth(root.getPrefWidth());
+		lDescription.setPrefHeight(Main.calcHeightLabel(lDescription, parentWidth + 10));
+
+		tgType = new ToggleGroup();
+			rbGolay = new RadioButton(GOLAY.toString());
+			rbGolay.setLayoutY(lDescription.getPrefHeight() + 30);
+			rbGolay.setToggleGroup(tgType);
+			rbGolay.setFont(Constants.F_NORMAL);
+			rbGolay.setTextFill(Constants.C_NORMAL);
+			rbGolay.setPrefWidth(parentWidth);
+			rbGolay.setPrefHeight(Main.calcHeight(rbGolay));
+			rbGolay.setSelected(!boExtended);
+
+			rbExtended = new RadioButton(EXTENDED_GOLAY.toString());
+			rbExtended.setLayoutY(rbGolay.getLayoutY() + rbGolay.getPrefHeight() + 15);
+			rbExtended.setToggleGroup(tgType);
+			rbExtended.setFont(Constants.F_NORMAL);
+			rbExtended.setTextFill(Constants.C_NORMAL);
+			rbExtended.setPrefWidth(parentWidth);
+			rbExtended.setPrefHeight(Main.calcHeight(rbExtended));
+			rbExtended.setSelected(boExtended);
+
+		builtGui = true;
+		root.getChildren().addAll(lDescription, rbGolay, rbExtended);
+	}
+
+
+	/**
+	 * Saves whether the {@link #boExtended extended Golay code} should be used.
+	 */
+	@Override
+	public void save() {
+		boExtended = rbExtended.isSelected();
+		System.out.println(name + " saved!");
+	}
+
+
+	/**
+	 * @return Returns {@link #name} or if it's not for the option button, the name of the chosen code with its parameters.
+	 */
+	@Override
+	public String getName(boolean optionButton) {
+		if (optionButton) return name;
+		else return (boExtended ? EXTENDED_GOLAY : GOLAY).toString();
+	}
+
+
+	/**
+	 * @return Returns the {@link #EXTENDED_GOLAY extended Golay code} or the {@link #GOLAY Golay code} (see {@link #boExtended}).
+	 */
+	@Override
+	protected BinaryBlockCode getCode() {
+		return boExtended ? EXTENDED_GOLAY : GOLAY;
+	}
+
+
+	/**
+	 * @return Returns whether the {@link #boExtended extended Golay code} gets used.
+	 */
+	@Override
+	public String getConfiguration() {
+		return "extended=" + boExtended;
+	}
+}
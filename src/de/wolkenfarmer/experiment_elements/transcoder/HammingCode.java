@@ -0,0 +1,106 @@
+package de.wolkenfarmer.experiment_elements.transcoder;
+
+/**
+ * The binary Hamming code with m check bits as {@link BinaryBlockCode block code}: n = 2^m - 1 and k = n - m.
+ * It corrects one error per codeword. <br>
+ * Every bit position gets a different non-zero column of m bits of the parity check matrix.
+ * The message bits get the columns with at least two ones and the check bits the ones with a single one,
+ * which makes the code systematic. The syndrome of a word is the XOR of the columns of its ones,
+ * and a non-zero syndrome is the column of the changed bit, which gets found in {@link #positions}.
+ * @author Wolkenfarmer
+ * @see <a href="https://en.wikipedia.org/wiki/Hamming_code">Wikipedia about the Hamming code</a>
+ */
+public class HammingCode extends BinaryBlockCode {
+	/** The number of check bits.*/
+	private final int m;
+	/** The number of bits of a codeword.*/
+	private final int n;
+	/** The column of the parity check matrix of every bit of a word, indexed from the least significant bit.*/
+	private final int[] columns;
+	/** The bit (indexed from the least significant one) of every syndrome. The inverse of {@link #columns}.*/
+	private final int[] positions;
+
+
+	/**
+	 * Builds the {@link #columns} and {@link #positions}.
+	 * @param m The number of check bits (2 - 6).
+	 */
+	public HammingCode(int m) {
+		this.m = m;
+		n = (1 << m) - 1;
+		columns = new int[n];
+		positions = new int[1 << m];
+
+		int column = 1;
+		for (int bit = n - 1; bit >= m; bit--) {
+			while (Integer.bitCount(column) < 2) column++;
+			columns[bit] = column++;
+		}
+		for (int bit = 0; bit < m; bit++) {
+			columns[bit] = 1 << bit;
+		}
+		for (int bit = 0; bit < n; bit++) {
+			positions[columns[bit]] = bit;
+		}
+	}
+
+
+	@Override
+	public int getLength() {return n;}
+
+
+	@Override
+	public int getDimension() {return n - m;}
+
+
+	@Override
+	public String getName() {return "Hamming";}
+
+
+	/**
+	 * Appends the check bits, which are the syndrome of the message bits.
+	 * @param message The message bits.
+	 * @return Returns the codeword.
+	 */
+	@Override
+	public long encode(long message) {
+		return (message << m) | syndrome(message << m);
+	}
+
+
+	/**
+	 * Switches the bit whose column is the syndrome of the word.
+	 * @param word The received word.
+	 * @return Returns the corrected codeword. Never fails, since every syndrome belongs to a bit.
+	 */
+	@Override
+	public long decode(long word) {
+		int s = syndrome(word);
+		if (s == 0) return word;
+		return word ^ (1L << positions[s]);
+	}
+
+
+	/**
+	 * @param word The received word.
+	 * @return Returns whether the syndrome of the word is 0.
+	 */
+	@Override
+	public boolean isCodeword(long word) {
+		return syndrome(word) == 0;
+	}
+
+
+	/**
+	 * @param word The word.
+	 * @return Returns the XOR of the {@link #columns} of all ones of the word.
+	 */
+	private int syndrome(long word) {
+		int s = 0;
+		while (word != 0) {
+			s ^= columns[Long.numberOfTrailingZeros(word)];
+			word &= word - 1;
+		}
+		return s;
+	}
+}
@@ -0,0 +1,488 @@
+package de.wolkenfarmer.experiment_elements.transcoder;
+
+import de.wolkenfarmer.Constants;
+import de.wolkenfarmer.environment.logic.Main;
+import de.wolkenfarmer.environment.logic.PackedBinary;
+import de.wolkenfarmer.environment.logic.UniDataType;
+import de.wolkenfarmer.experiment_elements.ExperimentElement;
+
+import javafx.event.ActionEvent;
+import javafx.event.EventHandler;
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.control.RadioButton;
+import javafx.scene.control.TextField;
+import javafx.scene.control.ToggleGroup;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
+import javafx.scene.layout.CornerRadii;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+
+/**
+ * The {@link de.wolkenfarmer.experiment_elements.transcoder transcoder} "Interleaver" which is selectable on the
+ * {@link de.wolkenfarmer.environment.pages.Transcoder transcoder page}.
+ * The interleaver gets placed between the previously selected transcoder ({@link #inner}) and the noise source.
+ * It rearranges the bits of the code, so that a burst of changes in the channel gets spread over many units after deinterleaving.
+ * Therefore, codes like the {@link ParityCheck parity check} or the {@link RepetitionCode repetition code},
+ * which can only handle single changes per unit, also work with burst errors.
+ * Either a block interleaver ({@link #rows} x {@link #columns}) or a convolutional interleaver
+ * ({@link #rows branches} x {@link #columns delay}) can be chosen.
+ * @author Wolkenfarmer
+ * @see #doJob(byte, UniDataType) doJob() for further information
+ */
+public class Interleaver extends ExperimentElement {
+	/** Saves whether the block (false) or the convolutional (true) interleaver should be used.
+	 * It gets set by {@link #rbBlock} and {@link #rbConvolutional} and its default is false.*/
+	private static boolean boConvolutional;
+	/** Saves the number of rows of the block interleaver or the number of branches of the convolutional interleaver.
+	 * It gets set by {@link #tfRows} in {@link #save()} and its default is 8.*/
+	private static int rows = 8;
+	/** Saves the number of columns of the block interleaver or the delay (in bits) per branch of the convolutional interleaver.
+	 * It gets set by {@link #tfColumns} in {@link #save()} and its default is 8.*/
+	private static int columns = 8;
+	/** The transcoder which was selected before this interleaver got saved & added.
+	 * It encodes before the interleaving and decodes after the deinterleaving.
+	 * If there was none, {@link de.wolkenfarmer.experiment_elements.transcoder.DeselectTranscoder} will be used.*/
+	private static ExperimentElement inner;
+
+	/** The index table of the last used code length. Bit i of the interleaved code is bit table[i] of the code.
+	 * Gets built by {@link #getTable(int, boolean)} and reset in {@link #save()}.*/
+	private static int[] table;
+	/** The inverse of {@link #table} used for deinterleaving.*/
+	private static int[] inverseTable;
+	/** Delta swap masks for the bit-matrix transposition of block interleavers with a power-of-two shape
+	 * ({@link #rows} * {@link #columns} &lt;= 64). Null if the shape doesn't allow it. Gets built in {@link #save()}.*/
+	private static long[] swapMasks;
+	/** Delta swap distances belonging to {@link #swapMasks}.*/
+	private static int[] swapDeltas;
+	/** Delta swap masks for the inverse transposition (deinterleaving).*/
+	private static long[] inverseSwapMasks;
+	/** Delta swap distances belonging to {@link #inverseSwapMasks}.*/
+	private static int[] inverseSwapDeltas;
+
+	/** Label displaying the description for this experiment element. It gets directly attached to {@link #root}.*/
+	private static Label lDescription;
+	/** The toggle group to toggle between the block ({@link #boConvolutional} = false) and the convolutional interleaver
+	 * ({@link #boConvolutional} = true). Connects {@link #rbBlock} and {@link #rbConvolutional}.*/
+	private static ToggleGroup tgType;
+	/** The radio button of {@link #tgType} which represents the block interleaver. It's directly attached to {@link #root}.*/
+	private static RadioButton rbBlock;
+	/** The radio button of {@link #tgType} which represents the convolutional interleaver. It's directly attached to {@link #root}.*/
+	private static RadioButton rbConvolutional;
+	/** The text field for {@link #rows}. Every character which is not a digit will automatically be replaced by "".
+	 * It gets directly attached to {@link #root}.*/
+	private static TextField tfRows;
+	/** The text field for {@link #columns}. Every character which is not a digit will automatically be replaced by "".
+	 * It gets directly attached to {@link #root}.*/
+	private static TextField tfColumns;
+	/** Label displaying the different exceptions for wrong {@link #tfRows} or {@link #tfColumns} input.
+	 * It gets updated to fit the current input in {@link #save()}. It gets directly attached to {@link #root}.*/
+	private static Label lException;
+
+
+	/**
+	 * Sets the {@link #name name} of the experiment element.
+	 */
+	public Interleaver() {name = "Interleaver";}
+
+
+	/**
+	 * Does the en- and decoding of the {@link #inner inner transcoder} and the interleaving in between.<br>
+	 * While encoding (task = 0) the inner transcoder encodes the data first, then the bits of the code get rearranged.
+	 * While decoding (task = 1 or 2) the bits get put back in their original order and afterwards the inner transcoder decodes them.
+	 * The units of the code (e.g. 9 bits for the simple parity check) stay the same, only the bits get moved between them.<br><br>
+	 *
+	 * <dl>
+	 * <dt><span class="strong">Block interleaver</span></dt><dd>
+	 * The code gets divided into blocks of {@link #rows} * {@link #columns} bits. Every block gets written row after row
+	 * into a matrix and read column after column. The bits after the last full block stay where they are.
+	 * If the block is 64 bits or shorter and its rows and columns are a power of two,
+	 * the blocks get transposed directly in the packed words via delta swaps. Otherwise, a precomputed index table will be used.</dd>
+	 *
+	 * <dt><span class="strong">Convolutional interleaver</span></dt><dd>
+	 * The bits get distributed over {@link #rows} branches one after another and every branch delays its bits by
+	 * its number times {@link #columns} bits. In order to keep the length of the code, the delay lines wrap around the end of
+	 * the code (tail-biting), which makes the interleaver a permutation. It gets applied with a precomputed index table as well.</dd>
+	 * </dl>
+	 * @param task Defines whether the input (data) should be encoded (task = 0), decoded (task = 1) 
+	 * or decoded without setting the message-versions in {@link de.wolkenfarmer.environment.logic.Run Run} (task = 2).
+	 * @param data The data which will be modified.
+	 * @return Returns the modified data.
+	 * @see <a href="https://en.wikipedia.org/wiki/Burst_error-correcting_code#Interleaved_codes">Wikipedia about interleaving</a>
+	 */
+	public UniDataType doJob(byte task, UniDataType data) {
+		if (inner == null) inner = Main.transcoder_Deselect;
+
+		if (task == 0) {
+			data = inner.doJob(task, data);
+			data.setPackedBinary(permute(data.getPackedBinary(), false));
+		} else {
+			data.setPackedBinary(permute(data.getPackedBinary(), true));
+			data = inner.doJob(task, data);
+		}
+		return data;
+	}
+
+
+	/**
+	 * Rearranges the bits of the given code.
+	 * Uses the delta swaps for every full word if available and the {@link #getTable(int, boolean) index table} for the rest.
+	 * @param in The code to be rearranged.
+	 * @param inverse Defines whether it should be interleaved (false) or deinterleaved (true).
+	 * @return Returns the rearranged code.
+	 */
+	private static PackedBinary permute(PackedBinary in, boolean inverse) {
+		int n = in.getLength();
+		PackedBinary out = new PackedBinary(n, in.getUnitLength());
+		long[] src = in.getWords();
+		long[] dst = out.getWords();
+		int startWord = 0;
+
+		long[] masks = inverse ? inverseSwapMasks : swapMasks;
+		int[] deltas = inverse ? inverseSwapDeltas : swapDeltas;
+		if (!boConvolutional && masks != null) {
+			int fullWords = n >>> 6;
+			for (int w = 0; w < fullWords; w++) {
+				long x = src[w];
+				for (int k = 0; k < masks.length; k++) {
+					long t = ((x >>> deltas[k]) ^ x) & masks[k];
+					x ^= t ^ (t << deltas[k]);
+				}
+				dst[w] = x;
+			}
+			startWord = fullWords;
+		}
+
+		if (startWord << 6 < n) {
+			int[] t = getTable(n, inverse);
+			for (int w = startWord; w < dst.length; w++) {
+				long x = 0;
+				int base = w << 6;
+				int end = Math.min(64, n - base);
+				for (int b = 0; b < end; b++) {
+					int s = t[base + b];
+					x |= ((src[s >>> 6] << (s & 63)) & Long.MIN_VALUE) >>> b;
+				}
+				dst[w] = x;
+			}
+		}
+		return out;
+	}
+
+
+	/**
+	 * Returns the index table for the given code length and builds it if the length changed since the last call. <br>
+	 * Bit i of the result is bit table[i] of the input.
+	 * @param n The length of the code in bits.
+	 * @param inverse Defines whether the table for interleaving (false) or deinterleaving (true) is requested.
+	 * @return Returns the index table.
+	 */
+	private static synchronized int[] getTable(int n, boolean inverse) {
+		if (table == null || table.length != n) {
+			int[] t = new int[n];
+			int[] it = new int[n];
+			if (!boConvolutional) {
+				int blockSize = rows * columns;
+				int full = n / blockSize * blockSize;
+				for (int p = 0; p < full; p++) {
+					int j = p % blockSize;
+					int src = p - j + (j % rows) * columns + j / rows;
+					t[p] = src;
+					it[src] = p;
+				}
+				for (int p = full; p < n; p++) {
+					t[p] = p;
+					it[p] = p;
+				}
+			} else {
+				int full = n / rows * rows;
+				for (int k = 0; k < full; k++) {
+					int dst = (int) ((k + (long) (k % rows) * columns * rows) % full);
+					t[dst] = k;
+					it[k] = dst;
+				}
+				for (int p = full; p < n; p++) {
+					t[p] = p;
+					it[p] = p;
+				}
+			}
+			table = t;
+			inverseTable = it;
+		}
+		return inverse ? inverseTable : table;
+	}
+
+
+	/**
+	 * Builds the delta swaps which transpose every block of a rows x columns matrix inside a 64 bit word. <br>
+	 * Reading a matrix column after column is a rotation of the index bits of every bit inside the block.
+	 * The rotation gets split into swaps of two index bits, which are a delta swap each.
+	 * @param rowBits log2 of the number of rows.
+	 * @param columnBits log2 of the number of columns.
+	 * @param inverse If true, the swaps for the transposition back get built.
+	 */
+	private static void buildSwaps(int rowBits, int columnBits, boolean inverse) {
+		int s = rowBits + columnBits;
+		int r = inverse ? columnBits : rowBits;
+		int[] cur = new int[s];
+		for (int i = 0; i < s; i++) cur[i] = i;
+		long[] masks = new long[s];
+		int[] deltas = new int[s];
+		int swaps = 0;
+
+		for (int t = 0; t < s; t++) {
+			int target = ((t - r) % s + s) % s;
+			if (cur[t] == target) continue;
+			int u = t + 1;
+			while (cur[u] != target) u++;
+			int tmp = cur[t];
+			cur[t] = cur[u];
+			cur[u] = tmp;
+
+			long m = 0;
+			for (int p = 0; p < 64; p++) {
+				if (((p >>> t) & 1) == 1 && ((p >>> u) & 1) == 0) m |= 1L << p;
+			}
+			masks[swaps] = m;
+			deltas[swaps] = (1 << u) - (1 << t);
+			swaps++;
+		}
+
+		if (inverse) {
+			inverseSwapMasks = java.util.Arrays.copyOf(masks, swaps);
+			inverseSwapDeltas = java.util.Arrays.copyOf(deltas, swaps);
+		} else {
+			swapMasks = java.util.Arrays.copyOf(masks, swaps);
+			swapDeltas = java.util.Arrays.copyOf(deltas, swaps);
+		}
+	}
+
+
+	public void buildGui(double parentWidth) {
+		root = new Pane();
+		root.setPrefWidth(parentWidth);
+
+		lDescription = new Label();
+		lDescription.setText("This transcoder places an interleaver between the previously saved & added transcoder and the noise source. "
+				+ "It spreads bursts of changes over many units, so that the other transcoder can handle them.\n"
+				+ "Choose either the block interleaver (rows x columns) or the convolutional interleaver (branches x delay in bits) "
+				+ "and enter the numbers below. Both have to be between 1 and 256 (inclusively).");
+		lDescription.setFont(Constants.F_NORMAL);
+		lDescription.setTextFill(Constants.C_NORMAL);
+		lDescription.setAlignment(Pos.TOP_LEFT);
+		lDescription.setWrapText(true);
+		lDescription.setPrefWidth(root.getPrefWidth());
+		lDescription.setPrefHeight(Main.calcHeightLabel(lDescription, parentWidth + 10));
+
+		tgType = new ToggleGroup();
+			rbBlock = new RadioButton("Block interleaver");
+			rbBlock.setLayoutY(lDescription.getPrefHeight() + 30);
+			rbBlock.setToggleGroup(tgType);
+			rbBlock.setFont(Constants.F_NORMAL);
+			rbBlock.setTextFill(Constants.C_NORMAL);
+			rbBlock.setPrefWidth(parentWidth);
+			rbBlock.setPrefHeight(Main.calcHeight(rbBlock));
+			rbBlock.setSelected(true);
+			rbBlock.setOnAction(new EventHandler<ActionEvent>() {
+				public void handle(ActionEvent t) {
+					tfRows.setPromptText("Rows");
+					tfColumns.setPromptText("Columns");
+				}
+			});
+
+			rbConvolutional = new RadioButton("Convolutional interleaver");
+			rbConvolutional.setLayoutY(rbBlock.getLayoutY() + rbBlock.getPrefHeight() + 15);
+			rbConvolutional.setToggleGroup(tgType);
+			rbConvolutional.setFont(Constants.F_NORMAL);
+			rbConvolutional.setTextFill(Constants.C_NORMAL);
+			rbConvolutional.setPrefWidth(parentWidth);
+			rbConvolutional.setPrefHeight(Main.calcHeight(rbConvolutional));
+			rbConvolutional.setOnAction(new EventHandler<ActionEvent>() {
+				public void handle(ActionEvent t) {
+					tfRows.setPromptText("Branches");
+					tfColumns.setPromptText("Delay");
+				}
+			});
+
+		tfRows = buildNumberField("Rows");
+		tfRows.setLayoutY(rbConvolutional.getLayoutY() + rbConvolutional.getPrefHeight() + 30);
+		tfColumns = buildNumberField("Columns");
+		tfColumns.setLayoutX(tfRows.getPrefWidth() + 20);
+		tfColumns.setLayoutY(tfRows.getLayoutY());
+
+		lException = new Label();
+		lException.setFont(Constants.F_NORMAL_ITALIC);
+		lException.setTextFill(Constants.C_PINK);
+		lException.setPrefWidth(root.getPrefWidth());
+		lException.setLayoutY(tfRows.getLayoutY() + tfRows.getPrefHeight() + 20);
+		lException.setWrapText(true);
+		lException.setVisible(false);
+
+		builtGui = true;
+		root.getChildren().addAll(lDescription, rbBlock, rbConvolutional, tfRows, tfColumns, lException);
+	}
+
+
+	/**
+	 * Builds a text field which only accepts digits.
+	 * @param prompt The prompt text of the text field.
+	 * @return Returns the text field.
+	 */
+	private static TextField buildNumberField(String prompt) {
+		TextField tf = new TextField();
+		tf.setFont(Constants.F_NORMAL);
+		tf.setPromptText(prompt);
+		tf.setStyle("-fx-text-inner-color: WHITESMOKE;");
+		tf.setBackground(new Background(new BackgroundFill(Color.grayRgb(90), new CornerRadii(5),  null)));
+		tf.setFocusTraversable(false);
+		tf.setPrefHeight(30);
+		tf.setPrefWidth(130);
+		tf.textProperty().addListener((observable, oldValue, newValue) -> {
+			if (!newValue.matches("\\d*")) {
+				tf.setText(newValue.replaceAll("[^\\d]", ""));
+			}
+		});
+		return tf;
+	}
+
+
+	/**
+	 * Saves the type and shape of the interleaver and checks whether the given numbers are correct.
+	 * If not, {@link #lException} gets updated accordingly and 8 (block) or 4 x 2 (convolutional) get set instead.
+	 * In addition, the currently selected transcoder becomes the {@link #inner inner transcoder}
+	 * and the index tables and delta swaps get rebuilt (see {@link #setShape(boolean, int, int)}).
+	 */
+	@Override
+	public void save() {
+		boolean convolutional = rbConvolutional.isSelected();
+		int defaultRows = convolutional ? 4 : 8;
+		int defaultColumns = convolutional ? 2 : 8;
+
+		if (tfRows.getText().equals("") || tfColumns.getText().equals("")
+				|| Integer.parseInt(tfRows.getText()) < 1 || Integer.parseInt(tfRows.getText()) > 256
+				|| Integer.parseInt(tfColumns.getText()) < 1 || Integer.parseInt(tfColumns.getText()) > 256) {
+			setShape(convolutional, defaultRows, defaultColumns);
+			lException.setText("Exception: Both numbers have to be between 1 and 256 (inclusively).\n"
+					+ defaultRows + " x " + defaultColumns + " got set instead.");
+			lException.setVisible(true);
+		} else {
+			setShape(convolutional, Integer.parseInt(tfRows.getText()), Integer.parseInt(tfColumns.getText()));
+			lException.setVisible(false);
+		}
+
+		if (Main.selectedTranscoder != this) inner = Main.selectedTranscoder;
+
+		System.out.println(name + " saved!");
+	}
+
+
+	/**
+	 * Sets the type and shape of the interleaver and rebuilds the index tables and delta swaps. <br>
+	 * Gets called by {@link #save()} with the checked numbers and by the tests, which don't have the GUI.
+	 * @param convolutional New value for {@link #boConvolutional}.
+	 * @param numRows New value for {@link #rows} (between 1 and 256).
+	 * @param numColumns New value for {@link #columns} (between 1 and 256).
+	 */
+	static void setShape(boolean convolutional, int numRows, int numColumns) {
+		boConvolutional = convolutional;
+		rows = numRows;
+		columns = numColumns;
+
+		table = null;
+		inverseTable = null;
+		swapMasks = null;
+		inverseSwapMasks = null;
+		if (!boConvolutional && Integer.bitCount(rows) == 1 && Integer.bitCount(columns) == 1 && rows * columns <= 64) {
+			buildSwaps(Integer.numberOfTrailingZeros(rows), Integer.numberOfTrailingZeros(columns), false);
+			buildSwaps(Integer.numberOfTrailingZeros(rows), Integer.numberOfTrailingZeros(columns), true);
+		}
+	}
+
+	/**
+	 * Replaces the {@link #inner inner transcoder} without updating the GUI. Gets used by the tests, which don't have the GUI.
+	 * @param transcoder The new inner transcoder or null for none.
+	 */
+	static void setInner(ExperimentElement transcoder) {
+		inner = transcoder;
+	}
+
+
+	/**
+	 * @return Returns {@link #name} or if it's not for the option button and there is an {@link #inner inner transcoder},
+	 * the name of the inner transcoder followed by " + Interleaver".
+	 */
+	@Override
+	public String getName(boolean optionButton) {
+		if (optionButton || inner == null || inner == Main.transcoder_Deselect) return name;
+		else return inner.getName(false) + " + " + name;
+	}
+
+
+	/**
+	 * Prepares the {@link #inner inner transcoder} for the next run.
+	 */
+	@Override
+	public void prepareRun() {
+		(inner == null ? Main.transcoder_Deselect : inner).prepareRun();
+	}
+
+	/**
+	 * Finishes the run of the {@link #inner inner transcoder}.
+	 */
+	@Override
+	public void finishRun() {
+		(inner == null ? Main.transcoder_Deselect : inner).finishRun();
+	}
+
+	/**
+	 * Hands the {@link #inner inner transcoder} the given channel with the interleaving around it.
+	 * @param channel The channel between the encoding and the decoding of the interleaver.
+	 */
+	@Override
+	public void setChannel(Channel channel) {
+		(inner == null ? Main.transcoder_Deselect : inner).setChannel((code, transmission) -> {
+			code.setPackedBinary(permute(code.getPackedBinary(), false));
+			code = channel.transmit(code, transmission);
+			code.setPackedBinary(permute(code.getPackedBinary(), true));
+			return code;
+		});
+	}
+
+
+	/**
+	 * @param task The task (see {@link #doJob(byte, UniDataType)}).
+	 * @return Returns the input formats of the {@link #inner inner transcoder} while encoding 
+	 * and {@link UniDataType.Format#PACKED} while decoding.
+	 */
+	@Override
+	public UniDataType.Format[] getInputFormats(byte task) {
+		if (task == 0) return (inner == null ? Main.transcoder_Deselect : inner).getInputFormats(task);
+		return new UniDataType.Format[] {UniDataType.Format.PACKED};
+	}
+
+	/**
+	 * @param task The task (see {@link #doJob(byte, UniDataType)}).
+	 * @return Returns {@link UniDataType.Format#PACKED} while encoding 
+	 * and the output format of the {@link #inner inner transcoder} while decoding.
+	 */
+	@Override
+	public UniDataType.Format getOutputFormat(byte task) {
+		if (task == 0) return UniDataType.Format.PACKED;
+		return (inner == null ? Main.transcoder_Deselect : inner).getOutputFormat(task);
+	}
+
+
+	/**
+	 * @return Returns the type, {@link #rows} and {@link #columns} of the interleaver and the configuration of the 
+	 * {@link #inner inner transcoder} or null if the inner transcoder has none.
+	 */
+	@Override
+	public String getConfiguration() {
+		ExperimentElement transcoder = inner == null ? Main.transcoder_Deselect : inner;
+		String configuration = transcoder.getConfiguration();
+		if (configuration == null) return null;
+		return "convolutional=" + boConvolutional + ",rows=" + rows + ",columns=" + columns 
+				+ ",inner=" + transcoder.getName(false) + "(" + configuration + ")";
+	}
+}
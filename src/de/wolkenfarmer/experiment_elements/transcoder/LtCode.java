@@ -0,0 +1,135 @@
+package de.wolkenfarmer.experiment_elements.transcoder;
+
+import de.wolkenfarmer.environment.logic.SplitMix;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The degree distribution and the neighbors of the code symbols of the {@link LtTranscoder LT code} for k message symbols. <br>
+ * Every code symbol is the XOR of its neighbors, which are d different message symbols. The degree d follows the robust soliton
+ * distribution (see {@link #LtCode(int)}). The neighbors only depend on the seed of the block and the index of the code symbol, 
+ * since they get drawn with a random number generator seeded with both (see {@link #neighbors(long, int, int[], int[], int[])}).
+ * Therefore, the decoder knows the neighbors of every received code symbol as soon as it knows the seed of the block, 
+ * which the {@link LtTranscoder transcoder} sends in front of the code symbols.
+ * The distribution gets computed once per k, since the codes only get created by {@link #get(int)},
+ * which keeps the last used ones in {@link #cache}.
+ * @author Wolkenfarmer
+ * @see <a href="https://en.wikipedia.org/wiki/Luby_transform_code">Wikipedia about LT codes</a>
+ */
+final class LtCode {
+	/** The constant c of the robust soliton distribution, which scales the expected number of code symbols of degree 1.*/
+	private static final double C = 0.1;
+	/** The allowed failure probability delta of the robust soliton distribution.*/
+	private static final double DELTA = 0.5;
+	/** The salt of the random number generator, which gets combined with the seed of the block and the index of the code symbol.*/
+	private static final long SALT = 0x4C54L;
+	/** The number of codes {@link #cache} keeps.*/
+	private static final int CACHE_SIZE = 8;
+	/** The last used codes with k as key. The least recently used one gets removed if there are more than {@link #CACHE_SIZE}.*/
+	private static final Map<Integer, LtCode> cache = new LinkedHashMap<Integer, LtCode>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Integer, LtCode> eldest) {
+			return size() > CACHE_SIZE;
+		}
+	};
+
+	/** The number of message symbols.*/
+	private final int k;
+	/** The cumulative robust soliton distribution: cdf[d - 1] is the probability of a degree of at most d.*/
+	private final double[] cdf;
+
+
+	/**
+	 * Computes the robust soliton distribution for k message symbols. <br>
+	 * It's the ideal soliton distribution (1/k for degree 1, 1/(d(d - 1)) for every other degree d) plus
+	 * R / (d k) for every degree d below k / R and a spike of R ln(R / delta) / k at k / R, normalized,
+	 * with R = c ln(k / delta) sqrt(k). The additions make sure that there are enough code symbols of degree 1 to start
+	 * and to keep the peeling decoder going.
+	 * @param k The number of message symbols.
+	 */
+	private LtCode(int k) {
+		this.k = k;
+		double r = C * Math.log(k / DELTA) * Math.sqrt(k);
+		int spike = r > 0 ? (int) Math.max(1, Math.min(k, Math.round(k / r))) : k;
+		double[] weights = new double[k];
+		double sum = 0;
+		for (int d = 1; d <= k; d++) {
+			double weight = d == 1 ? 1.0 / k : 1.0 / ((double) d * (d - 1));
+			if (d < spike) weight += r / ((double) d * k);
+			else if (d == spike) weight += Math.max(0, r * Math.log(r / DELTA) / k);
+			weights[d - 1] = weight;
+			sum += weight;
+		}
+		cdf = new double[k];
+		double total = 0;
+		for (int d = 0; d < k; d++) {
+			total += weights[d];
+			cdf[d] = total / sum;
+		}
+		cdf[k - 1] = 1;
+	}
+
+
+	/**
+	 * Returns the code from the {@link #cache} or builds it if it isn't cached.
+	 * @param k The number of message symbols (at least 1).
+	 * @return Returns the code.
+	 */
+	static synchronized LtCode get(int k) {
+		LtCode code = cache.get(k);
+		if (code == null) {
+			code = new LtCode(k);
+			cache.put(k, code);
+		}
+		return code;
+	}
+
+
+	/**
+	 * Draws the degree and the neighbors of the given code symbol. <br>
+	 * The random numbers come from {@link SplitMix SplitMix64} seeded with the hashed seed of the block plus the hashed index, 
+	 * so that they are the same for the encoder and the decoder of the block, but the sequences of neighboring code symbols 
+	 * don't overlap and every block gets another graph.
+	 * The neighbors get drawn without repetition by shuffling the first d entries of the pool (a partial Fisher-Yates shuffle),
+	 * which gets restored afterwards. This takes O(d) instead of O(k).
+	 * @param seed The seed of the block.
+	 * @param index The index of the code symbol.
+	 * @param neighbors The array to write the neighbors into (at least k long).
+	 * @param pool The numbers 0 ... k - 1 in this order (at least k long), which get shuffled and restored.
+	 * @param swaps The array to remember the swaps of the shuffle in (at least k long).
+	 * @return Returns the degree of the code symbol, which is the number of neighbors.
+	 */
+	int neighbors(long seed, int index, int[] neighbors, int[] pool, int[] swaps) {
+		long state = SplitMix.derive(SplitMix.mix(seed ^ SALT), index);
+		state += SplitMix.GOLDEN;
+		double u = (SplitMix.mix(state) >>> 11) * 0x1.0p-53;
+		int low = 0;
+		int high = k - 1;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (cdf[middle] > u) high = middle;
+			else low = middle + 1;
+		}
+		int degree = low + 1;
+
+		for (int i = 0; i < degree; i++) {
+			state += SplitMix.GOLDEN;
+			int j = i + (int) (((SplitMix.mix(state) >>> 32) * (k - i)) >>> 32);
+			int v = pool[j];
+			pool[j] = pool[i];
+			pool[i] = v;
+			swaps[i] = j;
+			neighbors[i] = v;
+		}
+		for (int i = degree - 1; i >= 0; i--) {
+			int j = swaps[i];
+			int v = pool[j];
+			pool[j] = pool[i];
+			pool[i] = v;
+		}
+		return degree;
+	}
+}
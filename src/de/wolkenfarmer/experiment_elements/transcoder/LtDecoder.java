@@ -0,0 +1,150 @@
+package de.wolkenfarmer.experiment_elements.transcoder;
+
+import de.wolkenfarmer.environment.logic.PackedBinary;
+
+import java.util.Arrays;
+
+/**
+ * The peeling decoder of the {@link LtTranscoder LT code}, which also holds the arrays the encoder needs. <br>
+ * The code symbols get added one after another in the order they arrive. Every code symbol gets reduced by its neighbors,
+ * which are already recovered, and remembers the number and the XOR of the indices of the others. As soon as only one neighbor is left
+ * (degree 1), it goes into the {@link #ripple}. Every code symbol taken out of the ripple recovers its last neighbor,
+ * which reduces every other waiting code symbol connected to it via its {@link #head edge list} and possibly
+ * puts them into the ripple as well. Since every edge gets looked at once, this takes time linear in the number of edges.
+ * The decoder stops as soon as every message symbol got recovered, so that the number of code symbols it needed is known. <br>
+ * Every array is a field, which only gets reallocated if a longer message comes, so that decoding allocates nothing.
+ * Therefore, every thread needs an own decoder.
+ * @author Wolkenfarmer
+ */
+final class LtDecoder {
+	/** The message symbols (encoding) or the recovered ones (decoding).*/
+	long[] source = new long[0];
+	/** Whether the message symbol got recovered.*/
+	boolean[] recovered = new boolean[0];
+	/** The neighbors of the current code symbol (see {@link LtCode#neighbors(long, int, int[], int[], int[])}).*/
+	int[] neighbors = new int[0];
+	/** The numbers 0 ... k - 1 for drawing the neighbors.*/
+	int[] pool = new int[0];
+	/** The swaps for drawing the neighbors.*/
+	int[] swaps = new int[0];
+
+	/** The value of every waiting code symbol reduced by its recovered neighbors.*/
+	private long[] value = new long[0];
+	/** The number of neighbors of every waiting code symbol, which aren't recovered yet.*/
+	private int[] remaining = new int[0];
+	/** The XOR of the indices of the neighbors of every waiting code symbol, which aren't recovered yet.
+	 * If only one is left, this is its index.*/
+	private int[] pending = new int[0];
+	/** The first edge of every message symbol to a waiting code symbol or -1.*/
+	private int[] head = new int[0];
+	/** The next edge of the same message symbol or -1.*/
+	private int[] next = new int[0];
+	/** The code symbol of every edge.*/
+	private int[] target = new int[0];
+	/** The code symbols of degree 1, which still have to recover their last neighbor.*/
+	private int[] ripple = new int[0];
+
+
+	/**
+	 * Recovers the message symbols from the received code symbols via peeling.
+	 * @param code The LT code of the message.
+	 * @param seed The seed of the block.
+	 * @param k The number of message symbols.
+	 * @param in The received code.
+	 * @param erasures The erased units of the received code or null if every unit got received.
+	 * @param first The unit of the received code with the first code symbol (the ones in front of it are the header).
+	 * @param n The number of code symbols.
+	 * @param symbolLength The length of a symbol in bits.
+	 * @return Returns the number of received code symbols which were needed to recover every message symbol
+	 * or -1 if they didn't suffice. The message symbols which got recovered are in {@link #source} and {@link #recovered}.
+	 */
+	int decode(LtCode code, long seed, int k, PackedBinary in, PackedBinary erasures, int first, int n, int symbolLength) {
+		ensureCapacity(k, n);
+		Arrays.fill(recovered, 0, k, false);
+		Arrays.fill(head, 0, k, -1);
+		int found = 0;
+		int received = 0;
+		int edges = 0;
+		int start = 0;
+		int last = 0;
+		if (k == 0) return 0;
+
+		for (int c = 0; c < n; c++) {
+			if (erasures != null && erasures.get(first + c)) continue;
+			int symbol = received++;
+			int degree = code.neighbors(seed, c, neighbors, pool, swaps);
+			long v = in.getBits((first + c) * symbolLength, symbolLength);
+			int left = 0;
+			int indices = 0;
+			for (int i = 0; i < degree; i++) {
+				int neighbor = neighbors[i];
+				if (recovered[neighbor]) {
+					v ^= source[neighbor];
+					continue;
+				}
+				if (edges == target.length) {
+					target = Arrays.copyOf(target, 2 * edges);
+					next = Arrays.copyOf(next, 2 * edges);
+				}
+				target[edges] = symbol;
+				next[edges] = head[neighbor];
+				head[neighbor] = edges++;
+				left++;
+				indices ^= neighbor;
+			}
+			value[symbol] = v;
+			remaining[symbol] = left;
+			pending[symbol] = indices;
+			if (left == 1) ripple[last++] = symbol;
+
+			while (start < last) {
+				int s = ripple[start++];
+				if (remaining[s] != 1) continue;
+				int neighbor = pending[s];
+				long recoveredValue = value[s];
+				source[neighbor] = recoveredValue;
+				recovered[neighbor] = true;
+				if (++found == k) return received;
+				for (int e = head[neighbor]; e >= 0; e = next[e]) {
+					int t = target[e];
+					value[t] ^= recoveredValue;
+					pending[t] ^= neighbor;
+					if (--remaining[t] == 1) ripple[last++] = t;
+				}
+				head[neighbor] = -1;
+			}
+		}
+		return -1;
+	}
+
+
+	/**
+	 * Reallocates the arrays if they are too small for the message and the code.
+	 * The {@link #pool} gets filled with the numbers 0 ... k - 1.
+	 * @param k The number of message symbols.
+	 * @param n The number of code symbols.
+	 */
+	void ensureCapacity(int k, int n) {
+		if (source.length < k) {
+			source = new long[k];
+			recovered = new boolean[k];
+			neighbors = new int[k];
+			swaps = new int[k];
+			head = new int[k];
+			pool = new int[k];
+			for (int i = 0; i < k; i++) {
+				pool[i] = i;
+			}
+		}
+		if (value.length < n) {
+			value = new long[n];
+			remaining = new int[n];
+			pending = new int[n];
+			ripple = new int[n];
+		}
+		if (target.length < 4 * n + 16) {
+			target = new int[4 * n + 16];
+			next = new int[4 * n + 16];
+		}
+	}
+}
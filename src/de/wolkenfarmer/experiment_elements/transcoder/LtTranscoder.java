@@ -0,0 +1,317 @@
+package de.wolkenfarmer.experiment_elements.transcoder;
+
+import de.wolkenfarmer.Constants;
+import de.wolkenfarmer.environment.logic.Main;
+import de.wolkenfarmer.environment.logic.PackedBinary;
+import de.wolkenfarmer.environment.logic.Run;
+import de.wolkenfarmer.environment.logic.SplitMix;
+import de.wolkenfarmer.environment.logic.UniDataType;
+import de.wolkenfarmer.experiment_elements.ExperimentElement;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
+import javafx.scene.layout.CornerRadii;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+
+/**
+ * The {@link de.wolkenfarmer.experiment_elements.transcoder transcoder} "LT Code" which is selectable on the
+ * {@link de.wolkenfarmer.environment.pages.Transcoder transcoder page}.
+ * The LT code is a rateless fountain code: every code symbol is the XOR of some randomly chosen message symbols
+ * (see {@link LtCode}), so that the sender could produce as many code symbols as needed and the receiver can recover the message
+ * from nearly any k + a few of them. Since the experiment sends a fixed code, the sender stops after {@link #overhead}% more
+ * code symbols than message symbols. Every block (message) draws its neighbors with an own seed, which gets sent as header 
+ * in front of the code symbols, so that a graph which can't be decoded only fails its own block. It's meant for 
+ * {@link de.wolkenfarmer.experiment_elements.noise_sources.PacketErasure packet erasure}, where the receiver knows which code 
+ * symbols got lost. The number of code symbols the {@link LtDecoder peeling decoder} needed gets reported as 
+ * {@link Run#symbolsNeeded} and the blocks it couldn't recover as {@link Run#decodeFailures}.
+ * @author Wolkenfarmer
+ * @see #doJob(byte, UniDataType) doJob() for further information
+ */
+public class LtTranscoder extends ExperimentElement {
+	/** Saves how many percent more code symbols than message symbols get sent.
+	 * It gets set by {@link #tfOverhead} in {@link #save()} and its default is 50.*/
+	private static int overhead = 50;
+	/** The number of bits of the seed in the header of every block.*/
+	private static final int SEED_BITS = 32;
+	/** The number of blocks which got encoded in the current run. The seed of every block gets derived from it. 
+	 * Gets reset in {@link #prepareRun()}, so that every run uses the same seeds.*/
+	private static final AtomicLong blocks = new AtomicLong();
+	/** The decoder of every thread, since its arrays get reused for every message. The encoder uses them as well.*/
+	private static final ThreadLocal<LtDecoder> decoders = ThreadLocal.withInitial(LtDecoder::new);
+
+	/** Label displaying the description for this experiment element. It gets directly attached to {@link #root}.*/
+	private static Label lDescription;
+	/** The text field for {@link #overhead}. Every character which is not a digit will automatically be replaced by "".
+	 * It gets directly attached to {@link #root}.*/
+	private static TextField tfOverhead;
+	/** Label displaying the different exceptions for wrong {@link #tfOverhead} input.
+	 * It gets updated to fit the current input in {@link #save()}. It gets directly attached to {@link #root}.*/
+	private static Label lException;
+
+
+	/**
+	 * Sets the {@link #name name} of the experiment element.
+	 */
+	public LtTranscoder() {name = "LT Code";}
+
+
+	/**
+	 * Does the en- and decoding of the LT code. <br>
+	 * Every unit of the message is one symbol (or 8 bits if the units are too short or too long for it).
+	 * If the message doesn't end with a whole symbol, the last one gets filled up with 0s.<br><br>
+	 *
+	 * <dl>
+	 * <dt><span class="strong">Encoding</span></dt><dd>
+	 * The block gets the {@link #nextSeed() next seed}, which gets written into the first {@link #SEED_BITS} bits of the header 
+	 * (the first {@link #getHeaderSymbols(int)} units of the code). 
+	 * Afterwards, the k message symbols get encoded into n = k * (100 + {@link #overhead}) / 100 (rounded up) code symbols.
+	 * The code symbol i is the XOR of the message symbols {@link LtCode#neighbors(long, int, int[], int[], int[]) drawn} for i 
+	 * with the seed. The code symbols have the same length as the message symbols and are the units of the code.</dd>
+	 *
+	 * <dt><span class="strong">Decoding</span></dt><dd>
+	 * The number of message symbols follows from the number of code symbols behind the header. The seed gets read from the header 
+	 * and the code symbols, which didn't get {@link UniDataType#getErasures() erased}, get handed to the 
+	 * {@link LtDecoder peeling decoder} in their order until it recovered every message symbol. Without erasures, every code symbol 
+	 * counts as received (changed bits simply spread into the recovered symbols). If a unit of the header got erased, 
+	 * the neighbors can't be drawn and nothing gets recovered. A changed bit in the header leads to the wrong neighbors.
+	 * The message symbols which couldn't be recovered stay 0 in the corrected message and get flagged in its 
+	 * {@link UniDataType#setErasures(PackedBinary) erasures}. Since the LT code doesn't send the message itself, 
+	 * the changed message is the corrected one.</dd>
+	 * </dl>
+	 * @param task Defines whether the input (data) should be encoded (task = 0), decoded (task = 1)
+	 * or decoded without setting the message-versions in {@link Run} (task = 2).
+	 * @param data The packed data which will be modified.
+	 * @return Returns the modified data.
+	 */
+	public UniDataType doJob(byte task, UniDataType data) {
+		PackedBinary in = data.getPackedBinary();
+		int symbolLength = in.getUnitLength() > 0 && in.getUnitLength() < Long.SIZE ? in.getUnitLength() : 8;
+		int header = getHeaderSymbols(symbolLength);
+		LtDecoder decoder = decoders.get();
+
+		if (task == 0) {
+			int k = (in.getLength() + symbolLength - 1) / symbolLength;
+			int n = getCodeSymbols(k);
+			long seed = nextSeed();
+			PackedBinary code = new PackedBinary((header + n) * symbolLength, symbolLength);
+			code.setBits(0, SEED_BITS, seed);
+			if (k == 0) {
+				data.setPackedBinary(code);
+				return data;
+			}
+			decoder.ensureCapacity(k, 0);
+			for (int i = 0; i < k; i++) {
+				int from = i * symbolLength;
+				int length = Math.min(symbolLength, in.getLength() - from);
+				decoder.source[i] = in.getBits(from, length) << (symbolLength - length);
+			}
+			LtCode lt = LtCode.get(k);
+			for (int c = 0; c < n; c++) {
+				int degree = lt.neighbors(seed, c, decoder.neighbors, decoder.pool, decoder.swaps);
+				long v = 0;
+				for (int i = 0; i < degree; i++) {
+					v ^= decoder.source[decoder.neighbors[i]];
+				}
+				code.setBits((header + c) * symbolLength, symbolLength, v);
+			}
+			data.setPackedBinary(code);
+			return data;
+		}
+
+		int n = Math.max(0, in.getLength() / symbolLength - header);
+		int k = getMessageSymbols(n);
+		PackedBinary erasures = data.getErasures();
+		boolean headerErased = false;
+		for (int u = 0; u < header && erasures != null; u++) {
+			if (erasures.get(u)) headerErased = true;
+		}
+		int needed = -1;
+		if (headerErased || in.getLength() < header * symbolLength) {
+			decoder.ensureCapacity(k, 0);
+			Arrays.fill(decoder.recovered, 0, k, false);
+		} else {
+			long seed = in.getBits(0, SEED_BITS);
+			needed = decoder.decode(k == 0 ? null : LtCode.get(k), seed, k, in, erasures, header, n, symbolLength);
+		}
+		PackedBinary corrected = new PackedBinary(k * symbolLength, symbolLength);
+		for (int i = 0; i < k; i++) {
+			if (decoder.recovered[i]) corrected.setBits(i * symbolLength, symbolLength, decoder.source[i]);
+		}
+		PackedBinary flags = new PackedBinary(k, 8);
+		for (int i = 0; i < k; i++) {
+			if (!decoder.recovered[i]) flags.set(i, true);
+		}
+		Run.symbolsNeeded = needed;
+		Run.decodeFailures = needed < 0 ? 1 : 0;
+
+		if (task == 1) {
+			UniDataType correctedMessage = new UniDataType();
+			correctedMessage.setPackedBinary(corrected);
+			Run.correctedMessage = correctedMessage.getStringUnicode();
+			Run.changedMessage = Run.correctedMessage;
+			Run.correctedFlaggedMessage = Run.getFlaggedMessage(corrected, flags);
+		}
+		data.setPackedBinary(corrected);
+		data.setErasures(flags);
+		return data;
+	}
+
+
+	/**
+	 * Derives the seed of the next block from the number of {@link #blocks} ({@link SplitMix}), 
+	 * so that the blocks of a run get independent graphs, which are the same in every run.
+	 * @return Returns the seed of the next block with {@link #SEED_BITS} bits.
+	 */
+	private static long nextSeed() {
+		return SplitMix.derive(0, blocks.incrementAndGet()) >>> (Long.SIZE - SEED_BITS);
+	}
+
+
+	/**
+	 * @param symbolLength The length of a symbol in bits.
+	 * @return Returns the number of symbols of the header, which holds the seed of the block.
+	 */
+	static int getHeaderSymbols(int symbolLength) {
+		return (SEED_BITS + symbolLength - 1) / symbolLength;
+	}
+
+
+	/**
+	 * @param k The number of message symbols.
+	 * @return Returns the number of code symbols which get sent for k message symbols.
+	 */
+	private static int getCodeSymbols(int k) {
+		return (int) (((long) k * (100 + overhead) + 99) / 100);
+	}
+
+
+	/**
+	 * Inverts {@link #getCodeSymbols(int)}, which is possible since it grows by at least 1 per message symbol.
+	 * @param n The number of code symbols.
+	 * @return Returns the number of message symbols.
+	 */
+	private static int getMessageSymbols(int n) {
+		int k = (int) ((long) n * 100 / (100 + overhead));
+		while (k > 0 && getCodeSymbols(k) > n) k--;
+		while (getCodeSymbols(k + 1) <= n) k++;
+		return k;
+	}
+
+
+	/**
+	 * Resets the {@link #blocks}, so that every run uses the same seeds.
+	 */
+	@Override
+	public void prepareRun() {
+		blocks.set(0);
+	}
+
+
+	public void buildGui(double parentWidth) {
+		root = new Pane();
+		root.setPrefWidth(parentWidth);
+
+		lDescription = new Label();
+		lDescription.setText("This transcoder sends the XOR of randomly chosen message symbols (units) as code symbols. "
+				+ "The receiver can recover the message from any code symbols as long as it gets a few more than the message had, "
+				+ "which makes it suited for lost packets. Every message gets its own random choice, whose seed is sent in front of the code. "
+				+ "The result shows how many code symbols were needed and how many messages couldn't be decoded.\n"
+				+ "Enter how many percent more code symbols should be sent (between 0 and 400 inclusively) below.");
+		lDescription.setFont(Constants.F_NORMAL);
+		lDescription.setTextFill(Constants.C_NORMAL);
+		lDescription.setAlignment(Pos.TOP_LEFT);
+		lDescription.setWrapText(true);
+		lDescription.setPrefWidth(root.getPrefWidth());
+		lDescription.setPrefHeight(Main.calcHeightLabel(lDescription, parentWidth + 10));
+
+		tfOverhead = new TextField();
+		tfOverhead.setFont(Constants.F_NORMAL);
+		tfOverhead.setPromptText("Overhead in %");
+		tfOverhead.setStyle("-fx-text-inner-color: WHITESMOKE;");
+		tfOverhead.setBackground(new Background(new BackgroundFill(Color.grayRgb(90), new CornerRadii(5),  null)));
+		tfOverhead.setFocusTraversable(false);
+		tfOverhead.setLayoutY(lDescription.getPrefHeight() + 30);
+		tfOverhead.setPrefHeight(30);
+		tfOverhead.setPrefWidth(130);
+		tfOverhead.textProperty().addListener((observable, oldValue, newValue) -> {
+			if (!newValue.matches("\\d*")) {
+				tfOverhead.setText(newValue.replaceAll("[^\\d]", ""));
+			}
+		});
+
+		lException = new Label();
+		lException.setFont(Constants.F_NORMAL_ITALIC);
+		lException.setTextFill(Constants.C_PINK);
+		lException.setPrefWidth(root.getPrefWidth());
+		lException.setLayoutY(tfOverhead.getLayoutY() + tfOverhead.getPrefHeight() + 20);
+		lException.setWrapText(true);
+		lException.setVisible(false);
+
+		builtGui = true;
+		root.getChildren().addAll(lDescription, tfOverhead, lException);
+	}
+
+
+	/**
+	 * Saves the {@link #overhead} and checks whether the given number is correct.
+	 * If not, {@link #lException} gets updated accordingly and 50 gets set instead.
+	 */
+	@Override
+	public void save() {
+		if (tfOverhead.getText().equals("") || tfOverhead.getText().length() > 3 || Integer.parseInt(tfOverhead.getText()) > 400) {
+			overhead = 50;
+			lException.setText("Exception: The overhead has to be between 0 and 400 (inclusively).\n"
+					+ "50 got set instead.");
+			lException.setVisible(true);
+		} else {
+			overhead = Integer.parseInt(tfOverhead.getText());
+			lException.setVisible(false);
+		}
+		System.out.println(name + " saved!");
+	}
+
+
+	/**
+	 * @return Returns {@link #name} or if it's not for the option button, the name with the {@link #overhead}.
+	 */
+	@Override
+	public String getName(boolean optionButton) {
+		if (optionButton) return name;
+		else return name + " (" + overhead + "% overhead)";
+	}
+
+
+	/**
+	 * @param task Not used, since every task works on packed binaries.
+	 * @return Returns {@link UniDataType.Format#PACKED}.
+	 */
+	@Override
+	public UniDataType.Format[] getInputFormats(byte task) {
+		return new UniDataType.Format[] {UniDataType.Format.PACKED};
+	}
+
+	/**
+	 * @param task Not used, since every task works on packed binaries.
+	 * @return Returns {@link UniDataType.Format#PACKED}.
+	 */
+	@Override
+	public UniDataType.Format getOutputFormat(byte task) {
+		return UniDataType.Format.PACKED;
+	}
+
+
+	/**
+	 * @return Returns null, since every block gets encoded with an own seed and the code can't be reused.
+	 */
+	@Override
+	public String getConfiguration() {
+		return null;
+	}
+}
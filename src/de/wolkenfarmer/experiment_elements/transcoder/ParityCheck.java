@@ -1,7 +1,9 @@
 package de.wolkenfarmer.experiment_elements.transcoder;
 
 import de.wolkenfarmer.Constants;
+import de.wolkenfarmer.environment.logic.BitOps;
 import de.wolkenfarmer.environment.logic.Main;
+import de.wolkenfarmer.environment.logic.PackedBinary;
 import de.wolkenfarmer.environment.logic.Run;
 import de.wolkenfarmer.environment.logic.UniDataType;
 import de.wolkenfarmer.experiment_elements.ExperimentElement;
@@ -42,6 +44,17 @@ public class ParityCheck extends ExperimentElement {
 	 * _011001001 ((encoded) Byte 1)<br><br>
 	 * Currently this variable can only be set manually.*/
 	private static short crossPCDistance = 8;
+	/** The length of the units of a bit-sliced message.*/
+	private static final int UNIT_LENGTH = 8;
+	/** The reused columns of the units for {@link #encodeSliced(long[])} and {@link #decodeSliced(long[], long[])}. 
+	 * Column k holds the bit slices of the k-th bit of every unit (including the parity bit) and the last one their parity.*/
+	private static long[][] columns = new long[UNIT_LENGTH + 2][0];
+	/** Maps every received unit of {@link #UNIT_LENGTH} + 1 bits to its data bits (the lowest 8 bits) and 
+	 * whether its number of ones is odd (bit 8), so that the simple parity check of a packed unit is a single lookup 
+	 * (see {@link #decodePacked(byte, UniDataType)}).*/
+	private static final short[] SYNDROMES = buildSyndromes();
+	/** The reused units of the current segment of the cross parity check in {@link #decodePacked(byte, UniDataType)}.*/
+	private static int[] segment = new int[0];
 
 	/** Label displaying the description for this experiment element. It gets directly attached to {@link #root}.*/
 	private static Label lDescription;
@@ -85,20 +98,26 @@ public class ParityCheck extends ExperimentElement {
 	 * 
 	 * <dt><span class="strong">Decoding:</span></dt><dd>
 	 * <strong>Simple:</strong> Checks whether there is still an even number of ones in every unit and if not, flags the character. 
-	 * In addition, it reverses the changes made while encoding (not via {@link #decodeSimple(String[])} for better performance).<br>
+	 * In addition, it reverses the changes made while encoding (not via {@link #decodeSimple(String[])} for better performance).
+	 * If the data is {@link UniDataType.Format#PACKED packed} in whole units of 9 bits, both decodings work directly on the bits 
+	 * (see {@link #decodePacked(byte, UniDataType)}).<br>
 	 * <strong>Cross:</strong> Checks whether there is still an even number of ones in every column of the segment.
 	 * If it detects exactly one changed row (unit with non-fitting parity bit) and one changed column, it will assume there was one change
 	 * and reverses the bit of the changed column in the changed row. However, if multiple changes get detected, 
 	 * it just flags the changed rows and not the whole segment. Ultimately, {@link #decodeSimple(String[])} gets called.</dd>
 	 * 
 	 * <dt><span class="strong">Note:</span></dt><dd>
-	 * The method assumes that the length of every unit is equally long but is not specified to UTF8 
-	 * (except for distinct {@link Run#flagSignBinary flag-sign}) 
-	 * and the in-method reverse-encoding of the simple parity check decoding.</dd>
+	 * The method assumes that the length of every unit is equally long but is not specified to UTF8. 
+	 * Units of other lengths (e.g. the shorter last unit of a code inside a {@link TranscoderChain}) get checked the same way.
+	 * The flagged units keep their bits and get flagged in the {@link UniDataType#setErasures(PackedBinary) erasures} 
+	 * of the returned packed message instead of being replaced by the {@link Run#getFlagSign(int) flag-sign}, 
+	 * so that the outer stage of a {@link TranscoderChain} can still decode them. 
+	 * Only the {@link Run#correctedFlaggedMessage corrected+flagged message} shows the flag-sign.</dd>
 	 * </dl>
-	 * @param task Defines whether the input (data) should be encoded (task = 0) or decoded (task = 1).
+	 * @param task Defines whether the input (data) should be encoded (task = 0), decoded (task = 1) 
+	 * or decoded without setting the message-versions in {@link Run} (task = 2).
 	 * @param data The String[](binary) which will be modified.
-	 * @return Returns the modified data with corrected and flagged characters.
+	 * @return Returns the modified data: the code as String[](binary) or the corrected message as packed binary with its erasures.
 	 * @see <a href="https://en.wikipedia.org/wiki/Parity_bit">Wikipedia about a simple binary parity check</a>
 	 */
 	public UniDataType doJob(byte task, UniDataType data) {
@@ -135,7 +154,7 @@ public class ParityCheck extends ExperimentElement {
 				for (int i = 0; i < numNewUnits; i++) {
 					int[] ones = new int[code[0].length()];
 					for (int k = 0; k < crossPCDistance; k++) {
-						for (int j = 0; j < code[0].length(); j++) {
+						for (int j = 0; j < code[k + (i * crossPCDistance) + i].length(); j++) {
 							if (code[k + (i * crossPCDistance) + i].charAt(j) == '1') {
 								ones[j]++;
 							}
@@ -157,47 +176,49 @@ public class ParityCheck extends ExperimentElement {
 				data.setStringBinaryArray(message);
 			}
 			
+		} else if (data.getFormat() == UniDataType.Format.PACKED && data.getPackedBinary().getUnitLength() == UNIT_LENGTH + 1 
+				&& data.getPackedBinary().getLength() % (UNIT_LENGTH + 1) == 0) {
+			decodePacked(task, data);
 		} else {
-			String[] messageCF = data.getStringBinaryArray();
-			String[] messageC = messageCF.clone();
+			String[] messageC = data.getStringBinaryArray().clone();
+			boolean[] flaggedRows = new boolean[messageC.length];
 			
-			UniDataType changedMessage = new UniDataType();
-			UniDataType correctedMessage = new UniDataType();
-			UniDataType correctedFlaggedMessage = new UniDataType();
-			changedMessage.setStringBinaryArray(decodeSimple(messageCF.clone()));
-			Run.changedMessage = changedMessage.getStringUnicode();
+			if (task == 1) {
+				UniDataType changedMessage = new UniDataType();
+				changedMessage.setStringBinaryArray(decodeSimple(messageC.clone()));
+				Run.changedMessage = changedMessage.getStringUnicode();
+			}
 	
 			
 			if (!boCrossPC) {
-				for (int i = 0; i < messageCF.length; i++) {
+				for (int i = 0; i < messageC.length; i++) {
 					int ones = 0;
-					for (int k = 0; k < messageCF[i].length(); k++) {
-						if (messageCF[i].charAt(k) == '1') ones++;
+					for (int k = 0; k < messageC[i].length(); k++) {
+						if (messageC[i].charAt(k) == '1') ones++;
 					}
 					
-					messageCF[i] = messageCF[i].substring(0, 8);
-					messageC[i] = messageC[i].substring(0, 8);
+					messageC[i] = messageC[i].substring(0, messageC[i].length() - 1);
 					
 					if (ones % 2 == 1) {
-						messageCF[i] = Run.flagSignBinary;
+						flaggedRows[i] = true;
 					}
 				}
 				
 			} else {
 				
-				int numSegments = messageCF.length / (crossPCDistance + 1);
+				int numSegments = messageC.length / (crossPCDistance + 1);
 				
 				// error correction and detection units
 				for (int i = 0; i < numSegments; i++) {
 					ArrayList<Integer> incorrectColumns = new ArrayList<Integer>();
 					ArrayList<Integer> incorrectRows = new ArrayList<Integer>();
-					int[] onesColumn = new int[messageCF[i * (crossPCDistance + 1)].length()];
+					int[] onesColumn = new int[messageC[i * (crossPCDistance + 1)].length()];
 					
 					// counting the incorrect spots
 					for (int k = 0; k < (crossPCDistance + 1); k++) {
 						int onesRow = 0;
-						for (int j = 0; j < messageCF[i * (crossPCDistance + 1)].length(); j++) {
-							if (messageCF[k + (i * (crossPCDistance + 1))].charAt(j) == '1') {
+						for (int j = 0; j < messageC[k + (i * (crossPCDistance + 1))].length(); j++) {
+							if (messageC[k + (i * (crossPCDistance + 1))].charAt(j) == '1') {
 								onesColumn[j]++;
 								onesRow++;
 							}
@@ -206,58 +227,64 @@ public class ParityCheck extends ExperimentElement {
 							incorrectRows.add(k);
 						}
 					}
-					for (int k = 0; k < messageCF[i * (crossPCDistance + 1)].length(); k++) {
+					for (int k = 0; k < messageC[i * (crossPCDistance + 1)].length(); k++) {
 						if (onesColumn[k] % 2 != 0) {
 							incorrectColumns.add(k);
 						}
 					}
 					
 					// correcting and flagging
-					if (incorrectColumns.size() == 1 && incorrectRows.size() == 1) {
-						char[] correctedRow = new char[messageCF[incorrectRows.get(0) + (i * (crossPCDistance + 1))].length()];
-						
-						for (int k = 0; k < messageCF[incorrectRows.get(0) + (i * (crossPCDistance + 1))].length(); k++) {
-							correctedRow[k] = messageCF[incorrectRows.get(0) + (i * (crossPCDistance + 1))].charAt(k);
-						}
+					if (incorrectColumns.size() == 1 && incorrectRows.size() == 1 
+							&& incorrectColumns.get(0) < messageC[incorrectRows.get(0) + (i * (crossPCDistance + 1))].length()) {
+						char[] correctedRow = messageC[incorrectRows.get(0) + (i * (crossPCDistance + 1))].toCharArray();
 						if (correctedRow[incorrectColumns.get(0)] == '1') {
 							correctedRow[incorrectColumns.get(0)] = '0';
 						} else {
 							correctedRow[incorrectColumns.get(0)] = '1';
 						}
 						
-						messageCF[incorrectRows.get(0) + (i * (crossPCDistance + 1))] = new String(correctedRow);
 						messageC[incorrectRows.get(0) + (i * (crossPCDistance + 1))] = new String(correctedRow);
 						
 						// Flagging if more than one change got detected
 					} else if (incorrectColumns.size() > 0 || incorrectRows.size() > 0) {
 						for (int k = 0; k < incorrectRows.size(); k++) {
-							messageCF[incorrectRows.get(k) + (i * (crossPCDistance + 1))] = Run.flagSignBinary;
+							flaggedRows[incorrectRows.get(k) + (i * (crossPCDistance + 1))] = true;
 						}
 					}
 					
 				}
 				
 				// error detection after last unit
-				for (int i = numSegments * (crossPCDistance + 1); i < messageCF.length; i++) {
+				for (int i = numSegments * (crossPCDistance + 1); i < messageC.length; i++) {
 					int ones = 0;
-					for (int k = 0; k < messageCF[i].length(); k++) {
-						if (messageCF[i].charAt(k) == '1') ones++;
+					for (int k = 0; k < messageC[i].length(); k++) {
+						if (messageC[i].charAt(k) == '1') ones++;
 					}
 					if (ones % 2 == 1) {
-						messageCF[i] = Run.flagSignBinary;
+						flaggedRows[i] = true;
 					}
 				}
 				
 				
-				messageCF = decodeSimple(messageCF);
 				messageC = decodeSimple(messageC);
 			}
 			
-			correctedMessage.setStringBinaryArray(messageC);
-			correctedFlaggedMessage.setStringBinaryArray(messageCF);
-			Run.correctedMessage = correctedMessage.getStringUnicode();
-			Run.correctedFlaggedMessage = correctedFlaggedMessage.getStringUnicode();
-			data.setStringBinaryArray(messageCF);
+			// the flags of the units, which are left after removing the cross parity units like in decodeSimple()
+			PackedBinary flags = new PackedBinary(messageC.length, 8);
+			for (int i = 0, removed = 0; i < messageC.length; i++) {
+				if (boCrossPC && i % crossPCDistance == 0 && i != 0) removed++;
+				if (flaggedRows[i + removed]) flags.set(i, true);
+			}
+			
+			if (task == 1) {
+				UniDataType correctedMessage = new UniDataType();
+				correctedMessage.setStringBinaryArray(messageC);
+				Run.correctedMessage = correctedMessage.getStringUnicode();
+			}
+			data.setStringBinaryArray(messageC);
+			PackedBinary corrected = data.getPackedBinary();
+			if (task == 1) Run.correctedFlaggedMessage = Run.getFlaggedMessage(corrected, flags);
+			data.setErasures(flags);
 		}
 		
 		return data;
@@ -266,13 +293,8 @@ public class ParityCheck extends ExperimentElement {
 	
 	/**
 	 * Reverses the encoding made by {@link #doJob(byte, UniDataType)} (task 0) with neither error detection nor correction.<br>
-	 * Checks whether {@link #boCrossPC parity cross check} was enabled during encoding and therefore either just trims every unit to 8 bits or
+	 * Checks whether {@link #boCrossPC parity cross check} was enabled during encoding and therefore either just removes the parity bit of every unit or
 	 * additionally removes the added parity units beforehand.
-	 * 
-	 * <dl>
-	 * <dt><span class="strong">Note:</span></dt><dd>
-	 * This decoding will only work if the native length of the units is 8 bits long as in UTF8.</dd>
-	 * </dl>
 	 * @param stringBA The encoded String[](binary) to be decoded.
 	 * @return Returns the decoded input without adding any new corrections or flags.
 	 */
@@ -285,13 +307,13 @@ public class ParityCheck extends ExperimentElement {
 				if (i % (crossPCDistance) == 0 && i != 0) {
 					removedNewUnits++;
 				} 
-				stringBANew[i] = stringBA[i + removedNewUnits].substring(0, 8);
+				stringBANew[i] = stringBA[i + removedNewUnits].substring(0, stringBA[i + removedNewUnits].length() - 1);
 			}
 			return stringBANew;
 			
 		} else {
 			for (int i = 0; i < stringBA.length; i++) {
-				stringBA[i] = stringBA[i].substring(0, 8);
+				stringBA[i] = stringBA[i].substring(0, stringBA[i].length() - 1);
 			}
 			return stringBA;
 		}
@@ -341,4 +363,211 @@ public class ParityCheck extends ExperimentElement {
         root.getChildren().addAll(lDescription, rbParSimple, rbParCross);
         builtGui = true;
 	}
+
+
+	/**
+	 * @param task The task (see {@link #doJob(byte, UniDataType)}).
+	 * @return Returns {@link UniDataType.Format#PACKED} and {@link UniDataType.Format#BINARY_STRING_ARRAY} while decoding 
+	 * (see {@link #decodePacked(byte, UniDataType)}) and {@link UniDataType.Format#BINARY_STRING_ARRAY} otherwise.
+	 */
+	@Override
+	public UniDataType.Format[] getInputFormats(byte task) {
+		if (task != 0) return new UniDataType.Format[] {UniDataType.Format.PACKED, UniDataType.Format.BINARY_STRING_ARRAY};
+		return new UniDataType.Format[] {UniDataType.Format.BINARY_STRING_ARRAY};
+	}
+
+	/**
+	 * @param task The task (see {@link #doJob(byte, UniDataType)}).
+	 * @return Returns {@link UniDataType.Format#PACKED} while decoding, since the corrected message gets handed over packed 
+	 * with its erasures, and {@link UniDataType.Format#BINARY_STRING_ARRAY} otherwise.
+	 */
+	@Override
+	public UniDataType.Format getOutputFormat(byte task) {
+		if (task != 0) return UniDataType.Format.PACKED;
+		return UniDataType.Format.BINARY_STRING_ARRAY;
+	}
+
+
+	/**
+	 * Sets the type of the parity check. Gets called by the tests, which don't have the GUI.
+	 * @param cross New value for {@link #boCrossPC}.
+	 * @param distance New value for {@link #crossPCDistance}.
+	 */
+	static void setCrossPC(boolean cross, short distance) {
+		boCrossPC = cross;
+		crossPCDistance = distance;
+	}
+
+
+	/**
+	 * @return Returns whether the {@link #boCrossPC cross parity check} gets used and its {@link #crossPCDistance distance}.
+	 */
+	@Override
+	public String getConfiguration() {
+		return "cross=" + boCrossPC + ",distance=" + crossPCDistance;
+	}
+
+
+	/**
+	 * @return Returns true for the simple parity check, since its parity bits are XORs, which map directly onto bit-sliced trials. 
+	 * The {@link #boCrossPC cross parity check} isn't supported.
+	 */
+	@Override
+	public boolean isSliceable() {
+		return !boCrossPC;
+	}
+
+
+	/**
+	 * Attaches the parity bit to every unit of 64 trials at once (see {@link ExperimentElement#isSliceable()}). 
+	 * The bits get collected in {@link #columns}, so that the parity bits of all units get computed via 
+	 * {@link BitOps#xor(long[], long[], long[], int)}.
+	 * @param message The bit-sliced message.
+	 * @return Returns the bit-sliced code.
+	 */
+	@Override
+	public long[] encodeSliced(long[] message) {
+		int units = message.length / UNIT_LENGTH;
+		long[] code = new long[units * (UNIT_LENGTH + 1)];
+		long[] parity = fillColumns(message, UNIT_LENGTH, units);
+		
+		for (int i = 0; i < units; i++) {
+			System.arraycopy(message, i * UNIT_LENGTH, code, i * (UNIT_LENGTH + 1), UNIT_LENGTH);
+			code[i * (UNIT_LENGTH + 1) + UNIT_LENGTH] = parity[i];
+		}
+		return code;
+	}
+
+
+	/**
+	 * Removes the parity bit of every unit of 64 trials at once and checks it (see {@link ExperimentElement#isSliceable()}). 
+	 * Like in {@link #doJob(byte, UniDataType)}, a unit with an odd number of ones gets flagged.
+	 * @param code The bit-sliced and altered code.
+	 * @param message The bit-sliced message to write the corrected message into.
+	 * @return Returns the trials in which at least one unit failed the parity check.
+	 */
+	@Override
+	public long decodeSliced(long[] code, long[] message) {
+		int units = message.length / UNIT_LENGTH;
+		long[] parity = fillColumns(code, UNIT_LENGTH + 1, units);
+		long flagged = 0;
+		
+		for (int i = 0; i < units; i++) {
+			System.arraycopy(code, i * (UNIT_LENGTH + 1), message, i * UNIT_LENGTH, UNIT_LENGTH);
+			flagged |= parity[i];
+		}
+		return flagged;
+	}
+
+
+	/**
+	 * Collects the k-th bit slice of every unit in column k of {@link #columns} and XORs all of them into the last column.
+	 * @param slices The bit-sliced units.
+	 * @param unitLength The length of the units.
+	 * @param units The number of units.
+	 * @return Returns the last column with the parity of every unit.
+	 */
+	private static long[] fillColumns(long[] slices, int unitLength, int units) {
+		if (columns[0].length < units) columns = new long[UNIT_LENGTH + 2][units];
+		long[] parity = columns[UNIT_LENGTH + 1];
+		for (int k = 0; k < unitLength; k++) {
+			for (int i = 0; i < units; i++) {
+				columns[k][i] = slices[i * unitLength + k];
+			}
+			if (k == 0) {
+				System.arraycopy(columns[0], 0, parity, 0, units);
+			} else {
+				BitOps.xor(parity, columns[k], parity, units);
+			}
+		}
+		return parity;
+	}
+
+
+	/**
+	 * Builds {@link #SYNDROMES}.
+	 * @return Returns the data bits and the parity of every possible unit.
+	 */
+	private static short[] buildSyndromes() {
+		short[] syndromes = new short[1 << (UNIT_LENGTH + 1)];
+		for (int unit = 0; unit < syndromes.length; unit++) {
+			syndromes[unit] = (short) ((unit >>> 1) | ((Integer.bitCount(unit) & 1) << UNIT_LENGTH));
+		}
+		return syndromes;
+	}
+
+
+	/**
+	 * Decodes packed units of 9 bits with error detection and correction and sets the message-versions in {@link Run} 
+	 * like {@link #doJob(byte, UniDataType)} does for String[](binary), but without creating a String per unit. <br>
+	 * <strong>Simple:</strong> Every unit gets looked up in {@link #SYNDROMES}, which gives its data bits and whether it gets flagged.<br>
+	 * <strong>Cross:</strong> The units of every segment ({@link #crossPCDistance} units + parity unit) get read into {@link #segment}. 
+	 * XORing them gives the column syndrome, in which every set bit is an incorrect column, 
+	 * and {@link #SYNDROMES} tells which rows are incorrect. 
+	 * If exactly one row and one column are incorrect, XORing the row with the column syndrome corrects it. 
+	 * Otherwise, the incorrect rows get flagged in the {@link UniDataType#setErasures(PackedBinary) erasures}
+	 * instead of being overwritten with the flag-sign. The units after the last segment only get checked. <br>
+	 * The parity units and parity bits get left out like in {@link #decodeSimple(String[])}, which gives the same message-versions.
+	 * @param task Whether the message-versions get set in {@link Run} (task = 1) or not (task = 2).
+	 * @param data The packed code, which gets replaced by the corrected message and its flags.
+	 */
+	private static void decodePacked(byte task, UniDataType data) {
+		PackedBinary code = data.getPackedBinary();
+		int units = code.getUnits();
+		int segmentLength = boCrossPC ? crossPCDistance + 1 : 1;
+		int numSegments = boCrossPC ? units / segmentLength : 0;
+		int messageUnits = boCrossPC ? units - units / segmentLength : units;
+		
+		PackedBinary changed = new PackedBinary(messageUnits * UNIT_LENGTH, UNIT_LENGTH);
+		PackedBinary corrected = new PackedBinary(messageUnits * UNIT_LENGTH, UNIT_LENGTH);
+		PackedBinary flags = new PackedBinary(messageUnits, 8);
+		if (segment.length < segmentLength) segment = new int[segmentLength];
+		int i = 0;
+		int m = 0;
+		
+		// segments of the cross parity check
+		for (int s = 0; s < numSegments; s++, i += segmentLength) {
+			int columns = 0;
+			int incorrectRows = 0;
+			int incorrectRow = 0;
+			for (int k = 0; k < segmentLength; k++) {
+				segment[k] = (int) code.getBits((i + k) * (UNIT_LENGTH + 1), UNIT_LENGTH + 1);
+				columns ^= segment[k];
+				if (SYNDROMES[segment[k]] >>> UNIT_LENGTH == 1) {
+					incorrectRows++;
+					incorrectRow = k;
+				}
+			}
+			
+			for (int k = 0; k < crossPCDistance; k++, m++) {
+				int syndrome = SYNDROMES[segment[k]];
+				changed.setBits(m * UNIT_LENGTH, UNIT_LENGTH, syndrome & 0xFF);
+				if (k == incorrectRow && incorrectRows == 1 && Integer.bitCount(columns) == 1) {
+					syndrome = SYNDROMES[segment[k] ^ columns];
+				}
+				corrected.setBits(m * UNIT_LENGTH, UNIT_LENGTH, syndrome & 0xFF);
+				if (syndrome >>> UNIT_LENGTH == 1) flags.set(m, true);
+			}
+		}
+		
+		// units without segment (all of them for the simple parity check)
+		for (; i < units; i++, m++) {
+			int syndrome = SYNDROMES[(int) code.getBits(i * (UNIT_LENGTH + 1), UNIT_LENGTH + 1)];
+			changed.setBits(m * UNIT_LENGTH, UNIT_LENGTH, syndrome & 0xFF);
+			corrected.setBits(m * UNIT_LENGTH, UNIT_LENGTH, syndrome & 0xFF);
+			if (syndrome >>> UNIT_LENGTH == 1) flags.set(m, true);
+		}
+		
+		if (task == 1) {
+			UniDataType changedMessage = new UniDataType();
+			UniDataType correctedMessage = new UniDataType();
+			changedMessage.setPackedBinary(changed);
+			correctedMessage.setPackedBinary(corrected);
+			Run.changedMessage = changedMessage.getStringUnicode();
+			Run.correctedMessage = correctedMessage.getStringUnicode();
+			Run.correctedFlaggedMessage = Run.getFlaggedMessage(corrected, flags);
+		}
+		data.setPackedBinary(corrected);
+		data.setErasures(flags);
+	}
 }
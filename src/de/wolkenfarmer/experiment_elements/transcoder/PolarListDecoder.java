@@ -0,0 +1,369 @@
+package de.wolkenfarmer.experiment_elements.transcoder;
+
+/**
+ * The successive cancellation list decoder of the {@link PolarTranscoder polar code} after Tal and Vardy,
+ * which works on log-likelihood ratios (LLRs) with the min-sum approximation. <br>
+ * The decoder walks through the N bits of u one by one. For every bit, the LLRs get combined from the channel (layer 0)
+ * down to a single LLR (layer m) and the decided bits get combined back up again.
+ * Frozen bits are 0, while for every other bit each path splits into two, from which only the {@link #listSize} paths
+ * with the lowest path metrics (the sum of the LLRs against their decisions) survive. <br>
+ * Instead of copying all arrays of a path when it splits, every path only points to one LLR array and one bit array per layer
+ * (see {@link Pool}). Paths share these arrays until one of them writes into it, which copies just the array of this layer.
+ * Therefore, a split costs O(m) instead of O(N).
+ * @author Wolkenfarmer
+ * @see <a href="https://arxiv.org/abs/1206.0050">Tal and Vardy about list decoding of polar codes</a>
+ */
+final class PolarListDecoder {
+	/** The LLR used for bits which are known to be 0 (e.g. the shortened ones).*/
+	static final float CERTAIN = 1e6f;
+	/** The number of layers minus 1, so that N = 2^m.*/
+	final int m;
+	/** The number of bits of a word.*/
+	final int n;
+	/** The maximum number of paths.*/
+	final int listSize;
+
+	/** The LLR arrays: llrs[layer][array] has 2^(m - layer) entries.*/
+	private final float[][][] llrs;
+	/** The bit arrays: bits[layer][array] has two columns of 2^(m - layer) entries, with the entry b of column c at 2b + c.*/
+	private final int[][][] bits;
+	/** Which path points to which LLR array.*/
+	private final Pool llrPool;
+	/** Which path points to which bit array.*/
+	private final Pool bitPool;
+	/** Whether the path is in use.*/
+	private final boolean[] active;
+	/** The path metric of every path.*/
+	private final double[] metrics;
+	/** The unused paths.*/
+	private final int[] freePaths;
+	/** The number of {@link #freePaths}.*/
+	private int freePathCount;
+
+	/** The metrics of both continuations of every path while splitting.*/
+	private final double[] candidates;
+	/** The indices of the {@link #candidates} sorted by their metric.*/
+	private final int[] order;
+	/** Whether the continuation with bit 0 / 1 of every path survives.*/
+	private final boolean[][] survives;
+
+
+	/**
+	 * Allocates every array the decoder needs.
+	 * @param m The number of layers minus 1 (N = 2^m).
+	 * @param listSize The maximum number of paths.
+	 */
+	PolarListDecoder(int m, int listSize) {
+		this.m = m;
+		this.n = 1 << m;
+		this.listSize = listSize;
+		llrs = new float[m + 1][listSize][];
+		bits = new int[m + 1][listSize][];
+		for (int layer = 0; layer <= m; layer++) {
+			for (int s = 0; s < listSize; s++) {
+				llrs[layer][s] = new float[1 << (m - layer)];
+				bits[layer][s] = new int[2 << (m - layer)];
+			}
+		}
+		llrPool = new Pool() {
+			void copy(int layer, int from, int to) {
+				System.arraycopy(llrs[layer][from], 0, llrs[layer][to], 0, llrs[layer][from].length);
+			}
+		};
+		bitPool = new Pool() {
+			void copy(int layer, int from, int to) {
+				System.arraycopy(bits[layer][from], 0, bits[layer][to], 0, bits[layer][from].length);
+			}
+		};
+		active = new boolean[listSize];
+		metrics = new double[listSize];
+		freePaths = new int[listSize];
+		candidates = new double[2 * listSize];
+		order = new int[2 * listSize];
+		survives = new boolean[listSize][2];
+	}
+
+
+	/**
+	 * Decodes one word.
+	 * @param channel The N LLRs of the received word (positive for 0).
+	 * @param frozen Whether the bit of u is frozen (0).
+	 * @param words The arrays to write the codewords (x) of the surviving paths into, the one with the lowest metric first.
+	 * It needs {@link #listSize} arrays of N entries.
+	 * @return Returns the number of surviving paths.
+	 */
+	int decode(float[] channel, boolean[] frozen, int[][] words) {
+		llrPool.reset();
+		bitPool.reset();
+		freePathCount = 0;
+		for (int l = listSize - 1; l >= 0; l--) {
+			active[l] = false;
+			freePaths[freePathCount++] = l;
+		}
+		int first = freePaths[--freePathCount];
+		active[first] = true;
+		metrics[first] = 0;
+		llrPool.assign(first);
+		bitPool.assign(first);
+		System.arraycopy(channel, 0, llrs[0][llrPool.writable(0, first, false)], 0, n);
+
+		for (int phi = 0; phi < n; phi++) {
+			calculateLlrs(m, phi);
+			if (frozen[phi]) {
+				for (int l = 0; l < listSize; l++) {
+					if (!active[l]) continue;
+					float llr = llrs[m][llrPool.read(m, l)][0];
+					if (llr < 0) metrics[l] -= llr;
+					bits[m][bitPool.writable(m, l, true)][phi & 1] = 0;
+				}
+			} else {
+				split(phi);
+			}
+			if ((phi & 1) == 1) updateBits(m, phi);
+		}
+
+		int count = 0;
+		for (int l = 0; l < listSize; l++) {
+			if (active[l]) order[count++] = l;
+		}
+		for (int i = 1; i < count; i++) {
+			for (int j = i; j > 0 && metrics[order[j]] < metrics[order[j - 1]]; j--) {
+				int swap = order[j];
+				order[j] = order[j - 1];
+				order[j - 1] = swap;
+			}
+		}
+		for (int i = 0; i < count; i++) {
+			int[] c = bits[0][bitPool.read(0, order[i])];
+			for (int b = 0; b < n; b++) {
+				words[i][b] = c[2 * b];
+			}
+		}
+		return count;
+	}
+
+
+	/**
+	 * Calculates the LLRs of the given layer and phase of every path (and if needed of the layers above).
+	 * @param layer The layer.
+	 * @param phi The phase.
+	 */
+	private void calculateLlrs(int layer, int phi) {
+		if (layer == 0) return;
+		int psi = phi >> 1;
+		if ((phi & 1) == 0) calculateLlrs(layer - 1, psi);
+
+		int size = 1 << (m - layer);
+		for (int l = 0; l < listSize; l++) {
+			if (!active[l]) continue;
+			float[] upper = llrs[layer - 1][llrPool.read(layer - 1, l)];
+			float[] lower = llrs[layer][llrPool.writable(layer, l, false)];
+			if ((phi & 1) == 0) {
+				for (int b = 0; b < size; b++) {
+					float a = upper[2 * b];
+					float c = upper[2 * b + 1];
+					float min = Math.min(Math.abs(a), Math.abs(c));
+					lower[b] = (a < 0) != (c < 0) ? -min : min;
+				}
+			} else {
+				int[] decided = bits[layer][bitPool.read(layer, l)];
+				for (int b = 0; b < size; b++) {
+					lower[b] = decided[2 * b] == 0 ? upper[2 * b + 1] + upper[2 * b] : upper[2 * b + 1] - upper[2 * b];
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Combines the decided bits of the given layer and (odd) phase into the layer above (and if needed further up) for every path.
+	 * @param layer The layer.
+	 * @param phi The phase.
+	 */
+	private void updateBits(int layer, int phi) {
+		int psi = phi >> 1;
+		int size = 1 << (m - layer);
+		for (int l = 0; l < listSize; l++) {
+			if (!active[l]) continue;
+			int[] lower = bits[layer][bitPool.read(layer, l)];
+			int[] upper = bits[layer - 1][bitPool.writable(layer - 1, l, true)];
+			for (int b = 0; b < size; b++) {
+				upper[4 * b + (psi & 1)] = lower[2 * b] ^ lower[2 * b + 1];
+				upper[4 * b + 2 + (psi & 1)] = lower[2 * b + 1];
+			}
+		}
+		if ((psi & 1) == 1) updateBits(layer - 1, psi);
+	}
+
+
+	/**
+	 * Splits every path into one with the bit 0 and one with the bit 1 at the given phase
+	 * and keeps the {@link #listSize} ones with the lowest metrics.
+	 * @param phi The phase.
+	 */
+	private void split(int phi) {
+		int count = 0;
+		for (int l = 0; l < listSize; l++) {
+			if (!active[l]) continue;
+			float llr = llrs[m][llrPool.read(m, l)][0];
+			candidates[2 * l] = metrics[l] + (llr < 0 ? -llr : 0);
+			candidates[2 * l + 1] = metrics[l] + (llr > 0 ? llr : 0);
+			order[count++] = 2 * l;
+			order[count++] = 2 * l + 1;
+			survives[l][0] = false;
+			survives[l][1] = false;
+		}
+		for (int i = 1; i < count; i++) {
+			for (int j = i; j > 0 && candidates[order[j]] < candidates[order[j - 1]]; j--) {
+				int swap = order[j];
+				order[j] = order[j - 1];
+				order[j - 1] = swap;
+			}
+		}
+		for (int i = 0; i < Math.min(count, listSize); i++) {
+			survives[order[i] >> 1][order[i] & 1] = true;
+		}
+
+		int paths = 0;
+		for (int l = 0; l < listSize; l++) {
+			if (!active[l]) continue;
+			if (!survives[l][0] && !survives[l][1]) kill(l);
+			else order[paths++] = l;
+		}
+		for (int i = 0; i < paths; i++) {
+			int l = order[i];
+			boolean zero = survives[l][0];
+			double metricOne = candidates[2 * l + 1];
+			if (zero && survives[l][1]) {
+				int clone = freePaths[--freePathCount];
+				active[clone] = true;
+				llrPool.share(l, clone);
+				bitPool.share(l, clone);
+				metrics[clone] = metricOne;
+				bits[m][bitPool.writable(m, clone, true)][phi & 1] = 1;
+			}
+			metrics[l] = zero ? candidates[2 * l] : metricOne;
+			bits[m][bitPool.writable(m, l, true)][phi & 1] = zero ? 0 : 1;
+		}
+	}
+
+
+	/**
+	 * Releases the arrays of the path.
+	 * @param l The path.
+	 */
+	private void kill(int l) {
+		active[l] = false;
+		freePaths[freePathCount++] = l;
+		llrPool.release(l);
+		bitPool.release(l);
+	}
+
+
+	/**
+	 * The bookkeeping of which path points to which array of every layer with reference counts,
+	 * so that shared arrays only get copied before they get written.
+	 * @author Wolkenfarmer
+	 */
+	private abstract class Pool {
+		/** The array of every layer and path.*/
+		private final int[][] pointers = new int[m + 1][listSize];
+		/** The number of paths pointing to every array of every layer.*/
+		private final int[][] references = new int[m + 1][listSize];
+		/** The unused arrays of every layer.*/
+		private final int[][] free = new int[m + 1][listSize];
+		/** The number of {@link #free} arrays of every layer.*/
+		private final int[] freeCount = new int[m + 1];
+
+
+		/**
+		 * Copies the content of an array into another one of the same layer.
+		 * @param layer The layer.
+		 * @param from The array to copy.
+		 * @param to The array to copy into.
+		 */
+		abstract void copy(int layer, int from, int to);
+
+
+		/**
+		 * Frees every array.
+		 */
+		void reset() {
+			for (int layer = 0; layer <= m; layer++) {
+				for (int s = 0; s < listSize; s++) {
+					references[layer][s] = 0;
+					free[layer][s] = listSize - 1 - s;
+				}
+				freeCount[layer] = listSize;
+			}
+		}
+
+
+		/**
+		 * Gives the path an own array of every layer.
+		 * @param l The path.
+		 */
+		void assign(int l) {
+			for (int layer = 0; layer <= m; layer++) {
+				int s = free[layer][--freeCount[layer]];
+				pointers[layer][l] = s;
+				references[layer][s] = 1;
+			}
+		}
+
+
+		/**
+		 * Lets the clone point to the same arrays as the path.
+		 * @param l The path.
+		 * @param clone The new path.
+		 */
+		void share(int l, int clone) {
+			for (int layer = 0; layer <= m; layer++) {
+				int s = pointers[layer][l];
+				pointers[layer][clone] = s;
+				references[layer][s]++;
+			}
+		}
+
+
+		/**
+		 * Removes the path from its arrays and frees the ones no other path points to.
+		 * @param l The path.
+		 */
+		void release(int l) {
+			for (int layer = 0; layer <= m; layer++) {
+				int s = pointers[layer][l];
+				if (--references[layer][s] == 0) free[layer][freeCount[layer]++] = s;
+			}
+		}
+
+
+		/**
+		 * @param layer The layer.
+		 * @param l The path.
+		 * @return Returns the array of the path for reading.
+		 */
+		int read(int layer, int l) {
+			return pointers[layer][l];
+		}
+
+
+		/**
+		 * Makes sure that no other path points to the array of the path, before it gets written.
+		 * @param layer The layer.
+		 * @param l The path.
+		 * @param keep Whether the content of a shared array is needed (otherwise it gets overwritten completely anyway).
+		 * @return Returns the array of the path for writing.
+		 */
+		int writable(int layer, int l, boolean keep) {
+			int s = pointers[layer][l];
+			if (references[layer][s] == 1) return s;
+			references[layer][s]--;
+			int own = free[layer][--freeCount[layer]];
+			if (keep) copy(layer, s, own);
+			pointers[layer][l] = own;
+			references[layer][own] = 1;
+			return own;
+		}
+	}
+}
@@ -0,0 +1,538 @@
+package de.wolkenfarmer.experiment_elements.transcoder;
+
+import de.wolkenfarmer.Constants;
+import de.wolkenfarmer.environment.logic.Main;
+import de.wolkenfarmer.environment.logic.PackedBinary;
+import de.wolkenfarmer.environment.logic.Run;
+import de.wolkenfarmer.environment.logic.UniDataType;
+import de.wolkenfarmer.experiment_elements.ExperimentElement;
+
+import java.util.Arrays;
+
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.control.RadioButton;
+import javafx.scene.control.TextField;
+import javafx.scene.control.ToggleGroup;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
+import javafx.scene.layout.CornerRadii;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+
+/**
+ * The {@link de.wolkenfarmer.experiment_elements.transcoder transcoder} "Polar Code" which is selectable on the
+ * {@link de.wolkenfarmer.environment.pages.Transcoder transcoder page}.
+ * A polar code transforms a word u of N = 2^{@link #exponent} bits into the codeword x with N log N XORs (see {@link #transform(int[])}).
+ * Thereby, some bits of u become very reliable and others very unreliable for the decoder, which decides them one after another.
+ * The {@link #messageBits message bits} (and the CRC) get placed into the most reliable bits, while the others are frozen to 0.
+ * The decoding is done by the {@link PolarListDecoder successive cancellation list decoder} with {@link #listSize} paths,
+ * from which the {@link #boCrc CRC} picks the right one.
+ * @author Wolkenfarmer
+ * @see #doJob(byte, UniDataType) doJob() for further information
+ * @see <a href="https://en.wikipedia.org/wiki/Polar_code_(coding_theory)">Wikipedia about polar codes</a>
+ */
+public class PolarTranscoder extends ExperimentElement {
+	/** The number of bits of the CRC if {@link #boCrc} is true.*/
+	private static final int CRC_LENGTH = 8;
+	/** The generator polynomial x^8 + x^2 + x + 1 of the CRC without the x^8.*/
+	private static final int CRC_POLYNOMIAL = 0x07;
+	/** Saves the exponent of the length N = 2^exponent of the words.
+	 * It gets set by {@link #tfExponent} in {@link #save()} and its default is 7.*/
+	private static int exponent = 7;
+	/** Saves the number of message bits per word.
+	 * It gets set by {@link #tfMessageBits} in {@link #save()} and its default is 56.*/
+	private static int messageBits = 56;
+	/** Saves the maximum number of paths of the list decoder. 1 is the plain successive cancellation decoder.
+	 * It gets set by {@link #tfListSize} in {@link #save()} and its default is 4.*/
+	private static int listSize = 4;
+	/** Saves whether a CRC gets appended to the message bits of every word in order to choose the right path of the list decoder.
+	 * It gets set by {@link #rbList} and {@link #rbCrc} in {@link #save()} and its default is true.*/
+	private static boolean boCrc = true;
+	/** The bit error probability of the channel, for which the reliability of the bits gets estimated.
+	 * It gets taken from the selected noise source in {@link #prepareRun()} and is 0.05 if it has none.*/
+	private static double designProbability = 0.05;
+
+	/** The bits of u sorted by their reliability, beginning with the most reliable one.
+	 * Gets built by {@link #getReliabilityOrder()} and reset if {@link #exponent} or {@link #designProbability} change.*/
+	private static int[] reliabilityOrder;
+	/** The list decoder of every thread, since its arrays get reused for every word.*/
+	private static final ThreadLocal<PolarListDecoder> decoders = new ThreadLocal<PolarListDecoder>();
+
+	/** Label displaying the description for this experiment element. It gets directly attached to {@link #root}.*/
+	private static Label lDescription;
+	/** The text field for {@link #exponent}. Every character which is not a digit will automatically be replaced by "".
+	 * It gets directly attached to {@link #root}.*/
+	private static TextField tfExponent;
+	/** The text field for {@link #messageBits}. Every character which is not a digit will automatically be replaced by "".
+	 * It gets directly attached to {@link #root}.*/
+	private static TextField tfMessageBits;
+	/** The text field for {@link #listSize}. Every character which is not a digit will automatically be replaced by "".
+	 * It gets directly attached to {@link #root}.*/
+	private static TextField tfListSize;
+	/** The toggle group to toggle between the list decoding without ({@link #boCrc} = false) and with a CRC
+	 * ({@link #boCrc} = true). Connects {@link #rbList} and {@link #rbCrc}.*/
+	private static ToggleGroup tgCrc;
+	/** The radio button of {@link #tgCrc} which represents the list decoding without a CRC. It's directly attached to {@link #root}.*/
+	private static RadioButton rbList;
+	/** The radio button of {@link #tgCrc} which represents the list decoding with a CRC. It's directly attached to {@link #root}.*/
+	private static RadioButton rbCrc;
+	/** Label displaying the different exceptions for wrong input of the text fields.
+	 * It gets updated to fit the current input in {@link #save()}. It gets directly attached to {@link #root}.*/
+	private static Label lException;
+
+
+	/**
+	 * Sets the {@link #name name} of the experiment element.
+	 */
+	public PolarTranscoder() {name = "Polar Code";}
+
+
+	/**
+	 * Does the en- and decoding of the polar code.<br>
+	 * The message gets divided into words of {@link #messageBits} bits. If the last word has less (d) message bits,
+	 * it gets shortened by s = {@link #messageBits} - d bits: the last s bits of u get frozen, which makes s bits of x 0
+	 * (see {@link #getShortened(int)}), so that they don't need to be sent.<br><br>
+	 *
+	 * <dl>
+	 * <dt><span class="strong">Encoding</span></dt><dd>
+	 * The message bits and if {@link #boCrc} the CRC of every word get written into the most reliable unfrozen bits of u
+	 * (see {@link #getFrozen(int)}). Then u gets {@link #transform(int[]) transformed} into x, whose bits
+	 * (except the shortened ones) get sent.</dd>
+	 *
+	 * <dt><span class="strong">Decoding</span></dt><dd>
+	 * The number of message bits follows from the length of the code. Every received bit becomes a log-likelihood ratio
+	 * of the {@link #designProbability}, while the shortened bits are certainly 0.
+	 * The {@link PolarListDecoder list decoder} returns the codewords of its paths, of which the one with the lowest metric
+	 * and (if {@link #boCrc}) the right CRC gets chosen. If no path has the right CRC, the units of the word get flagged
+	 * in the {@link UniDataType#setErasures(PackedBinary) erasures} of the decoded message.
+	 * Since the transformation is its own inverse, the changed message results from transforming the received bits.
+	 * The code keeps the unit length of the message, so that the decoded message gets its units back
+	 * (e.g. inside a {@link TranscoderChain transcoder chain}).</dd>
+	 * </dl>
+	 * @param task Defines whether the input (data) should be encoded (task = 0), decoded (task = 1)
+	 * or decoded without setting the message-versions in {@link Run} (task = 2).
+	 * @param data The packed data which will be modified.
+	 * @return Returns the modified data.
+	 */
+	public UniDataType doJob(byte task, UniDataType data) {
+		int n = 1 << exponent;
+		int crcLength = boCrc ? CRC_LENGTH : 0;
+		PackedBinary in = data.getPackedBinary();
+		int[] u = new int[n];
+		int[] info = new int[messageBits + crcLength];
+
+		if (task == 0) {
+			int rest = in.getLength() % messageBits;
+			PackedBinary code = new PackedBinary(in.getLength() / messageBits * n + (rest == 0 ? 0 : n - messageBits + rest),
+					in.getUnitLength());
+			for (int i = 0, out = 0; i < in.getLength(); i += messageBits) {
+				int d = Math.min(messageBits, in.getLength() - i);
+				int s = messageBits - d;
+				for (int b = 0; b < d; b++) {
+					info[b] = in.get(i + b) ? 1 : 0;
+				}
+				if (boCrc) appendCrc(info, d);
+				boolean[] frozen = getFrozen(s);
+				Arrays.fill(u, 0);
+				for (int p = 0, b = 0; p < n; p++) {
+					if (!frozen[p]) u[p] = info[b++];
+				}
+				transform(u);
+				boolean[] shortened = getShortened(s);
+				for (int p = 0; p < n; p++) {
+					if (!shortened[p]) code.set(out++, u[p] == 1);
+				}
+			}
+			data.setPackedBinary(code);
+			return data;
+		}
+
+		int last = in.getLength() % n;
+		int bits = in.getLength() / n * messageBits + (last == 0 ? 0 : Math.max(0, messageBits - (n - last)));
+		int unitLength = in.getUnitLength() > 0 && in.getUnitLength() < Long.SIZE ? in.getUnitLength() : 8;
+		PackedBinary changed = new PackedBinary(bits, unitLength);
+		PackedBinary corrected = new PackedBinary(bits, unitLength);
+		PackedBinary flags = new PackedBinary((bits + unitLength - 1) / unitLength, 8);
+		float llr = (float) Math.log((1 - designProbability) / designProbability);
+		float[] channel = new float[n];
+		PolarListDecoder decoder = getDecoder();
+		int[][] words = new int[listSize][n];
+
+		for (int i = 0, out = 0; out < bits; out += messageBits) {
+			int d = Math.min(messageBits, bits - out);
+			int s = messageBits - d;
+			boolean[] frozen = getFrozen(s);
+			boolean[] shortened = getShortened(s);
+			for (int p = 0; p < n; p++) {
+				if (shortened[p]) {
+					u[p] = 0;
+					channel[p] = PolarListDecoder.CERTAIN;
+				} else {
+					u[p] = in.get(i) ? 1 : 0;
+					channel[p] = in.get(i++) ? -llr : llr;
+				}
+			}
+			transform(u);
+			extractInformation(u, frozen, info);
+			for (int b = 0; b < d; b++) {
+				changed.set(out + b, info[b] == 1);
+			}
+			int paths = decoder.decode(channel, frozen, words);
+			int chosen = -1;
+			for (int l = 0; l < paths && chosen == -1; l++) {
+				transform(words[l]);
+				extractInformation(words[l], frozen, info);
+				if (!boCrc || checkCrc(info, d)) chosen = l;
+			}
+			if (chosen == -1) {
+				extractInformation(words[0], frozen, info);
+				for (int unit = out / unitLength; unit <= (out + d - 1) / unitLength; unit++) {
+					flags.set(unit, true);
+				}
+			}
+			for (int b = 0; b < d; b++) {
+				corrected.set(out + b, info[b] == 1);
+			}
+		}
+		if (task == 1) {
+			UniDataType changedMessage = new UniDataType();
+			UniDataType correctedMessage = new UniDataType();
+			changedMessage.setPackedBinary(changed);
+			correctedMessage.setPackedBinary(corrected);
+			Run.changedMessage = changedMessage.getStringUnicode();
+			Run.correctedMessage = correctedMessage.getStringUnicode();
+			Run.correctedFlaggedMessage = Run.getFlaggedMessage(corrected, flags);
+		}
+		data.setPackedBinary(corrected);
+		data.setErasures(flags);
+		return data;
+	}
+
+
+	/**
+	 * Transforms u into x (x = u * F^(tensor power m) with the bits in bit-reversed order). The transformation is its own inverse.
+	 * The butterflies combine the pairs of bits at a distance of 1, 2, 4, ... like the fast Fourier transform does.
+	 * @param bits The N bits, which get transformed in place.
+	 */
+	static void transform(int[] bits) {
+		int n = bits.length;
+		for (int distance = 1; distance < n; distance <<= 1) {
+			for (int i = 0; i < n; i += 2 * distance) {
+				for (int j = i; j < i + distance; j++) {
+					bits[j] ^= bits[j + distance];
+				}
+			}
+		}
+		int shift = Integer.SIZE - Integer.numberOfTrailingZeros(n);
+		for (int i = 0; i < n; i++) {
+			int reversed = Integer.reverse(i) >>> shift;
+			if (i < reversed) {
+				int swap = bits[i];
+				bits[i] = bits[reversed];
+				bits[reversed] = swap;
+			}
+		}
+	}
+
+
+	/**
+	 * Chooses the frozen bits of u: the last s bits of u (because of the shortening) and every bit, which isn't one of the
+	 * {@link #getReliabilityOrder() most reliable} ones needed for the message bits and the CRC.
+	 * @param s The number of bits the word gets shortened by.
+	 * @return Returns whether every bit of u is frozen.
+	 */
+	private static boolean[] getFrozen(int s) {
+		int n = 1 << exponent;
+		int information = messageBits - s + (boCrc ? CRC_LENGTH : 0);
+		boolean[] frozen = new boolean[n];
+		Arrays.fill(frozen, true);
+		int[] order = getReliabilityOrder();
+		for (int i = 0; information > 0; i++) {
+			if (order[i] < n - s) {
+				frozen[order[i]] = false;
+				information--;
+			}
+		}
+		return frozen;
+	}
+
+
+	/**
+	 * Since bit j of x (before the bit reversal of {@link #transform(int[])}) only depends on the bits of u from j on,
+	 * the last s bits of x are 0 if the last s bits of u are frozen. After the bit reversal, these are the bits
+	 * with the bit-reversed indices.
+	 * @param s The number of bits the word gets shortened by.
+	 * @return Returns whether every bit of x is 0 due to the shortening and doesn't get sent.
+	 */
+	private static boolean[] getShortened(int s) {
+		int n = 1 << exponent;
+		boolean[] shortened = new boolean[n];
+		for (int j = n - s; j < n; j++) {
+			shortened[Integer.reverse(j) >>> (Integer.SIZE - exponent)] = true;
+		}
+		return shortened;
+	}
+
+
+	/**
+	 * Estimates the reliability of the bits of u with the Bhattacharyya parameter Z of the binary symmetric channel
+	 * with the {@link #designProbability}: Z = 2 * sqrt(p * (1 - p)). Every butterfly layer turns a channel with Z
+	 * into a worse one with 2Z - Z^2 and a better one with Z^2. The logarithm of Z gets used, so that small values don't become 0.
+	 * @return Returns the bits of u sorted by their reliability, beginning with the most reliable one.
+	 */
+	private static synchronized int[] getReliabilityOrder() {
+		int n = 1 << exponent;
+		if (reliabilityOrder != null && reliabilityOrder.length == n) return reliabilityOrder;
+
+		double[] logZ = new double[n];
+		double channel = Math.log(2 * Math.sqrt(designProbability * (1 - designProbability)));
+		Integer[] order = new Integer[n];
+		for (int i = 0; i < n; i++) {
+			double z = channel;
+			for (int bit = exponent - 1; bit >= 0; bit--) {
+				z = (i >>> bit & 1) == 0 ? z + Math.log(2 - Math.exp(z)) : 2 * z;
+			}
+			logZ[i] = z;
+			order[i] = i;
+		}
+		Arrays.sort(order, (a, b) -> logZ[a] != logZ[b] ? Double.compare(logZ[a], logZ[b]) : Integer.compare(b, a));
+		reliabilityOrder = new int[n];
+		for (int i = 0; i < n; i++) {
+			reliabilityOrder[i] = order[i];
+		}
+		return reliabilityOrder;
+	}
+
+
+	/**
+	 * @return Returns the list decoder of the current thread, which gets built if it doesn't fit {@link #exponent} and {@link #listSize}.
+	 */
+	private static PolarListDecoder getDecoder() {
+		PolarListDecoder decoder = decoders.get();
+		if (decoder == null || decoder.m != exponent || decoder.listSize != listSize) {
+			decoder = new PolarListDecoder(exponent, listSize);
+			decoders.set(decoder);
+		}
+		return decoder;
+	}
+
+
+	/**
+	 * @param u The N bits of u.
+	 * @param frozen Whether every bit of u is frozen.
+	 * @param info The array to write the unfrozen bits of u into.
+	 */
+	private static void extractInformation(int[] u, boolean[] frozen, int[] info) {
+		for (int p = 0, b = 0; p < u.length; p++) {
+			if (!frozen[p]) info[b++] = u[p];
+		}
+	}
+
+
+	/**
+	 * @param info The message bits.
+	 * @param d The number of message bits.
+	 * @return Returns the CRC of the message bits.
+	 */
+	private static int crc(int[] info, int d) {
+		int reg = 0;
+		for (int b = 0; b < d; b++) {
+			int top = (reg >>> (CRC_LENGTH - 1) & 1) ^ info[b];
+			reg = (reg << 1) & ((1 << CRC_LENGTH) - 1);
+			if (top == 1) reg ^= CRC_POLYNOMIAL;
+		}
+		return reg;
+	}
+
+
+	/**
+	 * Writes the {@link #crc(int[], int) CRC} of the message bits behind them.
+	 * @param info The message bits with space for the CRC.
+	 * @param d The number of message bits.
+	 */
+	private static void appendCrc(int[] info, int d) {
+		int crc = crc(info, d);
+		for (int b = 0; b < CRC_LENGTH; b++) {
+			info[d + b] = crc >>> (CRC_LENGTH - 1 - b) & 1;
+		}
+	}
+
+
+	/**
+	 * @param info The message bits followed by their CRC.
+	 * @param d The number of message bits.
+	 * @return Returns whether the CRC fits the message bits.
+	 */
+	private static boolean checkCrc(int[] info, int d) {
+		int crc = crc(info, d);
+		for (int b = 0; b < CRC_LENGTH; b++) {
+			if (info[d + b] != (crc >>> (CRC_LENGTH - 1 - b) & 1)) return false;
+		}
+		return true;
+	}
+
+
+	/**
+	 * Takes the bit error probability of the selected noise source as {@link #designProbability}
+	 * and rebuilds the {@link #reliabilityOrder} if it changed.
+	 */
+	@Override
+	public void prepareRun() {
+		double probability = Main.selectedNoiSource.getBitErrorProbability();
+		if (probability > 0 && probability < 0.5 && probability != designProbability) {
+			designProbability = probability;
+			reliabilityOrder = null;
+		}
+	}
+
+
+	public void buildGui(double parentWidth) {
+		root = new Pane();
+		root.setPrefWidth(parentWidth);
+
+		lDescription = new Label();
+		lDescription.setText("This transcoder encodes the message word after word with a polar code of 2^m bits per word. "
+				+ "The message bits get placed into the most reliable bits for the bit error probability of the noise source, "
+				+ "and a list decoder keeps the most likely decisions.\n"
+				+ "Enter m (between 3 and 10 inclusively), the message bits per word and the list size (between 1 and 32 inclusively) below "
+				+ "and choose whether a CRC of 8 bits should pick the right decision of the list.");
+		lDescription.setFont(Constants.F_NORMAL);
+		lDescription.setTextFill(Constants.C_NORMAL);
+		lDescription.setAlignment(Pos.TOP_LEFT);
+		lDescription.setWrapText(true);
+		lDescription.setPrefWidth(root.getPrefWidth());
+		lDescription.setPrefHeight(Main.calcHeightLabel(lDescription, parentWidth + 10));
+
+		tfExponent = buildNumberField("m");
+		tfExponent.setLayoutY(lDescription.getPrefHeight() + 30);
+		tfMessageBits = buildNumberField("Message bits");
+		tfMessageBits.setLayoutX(tfExponent.getPrefWidth() + 20);
+		tfMessageBits.setLayoutY(tfExponent.getLayoutY());
+		tfListSize = buildNumberField("List size");
+		tfListSize.setLayoutX(tfMessageBits.getLayoutX() + tfMessageBits.getPrefWidth() + 20);
+		tfListSize.setLayoutY(tfExponent.getLayoutY());
+
+		tgCrc = new ToggleGroup();
+			rbList = new RadioButton("List decoding");
+			rbList.setLayoutY(tfExponent.getLayoutY() + tfExponent.getPrefHeight() + 30);
+			rbList.setToggleGroup(tgCrc);
+			rbList.setFont(Constants.F_NORMAL);
+			rbList.setTextFill(Constants.C_NORMAL);
+			rbList.setPrefWidth(parentWidth);
+			rbList.setPrefHeight(Main.calcHeight(rbList));
+			rbList.setSelected(!boCrc);
+
+			rbCrc = new RadioButton("CRC-aided list decoding");
+			rbCrc.setLayoutY(rbList.getLayoutY() + rbList.getPrefHeight() + 15);
+			rbCrc.setToggleGroup(tgCrc);
+			rbCrc.setFont(Constants.F_NORMAL);
+			rbCrc.setTextFill(Constants.C_NORMAL);
+			rbCrc.setPrefWidth(parentWidth);
+			rbCrc.setPrefHeight(Main.calcHeight(rbCrc));
+			rbCrc.setSelected(boCrc);
+
+		lException = new Label();
+		lException.setFont(Constants.F_NORMAL_ITALIC);
+		lException.setTextFill(Constants.C_PINK);
+		lException.setPrefWidth(root.getPrefWidth());
+		lException.setLayoutY(rbCrc.getLayoutY() + rbCrc.getPrefHeight() + 20);
+		lException.setWrapText(true);
+		lException.setVisible(false);
+
+		builtGui = true;
+		root.getChildren().addAll(lDescription, tfExponent, tfMessageBits, tfListSize, rbList, rbCrc, lException);
+	}
+
+
+	/**
+	 * Builds a text field which only accepts digits.
+	 * @param prompt The prompt text of the text field.
+	 * @return Returns the text field.
+	 */
+	private static TextField buildNumberField(String prompt) {
+		TextField tf = new TextField();
+		tf.setFont(Constants.F_NORMAL);
+		tf.setPromptText(prompt);
+		tf.setStyle("-fx-text-inner-color: WHITESMOKE;");
+		tf.setBackground(new Background(new BackgroundFill(Color.grayRgb(90), new CornerRadii(5),  null)));
+		tf.setFocusTraversable(false);
+		tf.setPrefHeight(30);
+		tf.setPrefWidth(130);
+		tf.textProperty().addListener((observable, oldValue, newValue) -> {
+			if (!newValue.matches("\\d*")) {
+				tf.setText(newValue.replaceAll("[^\\d]", ""));
+			}
+		});
+		return tf;
+	}
+
+
+	/**
+	 * Saves the shape of the polar code and the list decoder and checks whether the given numbers are correct.
+	 * If not, {@link #lException} gets updated accordingly and m = 7, 56 message bits and a list size of 4 get set instead.
+	 */
+	@Override
+	public void save() {
+		boCrc = rbCrc.isSelected();
+		int crcLength = boCrc ? CRC_LENGTH : 0;
+		if (tfExponent.getText().equals("") || tfMessageBits.getText().equals("") || tfListSize.getText().equals("")
+				|| Integer.parseInt(tfExponent.getText()) < 3 || Integer.parseInt(tfExponent.getText()) > 10
+				|| Integer.parseInt(tfMessageBits.getText()) < 1
+				|| Integer.parseInt(tfMessageBits.getText()) + crcLength > 1 << Integer.parseInt(tfExponent.getText())
+				|| Integer.parseInt(tfListSize.getText()) < 1 || Integer.parseInt(tfListSize.getText()) > 32) {
+			exponent = 7;
+			messageBits = 56;
+			listSize = 4;
+			lException.setText("Exception: m has to be between 3 and 10, the list size between 1 and 32 (inclusively) "
+					+ "and the message bits (plus the CRC) have to fit into the 2^m bits of a word.\n"
+					+ "m = 7, 56 message bits and a list size of 4 got set instead.");
+			lException.setVisible(true);
+		} else {
+			exponent = Integer.parseInt(tfExponent.getText());
+			messageBits = Integer.parseInt(tfMessageBits.getText());
+			listSize = Integer.parseInt(tfListSize.getText());
+			lException.setVisible(false);
+		}
+		reliabilityOrder = null;
+		System.out.println(name + " saved!");
+	}
+
+
+	/**
+	 * @return Returns {@link #name} or if it's not for the option button, the name with the length, message bits and list size.
+	 */
+	@Override
+	public String getName(boolean optionButton) {
+		if (optionButton) return name;
+		else return name + " (" + (1 << exponent) + ", " + messageBits + ") L=" + listSize + (boCrc ? " + CRC" : "");
+	}
+
+
+	/**
+	 * @param task Not used, since every task works on packed binaries.
+	 * @return Returns {@link UniDataType.Format#PACKED}.
+	 */
+	@Override
+	public UniDataType.Format[] getInputFormats(byte task) {
+		return new UniDataType.Format[] {UniDataType.Format.PACKED};
+	}
+
+	/**
+	 * @param task Not used, since every task works on packed binaries.
+	 * @return Returns {@link UniDataType.Format#PACKED}.
+	 */
+	@Override
+	public UniDataType.Format getOutputFormat(byte task) {
+		return UniDataType.Format.PACKED;
+	}
+
+
+	/**
+	 * @return Returns {@link #exponent}, {@link #messageBits}, {@link #listSize}, {@link #boCrc} and the {@link #designProbability}.
+	 */
+	@Override
+	public String getConfiguration() {
+		return "m=" + exponent + ",messageBits=" + messageBits + ",list=" + listSize + ",crc=" + boCrc + ",design=" + designProbability;
+	}
+}
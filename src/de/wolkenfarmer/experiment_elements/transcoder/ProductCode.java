@@ -0,0 +1,475 @@
+package de.wolkenfarmer.experiment_elements.transcoder;
+
+import de.wolkenfarmer.Constants;
+import de.wolkenfarmer.environment.logic.BitOps;
+import de.wolkenfarmer.environment.logic.Main;
+import de.wolkenfarmer.environment.logic.PackedBinary;
+import de.wolkenfarmer.environment.logic.Run;
+import de.wolkenfarmer.environment.logic.UniDataType;
+import de.wolkenfarmer.experiment_elements.ExperimentElement;
+
+import java.util.Arrays;
+
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.control.RadioButton;
+import javafx.scene.control.ToggleGroup;
+import javafx.scene.layout.Pane;
+
+/**
+ * The {@link de.wolkenfarmer.experiment_elements.transcoder transcoder} "Product Code" which is selectable on the
+ * {@link de.wolkenfarmer.environment.pages.Transcoder transcoder page}.
+ * It generalizes the cross parity check of the {@link ParityCheck parity check}: the message gets written row after row
+ * into a matrix, every row gets encoded with the {@link #rowCode row code} and afterwards every column (including the check bits
+ * of the rows) with the {@link #columnCode column code}. Both can be any {@link BinaryBlockCode block code}
+ * (see {@link #COMPONENTS}), so that e.g. two Hamming codes correct every pattern of up to three changes per matrix
+ * and many more. The decoding corrects the rows and columns alternately until nothing changes anymore.
+ * @author Wolkenfarmer
+ * @see #doJob(byte, UniDataType) doJob() for further information
+ */
+public class ProductCode extends ExperimentElement {
+	/** The block codes which can be chosen as {@link #rowCode row code} and {@link #columnCode column code}.*/
+	static final BinaryBlockCode[] COMPONENTS = {new SingleParityCode(8), new HammingCode(3), new HammingCode(4), new HammingCode(5), BchCode.get(4, 2), BchCode.get(5, 2),
+			GolayTranscoder.GOLAY, GolayTranscoder.EXTENDED_GOLAY};
+	/** The code of the rows. It gets set by {@link #tgRows} in {@link #save()} and its default is the {@link SingleParityCode parity code}.*/
+	private static BinaryBlockCode rowCode = COMPONENTS[0];
+	/** The code of the columns. It gets set by {@link #tgColumns} in {@link #save()} and its default is the
+	 * {@link SingleParityCode parity code}.*/
+	private static BinaryBlockCode columnCode = COMPONENTS[0];
+	/** The maximum number of times the rows and columns get corrected alternately while decoding.
+	 * Currently this variable can only be set manually.*/
+	private static int iterations = 4;
+	/** The 64 x 64 bit block of every thread in which {@link #transpose(long[], int, int, long[])} transposes the matrices,
+	 * since the encoder and the decoder can work on different trials at the same time.*/
+	private static final ThreadLocal<long[]> blocks = ThreadLocal.withInitial(() -> new long[Long.SIZE]);
+
+	/** Label displaying the description for this experiment element. It gets directly attached to {@link #root}.*/
+	private static Label lDescription;
+	/** Label displaying the heading of the row codes. It gets directly attached to {@link #root}.*/
+	private static Label lRows;
+	/** The radio buttons of the {@link #COMPONENTS options} for the {@link #rowCode row code}.*/
+	private static RadioButton[] rbRows;
+	/** Label displaying the heading of the column codes. It gets directly attached to {@link #root}.*/
+	private static Label lColumns;
+	/** The radio buttons of the {@link #COMPONENTS options} for the {@link #columnCode column code}.*/
+	private static RadioButton[] rbColumns;
+
+
+	/**
+	 * Sets the {@link #name name} of the experiment element.
+	 */
+	public ProductCode() {name = "Product Code";}
+
+
+	/**
+	 * Does the en- and decoding of the product code.<br>
+	 * The message gets divided into blocks of k1 * k2 bits (k1 and k2 being the message bits of the {@link #rowCode row code}
+	 * and {@link #columnCode column code}), which get written into a matrix of k2 rows.
+	 * The rows, which have at most 63 bits, get saved as one long each.<br><br>
+	 *
+	 * <dl>
+	 * <dt><span class="strong">Encoding</span></dt><dd>
+	 * Every row gets encoded with the row code. Afterwards, the matrix gets {@link #transpose(long[], int, int, long[]) transposed},
+	 * so that every column is a long as well, and every column gets encoded with the column code.
+	 * The matrix of n2 rows of n1 bits gets sent row after row.
+	 * If the last block isn't full, it gets filled up with 0s, which don't get sent, because both sides know them.
+	 * Since the component codes are linear, rows without any message bits are 0 and don't get sent either.</dd>
+	 *
+	 * <dt><span class="strong">Decoding</span></dt><dd>
+	 * The number of message bits follows from the length of the code, so that the last block gets filled up again.
+	 * Then the rows and columns get decoded alternately by their codes (iterative decoding),
+	 * until a pass doesn't change anything or {@link #iterations} passes are done.
+	 * This way, a row with too many changes for the row code can become correctable after the columns corrected some of them.
+	 * If afterwards only one row or only one column isn't a codeword, the bits where the failing rows and columns cross get switched,
+	 * like the cross parity check does (this is how two {@link SingleParityCode parity codes} correct a change).
+	 * The switches only get kept if they turn every row and column into a codeword.
+	 * Otherwise, every unit of the message with a bit where a failing row and a failing column cross
+	 * (or with a bit in a failing row or column if only the rows or only the columns fail) gets flagged
+	 * in the {@link UniDataType#setErasures(PackedBinary) erasures} of the decoded message.
+	 * The code keeps the unit length of the message, so that the decoded message gets its units back
+	 * (e.g. inside a {@link TranscoderChain transcoder chain}).</dd>
+	 * </dl>
+	 * @param task Defines whether the input (data) should be encoded (task = 0), decoded (task = 1)
+	 * or decoded without setting the message-versions in {@link Run} (task = 2).
+	 * @param data The packed data which will be modified.
+	 * @return Returns the modified data.
+	 * @see <a href="https://en.wikipedia.org/wiki/Product_code">Wikipedia about product codes</a>
+	 */
+	public UniDataType doJob(byte task, UniDataType data) {
+		if (task == 0) {
+			data.setPackedBinary(encode(data.getPackedBinary()));
+			return data;
+		}
+
+		PackedBinary code = data.getPackedBinary();
+		int messageBits = getMessageBits(code.getLength());
+		int unitLength = code.getUnitLength() > 0 && code.getUnitLength() < Long.SIZE ? code.getUnitLength() : 8;
+		PackedBinary changed = new PackedBinary(messageBits, unitLength);
+		PackedBinary corrected = new PackedBinary(messageBits, unitLength);
+		PackedBinary flags = new PackedBinary((messageBits + unitLength - 1) / unitLength, 8);
+		decode(code, changed, corrected, flags);
+
+		if (task == 1) {
+			UniDataType changedMessage = new UniDataType();
+			UniDataType correctedMessage = new UniDataType();
+			changedMessage.setPackedBinary(changed);
+			correctedMessage.setPackedBinary(corrected);
+			Run.changedMessage = changedMessage.getStringUnicode();
+			Run.correctedMessage = correctedMessage.getStringUnicode();
+			Run.correctedFlaggedMessage = Run.getFlaggedMessage(corrected, flags);
+		}
+		data.setPackedBinary(corrected);
+		data.setErasures(flags);
+		return data;
+	}
+
+
+	/**
+	 * Encodes the message block after block (see {@link #doJob(byte, UniDataType)}).
+	 * @param message The message.
+	 * @return Returns the code with the unit length of the message.
+	 */
+	private static PackedBinary encode(PackedBinary message) {
+		int n1 = rowCode.getLength();
+		int k1 = rowCode.getDimension();
+		int n2 = columnCode.getLength();
+		int k2 = columnCode.getDimension();
+		int blockBits = k1 * k2;
+		long[] rows = new long[Long.SIZE];
+		long[] columns = new long[Long.SIZE];
+		PackedBinary code = new PackedBinary(getCodeBits(message.getLength()), message.getUnitLength());
+		int in = 0;
+		int out = 0;
+
+		for (int block = 0; in < message.getLength(); block++) {
+			int bits = Math.min(blockBits, message.getLength() - in);
+			for (int r = 0; r < k2; r++) {
+				int d = rowBits(bits, r, k1);
+				long word = d > 0 ? message.getBits(in, d) << (k1 - d) : 0;
+				in += d;
+				rows[r] = rowCode.encode(word);
+			}
+			Arrays.fill(rows, k2, n2, 0);
+			transpose(rows, n2, n1, columns);
+			for (int c = 0; c < n1; c++) {
+				columns[c] = columnCode.encode(columns[c] >>> (n2 - k2));
+			}
+			transpose(columns, n1, n2, rows);
+
+			for (int r = 0; r < n2; r++) {
+				int d = r < k2 ? rowBits(bits, r, k1) : k1;
+				if (d == 0) continue;
+				code.setBits(out, d, rows[r] >>> (n1 - d));
+				code.setBits(out + d, n1 - k1, rows[r]);
+				out += d + n1 - k1;
+			}
+		}
+		return code;
+	}
+
+
+	/**
+	 * Decodes the code block after block (see {@link #doJob(byte, UniDataType)}).
+	 * @param code The code.
+	 * @param changed The message to write the message bits of the code into without correcting them.
+	 * @param corrected The message to write the corrected message bits into.
+	 * @param flags The flagged units of the message with one bit per unit.
+	 */
+	private static void decode(PackedBinary code, PackedBinary changed, PackedBinary corrected, PackedBinary flags) {
+		int n1 = rowCode.getLength();
+		int k1 = rowCode.getDimension();
+		int n2 = columnCode.getLength();
+		int k2 = columnCode.getDimension();
+		int blockBits = k1 * k2;
+		long[] rows = new long[Long.SIZE];
+		long[] columns = new long[Long.SIZE];
+		int in = 0;
+		int out = 0;
+
+		while (out < changed.getLength()) {
+			int bits = Math.min(blockBits, changed.getLength() - out);
+			for (int r = 0; r < n2; r++) {
+				int d = r < k2 ? rowBits(bits, r, k1) : k1;
+				if (d == 0) {
+					rows[r] = 0;
+					continue;
+				}
+				long word = code.getBits(in, d) << (k1 - d);
+				rows[r] = (word << (n1 - k1)) | code.getBits(in + d, n1 - k1);
+				in += d + n1 - k1;
+				if (r < k2) changed.setBits(out + r * k1, d, word >>> (k1 - d));
+			}
+
+			for (int i = 0; i < iterations; i++) {
+				boolean changes = decodeLines(rows, n2, rowCode);
+				transpose(rows, n2, n1, columns);
+				changes |= decodeLines(columns, n1, columnCode);
+				transpose(columns, n1, n2, rows);
+				if (!changes) break;
+			}
+
+			long failedRows = getFailedLines(rows, n2, rowCode);
+			long failedColumns = getFailedLines(columns, n1, columnCode);
+			if (failedRows != 0 && failedColumns != 0 && (Long.bitCount(failedRows) == 1 || Long.bitCount(failedColumns) == 1)) {
+				long[] backup = rows.clone();
+				for (int r = 0; r < n2; r++) {
+					if ((failedRows >>> r & 1) == 0) continue;
+					for (int c = 0; c < n1; c++) {
+						if ((failedColumns >>> c & 1) == 1) rows[r] ^= 1L << (n1 - 1 - c);
+					}
+				}
+				transpose(rows, n2, n1, columns);
+				if (getFailedLines(rows, n2, rowCode) == 0 && getFailedLines(columns, n1, columnCode) == 0) {
+					failedRows = 0;
+					failedColumns = 0;
+				} else {
+					System.arraycopy(backup, 0, rows, 0, n2);
+					transpose(rows, n2, n1, columns);
+				}
+			}
+
+			for (int r = 0; r < k2; r++) {
+				int d = rowBits(bits, r, k1);
+				if (d == 0) break;
+				corrected.setBits(out + r * k1, d, rows[r] >>> (n1 - d));
+				for (int c = 0; c < d; c++) {
+					boolean rowFailed = (failedRows >>> r & 1) == 1;
+					boolean columnFailed = (failedColumns >>> c & 1) == 1;
+					if (failedRows != 0 && failedColumns != 0 ? rowFailed && columnFailed : rowFailed || columnFailed) {
+						flags.set((out + r * k1 + c) / changed.getUnitLength(), true);
+					}
+				}
+			}
+			out += bits;
+		}
+	}
+
+
+	/**
+	 * Decodes every line (row or column) with the given code and keeps the correction if it didn't fail.
+	 * @param lines The rows or columns.
+	 * @param count The number of lines.
+	 * @param component The code of the lines.
+	 * @return Returns whether a line got changed.
+	 */
+	private static boolean decodeLines(long[] lines, int count, BinaryBlockCode component) {
+		boolean changes = false;
+		for (int i = 0; i < count; i++) {
+			long word = component.decode(lines[i]);
+			if (word != BinaryBlockCode.FAILURE && word != lines[i]) {
+				lines[i] = word;
+				changes = true;
+			}
+		}
+		return changes;
+	}
+
+
+	/**
+	 * @param lines The rows or columns.
+	 * @param count The number of lines.
+	 * @param component The code of the lines.
+	 * @return Returns a mask with the bit i set if the line i isn't a codeword.
+	 */
+	private static long getFailedLines(long[] lines, int count, BinaryBlockCode component) {
+		long failed = 0;
+		for (int i = 0; i < count; i++) {
+			if (!component.isCodeword(lines[i])) failed |= 1L << i;
+		}
+		return failed;
+	}
+
+
+	/**
+	 * Transposes a matrix of up to 64 x 64 bits via {@link BitOps#transpose(long[])} in the reused block of the thread ({@link #blocks}).
+	 * Every line is a right-aligned long whose first bit is the most significant one.
+	 * @param in The count lines of width bits.
+	 * @param count The number of lines of in.
+	 * @param width The number of bits of every line of in.
+	 * @param out The width lines of count bits to write the transposed matrix into.
+	 */
+	private static void transpose(long[] in, int count, int width, long[] out) {
+		long[] block = blocks.get();
+		for (int i = 0; i < count; i++) {
+			block[count - 1 - i] = in[i];
+		}
+		Arrays.fill(block, count, Long.SIZE, 0);
+		BitOps.transpose(block);
+		for (int j = 0; j < width; j++) {
+			out[j] = block[width - 1 - j];
+		}
+	}
+
+
+	/**
+	 * @param bits The number of message bits of the block.
+	 * @param r The row.
+	 * @param k1 The number of message bits per row.
+	 * @return Returns the number of message bits in the given row of the block.
+	 */
+	private static int rowBits(int bits, int r, int k1) {
+		return Math.max(0, Math.min(k1, bits - r * k1));
+	}
+
+
+	/**
+	 * @param messageBits The number of message bits.
+	 * @return Returns the number of code bits (see {@link #doJob(byte, UniDataType)}).
+	 */
+	static int getCodeBits(int messageBits) {
+		int n1 = rowCode.getLength();
+		int k1 = rowCode.getDimension();
+		int n2 = columnCode.getLength();
+		int k2 = columnCode.getDimension();
+		int rest = messageBits % (k1 * k2);
+		int codeBits = messageBits / (k1 * k2) * n1 * n2;
+		if (rest > 0) codeBits += rest + (rest + k1 - 1) / k1 * (n1 - k1) + (n2 - k2) * n1;
+		return codeBits;
+	}
+
+
+	/**
+	 * The inverse of {@link #getCodeBits(int)}.
+	 * @param codeBits The number of code bits.
+	 * @return Returns the number of message bits.
+	 */
+	static int getMessageBits(int codeBits) {
+		int n1 = rowCode.getLength();
+		int k1 = rowCode.getDimension();
+		int n2 = columnCode.getLength();
+		int k2 = columnCode.getDimension();
+		int rest = codeBits % (n1 * n2);
+		int messageBits = codeBits / (n1 * n2) * k1 * k2;
+		if (rest > 0) {
+			int rowPart = rest - (n2 - k2) * n1;
+			messageBits += rowPart / n1 * k1;
+			if (rowPart % n1 > 0) messageBits += Math.max(0, rowPart % n1 - (n1 - k1));
+		}
+		return messageBits;
+	}
+
+
+	public void buildGui(double parentWidth) {
+		root = new Pane();
+		root.setPrefWidth(parentWidth);
+
+		lDescription = new Label();
+		lDescription.setText("This transcoder writes the message into a matrix and encodes its rows and columns. "
+				+ "While decoding, the rows and columns get corrected alternately, "
+				+ "so that one can correct what was too much for the other.\n"
+				+ "Choose the codes of the rows and the columns below.");
+		lDescription.setFont(Constants.F_NORMAL);
+		lDescription.setTextFill(Constants.C_NORMAL);
+		lDescription.setAlignment(Pos.TOP_LEFT);
+		lDescription.setWrapText(true);
+		lDescription.setPrefWidth(root.getPrefWidth());
+		lDescription.setPrefHeight(Main.calcHeightLabel(lDescription, parentWidth + 10));
+		root.getChildren().add(lDescription);
+
+		lRows = buildHeading("Row code", lDescription.getPrefHeight() + 30, parentWidth);
+		rbRows = buildOptions(rowCode, lRows.getLayoutY() + lRows.getPrefHeight() + 15, parentWidth);
+		RadioButton rbLast = rbRows[rbRows.length - 1];
+		double y = rbLast.getLayoutY() + rbLast.getPrefHeight();
+		lColumns = buildHeading("Column code", y + 15, parentWidth);
+		rbColumns = buildOptions(columnCode, lColumns.getLayoutY() + lColumns.getPrefHeight() + 15, parentWidth);
+
+		builtGui = true;
+	}
+
+
+	/**
+	 * Builds a heading and attaches it to {@link #root}.
+	 * @param text The text of the heading.
+	 * @param y The y-position of the heading.
+	 * @param parentWidth The width of the GUI.
+	 * @return Returns the heading.
+	 */
+	private Label buildHeading(String text, double y, double parentWidth) {
+		Label l = new Label(text);
+		l.setFont(Constants.F_NORMAL_ITALIC);
+		l.setTextFill(Constants.C_NORMAL);
+		l.setLayoutY(y);
+		l.setPrefWidth(parentWidth);
+		l.setPrefHeight(Main.calcHeight(l));
+		root.getChildren().add(l);
+		return l;
+	}
+
+
+	/**
+	 * Builds one radio button per {@link #COMPONENTS block code} below each other and attaches them to {@link #root}.
+	 * @param selected The block code whose radio button gets selected.
+	 * @param y The y-position of the first radio button.
+	 * @param parentWidth The width of the GUI.
+	 * @return Returns the radio buttons in the order of {@link #COMPONENTS}.
+	 */
+	private RadioButton[] buildOptions(BinaryBlockCode selected, double y, double parentWidth) {
+		ToggleGroup group = new ToggleGroup();
+		RadioButton[] options = new RadioButton[COMPONENTS.length];
+		for (int i = 0; i < COMPONENTS.length; i++) {
+			RadioButton rb = new RadioButton(COMPONENTS[i].toString());
+			rb.setLayoutY(y);
+			rb.setToggleGroup(group);
+			rb.setFont(Constants.F_NORMAL);
+			rb.setTextFill(Constants.C_NORMAL);
+			rb.setPrefWidth(parentWidth);
+			rb.setPrefHeight(Main.calcHeight(rb));
+			rb.setSelected(COMPONENTS[i] == selected);
+			root.getChildren().add(rb);
+			y += rb.getPrefHeight() + 15;
+			options[i] = rb;
+		}
+		return options;
+	}
+
+
+	/**
+	 * Saves the selected {@link #rowCode row code} and {@link #columnCode column code}.
+	 */
+	@Override
+	public void save() {
+		for (int i = 0; i < COMPONENTS.length; i++) {
+			if (rbRows[i].isSelected()) rowCode = COMPONENTS[i];
+			if (rbColumns[i].isSelected()) columnCode = COMPONENTS[i];
+		}
+		System.out.println(name + " saved!");
+	}
+
+
+	/**
+	 * @return Returns {@link #name} or if it's not for the option button, the name followed by the row and column code.
+	 */
+	@Override
+	public String getName(boolean optionButton) {
+		if (optionButton) return name;
+		else return name + " (" + rowCode + " x " + columnCode + ")";
+	}
+
+
+	/**
+	 * @param task Not used, since every task works on packed binaries.
+	 * @return Returns {@link UniDataType.Format#PACKED}.
+	 */
+	@Override
+	public UniDataType.Format[] getInputFormats(byte task) {
+		return new UniDataType.Format[] {UniDataType.Format.PACKED};
+	}
+
+	/**
+	 * @param task Not used, since every task works on packed binaries.
+	 * @return Returns {@link UniDataType.Format#PACKED}.
+	 */
+	@Override
+	public UniDataType.Format getOutputFormat(byte task) {
+		return UniDataType.Format.PACKED;
+	}
+
+
+	/**
+	 * @return Returns the {@link #rowCode row code}, {@link #columnCode column code} and the number of {@link #iterations}.
+	 */
+	@Override
+	public String getConfiguration() {
+		return "rows=" + rowCode + ",columns=" + columnCode + ",iterations=" + iterations;
+	}
+}
@@ -1,12 +1,15 @@
 package de.wolkenfarmer.experiment_elements.transcoder;
 
 import de.wolkenfarmer.Constants;
+import de.wolkenfarmer.environment.logic.BitOps;
 import de.wolkenfarmer.environment.logic.Main;
+import de.wolkenfarmer.environment.logic.PackedBinary;
 import de.wolkenfarmer.environment.logic.Run;
 import de.wolkenfarmer.environment.logic.UniDataType;
 import de.wolkenfarmer.experiment_elements.ExperimentElement;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -32,8 +35,10 @@ import javafx.scene.paint.Color;
 public class RepetitionCode extends ExperimentElement {
 	/** Saves how often each character should be repeated during encoding. Gets used in {@link #doJob(byte, UniDataType)}. E.g. with 3:<br>
 	 * 1011 would be 111000111111<br> 
-	 * This variable gets set by {@link #tfRepeat} in {@link #save()}.*/
-	private static int repNumber;
+	 * This variable gets set by {@link #tfRepeat} in {@link #save()} and its default is 3.*/
+	private static int repNumber = 3;
+	/** The reused copies of the bits for the majority of three repetitions in {@link #decodeSliced(long[], long[])}.*/
+	private static long[][] copies = new long[3][0];
 	
 	/** Label displaying the description for this experiment element. It gets directly attached to {@link #root}.*/
 	private static Label lDescription;
@@ -79,16 +84,20 @@ public class RepetitionCode extends ExperimentElement {
 	 * However, it's still possible that there were originally multiple equal highest numbers in the integer list, 
 	 * meaning that multiple characters were represented equally. 
 	 * For this case, the integer list gets sorted afterwards and the two highest numbers get compared. 
-	 * If they are equal, the whole block - a unit of binary characters - will be flagged / replaced by 
-	 * {@link Run#flagSignBinary}. 
-	 * The just corrected message will always show the character sorted highest during the integer list sorting.</dd>
+	 * If they are equal, the whole block - a unit of binary characters - will be flagged. 
+	 * The just corrected message will always show the character sorted highest during the integer list sorting.
+	 * The corrected message gets returned packed and the flagged units get marked in its 
+	 * {@link UniDataType#setErasures(PackedBinary) erasures} instead of being replaced by the {@link Run#getFlagSign(int) flag-sign}, 
+	 * so that the outer stage of a {@link TranscoderChain} can still decode them. 
+	 * Only the {@link Run#correctedFlaggedMessage corrected+flagged message} shows the flag-sign.</dd>
 	 * 
 	 * <dt><span class="strong">Note:</span></dt><dd>
 	 * The method is designed to also be able to handle non-binary data, but it's currently only implemented for binary input.</dd>
 	 * </dl>
-	 * @param task Defines whether the input (data) should be encoded (task = 0) or decoded (task = 1).
+	 * @param task Defines whether the input (data) should be encoded (task = 0), decoded (task = 1) 
+	 * or decoded without setting the message-versions in {@link Run} (task = 2).
 	 * @param data The String[](binary) which will be modified.
-	 * @return Returns the modified data with corrected and flagged characters.
+	 * @return Returns the modified data: the code as String[](binary) or the corrected message as packed binary with its erasures.
 	 * @see <a href="https://en.wikipedia.org/wiki/Repetition_code">Wikipedia about Repetition Code</a>
 	 */
 	public UniDataType doJob(byte task, UniDataType data) {
@@ -111,30 +120,31 @@ public class RepetitionCode extends ExperimentElement {
 			
 		} else {
 			
-			String[] codeCo = data.getStringBinaryArray();
-			String[] codeCf = codeCo.clone();
+			String[] code = data.getStringBinaryArray();
+			String[] codeCo = new String[code.length];
+			PackedBinary flags = new PackedBinary(code.length, 8);
 			
-			UniDataType changedMessage = new UniDataType();
-			UniDataType correctedMessage = new UniDataType();
-			UniDataType correctedFlaggedMessage = new UniDataType();
-			changedMessage.setStringBinaryArray(decodeSimple(codeCf.clone()));
-			Run.changedMessage = changedMessage.getStringUnicode();
+			if (task == 1) {
+				UniDataType changedMessage = new UniDataType();
+				changedMessage.setStringBinaryArray(decodeSimple(code.clone()));
+				Run.changedMessage = changedMessage.getStringUnicode();
+			}
 			
 			
-			for (int i = 0; i < codeCf.length; i++) {
+			for (int i = 0; i < code.length; i++) {
 				StringBuilder sb = new StringBuilder();
 				boolean flag = false;
 				
-				for (int k = 0; k < codeCf[i].length(); k += repNumber) {
+				for (int k = 0; k < code[i].length(); k += repNumber) {
 					List<Character> characters = new ArrayList<Character>();
 					List<Integer> numFound = new ArrayList<Integer>();
 					
 					for (int j = 0; j < repNumber; j++) {
-						if (characters.contains(codeCf[i].charAt(j + k))) {
-							numFound.set(characters.indexOf(codeCf[i].charAt(j + k)), 
-									numFound.get(characters.indexOf(codeCf[i].charAt(j + k))) + 1);
+						if (characters.contains(code[i].charAt(j + k))) {
+							numFound.set(characters.indexOf(code[i].charAt(j + k)), 
+									numFound.get(characters.indexOf(code[i].charAt(j + k))) + 1);
 						} else {
-							characters.add(codeCf[i].charAt(j + k));
+							characters.add(code[i].charAt(j + k));
 							numFound.add(1);
 						}
 					}
@@ -149,18 +159,18 @@ public class RepetitionCode extends ExperimentElement {
 				}
 				
 				codeCo[i] = sb.toString();
-				if (flag) {
-					codeCf[i] = Run.flagSignBinary;
-				} else {
-					codeCf[i] = sb.toString();
-				}
+				if (flag) flags.set(i, true);
 			}
 			
-			correctedMessage.setStringBinaryArray(codeCo);
-			correctedFlaggedMessage.setStringBinaryArray(codeCf);
-			Run.correctedMessage = correctedMessage.getStringUnicode();
-			Run.correctedFlaggedMessage = correctedFlaggedMessage.getStringUnicode();
-			data.setStringBinaryArray(codeCf);
+			if (task == 1) {
+				UniDataType correctedMessage = new UniDataType();
+				correctedMessage.setStringBinaryArray(codeCo);
+				Run.correctedMessage = correctedMessage.getStringUnicode();
+			}
+			data.setStringBinaryArray(codeCo);
+			PackedBinary corrected = data.getPackedBinary();
+			if (task == 1) Run.correctedFlaggedMessage = Run.getFlaggedMessage(corrected, flags);
+			data.setErasures(flags);
 		}
 		
 		return data;
@@ -259,4 +269,121 @@ public class RepetitionCode extends ExperimentElement {
 		
 		System.out.println(name + " saved!");
 	}
+	
+	
+	/**
+	 * @param task Not used, since every task works on String[](binary).
+	 * @return Returns {@link UniDataType.Format#BINARY_STRING_ARRAY}.
+	 */
+	@Override
+	public UniDataType.Format[] getInputFormats(byte task) {
+		return new UniDataType.Format[] {UniDataType.Format.BINARY_STRING_ARRAY};
+	}
+	
+	/**
+	 * @param task Defines whether the data gets encoded (task = 0) or decoded.
+	 * @return Returns {@link UniDataType.Format#BINARY_STRING_ARRAY} for the encoding and {@link UniDataType.Format#PACKED} 
+	 * for the decoding, which hands the flags over as erasures.
+	 */
+	@Override
+	public UniDataType.Format getOutputFormat(byte task) {
+		return task == 0 ? UniDataType.Format.BINARY_STRING_ARRAY : UniDataType.Format.PACKED;
+	}
+	
+	
+	/**
+	 * @return Returns the {@link #repNumber number of repetitions}.
+	 */
+	@Override
+	public String getConfiguration() {
+		return "repetitions=" + repNumber;
+	}
+	
+	
+	/**
+	 * @return Returns true if there is at least one {@link #repNumber repetition}, 
+	 * since the repetitions and the majority map directly onto bit-sliced trials.
+	 */
+	@Override
+	public boolean isSliceable() {
+		return repNumber > 0;
+	}
+	
+	
+	/**
+	 * Repeats every bit slice {@link #repNumber} times, which encodes 64 trials at once 
+	 * (see {@link ExperimentElement#isSliceable()}).
+	 * @param message The bit-sliced message.
+	 * @return Returns the bit-sliced code.
+	 */
+	@Override
+	public long[] encodeSliced(long[] message) {
+		long[] code = new long[message.length * repNumber];
+		for (int m = 0; m < message.length; m++) {
+			for (int j = 0; j < repNumber; j++) {
+				code[m * repNumber + j] = message[m];
+			}
+		}
+		return code;
+	}
+	
+	
+	/**
+	 * Decodes 64 trials at once by taking the majority of the repetitions of every bit 
+	 * (see {@link ExperimentElement#isSliceable()}). <br>
+	 * With three repetitions, the copies get collected and voted via {@link BitOps#majority(long[], long[], long[], long[], int)}.
+	 * Otherwise, the ones of every bit get counted with a bit-sliced adder (one long per bit of the count) 
+	 * and compared against half of {@link #repNumber}. Like in {@link #doJob(byte, UniDataType)}, a tie keeps the first repetition 
+	 * and flags the unit.
+	 * @param code The bit-sliced and altered code.
+	 * @param message The bit-sliced message to write the corrected message into.
+	 * @return Returns the trials in which at least one tie occurred.
+	 */
+	@Override
+	public long decodeSliced(long[] code, long[] message) {
+		if (repNumber == 3) {
+			if (copies[0].length < message.length) copies = new long[3][message.length];
+			for (int m = 0; m < message.length; m++) {
+				copies[0][m] = code[m * 3];
+				copies[1][m] = code[m * 3 + 1];
+				copies[2][m] = code[m * 3 + 2];
+			}
+			BitOps.majority(copies[0], copies[1], copies[2], message, message.length);
+			return 0;
+		}
+		
+		int half = repNumber / 2;
+		long[] count = new long[32 - Integer.numberOfLeadingZeros(repNumber)];
+		long flagged = 0;
+		for (int m = 0; m < message.length; m++) {
+			Arrays.fill(count, 0);
+			for (int j = 0; j < repNumber; j++) {
+				long carry = code[m * repNumber + j];
+				for (int b = 0; b < count.length && carry != 0; b++) {
+					long sum = count[b] ^ carry;
+					carry &= count[b];
+					count[b] = sum;
+				}
+			}
+			
+			long greater = 0;
+			long equal = -1L;
+			for (int b = count.length - 1; b >= 0; b--) {
+				if ((half >>> b & 1) == 1) {
+					equal &= count[b];
+				} else {
+					greater |= equal & count[b];
+					equal &= ~count[b];
+				}
+			}
+			
+			if (repNumber % 2 == 0) {
+				message[m] = greater | (equal & code[m * repNumber]);
+				flagged |= equal;
+			} else {
+				message[m] = greater;
+			}
+		}
+		return flagged;
+	}
 }
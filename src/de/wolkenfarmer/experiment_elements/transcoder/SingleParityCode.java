@@ -0,0 +1,53 @@
+package de.wolkenfarmer.experiment_elements.transcoder;
+
+/**
+ * The single parity check code as {@link BinaryBlockCode block code}: one parity bit gets appended to k message bits,
+ * so that every codeword has an even number of ones (like the simple {@link ParityCheck parity check}).
+ * It detects every odd number of errors, but can't correct any.
+ * @author Wolkenfarmer
+ */
+public class SingleParityCode extends BinaryBlockCode {
+	/** The number of message bits.*/
+	private final int k;
+
+
+	/**
+	 * @param k The number of message bits (1 - 62).
+	 */
+	public SingleParityCode(int k) {
+		this.k = k;
+	}
+
+
+	@Override
+	public int getLength() {return k + 1;}
+
+
+	@Override
+	public int getDimension() {return k;}
+
+
+	@Override
+	public String getName() {return "Parity";}
+
+
+	/**
+	 * Appends the parity bit.
+	 * @param message The message bits.
+	 * @return Returns the codeword.
+	 */
+	@Override
+	public long encode(long message) {
+		return (message << 1) | (Long.bitCount(message) & 1);
+	}
+
+
+	/**
+	 * @param word The received word.
+	 * @return Returns the word if its number of ones is even, otherwise {@link #FAILURE}.
+	 */
+	@Override
+	public long decode(long word) {
+		return (Long.bitCount(word) & 1) == 0 ? word : FAILURE;
+	}
+}
@@ -0,0 +1,281 @@
+package de.wolkenfarmer.experiment_elements.transcoder;
+
+import de.wolkenfarmer.Constants;
+import de.wolkenfarmer.environment.logic.Main;
+import de.wolkenfarmer.environment.logic.Run;
+import de.wolkenfarmer.environment.logic.UniDataType;
+import de.wolkenfarmer.experiment_elements.ExperimentElement;
+
+import java.util.Arrays;
+
+import javafx.event.ActionEvent;
+import javafx.event.EventHandler;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.layout.Pane;
+
+/**
+ * The {@link de.wolkenfarmer.experiment_elements.transcoder transcoder} "Transcoder Chain" which is selectable on the
+ * {@link de.wolkenfarmer.environment.pages.Transcoder transcoder page}.
+ * It concatenates any number of other transcoders ({@link #stages}), e.g. a {@link RepetitionCode repetition code}
+ * as outer code, an {@link Interleaver interleaver} and a {@link ParityCheck parity check} as inner code.
+ * Every time the chain gets saved & added, the previously selected transcoder gets appended as the new innermost stage.
+ * @author Wolkenfarmer
+ * @see #doJob(byte, UniDataType) doJob() for further information
+ */
+public class TranscoderChain extends ExperimentElement {
+	/** The transcoders of the chain in encoding order (outermost first).
+	 * Gets extended in {@link #save()} and emptied by {@link #bClear}.*/
+	private static ExperimentElement[] stages = new ExperimentElement[0];
+
+	/** Label displaying the description for this experiment element. It gets directly attached to {@link #root}.*/
+	private static Label lDescription;
+	/** Label displaying the current {@link #stages} of the chain. It gets updated in {@link #save()} and by {@link #bClear}
+	 * and is directly attached to {@link #root}.*/
+	private static Label lStages;
+	/** Button to remove all {@link #stages} from the chain. It's directly attached to {@link #root}.*/
+	private static Button bClear;
+		/** Label displaying the button's heading "Clear chain". It's part of {@link #bClear}.*/
+		private static Label lClear;
+
+
+	/**
+	 * Sets the {@link #name name} of the experiment element.
+	 */
+	public TranscoderChain() {name = "Transcoder Chain";}
+
+
+	/**
+	 * Hands the data through all {@link #stages} of the chain.<br>
+	 * While encoding (task = 0) the stages encode the data one after another beginning with the outermost one and
+	 * while decoding (task = 1) they decode the data in reversed order.
+	 * The data gets handed over from one stage to the next one directly, so it only gets converted if the next stage
+	 * requests another data type (e.g. {@link UniDataType#getPackedBinary()} by the {@link Interleaver interleaver}).
+	 * If the chain is empty, it behaves like {@link DeselectTranscoder}.<br><br>
+	 *
+	 * <dl>
+	 * <dt><span class="strong">Message-versions:</span></dt><dd>
+	 * Every stage decodes the data only once. The inner stages decode without setting the message-versions in {@link Run} (task = 2)
+	 * and hand their corrected data on to the next stage, so only the outermost stage sets them.
+	 * Hence, {@link Run#changedMessage} is the message as the outermost stage receives it,
+	 * which already contains the corrections of the inner stages.</dd>
+	 * </dl>
+	 * @param task Defines whether the input (data) should be encoded (task = 0), decoded (task = 1)
+	 * or decoded without setting the message-versions in {@link Run} (task = 2).
+	 * @param data The data which will be modified.
+	 * @return Returns the modified data.
+	 * @see <a href="https://en.wikipedia.org/wiki/Concatenated_error_correction_code">Wikipedia about concatenated codes</a>
+	 */
+	public UniDataType doJob(byte task, UniDataType data) {
+		ExperimentElement[] chain = stages;
+		if (chain.length == 0) return Main.transcoder_Deselect.doJob(task, data);
+
+		if (task == 0) {
+			for (int i = 0; i < chain.length; i++) {
+				data = chain[i].doJob(task, data);
+			}
+		} else {
+			for (int i = chain.length - 1; i > 0; i--) {
+				data = chain[i].doJob((byte) 2, data);
+			}
+			data = chain[0].doJob(task, data);
+		}
+		return data;
+	}
+
+
+	public void buildGui(double parentWidth) {
+		root = new Pane();
+		root.setPrefWidth(parentWidth);
+
+		lDescription = new Label();
+		lDescription.setText("This transcoder concatenates multiple transcoders. "
+				+ "Every time this option gets saved & added, the previously saved & added transcoder gets appended to the chain. "
+				+ "While encoding, the first transcoder of the chain encodes first (outer code) "
+				+ "and while decoding, the last one decodes first (inner code).");
+		lDescription.setFont(Constants.F_NORMAL);
+		lDescription.setTextFill(Constants.C_NORMAL);
+		lDescription.setAlignment(Pos.TOP_LEFT);
+		lDescription.setWrapText(true);
+		lDescription.setPrefWidth(root.getPrefWidth());
+		lDescription.setPrefHeight(Main.calcHeightLabel(lDescription, parentWidth + 10));
+
+		lStages = new Label();
+		lStages.setFont(Constants.F_NORMAL_ITALIC);
+		lStages.setTextFill(Constants.C_NORMAL);
+		lStages.setWrapText(true);
+		lStages.setPrefWidth(root.getPrefWidth());
+		lStages.setLayoutY(lDescription.getPrefHeight() + 30);
+		updateStages();
+
+		bClear = new Button();
+		bClear.setBackground(Constants.BG_GRAY);
+		bClear.setBorder(Constants.B_NORMAL);
+			lClear = new Label();
+			lClear.setText("Clear chain");
+			lClear.setTextFill(Constants.C_NORMAL);
+			lClear.setFont(Constants.F_NORMAL);
+			lClear.setAlignment(Pos.CENTER);
+		bClear.setGraphic(lClear);
+		bClear.setPrefWidth(Main.calcWidth(lClear) + 20);
+		bClear.setPrefHeight(40);
+		bClear.setLayoutY(lStages.getLayoutY() + Main.calcHeightLabel(lStages, parentWidth + 10) + 60);
+		bClear.setOnMouseEntered(Constants.EH_BUTTON_GRAY_ENTERED);
+		bClear.setOnMouseExited(Constants.EH_BUTTON_GRAY_EXITED);
+		bClear.setOnAction(new EventHandler<ActionEvent>() {
+			public void handle(ActionEvent t) {
+				stages = new ExperimentElement[0];
+				updateStages();
+			}
+		});
+
+		builtGui = true;
+		root.getChildren().addAll(lDescription, lStages, bClear);
+	}
+
+
+	/**
+	 * Updates {@link #lStages} to show the current {@link #stages}.
+	 */
+	private static void updateStages() {
+		if (stages.length == 0) {
+			lStages.setText("The chain is empty.");
+		} else {
+			StringBuilder sb = new StringBuilder("Chain (outer to inner):");
+			for (int i = 0; i < stages.length; i++) {
+				sb.append("\n" + (i + 1) + ". " + stages[i].getName(false));
+			}
+			lStages.setText(sb.toString());
+		}
+	}
+
+
+	/**
+	 * Replaces the {@link #stages} of the chain without updating the GUI. Gets used by the tests, which don't have the GUI.
+	 * @param chain The new stages in encoding order (outermost first).
+	 */
+	static void setStages(ExperimentElement... chain) {
+		stages = chain;
+	}
+
+
+	/**
+	 * Appends the currently selected transcoder to the {@link #stages} unless it's the chain itself or
+	 * {@link DeselectTranscoder nothing}.
+	 */
+	@Override
+	public void save() {
+		if (Main.selectedTranscoder != this && Main.selectedTranscoder != Main.transcoder_Deselect) {
+			stages = Arrays.copyOf(stages, stages.length + 1);
+			stages[stages.length - 1] = Main.selectedTranscoder;
+			updateStages();
+		}
+		System.out.println(name + " saved!");
+	}
+
+
+	/**
+	 * @return Returns {@link #name} or if it's not for the option button and the chain isn't empty,
+	 * the names of all {@link #stages} joined by " + ".
+	 */
+	@Override
+	public String getName(boolean optionButton) {
+		if (optionButton || stages.length == 0) return name;
+		StringBuilder sb = new StringBuilder(stages[0].getName(false));
+		for (int i = 1; i < stages.length; i++) {
+			sb.append(" + " + stages[i].getName(false));
+		}
+		return sb.toString();
+	}
+
+
+	/**
+	 * Prepares all {@link #stages} of the chain for the next run, e.g. the seeds of an {@link LtTranscoder LT transcoder}.
+	 */
+	@Override
+	public void prepareRun() {
+		ExperimentElement[] chain = stages;
+		if (chain.length == 0) Main.transcoder_Deselect.prepareRun();
+		for (ExperimentElement stage : chain) {
+			stage.prepareRun();
+		}
+	}
+
+	/**
+	 * Finishes the run of all {@link #stages} of the chain.
+	 */
+	@Override
+	public void finishRun() {
+		ExperimentElement[] chain = stages;
+		if (chain.length == 0) Main.transcoder_Deselect.finishRun();
+		for (ExperimentElement stage : chain) {
+			stage.finishRun();
+		}
+	}
+
+	/**
+	 * Hands every one of the {@link #stages} the way through the stages inside of it: 
+	 * they encode the code, the given channel sends it and they decode it again without setting the message-versions in {@link Run}.
+	 * @param channel The channel between the encoding and the decoding of the chain.
+	 */
+	@Override
+	public void setChannel(Channel channel) {
+		ExperimentElement[] chain = stages;
+		for (int i = chain.length - 1; i >= 0; i--) {
+			chain[i].setChannel(channel);
+			channel = through(chain[i], channel);
+		}
+	}
+
+	/**
+	 * @param stage The stage.
+	 * @param channel The channel between the encoding and the decoding of the stage.
+	 * @return Returns the channel between the encoding and the decoding of the stage outside of the given one.
+	 */
+	private static Channel through(ExperimentElement stage, Channel channel) {
+		return (code, transmission) -> stage.doJob((byte) 2, channel.transmit(stage.doJob((byte) 0, code), transmission));
+	}
+
+
+	/**
+	 * @param task The task (see {@link #doJob(byte, UniDataType)}).
+	 * @return Returns the input formats of the stage which gets the data first 
+	 * (the outermost one while encoding and the innermost one while decoding).
+	 */
+	@Override
+	public UniDataType.Format[] getInputFormats(byte task) {
+		ExperimentElement[] chain = stages;
+		if (chain.length == 0) return Main.transcoder_Deselect.getInputFormats(task);
+		return chain[task == 0 ? 0 : chain.length - 1].getInputFormats(task);
+	}
+
+	/**
+	 * @param task The task (see {@link #doJob(byte, UniDataType)}).
+	 * @return Returns the output format of the stage which gives back the data last 
+	 * (the innermost one while encoding and the outermost one while decoding).
+	 */
+	@Override
+	public UniDataType.Format getOutputFormat(byte task) {
+		ExperimentElement[] chain = stages;
+		if (chain.length == 0) return Main.transcoder_Deselect.getOutputFormat(task);
+		return chain[task == 0 ? chain.length - 1 : 0].getOutputFormat(task);
+	}
+
+
+	/**
+	 * @return Returns the names and configurations of all {@link #stages} or null if one of them has no configuration.
+	 */
+	@Override
+	public String getConfiguration() {
+		ExperimentElement[] chain = stages;
+		if (chain.length == 0) return Main.transcoder_Deselect.getConfiguration();
+		StringBuilder sb = new StringBuilder();
+		for (ExperimentElement stage : chain) {
+			String configuration = stage.getConfiguration();
+			if (configuration == null) return null;
+			sb.append(stage.getName(false)).append('(').append(configuration).append(')');
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,229 @@
+package de.wolkenfarmer.experiment_elements.transcoder;
+
+/**
+ * The iterative decoder of the {@link TurboTranscoder turbo code} with two max-log-MAP (BCJR) component decoders. <br>
+ * Both component codes are the recursive systematic convolutional (RSC) code with 8 states, the feedback polynomial
+ * 1 + D^2 + D^3 and the feedforward polynomial 1 + D + D^3 (see {@link #NEXT} and {@link #PARITY}).
+ * The first one gets terminated with three tail bits, while the second one ends in any state.
+ * Every array is a field, which only gets reallocated if a longer block comes, so that decoding allocates nothing.
+ * Therefore, every thread needs an own decoder.
+ * @author Wolkenfarmer
+ * @see <a href="https://en.wikipedia.org/wiki/BCJR_algorithm">Wikipedia about the BCJR algorithm</a>
+ */
+final class TurboDecoder {
+	/** The number of states of the component codes.*/
+	static final int STATES = 8;
+	/** The number of tail bits which terminate the first component code.*/
+	static final int TAIL = 3;
+	/** The next state of every state for the input 0 and 1. The state holds the last three bits of the shift register,
+	 * the newest one as most significant bit.*/
+	static final int[][] NEXT = new int[STATES][2];
+	/** The parity bit of every state for the input 0 and 1.*/
+	static final int[][] PARITY = new int[STATES][2];
+	/** The input of every state which leads towards the state 0 (used for the termination).*/
+	static final int[] TERMINATION = new int[STATES];
+	/** Stands for an impossible state in the forward and backward metrics.*/
+	private static final float IMPOSSIBLE = -1e30f;
+	/** The factor of the extrinsic information, which compensates the overestimation of the max-log approximation.*/
+	private static final float EXTRINSIC_SCALE = 0.75f;
+
+	static {
+		for (int s = 0; s < STATES; s++) {
+			int s1 = s >>> 2 & 1;
+			int s2 = s >>> 1 & 1;
+			int s3 = s & 1;
+			for (int u = 0; u < 2; u++) {
+				int a = u ^ s2 ^ s3;
+				NEXT[s][u] = (a << 2) | (s1 << 1) | s2;
+				PARITY[s][u] = a ^ s1 ^ s3;
+			}
+			TERMINATION[s] = s2 ^ s3;
+		}
+	}
+
+	/** The LLRs of the message bits, which get filled by the {@link TurboTranscoder transcoder} before decoding.*/
+	float[] systematic = new float[0];
+	/** The LLRs of the parity bits of the first code.*/
+	float[] parity1 = new float[0];
+	/** The LLRs of the parity bits of the second code.*/
+	float[] parity2 = new float[0];
+	/** The LLRs of the {@link #TAIL} input bits of the termination.*/
+	final float[] tailSystematic = new float[TAIL];
+	/** The LLRs of the {@link #TAIL} parity bits of the termination.*/
+	final float[] tailParity = new float[TAIL];
+	/** The decided message bits.*/
+	int[] decisions = new int[0];
+
+	/** The forward metrics of every step and state.*/
+	private float[] alpha = new float[0];
+	/** The backward metrics of every step and state.*/
+	private float[] beta = new float[0];
+	/** The systematic LLRs of the second decoder (interleaved).*/
+	private float[] interleavedSystematic = new float[0];
+	/** The a-priori LLRs of the first decoder (the deinterleaved extrinsic information of the second one).*/
+	private float[] apriori1 = new float[0];
+	/** The a-priori LLRs of the second decoder (the interleaved extrinsic information of the first one).*/
+	private float[] apriori2 = new float[0];
+	/** The a-posteriori LLRs of the first decoder.*/
+	private float[] posteriori1 = new float[0];
+	/** The a-posteriori LLRs of the second decoder.*/
+	private float[] posteriori2 = new float[0];
+
+
+	/**
+	 * Decodes one block of message bits from the LLRs (positive for 0) in {@link #systematic}, {@link #parity1}, {@link #parity2},
+	 * {@link #tailSystematic} and {@link #tailParity} into {@link #decisions}.
+	 * In every iteration, each decoder passes its extrinsic information (what it found out in addition to its input)
+	 * to the other one as a-priori information. The iterations stop as soon as both decoders decide the same bits.
+	 * @param permutation The interleaver: the i-th bit of the second code is the message bit permutation[i].
+	 * @param k The number of message bits.
+	 * @param iterations The maximum number of iterations.
+	 * @return Returns whether both decoders agreed on every bit.
+	 */
+	boolean decode(int[] permutation, int k, int iterations) {
+		for (int i = 0; i < k; i++) {
+			interleavedSystematic[i] = systematic[permutation[i]];
+			apriori1[i] = 0;
+		}
+
+		boolean converged = false;
+		for (int iteration = 0; iteration < iterations && !converged; iteration++) {
+			decodeComponent(systematic, parity1, apriori1, tailSystematic, tailParity, k, posteriori1);
+			for (int i = 0; i < k; i++) {
+				int j = permutation[i];
+				apriori2[i] = EXTRINSIC_SCALE * (posteriori1[j] - systematic[j] - apriori1[j]);
+			}
+			decodeComponent(interleavedSystematic, parity2, apriori2, null, null, k, posteriori2);
+			converged = true;
+			for (int i = 0; i < k; i++) {
+				int j = permutation[i];
+				apriori1[j] = EXTRINSIC_SCALE * (posteriori2[i] - interleavedSystematic[i] - apriori2[i]);
+				decisions[j] = posteriori2[i] < 0 ? 1 : 0;
+				converged &= (posteriori1[j] < 0) == (posteriori2[i] < 0);
+			}
+		}
+		return converged;
+	}
+
+
+	/**
+	 * The max-log-MAP decoder of one component code. <br>
+	 * The branch metric of a transition with the input u and the parity p is (±LLR(u) ± LLR(p)) / 2 (+ for 0, - for 1).
+	 * The forward metrics alpha and the backward metrics beta are the maximum sums of branch metrics from the start or the end
+	 * to every state. The LLR of a bit is the best path with the bit 0 minus the best path with the bit 1.
+	 * @param systematic The LLRs of the message bits.
+	 * @param parity The LLRs of the parity bits.
+	 * @param apriori The a-priori LLRs of the message bits.
+	 * @param tailSystematic The LLRs of the input bits of the termination or null if the code isn't terminated.
+	 * @param tailParity The LLRs of the parity bits of the termination or null if the code isn't terminated.
+	 * @param k The number of message bits.
+	 * @param posteriori The array to write the a-posteriori LLRs of the message bits into.
+	 */
+	private void decodeComponent(float[] systematic, float[] parity, float[] apriori, float[] tailSystematic, float[] tailParity,
+			int k, float[] posteriori) {
+		boolean terminated = tailSystematic != null;
+		int steps = k + (terminated ? TAIL : 0);
+
+		for (int s = 0; s < STATES; s++) {
+			alpha[s] = s == 0 ? 0 : IMPOSSIBLE;
+			beta[steps * STATES + s] = !terminated || s == 0 ? 0 : IMPOSSIBLE;
+		}
+		for (int t = 0; t < steps; t++) {
+			float lu = t < k ? systematic[t] + apriori[t] : tailSystematic[t - k];
+			float lp = t < k ? parity[t] : tailParity[t - k];
+			int from = t * STATES;
+			int to = from + STATES;
+			for (int s = 0; s < STATES; s++) {
+				alpha[to + s] = IMPOSSIBLE;
+			}
+			for (int s = 0; s < STATES; s++) {
+				for (int u = 0; u < 2; u++) {
+					if (t >= k && u != TERMINATION[s]) continue;
+					float metric = alpha[from + s] + branch(lu, lp, u, PARITY[s][u]);
+					if (metric > alpha[to + NEXT[s][u]]) alpha[to + NEXT[s][u]] = metric;
+				}
+			}
+			normalize(alpha, to);
+		}
+		for (int t = steps - 1; t >= 0; t--) {
+			float lu = t < k ? systematic[t] + apriori[t] : tailSystematic[t - k];
+			float lp = t < k ? parity[t] : tailParity[t - k];
+			int at = t * STATES;
+			int next = at + STATES;
+			for (int s = 0; s < STATES; s++) {
+				float best = IMPOSSIBLE;
+				for (int u = 0; u < 2; u++) {
+					if (t >= k && u != TERMINATION[s]) continue;
+					float metric = beta[next + NEXT[s][u]] + branch(lu, lp, u, PARITY[s][u]);
+					if (metric > best) best = metric;
+				}
+				beta[at + s] = best;
+			}
+			normalize(beta, at);
+		}
+
+		for (int t = 0; t < k; t++) {
+			float lu = systematic[t] + apriori[t];
+			float lp = parity[t];
+			float zero = IMPOSSIBLE;
+			float one = IMPOSSIBLE;
+			int at = t * STATES;
+			int next = at + STATES;
+			for (int s = 0; s < STATES; s++) {
+				float metric0 = alpha[at + s] + branch(lu, lp, 0, PARITY[s][0]) + beta[next + NEXT[s][0]];
+				float metric1 = alpha[at + s] + branch(lu, lp, 1, PARITY[s][1]) + beta[next + NEXT[s][1]];
+				if (metric0 > zero) zero = metric0;
+				if (metric1 > one) one = metric1;
+			}
+			posteriori[t] = zero - one;
+		}
+	}
+
+
+	/**
+	 * @param lu The LLR of the input bit.
+	 * @param lp The LLR of the parity bit.
+	 * @param u The input bit of the transition.
+	 * @param p The parity bit of the transition.
+	 * @return Returns the branch metric of the transition.
+	 */
+	private static float branch(float lu, float lp, int u, int p) {
+		return 0.5f * ((u == 0 ? lu : -lu) + (p == 0 ? lp : -lp));
+	}
+
+
+	/**
+	 * Subtracts the metric of the best state from all states of one step, so that the metrics don't grow without limit.
+	 * @param metrics The forward or backward metrics.
+	 * @param at The index of the first state of the step.
+	 */
+	private static void normalize(float[] metrics, int at) {
+		float max = IMPOSSIBLE;
+		for (int s = 0; s < STATES; s++) {
+			if (metrics[at + s] > max) max = metrics[at + s];
+		}
+		for (int s = 0; s < STATES; s++) {
+			metrics[at + s] -= max;
+		}
+	}
+
+
+	/**
+	 * Reallocates the arrays if they are too small for the block. Has to be called before the input arrays get filled.
+	 * @param k The number of message bits of the block.
+	 */
+	void ensureCapacity(int k) {
+		if (apriori1.length >= k) return;
+		systematic = new float[k];
+		parity1 = new float[k];
+		parity2 = new float[k];
+		decisions = new int[k];
+		alpha = new float[(k + TAIL + 1) * STATES];
+		beta = new float[(k + TAIL + 1) * STATES];
+		interleavedSystematic = new float[k];
+		apriori1 = new float[k];
+		apriori2 = new float[k];
+		posteriori1 = new float[k];
+		posteriori2 = new float[k];
+	}
+}
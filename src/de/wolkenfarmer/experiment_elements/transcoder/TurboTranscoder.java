@@ -0,0 +1,376 @@
+package de.wolkenfarmer.experiment_elements.transcoder;
+
+import de.wolkenfarmer.Constants;
+import de.wolkenfarmer.environment.logic.Main;
+import de.wolkenfarmer.environment.logic.PackedBinary;
+import de.wolkenfarmer.environment.logic.Run;
+import de.wolkenfarmer.environment.logic.UniDataType;
+import de.wolkenfarmer.experiment_elements.ExperimentElement;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.control.RadioButton;
+import javafx.scene.control.TextField;
+import javafx.scene.control.ToggleGroup;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
+import javafx.scene.layout.CornerRadii;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+
+/**
+ * The {@link de.wolkenfarmer.experiment_elements.transcoder transcoder} "Turbo Code" which is selectable on the
+ * {@link de.wolkenfarmer.environment.pages.Transcoder transcoder page}.
+ * A turbo code sends every message bit together with two parity bits: one of a recursive systematic convolutional code
+ * over the message and one of the same code over the interleaved message. The {@link TurboDecoder decoder} lets
+ * two max-log-MAP decoders exchange what they found out about the message bits for up to {@link #iterations} iterations.
+ * @author Wolkenfarmer
+ * @see #doJob(byte, UniDataType) doJob() for further information
+ * @see <a href="https://en.wikipedia.org/wiki/Turbo_code">Wikipedia about turbo codes</a>
+ */
+public class TurboTranscoder extends ExperimentElement {
+	/** The seed of the random interleaver, so that the encoder and the decoder use the same one.*/
+	private static final long INTERLEAVER_SEED = 0x7A4B0;
+	/** Saves the number of message bits per block.
+	 * It gets set by {@link #tfBlockLength} in {@link #save()} and its default is 128.*/
+	private static int blockLength = 128;
+	/** Saves the maximum number of decoding iterations.
+	 * It gets set by {@link #tfIterations} in {@link #save()} and its default is 8.*/
+	private static int iterations = 8;
+	/** Saves whether the block (true) or the random (false) interleaver should be used between both codes.
+	 * It gets set by {@link #rbRandom} and {@link #rbBlock} in {@link #save()} and its default is false.*/
+	private static boolean boBlockInterleaver;
+
+	/** The interleavers of the block lengths used so far (the last block can be shorter).
+	 * Gets filled by {@link #getPermutation(int)} and reset in {@link #save()}.*/
+	private static final Map<Integer, int[]> permutations = new HashMap<Integer, int[]>();
+	/** The decoder of every thread, since its arrays get reused for every block.*/
+	private static final ThreadLocal<TurboDecoder> decoders = ThreadLocal.withInitial(TurboDecoder::new);
+
+	/** Label displaying the description for this experiment element. It gets directly attached to {@link #root}.*/
+	private static Label lDescription;
+	/** The text field for {@link #blockLength}. Every character which is not a digit will automatically be replaced by "".
+	 * It gets directly attached to {@link #root}.*/
+	private static TextField tfBlockLength;
+	/** The text field for {@link #iterations}. Every character which is not a digit will automatically be replaced by "".
+	 * It gets directly attached to {@link #root}.*/
+	private static TextField tfIterations;
+	/** The toggle group to toggle between the random ({@link #boBlockInterleaver} = false) and the block interleaver
+	 * ({@link #boBlockInterleaver} = true). Connects {@link #rbRandom} and {@link #rbBlock}.*/
+	private static ToggleGroup tgInterleaver;
+	/** The radio button of {@link #tgInterleaver} which represents the random interleaver. It's directly attached to {@link #root}.*/
+	private static RadioButton rbRandom;
+	/** The radio button of {@link #tgInterleaver} which represents the block interleaver. It's directly attached to {@link #root}.*/
+	private static RadioButton rbBlock;
+	/** Label displaying the different exceptions for wrong {@link #tfBlockLength} or {@link #tfIterations} input.
+	 * It gets updated to fit the current input in {@link #save()}. It gets directly attached to {@link #root}.*/
+	private static Label lException;
+
+
+	/**
+	 * Sets the {@link #name name} of the experiment element.
+	 */
+	public TurboTranscoder() {name = "Turbo Code";}
+
+
+	/**
+	 * Does the en- and decoding of the turbo code.<br>
+	 * The message gets divided into blocks of {@link #blockLength} bits (the last one can be shorter).<br><br>
+	 *
+	 * <dl>
+	 * <dt><span class="strong">Encoding</span></dt><dd>
+	 * Every message bit of a block gets sent followed by the parity bit of the first and the second encoder.
+	 * The second encoder gets the message bits in the order of the {@link #getPermutation(int) interleaver}.
+	 * Afterwards, the first encoder gets led back to the state 0 by three tail bits, which get sent with their parity bits.
+	 * Therefore, a block of k message bits has 3k + 6 code bits.</dd>
+	 *
+	 * <dt><span class="strong">Decoding</span></dt><dd>
+	 * The number of message bits follows from the length of the code. If the noise source attached
+	 * {@link UniDataType#getSoftBits() soft bits}, they get used as log-likelihood ratios of the code bits.
+	 * Otherwise (e.g. after {@link de.wolkenfarmer.experiment_elements.noise_sources.IndividualChanges individual changes}),
+	 * every bit becomes +1 (0) or -1 (1). This suffices, since the max-log-MAP decoder doesn't depend on the scale of its input.
+	 * The bits of {@link UniDataType#getErasures() erased} units (e.g. after
+	 * {@link de.wolkenfarmer.experiment_elements.noise_sources.PacketErasure packet erasure}) become 0, since nothing is known about them.
+	 * The units of a block get flagged in the {@link UniDataType#setErasures(PackedBinary) erasures} of the decoded message
+	 * if both decoders still disagree after the last iteration.
+	 * The code keeps the unit length of the message, so that the decoded message gets its units back
+	 * (e.g. inside a {@link TranscoderChain transcoder chain}).</dd>
+	 * </dl>
+	 * @param task Defines whether the input (data) should be encoded (task = 0), decoded (task = 1)
+	 * or decoded without setting the message-versions in {@link Run} (task = 2).
+	 * @param data The packed data which will be modified.
+	 * @return Returns the modified data.
+	 */
+	public UniDataType doJob(byte task, UniDataType data) {
+		PackedBinary in = data.getPackedBinary();
+
+		if (task == 0) {
+			int blocks = (in.getLength() + blockLength - 1) / blockLength;
+			PackedBinary code = new PackedBinary(3 * in.getLength() + 2 * TurboDecoder.TAIL * blocks, in.getUnitLength());
+			for (int i = 0, out = 0; i < in.getLength(); i += blockLength) {
+				int k = Math.min(blockLength, in.getLength() - i);
+				int[] permutation = getPermutation(k);
+				int state1 = 0;
+				int state2 = 0;
+				for (int b = 0; b < k; b++) {
+					int u = in.get(i + b) ? 1 : 0;
+					int v = in.get(i + permutation[b]) ? 1 : 0;
+					code.set(out++, u == 1);
+					code.set(out++, TurboDecoder.PARITY[state1][u] == 1);
+					code.set(out++, TurboDecoder.PARITY[state2][v] == 1);
+					state1 = TurboDecoder.NEXT[state1][u];
+					state2 = TurboDecoder.NEXT[state2][v];
+				}
+				for (int t = 0; t < TurboDecoder.TAIL; t++) {
+					int u = TurboDecoder.TERMINATION[state1];
+					code.set(out++, u == 1);
+					code.set(out++, TurboDecoder.PARITY[state1][u] == 1);
+					state1 = TurboDecoder.NEXT[state1][u];
+				}
+			}
+			data.setPackedBinary(code);
+			return data;
+		}
+
+		float[] soft = data.getSoftBits();
+		PackedBinary erasures = data.getErasures();
+		int blockBits = 3 * blockLength + 2 * TurboDecoder.TAIL;
+		int rest = in.getLength() % blockBits;
+		int bits = in.getLength() / blockBits * blockLength + (rest == 0 ? 0 : Math.max(0, (rest - 2 * TurboDecoder.TAIL) / 3));
+		int unitLength = in.getUnitLength() > 0 && in.getUnitLength() < Long.SIZE ? in.getUnitLength() : 8;
+		PackedBinary changed = new PackedBinary(bits, unitLength);
+		PackedBinary corrected = new PackedBinary(bits, unitLength);
+		PackedBinary flags = new PackedBinary((bits + unitLength - 1) / unitLength, 8);
+		TurboDecoder decoder = decoders.get();
+
+		for (int i = 0, out = 0; out < bits; out += blockLength) {
+			int k = Math.min(blockLength, bits - out);
+			decoder.ensureCapacity(k);
+			for (int b = 0; b < k; b++) {
+				changed.set(out + b, in.get(i));
+				decoder.systematic[b] = llr(in, soft, erasures, i++);
+				decoder.parity1[b] = llr(in, soft, erasures, i++);
+				decoder.parity2[b] = llr(in, soft, erasures, i++);
+			}
+			for (int t = 0; t < TurboDecoder.TAIL; t++) {
+				decoder.tailSystematic[t] = llr(in, soft, erasures, i++);
+				decoder.tailParity[t] = llr(in, soft, erasures, i++);
+			}
+			boolean converged = decoder.decode(getPermutation(k), k, iterations);
+			for (int b = 0; b < k; b++) {
+				corrected.set(out + b, decoder.decisions[b] == 1);
+			}
+			if (!converged) {
+				for (int unit = out / unitLength; unit <= (out + k - 1) / unitLength; unit++) {
+					flags.set(unit, true);
+				}
+			}
+		}
+		if (task == 1) {
+			UniDataType changedMessage = new UniDataType();
+			UniDataType correctedMessage = new UniDataType();
+			changedMessage.setPackedBinary(changed);
+			correctedMessage.setPackedBinary(corrected);
+			Run.changedMessage = changedMessage.getStringUnicode();
+			Run.correctedMessage = correctedMessage.getStringUnicode();
+			Run.correctedFlaggedMessage = Run.getFlaggedMessage(corrected, flags);
+		}
+		data.setPackedBinary(corrected);
+		data.setErasures(flags);
+		return data;
+	}
+
+
+	/**
+	 * @param code The received code.
+	 * @param soft The soft bits of the code or null if there are none.
+	 * @param erasures The erased units of the code or null if there are none.
+	 * @param i The index of the bit.
+	 * @return Returns the log-likelihood ratio of the bit: 0 if its unit got erased, otherwise the soft bit or +1 for 0 and -1 for 1.
+	 */
+	private static float llr(PackedBinary code, float[] soft, PackedBinary erasures, int i) {
+		if (erasures != null && erasures.get(i / code.getUnitLength())) return 0f;
+		if (soft != null) return soft[i];
+		return code.get(i) ? -1f : 1f;
+	}
+
+
+	/**
+	 * Builds the interleaver of the given length or takes it from {@link #permutations}. <br>
+	 * The random interleaver shuffles the indices (Fisher-Yates) with the {@link #INTERLEAVER_SEED}.
+	 * The block interleaver writes the indices row after row into a square matrix and reads them column after column.
+	 * @param k The number of message bits of the block.
+	 * @return Returns the interleaver: the i-th bit of the second code is the message bit permutation[i].
+	 */
+	private static synchronized int[] getPermutation(int k) {
+		int[] permutation = permutations.get(k);
+		if (permutation != null) return permutation;
+
+		permutation = new int[k];
+		if (boBlockInterleaver) {
+			int columns = (int) Math.ceil(Math.sqrt(k));
+			int i = 0;
+			for (int c = 0; c < columns; c++) {
+				for (int index = c; index < k; index += columns) {
+					permutation[i++] = index;
+				}
+			}
+		} else {
+			Random random = new Random(INTERLEAVER_SEED + k);
+			for (int i = 0; i < k; i++) {
+				int j = random.nextInt(i + 1);
+				permutation[i] = permutation[j];
+				permutation[j] = i;
+			}
+		}
+		permutations.put(k, permutation);
+		return permutation;
+	}
+
+
+	public void buildGui(double parentWidth) {
+		root = new Pane();
+		root.setPrefWidth(parentWidth);
+
+		lDescription = new Label();
+		lDescription.setText("This transcoder sends every message bit with two parity bits of two convolutional codes, "
+				+ "the second one working on the interleaved message. Two decoders help each other over several iterations.\n"
+				+ "Enter the message bits per block (between 8 and 4096 inclusively) and the maximum number of iterations "
+				+ "(between 1 and 32 inclusively) below and choose the interleaver.");
+		lDescription.setFont(Constants.F_NORMAL);
+		lDescription.setTextFill(Constants.C_NORMAL);
+		lDescription.setAlignment(Pos.TOP_LEFT);
+		lDescription.setWrapText(true);
+		lDescription.setPrefWidth(root.getPrefWidth());
+		lDescription.setPrefHeight(Main.calcHeightLabel(lDescription, parentWidth + 10));
+
+		tfBlockLength = buildNumberField("Block length");
+		tfBlockLength.setLayoutY(lDescription.getPrefHeight() + 30);
+		tfIterations = buildNumberField("Iterations");
+		tfIterations.setLayoutX(tfBlockLength.getPrefWidth() + 20);
+		tfIterations.setLayoutY(tfBlockLength.getLayoutY());
+
+		tgInterleaver = new ToggleGroup();
+			rbRandom = new RadioButton("Random interleaver");
+			rbRandom.setLayoutY(tfBlockLength.getLayoutY() + tfBlockLength.getPrefHeight() + 30);
+			rbRandom.setToggleGroup(tgInterleaver);
+			rbRandom.setFont(Constants.F_NORMAL);
+			rbRandom.setTextFill(Constants.C_NORMAL);
+			rbRandom.setPrefWidth(parentWidth);
+			rbRandom.setPrefHeight(Main.calcHeight(rbRandom));
+			rbRandom.setSelected(!boBlockInterleaver);
+
+			rbBlock = new RadioButton("Block interleaver");
+			rbBlock.setLayoutY(rbRandom.getLayoutY() + rbRandom.getPrefHeight() + 15);
+			rbBlock.setToggleGroup(tgInterleaver);
+			rbBlock.setFont(Constants.F_NORMAL);
+			rbBlock.setTextFill(Constants.C_NORMAL);
+			rbBlock.setPrefWidth(parentWidth);
+			rbBlock.setPrefHeight(Main.calcHeight(rbBlock));
+			rbBlock.setSelected(boBlockInterleaver);
+
+		lException = new Label();
+		lException.setFont(Constants.F_NORMAL_ITALIC);
+		lException.setTextFill(Constants.C_PINK);
+		lException.setPrefWidth(root.getPrefWidth());
+		lException.setLayoutY(rbBlock.getLayoutY() + rbBlock.getPrefHeight() + 20);
+		lException.setWrapText(true);
+		lException.setVisible(false);
+
+		builtGui = true;
+		root.getChildren().addAll(lDescription, tfBlockLength, tfIterations, rbRandom, rbBlock, lException);
+	}
+
+
+	/**
+	 * Builds a text field which only accepts digits.
+	 * @param prompt The prompt text of the text field.
+	 * @return Returns the text field.
+	 */
+	private static TextField buildNumberField(String prompt) {
+		TextField tf = new TextField();
+		tf.setFont(Constants.F_NORMAL);
+		tf.setPromptText(prompt);
+		tf.setStyle("-fx-text-inner-color: WHITESMOKE;");
+		tf.setBackground(new Background(new BackgroundFill(Color.grayRgb(90), new CornerRadii(5),  null)));
+		tf.setFocusTraversable(false);
+		tf.setPrefHeight(30);
+		tf.setPrefWidth(130);
+		tf.textProperty().addListener((observable, oldValue, newValue) -> {
+			if (!newValue.matches("\\d*")) {
+				tf.setText(newValue.replaceAll("[^\\d]", ""));
+			}
+		});
+		return tf;
+	}
+
+
+	/**
+	 * Saves the block length, the number of iterations and the interleaver and checks whether the given numbers are correct.
+	 * If not, {@link #lException} gets updated accordingly and 128 and 8 get set instead. The interleavers get rebuilt.
+	 */
+	@Override
+	public void save() {
+		if (tfBlockLength.getText().equals("") || tfIterations.getText().equals("")
+				|| Integer.parseInt(tfBlockLength.getText()) < 8 || Integer.parseInt(tfBlockLength.getText()) > 4096
+				|| Integer.parseInt(tfIterations.getText()) < 1 || Integer.parseInt(tfIterations.getText()) > 32) {
+			blockLength = 128;
+			iterations = 8;
+			lException.setText("Exception: The block length has to be between 8 and 4096 "
+					+ "and the iterations between 1 and 32 (inclusively).\n"
+					+ "128 and 8 got set instead.");
+			lException.setVisible(true);
+		} else {
+			blockLength = Integer.parseInt(tfBlockLength.getText());
+			iterations = Integer.parseInt(tfIterations.getText());
+			lException.setVisible(false);
+		}
+		synchronized (TurboTranscoder.class) {
+			boBlockInterleaver = rbBlock.isSelected();
+			permutations.clear();
+		}
+		System.out.println(name + " saved!");
+	}
+
+
+	/**
+	 * @return Returns {@link #name} or if it's not for the option button, the name with the block length and the iterations.
+	 */
+	@Override
+	public String getName(boolean optionButton) {
+		if (optionButton) return name;
+		else return name + " (" + blockLength + " bits, " + iterations + " iterations)";
+	}
+
+
+	/**
+	 * @param task Not used, since every task works on packed binaries.
+	 * @return Returns {@link UniDataType.Format#PACKED}.
+	 */
+	@Override
+	public UniDataType.Format[] getInputFormats(byte task) {
+		return new UniDataType.Format[] {UniDataType.Format.PACKED};
+	}
+
+	/**
+	 * @param task Not used, since every task works on packed binaries.
+	 * @return Returns {@link UniDataType.Format#PACKED}.
+	 */
+	@Override
+	public UniDataType.Format getOutputFormat(byte task) {
+		return UniDataType.Format.PACKED;
+	}
+
+
+	/**
+	 * @return Returns {@link #blockLength}, {@link #iterations} and the type of the interleaver.
+	 */
+	@Override
+	public String getConfiguration() {
+		return "blockLength=" + blockLength + ",iterations=" + iterations + ",blockInterleaver=" + boBlockInterleaver;
+	}
+}
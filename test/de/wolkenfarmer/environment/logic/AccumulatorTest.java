@@ -0,0 +1,110 @@
+package de.wolkenfarmer.environment.logic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the streaming statistics of the {@link Accumulator accumulator} with the exact statistics of the same values.
+ * @author Wolkenfarmer
+ */
+class AccumulatorTest {
+	/**
+	 * Mean, variance, min and max have to match the two-pass calculation
+	 * and every quantile has to be within the relative error of the histogram.
+	 */
+	@Test
+	void matchesExactStatistics() {
+		Random random = new Random(3);
+		double[] values = new double[10000];
+		Accumulator acc = new Accumulator();
+		for (int i = 0; i < values.length; i++) {
+			values[i] = random.nextGaussian() * 50 + (i % 3 == 0 ? 0 : 200);
+			acc.add(values[i]);
+		}
+		assertExact(values, acc);
+	}
+
+
+	/**
+	 * Small integers (e.g. changed characters per trial) have to give exact quantiles.
+	 */
+	@Test
+	void smallIntegersAreExact() {
+		Accumulator acc = new Accumulator();
+		double[] values = new double[1000];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = i % (2 * Accumulator.SUB_BUCKETS);
+			acc.add(values[i]);
+		}
+		Arrays.sort(values);
+		for (double q : new double[] {0.01, 0.1, 0.5, 0.9, 0.99, 1}) {
+			assertEquals(values[(int) Math.ceil(q * values.length) - 1], acc.getQuantile(q), 0, "q = " + q);
+		}
+	}
+
+
+	/**
+	 * Merging two accumulators has to give the same statistics as adding all values to one.
+	 */
+	@Test
+	void mergeEqualsSingle() {
+		Random random = new Random(4);
+		double[] values = new double[5000];
+		Accumulator a = new Accumulator();
+		Accumulator b = new Accumulator();
+		for (int i = 0; i < values.length; i++) {
+			values[i] = random.nextDouble() * 1000 - 100;
+			if (i < 1234) a.add(values[i]);
+			else b.add(values[i]);
+		}
+		a.merge(b);
+		assertExact(values, a);
+		a.merge(new Accumulator());
+		assertExact(values, a);
+	}
+
+
+	/**
+	 * Without values, the statistics are NaN or 0 again after a reset.
+	 */
+	@Test
+	void empty() {
+		Accumulator acc = new Accumulator();
+		acc.add(5);
+		acc.reset();
+		assertEquals(0, acc.getCount());
+		assertTrue(Double.isNaN(acc.getMean()));
+		assertTrue(Double.isNaN(acc.getQuantile(0.5)));
+		assertEquals(0, acc.getConfidence95(), 0);
+	}
+
+
+	/**
+	 * Compares the accumulator with the exact statistics of the values.
+	 * @param values The added values.
+	 * @param acc The accumulator.
+	 */
+	private static void assertExact(double[] values, Accumulator acc) {
+		double mean = Arrays.stream(values).average().getAsDouble();
+		double m2 = 0;
+		for (double v : values) m2 += (v - mean) * (v - mean);
+		double[] sorted = values.clone();
+		Arrays.sort(sorted);
+
+		assertEquals(values.length, acc.getCount());
+		assertEquals(mean, acc.getMean(), 1e-9 * Math.abs(mean) + 1e-9);
+		assertEquals(m2 / (values.length - 1), acc.getVariance(), 1e-9 * m2 / values.length);
+		assertEquals(sorted[0], acc.getMin(), 0);
+		assertEquals(sorted[sorted.length - 1], acc.getMax(), 0);
+		for (double q : new double[] {0.01, 0.25, 0.5, 0.75, 0.99}) {
+			double exact = sorted[(int) Math.ceil(q * sorted.length) - 1];
+			double tolerance = Math.abs(exact) / Accumulator.SUB_BUCKETS + Math.scalb(1.0, Accumulator.MIN_EXPONENT);
+			assertEquals(exact, acc.getQuantile(q), tolerance, "q = " + q);
+		}
+	}
+}
@@ -0,0 +1,113 @@
+package de.wolkenfarmer.environment.logic;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the {@link BitOps bit operations} with straightforward loops, with the scalar versions 
+ * and (if the Vector API is available) with the vectorized versions. 
+ * The buffers have 0 to 100 words, so that the vectorized versions also have to handle the words after the last full vector.
+ * @author Wolkenfarmer
+ */
+class BitOpsTest {
+
+	/**
+	 * Uses the vectorized versions again if they are available.
+	 */
+	@AfterEach
+	void reset() {
+		BitOps.vectorized = true;
+	}
+
+
+	/**
+	 * xor has to give a XOR b, also if it writes into a.
+	 */
+	@Test
+	void xor() {
+		Random random = new Random(1);
+		for (boolean vectorized : new boolean[] {false, true}) {
+			BitOps.vectorized = vectorized;
+			for (int words = 0; words <= 100; words++) {
+				long[] a = randomWords(random, words);
+				long[] b = randomWords(random, words);
+				long[] expected = new long[words];
+				for (int i = 0; i < words; i++) {
+					expected[i] = a[i] ^ b[i];
+				}
+				long[] out = new long[words];
+				BitOps.xor(a, b, out, words);
+				assertArrayEquals(expected, out, "words = " + words);
+				BitOps.xor(a, b, a, words);
+				assertArrayEquals(expected, a, "words = " + words);
+			}
+		}
+	}
+
+
+	/**
+	 * countDifferences has to count the bits in which a and b differ.
+	 */
+	@Test
+	void countDifferences() {
+		Random random = new Random(2);
+		for (boolean vectorized : new boolean[] {false, true}) {
+			BitOps.vectorized = vectorized;
+			for (int words = 0; words <= 100; words++) {
+				long[] a = randomWords(random, words);
+				long[] b = randomWords(random, words);
+				int expected = 0;
+				for (int i = 0; i < words; i++) {
+					expected += Long.bitCount(a[i] ^ b[i]);
+				}
+				assertEquals(expected, BitOps.countDifferences(a, b, words), "words = " + words);
+			}
+		}
+	}
+
+
+	/**
+	 * majority has to set every bit which is set in at least two of a, b and c.
+	 */
+	@Test
+	void majority() {
+		Random random = new Random(3);
+		for (boolean vectorized : new boolean[] {false, true}) {
+			BitOps.vectorized = vectorized;
+			for (int words = 0; words <= 100; words++) {
+				long[] a = randomWords(random, words);
+				long[] b = randomWords(random, words);
+				long[] c = randomWords(random, words);
+				long[] expected = new long[words];
+				for (int i = 0; i < words; i++) {
+					for (int k = 0; k < Long.SIZE; k++) {
+						long votes = (a[i] >>> k & 1) + (b[i] >>> k & 1) + (c[i] >>> k & 1);
+						if (votes >= 2) expected[i] |= 1L << k;
+					}
+				}
+				long[] out = new long[words];
+				BitOps.majority(a, b, c, out, words);
+				assertArrayEquals(expected, out, "words = " + words);
+			}
+		}
+	}
+
+
+	/**
+	 * @param random The random generator.
+	 * @param words The number of words.
+	 * @return Returns the given number of random words.
+	 */
+	private static long[] randomWords(Random random, int words) {
+		long[] a = new long[words];
+		for (int i = 0; i < words; i++) {
+			a[i] = random.nextLong();
+		}
+		return a;
+	}
+}
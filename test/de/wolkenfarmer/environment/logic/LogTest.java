@@ -0,0 +1,65 @@
+package de.wolkenfarmer.environment.logic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the levels of the {@link Log log} and its ring buffer of the last trials.
+ * @author Wolkenfarmer
+ */
+class LogTest {
+
+	/**
+	 * Sets the default level and sampling again and starts a new run.
+	 */
+	@AfterEach
+	void reset() {
+		Log.level = Log.INFO;
+		Log.trialSampling = 100;
+		Log.startRun();
+	}
+
+
+	/**
+	 * Only the levels up to {@link Log#level} are enabled.
+	 */
+	@Test
+	void levels() {
+		Log.level = Log.WARN;
+		assertTrue(Log.isEnabled(Log.ERROR));
+		assertTrue(Log.isEnabled(Log.WARN));
+		assertFalse(Log.isEnabled(Log.INFO));
+		assertFalse(Log.isEnabled(Log.DEBUG));
+		Log.level = Log.DEBUG;
+		assertTrue(Log.isEnabled(Log.DEBUG));
+	}
+
+
+	/**
+	 * The ring buffer has to hold the message-versions of the last {@link Log#TRACE_CAPACITY} trials of the run,
+	 * while the older ones get overwritten.
+	 */
+	@Test
+	void ringBufferKeepsLastTrials() {
+		Log.trialSampling = 0;
+		Log.startRun();
+		int number = Log.TRACE_CAPACITY * 2 + 5;
+		for (int t = 0; t < number; t++) {
+			Log.trial("m" + t, "c" + t, "cc" + t, "cm" + t, "k" + t, "kf" + t);
+		}
+		assertEquals(number, Log.trials);
+		for (int t = number - Log.TRACE_CAPACITY; t < number; t++) {
+			String[] trace = Log.traces[t % Log.TRACE_CAPACITY];
+			assertEquals("m" + t, trace[0]);
+			assertEquals("c" + t, trace[1]);
+			assertEquals("cc" + t, trace[2]);
+			assertEquals("cm" + t, trace[3]);
+			assertEquals("k" + t, trace[4]);
+			assertEquals("kf" + t, trace[5]);
+		}
+	}
+}
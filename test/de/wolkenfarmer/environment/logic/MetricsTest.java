@@ -0,0 +1,85 @@
+package de.wolkenfarmer.environment.logic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.wolkenfarmer.experiment_elements.input_handlers.RandomMessage;
+import de.wolkenfarmer.experiment_elements.noise_sources.IndividualChanges;
+import de.wolkenfarmer.experiment_elements.transcoder.RepetitionCode;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs the trials of the communication experiment and checks the {@link Metrics metrics} of the run.
+ * @author Wolkenfarmer
+ */
+class MetricsTest {
+
+	/**
+	 * Resets the number of trials, the pipelining, the noise and the results.
+	 */
+	@AfterEach
+	void reset() {
+		Run.repeat = 1000;
+		new IndividualChanges().setBitErrorProbability(0.025);
+		Run.pipelined = true;
+		Result.reset();
+		Metrics.startRun();
+	}
+
+
+	/**
+	 * Every evaluated trial has to be counted once with its channel bits (12 characters of the random message
+	 * repeated 3 times) and every stage has to be timed once per trial, also in a pipelined run. 
+	 * With noise, no trial may be discarded and repeated either.
+	 */
+	@Test
+	void countsEveryTrial() {
+		Run.repeat = 100;
+		for (boolean pipelined : new boolean[] {false, true}) {
+			Run.pipelined = pipelined;
+			Metrics.startRun();
+			Run.runTrials(new RandomMessage(), new RepetitionCode(), new IndividualChanges());
+			Metrics.finishRun();
+
+			assertEquals(100, Metrics.TRIALS.sum(), "pipelined = " + pipelined);
+			assertEquals(100 * 12 * 8 * 3, Metrics.CHANNEL_BITS.sum(), "pipelined = " + pipelined);
+			assertTrue(Metrics.CONVERSIONS.sum() > 0, "pipelined = " + pipelined);
+			for (String stage : new String[] {"noise", "decode", "evaluation"}) {
+				assertTrue(Metrics.timer(stage).toString().startsWith("100 x "), stage + ": " + Metrics.timer(stage));
+			}
+			assertSnapshotRow("Trials", "100 (1.0 per trial)");
+			Result.reset();
+		}
+	}
+
+
+	/**
+	 * The next run has to start with empty counters and timers.
+	 */
+	@Test
+	void startRunResets() {
+		Metrics.TRIALS.add(5);
+		Metrics.timer("decode").record(1000);
+		Metrics.startRun();
+		assertEquals(0, Metrics.TRIALS.sum());
+		assertEquals("-", Metrics.timer("decode").toString());
+	}
+
+
+	/**
+	 * Checks that the {@link Metrics#snapshot() snapshot} has a row with the given description and value.
+	 * @param description The description of the row.
+	 * @param value The expected value.
+	 */
+	private static void assertSnapshotRow(String description, String value) {
+		for (String[] row : Metrics.snapshot()) {
+			if (row[0].equals(description)) {
+				assertEquals(value, row[1]);
+				return;
+			}
+		}
+		throw new AssertionError("no row " + description);
+	}
+}
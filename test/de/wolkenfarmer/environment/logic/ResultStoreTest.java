@@ -0,0 +1,152 @@
+package de.wolkenfarmer.environment.logic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that the {@link ResultStore} saves the configuration of a result, only merges results of the same configuration
+ * and rejects files of another format.
+ * @author Wolkenfarmer
+ */
+class ResultStoreTest {
+	/** The directory of the result files before the test.*/
+	private Path previousDirectory;
+
+
+	/**
+	 * Lets the {@link ResultStore} save into a temporary directory.
+	 * @throws IOException If the directory couldn't be created.
+	 */
+	@BeforeEach
+	void useTemporaryDirectory() throws IOException {
+		previousDirectory = ResultStore.directory;
+		ResultStore.directory = Files.createTempDirectory("results");
+	}
+
+
+	/**
+	 * Deletes the temporary directory.
+	 * @throws IOException If the directory couldn't be deleted.
+	 */
+	@AfterEach
+	void deleteTemporaryDirectory() throws IOException {
+		try (Stream<Path> files = Files.walk(ResultStore.directory)) {
+			files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+		}
+		ResultStore.directory = previousDirectory;
+	}
+
+
+	/**
+	 * Results with the same experiment elements but another configuration or noise probability mustn't be merged.
+	 */
+	@Test
+	void mergeGuard() {
+		ResultStore.Record record = record("repetitions=3", 0.01);
+		assertTrue(record.hasSameConfiguration(record("repetitions=3", 0.01)));
+		assertFalse(record.hasSameConfiguration(record("repetitions=5", 0.01)), "other transcoder configuration");
+		assertFalse(record.hasSameConfiguration(record("repetitions=3", 0.1)), "other noise probability");
+	}
+
+
+	/**
+	 * The configuration has to survive saving and reading the record, so that the merge guard works for saved results.
+	 * @throws IOException If the result files couldn't be written or read.
+	 */
+	@Test
+	void configurationGetsSaved() throws IOException {
+		ResultStore.Record record = record("repetitions=3", 0.01);
+		record.metrics[Result.FRAME_ERRORS].add(1);
+		ResultStore.append(record);
+		ResultStore.append(record("repetitions=5", 0.01));
+
+		ResultStore.Entry[] entries = ResultStore.readEntries(0, ResultStore.getCount());
+		assertEquals(2, entries.length);
+		ResultStore.Record stored = ResultStore.readRecord(entries[0]);
+		assertEquals("repetitions=3", stored.transcoderConfiguration);
+		assertEquals(0.01, stored.noiseProbability, 0);
+		assertEquals(1, stored.metrics[Result.FRAME_ERRORS].getCount());
+		assertTrue(record.hasSameConfiguration(stored));
+		assertFalse(record.hasSameConfiguration(ResultStore.readRecord(entries[1])));
+	}
+
+
+	/**
+	 * A data file of another version or with other metrics mustn't be appended to, since its records couldn't be read anymore.
+	 * @throws IOException If the data file couldn't be written.
+	 */
+	@Test
+	void otherFormatGetsRejected() throws IOException {
+		writeHeader((short) (ResultStore.VERSION + 1), Result.METRIC_NAMES);
+		assertRejected("other version");
+
+		String[] names = Result.METRIC_NAMES.clone();
+		names[0] = "Unknown metric";
+		writeHeader(ResultStore.VERSION, names);
+		assertRejected("other metrics");
+	}
+
+
+	/**
+	 * Overwrites the data file with only a header.
+	 * @param version The version of the file.
+	 * @param names The names of the metrics.
+	 * @throws IOException If the data file couldn't be written.
+	 */
+	private static void writeHeader(short version, String[] names) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(ResultStore.MAGIC);
+		out.writeShort(version);
+		out.writeShort(names.length);
+		for (String name : names) {
+			out.writeUTF(name);
+		}
+		out.flush();
+		Files.write(ResultStore.directory.resolve(ResultStore.DATA_FILE), bytes.toByteArray());
+	}
+
+
+	/**
+	 * Checks that a record can't be appended to the current data file.
+	 * @param reason The reason for the assertion message.
+	 */
+	private static void assertRejected(String reason) {
+		try {
+			ResultStore.append(record("repetitions=3", 0.01));
+			fail(reason + " got appended to");
+		} catch (IOException e) {
+			assertEquals(0, ResultStore.getCount(), reason);
+		}
+	}
+
+
+	/**
+	 * @param transcoderConfiguration The configuration of the transcoder.
+	 * @param noiseProbability The probability of the noise source.
+	 * @return Returns a record with empty metrics.
+	 */
+	private static ResultStore.Record record(String transcoderConfiguration, double noiseProbability) {
+		Accumulator[] metrics = new Accumulator[Result.METRIC_NAMES.length];
+		for (int i = 0; i < metrics.length; i++) {
+			metrics[i] = new Accumulator();
+		}
+		return new ResultStore.Record(0, "User input", "length=12,hash=0", "Repetition code", transcoderConfiguration, 
+				"Individual changes", "", noiseProbability, 1, metrics);
+	}
+}
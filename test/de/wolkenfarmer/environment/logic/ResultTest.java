@@ -0,0 +1,134 @@
+package de.wolkenfarmer.environment.logic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Counts the bit-level metrics of hand-made trials with {@link Result#addResult(String, String, String, String, String, String)}.
+ * @author Wolkenfarmer
+ */
+class ResultTest {
+	/** The original message of the trials.*/
+	private static final String MESSAGE = "Hello World";
+
+
+	/**
+	 * Removes the flagged units and resets the metrics for the next test.
+	 */
+	@AfterEach
+	void reset() {
+		Run.flaggedUnits = null;
+		Result.reset();
+	}
+
+
+	/**
+	 * The changed bits of the code and the wrong bits of the corrected message have to be counted,
+	 * and the trial is an undetected frame error since nothing got flagged.
+	 */
+	@Test
+	void countsBitErrors() {
+		String code = binary(MESSAGE);
+		String changed = flip(code, 3, 20, 41);
+		// 'W' (1010111) -> 'V' (1010110) and 'd' (1100100) -> 'g' (1100111): 3 wrong bits
+		Result.addResult(MESSAGE, code, changed, "Hello Vorld", "Hello Vorlg", "Hello Vorlg");
+
+		assertEquals(MESSAGE.length() * 8, Result.codeBits.getMean(), 0);
+		assertEquals(3, Result.codeBitErrors.getMean(), 0);
+		assertEquals(MESSAGE.length() * 8, Result.messageBits.getMean(), 0);
+		assertEquals(3, Result.messageBitErrors.getMean(), 0);
+		assertEquals(1, Result.frameErrors.getMean(), 0);
+		assertEquals(1, Result.undetectedFrameErrors.getMean(), 0);
+	}
+
+
+	/**
+	 * A frame error with a flagged character got detected, and a trial without wrong bits is no frame error at all.
+	 */
+	@Test
+	void flaggedAndCorrectFrames() {
+		String code = binary(MESSAGE);
+		Result.addResult(MESSAGE, code, flip(code, 50), "Hello Wosld", "Hello Wosld", "Hello Wo_ld");
+		Result.addResult(MESSAGE, code, flip(code, 50), "Hello Wosld", MESSAGE, MESSAGE);
+
+		assertEquals(2, Result.frameErrors.getCount());
+		assertEquals(0.5, Result.frameErrors.getMean(), 0);
+		assertEquals(0, Result.undetectedFrameErrors.getMean(), 0);
+		assertEquals(0.5, Result.messageBitErrors.getMean(), 0);
+		assertEquals(1, Result.codeBitErrors.getMean(), 0);
+	}
+
+
+	/**
+	 * A changed message which can't be aligned to the original one only leaves out the character-level metrics.
+	 * The bit-level metrics still count the trial, so that the trials with the most errors don't get lost.
+	 */
+	@Test
+	void unalignableTrialStillCounts() {
+		String code = binary(MESSAGE);
+		Result.addResult(MESSAGE, code, flip(code, 30), "Hel", "Hel", "Hel");
+
+		assertEquals(0, Result.changedChars.getCount());
+		assertEquals(1, Result.codeBitErrors.getCount());
+		assertEquals(1, Result.codeBitErrors.getMean(), 0);
+		assertEquals(1, Result.messageBitErrors.getCount());
+		assertEquals(1, Result.frameErrors.getMean(), 0);
+		assertEquals(1, Result.undetectedFrameErrors.getMean(), 0);
+	}
+
+
+	/**
+	 * The flagged bytes of the {@link Run#flaggedUnits bitmap} have to be counted per character like the changed characters: 
+	 * the flagged 'ä' (2 bytes) didn't change and counts once as mistakenly flagged, the flagged and changed '€' (3 bytes) once.
+	 */
+	@Test
+	void flaggedBytesCountPerCharacter() {
+		String message = "aä€";
+		String code = binary(message);
+		Run.flaggedUnits = new PackedBinary(6, 8);
+		for (int unit : new int[] {1, 2, 3, 4, 5}) {
+			Run.flaggedUnits.set(unit, true);
+		}
+		// '€' (E2 82 AC) -> '₤' (E2 82 A4)
+		Result.addResult(message, code, flip(code, 44), "aä₤", "aä₤", "a__");
+
+		assertEquals(2, Result.flaggedChars.getMean(), 0);
+		assertEquals(1, Result.mistakenlyFlaggedChars.getMean(), 0);
+		assertEquals(1, Result.changedChars.getMean(), 0);
+		assertEquals(0, Result.undetectedFrameErrors.getMean(), 0);
+	}
+
+
+	/**
+	 * @param message The message.
+	 * @return Returns the message in binary as the noise sources save it in {@link Run#originalCode} (with separators).
+	 */
+	private static String binary(String message) {
+		UniDataType data = new UniDataType();
+		data.setStringUnicode(message);
+		return data.getStringBinary();
+	}
+
+
+	/**
+	 * @param code The binary code.
+	 * @param bits The indices of the bits (not counting separators) which get flipped.
+	 * @return Returns the code with the given bits flipped.
+	 */
+	private static String flip(String code, int... bits) {
+		char[] c = code.toCharArray();
+		for (int bit : bits) {
+			int seen = -1;
+			for (int i = 0; i < c.length; i++) {
+				if (c[i] != '0' && c[i] != '1') continue;
+				if (++seen == bit) {
+					c[i] = c[i] == '0' ? '1' : '0';
+					break;
+				}
+			}
+		}
+		return new String(c);
+	}
+}
@@ -0,0 +1,254 @@
+package de.wolkenfarmer.environment.logic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.wolkenfarmer.experiment_elements.ExperimentElement;
+import de.wolkenfarmer.experiment_elements.input_handlers.DeselectInputHandler;
+import de.wolkenfarmer.experiment_elements.input_handlers.RandomMessage;
+import de.wolkenfarmer.experiment_elements.input_handlers.UserInput;
+import de.wolkenfarmer.experiment_elements.noise_sources.IndividualChanges;
+import de.wolkenfarmer.experiment_elements.transcoder.ParityCheck;
+import de.wolkenfarmer.experiment_elements.transcoder.RepetitionCode;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs the trials of the communication experiment with a fixed {@link Run#seed seed}
+ * and exports them with the {@link TrialSink trial sink}.
+ * @author Wolkenfarmer
+ */
+class RunTest {
+	/** The file the trials get exported to. Gets deleted after every test.*/
+	private Path file;
+
+
+	/**
+	 * Resets the seed, the pipelining, the noise and the trial sink and deletes the exported file.
+	 * @throws IOException If the file couldn't be deleted.
+	 */
+	@AfterEach
+	void reset() throws IOException {
+		Run.seed = 0;
+		Run.pipelined = true;
+		Run.encodeCache = true;
+		Run.batched = false;
+		Run.repeat = 1000;
+		new IndividualChanges().setBitErrorProbability(0.025);
+		TrialSink.enabled = false;
+		TrialSink.path = java.nio.file.Paths.get("results", "trials.csv");
+		Result.reset();
+		if (file != null) Files.deleteIfExists(file);
+	}
+
+
+	/**
+	 * With the same seed, the pipelined run has to give exactly the same trials (message, seed and errors) 
+	 * and results as the sequential one, although the messages get generated and encoded on another thread.
+	 * @throws IOException If the trials couldn't be exported.
+	 */
+	@Test
+	void pipelinedEqualsSequential() throws IOException {
+		file = Files.createTempFile("trials", ".csv");
+		TrialSink.enabled = true;
+		TrialSink.path = file;
+		Run.seed = 12345;
+		Run.repeat = 300;
+
+		List<String> sequential = run(new RandomMessage(), false);
+		double[] sequentialResult = {Result.codeBitErrors.getMean(), Result.messageBitErrors.getMean(), Result.frameErrors.getMean()};
+		Result.reset();
+		List<String> pipelined = run(new RandomMessage(), true);
+		double[] pipelinedResult = {Result.codeBitErrors.getMean(), Result.messageBitErrors.getMean(), Result.frameErrors.getMean()};
+
+		assertEquals(Run.repeat + 1, sequential.size());
+		assertEquals(String.join("\n", sequential), String.join("\n", pipelined));
+		for (int i = 0; i < sequentialResult.length; i++) {
+			assertEquals(sequentialResult[i], pipelinedResult[i], 0);
+		}
+		assertTrue(sequentialResult[0] > 0, "the noise source has to change bits");
+	}
+
+
+	/**
+	 * With a constant input, the cached code has to give exactly the same trials as encoding the message in every trial, 
+	 * sequentially and pipelined. The cached run may encode the message once at most.
+	 * @throws IOException If the trials couldn't be exported.
+	 */
+	@Test
+	void cacheEqualsEncoding() throws IOException {
+		file = Files.createTempFile("trials", ".csv");
+		TrialSink.enabled = true;
+		TrialSink.path = file;
+		Run.seed = 12345;
+		Run.repeat = 300;
+
+		for (boolean pipelined : new boolean[] {false, true}) {
+			Run.encodeCache = false;
+			List<String> encoded = run(new DeselectInputHandler(), pipelined);
+			Result.reset();
+			Run.encodeCache = true;
+			Metrics.startRun();
+			List<String> cached = run(new DeselectInputHandler(), pipelined);
+			Result.reset();
+
+			assertEquals(Run.repeat + 1, encoded.size());
+			assertEquals(String.join("\n", encoded), String.join("\n", cached), "pipelined = " + pipelined);
+			String encodings = Metrics.timer("encode").toString();
+			assertTrue(encodings.equals("-") || encodings.startsWith("1 x "), encodings);
+		}
+	}
+
+
+	/**
+	 * Every trial of the bit-sliced batches has to have exactly the same code and message bit errors
+	 * as the trial with the same seed when running them one after another, also in the last batch, which isn't full. 
+	 * Both runs have to have the same seeds, since no trial gets discarded.
+	 * @throws IOException If the trials couldn't be exported.
+	 */
+	@Test
+	void batchedEqualsSequential() throws IOException {
+		file = Files.createTempFile("trials", ".csv");
+		TrialSink.enabled = true;
+		TrialSink.path = file;
+		Run.seed = 4711;
+		Run.repeat = 300;
+
+		for (boolean parityCheck : new boolean[] {false, true}) {
+			ExperimentElement transcoder = parityCheck ? new ParityCheck() : new RepetitionCode();
+			Run.batched = false;
+			Map<String, String> sequential = bitErrors(run(new DeselectInputHandler(), transcoder, false));
+			Result.reset();
+			Run.batched = true;
+			Map<String, String> batched = bitErrors(run(new DeselectInputHandler(), transcoder, false));
+			Result.reset();
+
+			assertEquals(Run.repeat, batched.size(), "parityCheck = " + parityCheck);
+			assertEquals(batched.keySet(), sequential.keySet(), "parityCheck = " + parityCheck);
+			int withErrors = 0;
+			for (Map.Entry<String, String> trial : sequential.entrySet()) {
+				assertEquals(trial.getValue(), batched.get(trial.getKey()), "parityCheck = " + parityCheck + ", seed " + trial.getKey());
+				if (!trial.getValue().startsWith("0,")) withErrors++;
+			}
+			assertTrue(withErrors > 0, "the noise source has to change bits");
+		}
+	}
+
+
+	/**
+	 * While recording, every stage of every trial has to emit a {@link StageEvent} with the length of the message of its own trial,
+	 * also when the messages get generated on the encoder thread. The encoder thread of a pipelined run can run ahead, 
+	 * so that it might input and encode more trials than get evaluated. 
+	 * With noise, no trial may be discarded and repeated either.
+	 * @throws IOException If the recording couldn't be written or read.
+	 */
+	@Test
+	void recordsStageEvents() throws IOException {
+		file = Files.createTempFile("stages", ".jfr");
+		Run.repeat = 50;
+		for (boolean pipelined : new boolean[] {false, true}) {
+			Run.pipelined = pipelined;
+			List<RecordedEvent> events;
+			try (Recording recording = new Recording()) {
+				recording.enable("de.wolkenfarmer.Stage").withoutThreshold();
+				recording.start();
+				Run.runTrials(new RandomMessage(), new RepetitionCode(), new IndividualChanges());
+				recording.stop();
+				recording.dump(file);
+			}
+			events = RecordingFile.readAllEvents(file);
+			events.removeIf(e -> !e.getEventType().getName().equals("de.wolkenfarmer.Stage"));
+			
+			for (String stage : new String[] {"input", "encode", "noise", "decode"}) {
+				long count = events.stream().filter(e -> stage.equals(e.getString("stage"))).count();
+				if (pipelined && (stage.equals("input") || stage.equals("encode"))) {
+					assertTrue(count >= Run.repeat, "stage = " + stage + ": " + count);
+				} else {
+					assertEquals(Run.repeat, count, "pipelined = " + pipelined + ", stage = " + stage);
+				}
+			}
+			for (RecordedEvent e : events) {
+				assertEquals(12, e.getInt("messageLength"), "pipelined = " + pipelined);
+			}
+			Result.reset();
+		}
+	}
+
+
+	/**
+	 * Every stage has to get the accepted format which needs the fewest conversions from the format the data comes in.
+	 * The repetition code works on String[](binary), from which PackedBinary needs one step and char[](binary) two.
+	 */
+	@Test
+	void negotiatesFewestConversions() {
+		UniDataType.Format[] expected = {UniDataType.Format.BINARY_STRING_ARRAY, UniDataType.Format.PACKED, 
+				UniDataType.Format.BINARY_STRING_ARRAY};
+		Run.negotiate(new RandomMessage(), new RepetitionCode(), new IndividualChanges());
+		assertEquals(java.util.Arrays.toString(expected), java.util.Arrays.toString(Run.plan));
+		Run.negotiate(new UserInput(), new RepetitionCode(), new IndividualChanges());
+		assertEquals(java.util.Arrays.toString(expected), java.util.Arrays.toString(Run.plan));
+	}
+
+
+	/**
+	 * @param lines The exported trials with their header.
+	 * @return Returns the code bit errors and the message bit errors of the trials by their seed.
+	 */
+	private static Map<String, String> bitErrors(List<String> lines) {
+		Map<String, String> errors = new HashMap<String, String>();
+		for (String line : lines.subList(1, lines.size())) {
+			String[] columns = line.split(",");
+			errors.put(columns[1], columns[2] + "," + columns[3]);
+		}
+		return errors;
+	}
+
+
+	/**
+	 * Runs the trials with a repetition code and 5% noise and reads the exported trials.
+	 * @param inputHandler The input handler.
+	 * @param pipelined Defines whether the run is pipelined.
+	 * @return Returns the header and the exported trials without their decoding time.
+	 * @throws IOException If the exported trials couldn't be read.
+	 */
+	private List<String> run(ExperimentElement inputHandler, boolean pipelined) throws IOException {
+		return run(inputHandler, new RepetitionCode(), pipelined);
+	}
+
+
+	/**
+	 * Runs the trials with 5% noise and reads the exported trials.
+	 * @param inputHandler The input handler.
+	 * @param transcoder The transcoder.
+	 * @param pipelined Defines whether the run is pipelined.
+	 * @return Returns the header and the exported trials without their decoding time.
+	 * @throws IOException If the exported trials couldn't be read.
+	 */
+	private List<String> run(ExperimentElement inputHandler, ExperimentElement transcoder, boolean pipelined) throws IOException {
+		Run.pipelined = pipelined;
+		ExperimentElement noiseSource = new IndividualChanges();
+		noiseSource.setBitErrorProbability(0.05);
+		TrialSink.open();
+		try {
+			Run.runTrials(inputHandler, transcoder, noiseSource);
+		} finally {
+			TrialSink.close();
+		}
+		List<String> lines = Files.readAllLines(file, StandardCharsets.US_ASCII);
+		lines.replaceAll(line -> line.substring(0, line.lastIndexOf(',')));
+		return lines;
+	}
+}
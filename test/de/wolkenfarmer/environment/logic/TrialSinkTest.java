@@ -0,0 +1,84 @@
+package de.wolkenfarmer.environment.logic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Exports records with the {@link TrialSink trial sink} as CSV and as JSON lines.
+ * @author Wolkenfarmer
+ */
+class TrialSinkTest {
+	/** The file the trials get exported to. Gets deleted after every test.*/
+	private Path file;
+
+
+	/**
+	 * Resets the trial sink and deletes the exported file.
+	 * @throws IOException If the file couldn't be deleted.
+	 */
+	@AfterEach
+	void reset() throws IOException {
+		TrialSink.close();
+		TrialSink.enabled = false;
+		TrialSink.json = false;
+		TrialSink.path = Paths.get("results", "trials.csv");
+		if (file != null) Files.deleteIfExists(file);
+	}
+
+
+	/**
+	 * More records than the ring buffer has slots have to be written in order, including negative and extreme numbers.
+	 * @throws IOException If the file couldn't be read.
+	 */
+	@Test
+	void csv() throws IOException {
+		List<String> lines = export(false, TrialSink.RING_SIZE + 1000);
+		assertEquals(String.join(",", TrialSink.COLUMNS), lines.get(0));
+		assertEquals(TrialSink.RING_SIZE + 1001, lines.size());
+		assertEquals("0,-9223372036854775808,0,0,0,0,7,0", lines.get(1));
+		assertEquals("12345,-12345,12345,24690,1,12345,7,9223372036854775807", lines.get(12346));
+	}
+
+
+	/**
+	 * Every record is one JSON object with the names of the columns.
+	 * @throws IOException If the file couldn't be read.
+	 */
+	@Test
+	void json() throws IOException {
+		List<String> lines = export(true, 2);
+		assertEquals(2, lines.size());
+		assertEquals("{\"trial\":1,\"seed\":-1,\"codeBitErrors\":1,\"messageBitErrors\":2,\"changedChars\":1,"
+				+ "\"correctedChars\":1,\"flaggedChars\":7,\"decodeNanos\":9223372036854775807}", lines.get(1));
+	}
+
+
+	/**
+	 * Exports the given number of records, whose values are derived from their number.
+	 * @param json Defines whether the records get exported as JSON lines.
+	 * @param records The number of records.
+	 * @return Returns the lines of the file.
+	 * @throws IOException If the file couldn't be read.
+	 */
+	private List<String> export(boolean json, int records) throws IOException {
+		file = Files.createTempFile("trials", json ? ".jsonl" : ".csv");
+		TrialSink.enabled = true;
+		TrialSink.json = json;
+		TrialSink.path = file;
+		TrialSink.open();
+		for (int i = 0; i < records; i++) {
+			TrialSink.add(i == 0 ? Long.MIN_VALUE : -i, i, 2 * i, i % 4, i, 7, i == 0 ? 0 : Long.MAX_VALUE);
+		}
+		TrialSink.close();
+		return Files.readAllLines(file, StandardCharsets.US_ASCII);
+	}
+}
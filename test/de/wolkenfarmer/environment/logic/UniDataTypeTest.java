@@ -0,0 +1,37 @@
+package de.wolkenfarmer.environment.logic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Converts the data of {@link UniDataType} between all of its {@link UniDataType.Format formats}.
+ * @author Wolkenfarmer
+ */
+class UniDataTypeTest {
+	/** The message which gets converted. It contains characters of 1 to 3 bytes.*/
+	private static final String MESSAGE = "Hello World! ÄÖÜ €";
+
+
+	/**
+	 * Converting the message from every format into every other one has to keep the message, 
+	 * the number of bits and the message attached to the data.
+	 */
+	@Test
+	void everyConversionKeepsTheData() {
+		for (UniDataType.Format from : UniDataType.Format.values()) {
+			for (UniDataType.Format to : UniDataType.Format.values()) {
+				UniDataType data = new UniDataType();
+				data.setStringUnicode(MESSAGE);
+				data.setMessage(MESSAGE);
+				data.convert(from);
+				assertEquals(from, data.getFormat());
+				data.convert(to);
+				assertEquals(to, data.getFormat());
+				assertEquals(8L * 23, data.getBitLength(), from + " -> " + to);
+				assertEquals(MESSAGE, data.getStringUnicode(), from + " -> " + to);
+				assertEquals(MESSAGE, data.getMessage(), from + " -> " + to);
+			}
+		}
+	}
+}
@@ -0,0 +1,104 @@
+package de.wolkenfarmer.experiment_elements.input_handlers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import de.wolkenfarmer.environment.logic.Run;
+import de.wolkenfarmer.environment.logic.UniDataType;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Reads a temporary corpus with the {@link CorpusInput corpus input} per file and per line.
+ * @author Wolkenfarmer
+ */
+class CorpusInputTest {
+	/** The directory of the corpus. Gets deleted after every test.*/
+	private Path corpus;
+
+
+	/**
+	 * Stops the prefetcher, deletes the corpus and resets the default configuration.
+	 * @throws IOException If the corpus couldn't be deleted.
+	 */
+	@AfterEach
+	void reset() throws IOException {
+		new CorpusInput().finishRun();
+		CorpusInput.setCorpus(null, false);
+		if (corpus == null) return;
+		try (Stream<Path> files = Files.walk(corpus)) {
+			for (Path p : files.sorted(Comparator.reverseOrder()).toArray(Path[]::new)) {
+				Files.delete(p);
+			}
+		}
+	}
+
+
+	/**
+	 * Every file is one message in the order of the file names, empty files get skipped
+	 * and after the last file it starts over.
+	 * @throws IOException If the corpus couldn't be written.
+	 */
+	@Test
+	void perFile() throws IOException {
+		writeCorpus();
+		CorpusInput.setCorpus(corpus, false);
+		assertMessages("Grüße\naus Köln", "1 € = 100 ¢", "Grüße\naus Köln");
+	}
+
+
+	/**
+	 * Every non-empty line is one message.
+	 * @throws IOException If the corpus couldn't be written.
+	 */
+	@Test
+	void perLine() throws IOException {
+		writeCorpus();
+		CorpusInput.setCorpus(corpus, true);
+		assertMessages("Grüße", "aus Köln", "1 € = 100 ¢", "Grüße");
+	}
+
+
+	/**
+	 * Without a corpus, the standard message has to be sent.
+	 */
+	@Test
+	void noCorpus() {
+		assertMessages(Run.standardUnicodeMessage, Run.standardUnicodeMessage);
+	}
+
+
+	/**
+	 * Writes a corpus of two files with messages and an empty one.
+	 * @throws IOException If the corpus couldn't be written.
+	 */
+	private void writeCorpus() throws IOException {
+		corpus = Files.createTempDirectory("corpus-input");
+		Files.write(corpus.resolve("a.txt"), "Grüße\naus Köln".getBytes(StandardCharsets.UTF_8));
+		Files.write(corpus.resolve("b.txt"), new byte[0]);
+		Files.write(corpus.resolve("c.txt"), "1 € = 100 ¢".getBytes(StandardCharsets.UTF_8));
+	}
+
+
+	/**
+	 * Runs the corpus input and checks that it sends the given messages as data and as message of the data.
+	 * @param messages The expected messages in order.
+	 */
+	private static void assertMessages(String... messages) {
+		CorpusInput input = new CorpusInput();
+		input.prepareRun();
+		for (int i = 0; i < messages.length; i++) {
+			UniDataType data = input.doJob((byte) 0, new UniDataType());
+			assertEquals(messages[i], data.getMessage(), "message " + i);
+			assertEquals(messages[i], data.getStringUnicode(), "message " + i);
+		}
+		input.finishRun();
+	}
+}
@@ -0,0 +1,86 @@
+package de.wolkenfarmer.experiment_elements.input_handlers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import de.wolkenfarmer.environment.logic.Run;
+import de.wolkenfarmer.environment.logic.UniDataType;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Reads a temporary file with the {@link FileInput file input} block after block.
+ * @author Wolkenfarmer
+ */
+class FileInputTest {
+	/** The content of the file. It mixes characters of 1 to 4 bytes, so that block borders fall into characters.*/
+	private static final String CONTENT = "Hello World! Grüße aus Köln, 1 € = 100 ¢ 😀 und noch ein paar Zeichen mehr: ÄÖÜ ß ✓";
+
+	/** The file which gets read. Gets deleted after every test.*/
+	private Path file;
+
+
+	/**
+	 * Closes and deletes the file and resets the default configuration.
+	 * @throws IOException If the file couldn't be deleted.
+	 */
+	@AfterEach
+	void reset() throws IOException {
+		new FileInput().finishRun();
+		FileInput.setFile(null, 64);
+		if (file != null) Files.deleteIfExists(file);
+	}
+
+
+	/**
+	 * For every block size, the blocks have to be whole characters, carry themselves as message
+	 * and give the file again when put together. Afterwards, it has to start over with the first block.
+	 * @throws IOException If the file couldn't be written.
+	 */
+	@Test
+	void blocksGiveTheFile() throws IOException {
+		file = Files.createTempFile("file-input", ".txt");
+		byte[] bytes = CONTENT.getBytes(StandardCharsets.UTF_8);
+		Files.write(file, bytes);
+		FileInput input = new FileInput();
+
+		for (int size = 1; size <= 16; size++) {
+			FileInput.setFile(file, size);
+			input.prepareRun();
+			int trials = input.getTrials(1);
+			assertEquals((bytes.length + size - 1) / size, trials, "size = " + size);
+
+			StringBuilder sb = new StringBuilder();
+			String first = null;
+			for (int i = 0; i < trials; i++) {
+				UniDataType data = input.doJob((byte) 0, new UniDataType());
+				String block = data.getStringUnicode();
+				assertFalse(block.contains("�"), "size = " + size + ", block " + i + ": " + block);
+				assertEquals(block, data.getMessage(), "size = " + size);
+				if (i == 0) first = block;
+				sb.append(block);
+			}
+			assertEquals(CONTENT, sb.toString(), "size = " + size);
+			assertEquals(first, input.doJob((byte) 0, new UniDataType()).getMessage(), "size = " + size);
+			input.finishRun();
+		}
+	}
+
+
+	/**
+	 * Without a file, the standard message has to be sent as often as the experiment gets repeated.
+	 */
+	@Test
+	void noFile() {
+		FileInput input = new FileInput();
+		input.prepareRun();
+		assertEquals(7, input.getTrials(7));
+		assertEquals(Run.standardUnicodeMessage, input.doJob((byte) 0, new UniDataType()).getMessage());
+	}
+}
@@ -0,0 +1,111 @@
+package de.wolkenfarmer.experiment_elements.input_handlers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.wolkenfarmer.environment.logic.Metrics;
+import de.wolkenfarmer.environment.logic.Run;
+import de.wolkenfarmer.environment.logic.UniDataType;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Generates messages with the {@link RandomMessage random message} input handler for all three source models.
+ * @author Wolkenfarmer
+ */
+class RandomMessageTest {
+	/** The sample text of the i.i.d. and Markov model. It contains characters of 1 to 3 bytes.*/
+	private static final String SAMPLE = "abcab äöü € ✓ abba";
+
+
+	/**
+	 * Resets the default configuration.
+	 */
+	@AfterEach
+	void reset() {
+		RandomMessage.setModel((byte) 0, 12, 1, Run.standardUnicodeMessage);
+	}
+
+
+	/**
+	 * Every run with the same seed has to generate the same messages, while another seed generates other ones.
+	 */
+	@Test
+	void sameSeedSameMessages() {
+		for (byte model = 0; model <= 2; model++) {
+			RandomMessage.setModel(model, 30, 42, SAMPLE);
+			String[] first = generate(20, 30);
+			assertEquals(String.join("|", first), String.join("|", generate(20, 30)), "model = " + model);
+			RandomMessage.setModel(model, 30, 43, SAMPLE);
+			assertFalse(String.join("|", first).equals(String.join("|", generate(20, 30))), "model = " + model);
+		}
+	}
+
+
+	/**
+	 * The uniform model only draws printable ASCII characters, the i.i.d. model only characters of the sample
+	 * and the Markov model only transitions which occur in the sample.
+	 */
+	@Test
+	void charactersFitTheModel() {
+		RandomMessage.setModel((byte) 0, 50, 7, SAMPLE);
+		for (String message : generate(20, 50)) {
+			assertTrue(message.chars().allMatch(c -> c >= 0x20 && c < 0x7F), message);
+		}
+
+		RandomMessage.setModel((byte) 1, 50, 7, SAMPLE);
+		for (String message : generate(20, 50)) {
+			assertTrue(message.codePoints().allMatch(c -> SAMPLE.indexOf(c) >= 0), message);
+		}
+
+		RandomMessage.setModel((byte) 2, 50, 7, SAMPLE);
+		for (String message : generate(20, 50)) {
+			int[] c = message.codePoints().toArray();
+			for (int i = 1; i < c.length; i++) {
+				String pair = new String(c, i - 1, 2);
+				assertTrue(SAMPLE.contains(pair), message + ": " + pair);
+			}
+		}
+	}
+
+
+	/**
+	 * Generating a message may only allocate the message and its packed binary, 
+	 * which take less than 512 bytes for 100 ASCII characters, and nothing per character.
+	 */
+	@Test
+	void generationAllocatesNothing() {
+		RandomMessage.setModel((byte) 2, 100, 5, SAMPLE.replaceAll("[^ -~]", ""));
+		RandomMessage input = new RandomMessage();
+		input.prepareRun();
+		UniDataType data = new UniDataType();
+		for (int i = 0; i < 1000; i++) input.doJob((byte) 0, data);
+
+		long allocated = Metrics.allocatedBytes();
+		for (int i = 0; i < 1000; i++) input.doJob((byte) 0, data);
+		allocated = Metrics.allocatedBytes() - allocated;
+		assertTrue(allocated < 1000 * 512, allocated / 1000 + " bytes per message");
+	}
+
+
+	/**
+	 * Generates messages in a new run and checks their length and that they got set as data and as message of the data.
+	 * @param number The number of messages.
+	 * @param length The number of characters per message.
+	 * @return Returns the messages.
+	 */
+	private static String[] generate(int number, int length) {
+		RandomMessage input = new RandomMessage();
+		input.prepareRun();
+		String[] messages = new String[number];
+		for (int i = 0; i < number; i++) {
+			UniDataType data = input.doJob((byte) 0, new UniDataType());
+			messages[i] = data.getMessage();
+			assertEquals(messages[i], data.getStringUnicode());
+			assertEquals(length, messages[i].codePointCount(0, messages[i].length()), messages[i]);
+		}
+		return messages;
+	}
+}
@@ -0,0 +1,151 @@
+package de.wolkenfarmer.experiment_elements.transcoder;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.wolkenfarmer.environment.logic.PackedBinary;
+import de.wolkenfarmer.environment.logic.Run;
+import de.wolkenfarmer.environment.logic.UniDataType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Round trips of the {@link ArqTranscoder ARQ} with its default configuration (frames of 16 units with a CRC of 16 bits).
+ * The further copies of the frames pass a {@link ArqTranscoder#setChannel(de.wolkenfarmer.experiment_elements.ExperimentElement.Channel) channel}
+ * without noise, so that every frame has to arrive with its second copy at the latest.
+ * @author Wolkenfarmer
+ */
+class ArqTranscoderTest {
+	/** The number of code bits of a full frame.*/
+	private static final int FRAME_BITS = 16 * 8 + 16;
+	/** The ARQ of the current test.*/
+	private ArqTranscoder arq;
+
+
+	/**
+	 * Creates the ARQ with a channel without noise for the further copies of the frames.
+	 */
+	@BeforeEach
+	void createArq() {
+		arq = new ArqTranscoder();
+		arq.setChannel((code, transmission) -> code);
+	}
+
+
+	/**
+	 * Empties the chain and removes the results of the last test from {@link Run}.
+	 */
+	@AfterEach
+	void resetRun() {
+		TranscoderChain.setStages();
+		Run.arqFrames = -1;
+	}
+
+
+	/**
+	 * Every frame with a changed first copy has to be sent again, so that the whole message arrives.
+	 */
+	@Test
+	void roundTripWithChanges() {
+		Random random = new Random(1);
+		for (int length = 1; length <= 100; length += 9) {
+			byte[] message = new byte[length];
+			random.nextBytes(message);
+			UniDataType data = arq.doJob((byte) 0, packed(message));
+			PackedBinary changed = data.getPackedBinary();
+			int frames = (changed.getLength() + FRAME_BITS - 1) / FRAME_BITS;
+			int changedFrames = 0;
+			for (int f = 0; f < frames; f++) {
+				if (random.nextBoolean()) continue;
+				int i = f * FRAME_BITS + random.nextInt(Math.min(FRAME_BITS, changed.getLength() - f * FRAME_BITS));
+				changed.set(i, !changed.get(i));
+				changedFrames++;
+			}
+			data.setPackedBinary(changed);
+			data = arq.doJob((byte) 1, data);
+
+			assertArrayEquals(message, data.getPackedBinary().toBytes(), "length = " + length);
+			assertEquals(0, countFlags(data.getErasures()), "length = " + length);
+			assertEquals(frames, Run.arqFrames, "length = " + length);
+			assertTrue(Run.arqRetransmissions >= changedFrames, "length = " + length + ": too few retransmissions");
+		}
+	}
+
+
+	/**
+	 * Frames with an erased unit have to be sent again as well.
+	 */
+	@Test
+	void roundTripWithErasures() {
+		byte[] message = new byte[64];
+		new Random(2).nextBytes(message);
+		UniDataType data = arq.doJob((byte) 0, packed(message));
+		PackedBinary code = data.getPackedBinary();
+		PackedBinary erasures = new PackedBinary(code.getUnits(), 8);
+		erasures.set(3, true);
+		erasures.set(2 * FRAME_BITS / 8 + 5, true);
+		data.setErasures(erasures);
+		data = arq.doJob((byte) 1, data);
+
+		assertArrayEquals(message, data.getPackedBinary().toBytes());
+		assertEquals(0, countFlags(data.getErasures()));
+		assertEquals(4, Run.arqFrames);
+		assertTrue(Run.arqRetransmissions >= 2, "too few retransmissions");
+	}
+
+
+	/**
+	 * Inside a {@link TranscoderChain transcoder chain}, the further copies have to pass the inner {@link RepetitionCode repetition code} 
+	 * as well. A bit which got changed in all three repetitions gets past the repetition code, so that the ARQ has to send its frame again.
+	 */
+	@Test
+	void retransmitsInsideChain() {
+		String message = "Hello World! This message has 3 frames.";
+		TranscoderChain.setStages(arq, new RepetitionCode());
+		TranscoderChain chain = new TranscoderChain();
+		chain.setChannel((code, transmission) -> code);
+		UniDataType data = chain.doJob((byte) 0, packed(message.getBytes(StandardCharsets.UTF_8)));
+		String[] code = data.getStringBinaryArray();
+		char[] unit = code[2].toCharArray();
+		for (int i = 15; i < 18; i++) {
+			unit[i] = unit[i] == '0' ? '1' : '0';
+		}
+		code[2] = new String(unit);
+		data.setStringBinaryArray(code);
+		chain.doJob((byte) 1, data);
+
+		assertEquals(message, Run.correctedMessage);
+		assertEquals(3, Run.arqFrames);
+		assertTrue(Run.arqRetransmissions >= 1, "too few retransmissions");
+	}
+
+
+	/**
+	 * @param message The message.
+	 * @return Returns the message as packed data with 8 bit units.
+	 */
+	private static UniDataType packed(byte[] message) {
+		UniDataType data = new UniDataType();
+		data.setPackedBinary(PackedBinary.fromBytes(message, 0, message.length));
+		return data;
+	}
+
+
+	/**
+	 * @param flags The flags with one bit per unit.
+	 * @return Returns the number of flagged units.
+	 */
+	private static int countFlags(PackedBinary flags) {
+		int count = 0;
+		for (int i = 0; i < flags.getLength(); i++) {
+			if (flags.get(i)) count++;
+		}
+		return count;
+	}
+}
@@ -0,0 +1,101 @@
+package de.wolkenfarmer.experiment_elements.transcoder;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.wolkenfarmer.environment.logic.PackedBinary;
+import de.wolkenfarmer.environment.logic.UniDataType;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Round trips of the {@link BchCode BCH codes} and the {@link BchTranscoder BCH transcoder}.
+ * @author Wolkenfarmer
+ */
+class BchTranscoderTest {
+	/** The number of random error patterns every code gets tested with.*/
+	private static final int PATTERNS = 300;
+
+
+	/**
+	 * Every BCH code of m = 3 - 6 has to correct every tested pattern of up to t changes.
+	 */
+	@Test
+	void correctsUpToTErrors() {
+		Random random = new Random(1);
+		for (int m = 3; m <= 6; m++) {
+			BchCode code;
+			for (int t = 1; (code = BchCode.get(m, t)) != null; t++) {
+				int n = code.getLength();
+				int k = code.getDimension();
+				assertTrue(k > 0 && n == (1 << m) - 1, code.toString());
+				for (int p = 0; p < PATTERNS; p++) {
+					long word = code.encode(random.nextLong() & ((1L << k) - 1));
+					assertTrue(code.isCodeword(word), code + ": no codeword");
+					long error = 0;
+					int errors = random.nextInt(t + 1);
+					while (Long.bitCount(error) < errors) {
+						error |= 1L << random.nextInt(n);
+					}
+					assertEquals(word, code.decode(word ^ error), code + ": " + Long.toBinaryString(error) + " not corrected");
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * The transcoder has to give every message back, even if every word (including the shortened last one) got t changes.
+	 */
+	@Test
+	void roundTrip() {
+		BchTranscoder bch = new BchTranscoder();
+		BinaryBlockCode code = bch.getCode();
+		int t = 2; // the default of BchTranscoder
+		Random random = new Random(2);
+		for (int length = 0; length <= 40; length++) {
+			byte[] message = new byte[length];
+			random.nextBytes(message);
+			UniDataType data = bch.doJob((byte) 0, packed(message));
+			PackedBinary changed = data.getPackedBinary();
+			for (int from = 0; from < changed.getLength(); from += code.getLength()) {
+				int wordLength = Math.min(code.getLength(), changed.getLength() - from);
+				for (int e = 0; e < t; e++) {
+					int i = from + random.nextInt(wordLength);
+					changed.set(i, !changed.get(i));
+				}
+			}
+			data.setPackedBinary(changed);
+			data = bch.doJob((byte) 1, data);
+			assertArrayEquals(message, data.getPackedBinary().toBytes(), "length = " + length);
+			assertEquals(0, countFlags(data.getErasures()), "length = " + length);
+		}
+	}
+
+
+	/**
+	 * @param message The message.
+	 * @return Returns the message as packed data with 8 bit units.
+	 */
+	private static UniDataType packed(byte[] message) {
+		UniDataType data = new UniDataType();
+		data.setPackedBinary(PackedBinary.fromBytes(message, 0, message.length));
+		return data;
+	}
+
+
+	/**
+	 * @param flags The flags with one bit per unit.
+	 * @return Returns the number of flagged units.
+	 */
+	private static int countFlags(PackedBinary flags) {
+		int count = 0;
+		for (int i = 0; i < flags.getLength(); i++) {
+			if (flags.get(i)) count++;
+		}
+		return count;
+	}
+}
@@ -0,0 +1,116 @@
+package de.wolkenfarmer.experiment_elements.transcoder;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import de.wolkenfarmer.environment.logic.PackedBinary;
+import de.wolkenfarmer.environment.logic.UniDataType;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Round trips of the {@link GolayCode Golay codes} and the {@link GolayTranscoder Golay transcoder}.
+ * @author Wolkenfarmer
+ */
+class GolayTranscoderTest {
+	/** The number of random messages every error pattern gets tested with.*/
+	private static final int MESSAGES = 20;
+
+
+	/**
+	 * Both Golay codes have to correct every pattern of up to three changes.
+	 */
+	@Test
+	void correctsThreeErrors() {
+		Random random = new Random(1);
+		for (GolayCode code : new GolayCode[] {GolayTranscoder.GOLAY, GolayTranscoder.EXTENDED_GOLAY}) {
+			int n = code.getLength();
+			for (int m = 0; m < MESSAGES; m++) {
+				long word = code.encode(random.nextInt(1 << code.getDimension()));
+				assertEquals(word, code.decode(word), code + ": codeword got changed");
+				for (int a = 0; a < n; a++) {
+					for (int b = a; b < n; b++) {
+						for (int c = b; c < n; c++) {
+							long error = (1L << a) | (1L << b) | (1L << c);
+							assertEquals(word, code.decode(word ^ error), code + ": " + Long.toBinaryString(error) + " not corrected");
+						}
+					}
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * The extended Golay code has to detect every pattern of four changes.
+	 */
+	@Test
+	void extendedDetectsFourErrors() {
+		GolayCode code = GolayTranscoder.EXTENDED_GOLAY;
+		long word = code.encode(0xA5C);
+		for (int a = 0; a < 24; a++) {
+			for (int b = a + 1; b < 24; b++) {
+				for (int c = b + 1; c < 24; c++) {
+					for (int d = c + 1; d < 24; d++) {
+						long error = (1L << a) | (1L << b) | (1L << c) | (1L << d);
+						assertEquals(BinaryBlockCode.FAILURE, code.decode(word ^ error), Long.toBinaryString(error) + " not detected");
+					}
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * The transcoder has to give every message back, even if every word (including the shortened last one) got three changes.
+	 */
+	@Test
+	void roundTrip() {
+		GolayTranscoder golay = new GolayTranscoder();
+		BinaryBlockCode code = golay.getCode();
+		Random random = new Random(2);
+		for (int length = 0; length <= 40; length++) {
+			byte[] message = new byte[length];
+			random.nextBytes(message);
+			UniDataType data = golay.doJob((byte) 0, packed(message));
+			PackedBinary changed = data.getPackedBinary();
+			for (int from = 0; from < changed.getLength(); from += code.getLength()) {
+				int wordLength = Math.min(code.getLength(), changed.getLength() - from);
+				for (int e = 0; e < 3; e++) {
+					int i = from + random.nextInt(wordLength);
+					changed.set(i, !changed.get(i));
+				}
+			}
+			data.setPackedBinary(changed);
+			data = golay.doJob((byte) 1, data);
+			assertArrayEquals(message, data.getPackedBinary().toBytes(), "length = " + length);
+			assertEquals(0, countFlags(data.getErasures()), "length = " + length);
+		}
+	}
+
+
+	/**
+	 * @param message The message.
+	 * @return Returns the message as packed data with 8 bit units.
+	 */
+	private static UniDataType packed(byte[] message) {
+		UniDataType data = new UniDataType();
+		data.setPackedBinary(PackedBinary.fromBytes(message, 0, message.length));
+		return data;
+	}
+
+
+	/**
+	 * @param flags The flags with one bit per unit.
+	 * @return Returns the number of flagged units.
+	 */
+	private static int countFlags(PackedBinary flags) {
+		int count = 0;
+		for (int i = 0; i < flags.getLength(); i++) {
+			if (flags.get(i)) count++;
+		}
+		return count;
+	}
+}
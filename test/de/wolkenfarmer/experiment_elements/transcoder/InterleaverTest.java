@@ -0,0 +1,115 @@
+package de.wolkenfarmer.experiment_elements.transcoder;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.wolkenfarmer.environment.logic.PackedBinary;
+import de.wolkenfarmer.environment.logic.UniDataType;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Round trips of the {@link Interleaver interleaver} without an inner transcoder for both types and different shapes. <br>
+ * The decoding runs without setting the message-versions in Run (task = 2), since the bits aren't a message.
+ * @author Wolkenfarmer
+ */
+class InterleaverTest {
+	/** The number of rows and columns of the default block interleaver.*/
+	private static final int SIZE = 8;
+
+
+	/**
+	 * Sets the default shape (block interleaver of 8 * 8 bits) again.
+	 */
+	@AfterEach
+	void resetShape() {
+		Interleaver.setShape(false, 8, 8);
+	}
+
+
+	/**
+	 * The block interleaver has to put every code back in its original order, with the delta swaps (8 * 8) 
+	 * and with the index table (3 * 5).
+	 */
+	@Test
+	void roundTripBlock() {
+		Interleaver.setShape(false, 8, 8);
+		roundTrip("8 x 8");
+		Interleaver.setShape(false, 3, 5);
+		roundTrip("3 x 5");
+	}
+
+
+	/**
+	 * The convolutional interleaver has to put every code back in its original order, including the bits after the last full row.
+	 */
+	@Test
+	void roundTripConvolutional() {
+		Interleaver.setShape(true, 4, 2);
+		roundTrip("4 x 2");
+		Interleaver.setShape(true, 3, 5);
+		roundTrip("3 x 5");
+	}
+
+
+	/**
+	 * A burst of {@link #SIZE} changed bits in the interleaved code has to be spread over the rows,
+	 * so that every row of {@link #SIZE} bits has at most one changed bit after deinterleaving.
+	 */
+	@Test
+	void burstGetsSpread() {
+		Interleaver interleaver = new Interleaver();
+		for (int start = 0; start + SIZE <= 3 * SIZE * SIZE; start++) {
+			UniDataType data = new UniDataType();
+			data.setPackedBinary(new PackedBinary(3 * SIZE * SIZE, 8));
+			data = interleaver.doJob((byte) 0, data);
+			PackedBinary code = data.getPackedBinary();
+			for (int i = start; i < start + SIZE; i++) {
+				code.set(i, true);
+			}
+			data.setPackedBinary(code);
+			data = interleaver.doJob((byte) 2, data);
+
+			PackedBinary message = data.getPackedBinary();
+			int changes = 0;
+			for (int row = 0; row < message.getLength() / SIZE; row++) {
+				int inRow = Long.bitCount(message.getBits(row * SIZE, SIZE));
+				assertTrue(inRow <= 1, "start = " + start + ": " + inRow + " changed bits in row " + row);
+				changes += inRow;
+			}
+			assertEquals(SIZE, changes, "start = " + start);
+		}
+	}
+
+
+	/**
+	 * Interleaves and deinterleaves codes of 0 to 300 random bits, including the bits after the last full block or row.
+	 * The longer codes have to differ from their messages, so that the bits got moved at all.
+	 * @param shape The shape for the assertion messages.
+	 */
+	private static void roundTrip(String shape) {
+		Interleaver interleaver = new Interleaver();
+		Random random = new Random(1);
+		for (int length = 0; length <= 300; length++) {
+			PackedBinary message = new PackedBinary(length, 8);
+			for (int i = 0; i < length; i++) {
+				message.set(i, random.nextBoolean());
+			}
+			UniDataType data = new UniDataType();
+			data.setPackedBinary(message.copy());
+			data = interleaver.doJob((byte) 0, data);
+			assertEquals(length, data.getPackedBinary().getLength(), shape + ", length = " + length);
+			if (length >= 64) {
+				assertFalse(Arrays.equals(message.getWords(), data.getPackedBinary().getWords()), shape + ", length = " + length);
+			}
+			data = interleaver.doJob((byte) 2, data);
+			assertArrayEquals(message.getWords(), data.getPackedBinary().getWords(), shape + ", length = " + length);
+		}
+	}
+}
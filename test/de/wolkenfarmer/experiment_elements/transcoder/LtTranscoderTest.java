@@ -0,0 +1,124 @@
+package de.wolkenfarmer.experiment_elements.transcoder;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.wolkenfarmer.environment.logic.PackedBinary;
+import de.wolkenfarmer.environment.logic.Run;
+import de.wolkenfarmer.environment.logic.UniDataType;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Round trips of the {@link LtTranscoder LT code} over a range of message lengths.
+ * @author Wolkenfarmer
+ */
+class LtTranscoderTest {
+	/** The number of blocks which get encoded for every message length.*/
+	private static final int BLOCKS = 100;
+
+
+	/**
+	 * Every message length from 1 to 80 symbols has to be decodable without erasures in some of the blocks, 
+	 * since every block gets its own graph. Every decoded block has to give the message back 
+	 * and every failed one has to be reported and flagged.
+	 */
+	@Test
+	void roundTripWithoutErasures() {
+		LtTranscoder lt = new LtTranscoder();
+		lt.prepareRun();
+		Random random = new Random(1);
+		for (int k = 1; k <= 80; k++) {
+			int decoded = 0;
+			for (int b = 0; b < BLOCKS; b++) {
+				byte[] message = new byte[k];
+				random.nextBytes(message);
+				UniDataType data = lt.doJob((byte) 0, packed(message));
+				data = lt.doJob((byte) 1, data);
+				if (Run.decodeFailures == 0) {
+					decoded++;
+					assertTrue(Run.symbolsNeeded >= k, "k = " + k + ": fewer symbols than message symbols needed");
+					assertArrayEquals(message, data.getPackedBinary().toBytes(), "k = " + k + ": wrong message");
+				} else {
+					assertEquals(1, Run.decodeFailures, "k = " + k);
+					assertEquals(-1, Run.symbolsNeeded, "k = " + k);
+					assertTrue(data.getErasures() != null && countFlags(data.getErasures()) > 0, "k = " + k + ": nothing flagged");
+				}
+			}
+			assertTrue(decoded > 0, "k = " + k + ": no block could be decoded");
+		}
+	}
+
+
+	/**
+	 * Decoded blocks have to give the message back even if some code symbols got erased.
+	 */
+	@Test
+	void roundTripWithErasures() {
+		LtTranscoder lt = new LtTranscoder();
+		lt.prepareRun();
+		Random random = new Random(2);
+		int header = LtTranscoder.getHeaderSymbols(8);
+		for (int k = 1; k <= 64; k += 7) {
+			for (int b = 0; b < BLOCKS; b++) {
+				byte[] message = new byte[k];
+				random.nextBytes(message);
+				UniDataType data = lt.doJob((byte) 0, packed(message));
+				int units = data.getPackedBinary().getUnits();
+				PackedBinary erasures = new PackedBinary(units, 8);
+				for (int u = header; u < units; u++) {
+					if (random.nextInt(10) == 0) erasures.set(u, true);
+				}
+				data.setErasures(erasures);
+				data = lt.doJob((byte) 1, data);
+				if (Run.decodeFailures == 0) {
+					assertArrayEquals(message, data.getPackedBinary().toBytes(), "k = " + k + ": wrong message");
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * A block whose header got erased can't be decoded and has to be reported as failure.
+	 */
+	@Test
+	void erasedHeaderFails() {
+		LtTranscoder lt = new LtTranscoder();
+		lt.prepareRun();
+		UniDataType data = lt.doJob((byte) 0, packed(new byte[] {1, 2, 3, 4, 5, 6, 7, 8}));
+		PackedBinary erasures = new PackedBinary(data.getPackedBinary().getUnits(), 8);
+		erasures.set(0, true);
+		data.setErasures(erasures);
+		data = lt.doJob((byte) 1, data);
+		assertEquals(1, Run.decodeFailures);
+		assertEquals(8, countFlags(data.getErasures()));
+	}
+
+
+	/**
+	 * @param message The message.
+	 * @return Returns the message as packed data with 8 bit units.
+	 */
+	private static UniDataType packed(byte[] message) {
+		UniDataType data = new UniDataType();
+		data.setPackedBinary(PackedBinary.fromBytes(message, 0, message.length));
+		return data;
+	}
+
+
+	/**
+	 * @param flags The flags with one bit per unit.
+	 * @return Returns the number of flagged units.
+	 */
+	private static int countFlags(PackedBinary flags) {
+		int count = 0;
+		for (int i = 0; i < flags.getLength(); i++) {
+			if (flags.get(i)) count++;
+		}
+		return count;
+	}
+}
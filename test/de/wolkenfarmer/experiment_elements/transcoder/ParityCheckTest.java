@@ -0,0 +1,105 @@
+package de.wolkenfarmer.experiment_elements.transcoder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import de.wolkenfarmer.environment.logic.Run;
+import de.wolkenfarmer.environment.logic.UniDataType;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the decoding of packed units via the syndrome table of the {@link ParityCheck parity check} 
+ * with the decoding of String[](binary), which uses {@link ParityCheck#decodeSimple(String[])} and the cross parity check on Strings.
+ * @author Wolkenfarmer
+ */
+class ParityCheckTest {
+	/** The characters of the random messages. They have 1 to 3 bytes.*/
+	private static final String SAMPLE = "abcxyz !?äöüß€✓";
+
+
+	/**
+	 * Sets the default simple parity check again.
+	 */
+	@AfterEach
+	void reset() {
+		ParityCheck.setCrossPC(false, (short) 8);
+	}
+
+
+	/**
+	 * The simple parity check has to give the same message-versions on both paths.
+	 */
+	@Test
+	void packedEqualsStringsSimple() {
+		ParityCheck.setCrossPC(false, (short) 8);
+		compare("simple");
+	}
+
+
+	/**
+	 * The cross parity check has to give the same message-versions on both paths, 
+	 * also if the number of units doesn't fit the segments.
+	 */
+	@Test
+	void packedEqualsStringsCross() {
+		ParityCheck.setCrossPC(true, (short) 8);
+		compare("cross 8");
+		ParityCheck.setCrossPC(true, (short) 3);
+		compare("cross 3");
+	}
+
+
+	/**
+	 * Encodes random messages of 1 to 40 characters with different seeds, changes some bits of the code 
+	 * and decodes it once as String[](binary) and once packed.
+	 * @param type The type of the parity check for the assertion messages.
+	 */
+	private static void compare(String type) {
+		ParityCheck parityCheck = new ParityCheck();
+		for (long seed = 1; seed <= 5; seed++) {
+			Random random = new Random(seed);
+			for (int length = 1; length <= 40; length++) {
+				StringBuilder sb = new StringBuilder();
+				for (int i = 0; i < length; i++) {
+					sb.append(SAMPLE.charAt(random.nextInt(SAMPLE.length())));
+				}
+				UniDataType data = new UniDataType();
+				data.setStringUnicode(sb.toString());
+				String[] code = parityCheck.doJob((byte) 0, data).getStringBinaryArray();
+				for (int i = 0; i < code.length; i++) {
+					char[] unit = code[i].toCharArray();
+					for (int k = 0; k < unit.length; k++) {
+						if (random.nextInt(25) == 0) unit[k] = unit[k] == '0' ? '1' : '0';
+					}
+					code[i] = new String(unit);
+				}
+				String at = type + ", seed = " + seed + ", length = " + length;
+
+				UniDataType strings = new UniDataType();
+				strings.setStringBinaryArray(code.clone());
+				String expected = decode(parityCheck, strings);
+
+				UniDataType packed = new UniDataType();
+				packed.setStringBinaryArray(code.clone());
+				packed.convert(UniDataType.Format.PACKED);
+				assertEquals(9, packed.getPackedBinary().getUnitLength(), at);
+				assertEquals(expected, decode(parityCheck, packed), at);
+			}
+		}
+	}
+
+
+	/**
+	 * Decodes the data and puts the message-versions together.
+	 * @param parityCheck The parity check which decodes the data.
+	 * @param data The code.
+	 * @return Returns the changed, corrected and corrected-flagged message separated by line breaks.
+	 */
+	private static String decode(ParityCheck parityCheck, UniDataType data) {
+		parityCheck.doJob((byte) 1, data);
+		return Run.changedMessage + "\n" + Run.correctedMessage + "\n" + Run.correctedFlaggedMessage;
+	}
+}
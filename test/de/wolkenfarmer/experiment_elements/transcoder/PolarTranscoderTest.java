@@ -0,0 +1,98 @@
+package de.wolkenfarmer.experiment_elements.transcoder;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.wolkenfarmer.environment.logic.PackedBinary;
+import de.wolkenfarmer.environment.logic.UniDataType;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Round trips of the {@link PolarTranscoder polar code} with its default configuration
+ * (words of 128 bits with 56 message bits, a list of 4 paths and a CRC).
+ * @author Wolkenfarmer
+ */
+class PolarTranscoderTest {
+	/** The number of bits of a word of the default polar code.*/
+	private static final int WORD_BITS = 128;
+
+
+	/**
+	 * Every message length, including the shortened last words, has to be given back without changes.
+	 */
+	@Test
+	void roundTripWithoutErrors() {
+		PolarTranscoder polar = new PolarTranscoder();
+		Random random = new Random(1);
+		for (int length = 0; length <= 40; length++) {
+			byte[] message = new byte[length];
+			random.nextBytes(message);
+			UniDataType data = polar.doJob((byte) 0, packed(message));
+			data = polar.doJob((byte) 1, data);
+			assertArrayEquals(message, data.getPackedBinary().toBytes(), "length = " + length);
+			assertEquals(0, countFlags(data.getErasures()), "length = " + length);
+		}
+	}
+
+
+	/**
+	 * Two changes per word have to be corrected. Every unit which still differs from the message has to be flagged.
+	 */
+	@Test
+	void roundTripWithErrors() {
+		PolarTranscoder polar = new PolarTranscoder();
+		Random random = new Random(2);
+		int decoded = 0;
+		for (int m = 0; m < 200; m++) {
+			byte[] message = new byte[1 + random.nextInt(20)];
+			random.nextBytes(message);
+			UniDataType data = polar.doJob((byte) 0, packed(message));
+			PackedBinary changed = data.getPackedBinary();
+			for (int from = 0; from < changed.getLength(); from += WORD_BITS) {
+				int wordLength = Math.min(WORD_BITS, changed.getLength() - from);
+				for (int e = 0; e < 2; e++) {
+					int i = from + random.nextInt(wordLength);
+					changed.set(i, !changed.get(i));
+				}
+			}
+			data.setPackedBinary(changed);
+			data = polar.doJob((byte) 1, data);
+
+			byte[] result = data.getPackedBinary().toBytes();
+			PackedBinary flags = data.getErasures();
+			for (int u = 0; u < message.length; u++) {
+				assertTrue(result[u] == message[u] || flags.get(u), "unit " + u + " changed without being flagged");
+			}
+			if (countFlags(flags) == 0) decoded++;
+		}
+		assertTrue(decoded >= 190, "only " + decoded + " of 200 messages decoded");
+	}
+
+
+	/**
+	 * @param message The message.
+	 * @return Returns the message as packed data with 8 bit units.
+	 */
+	private static UniDataType packed(byte[] message) {
+		UniDataType data = new UniDataType();
+		data.setPackedBinary(PackedBinary.fromBytes(message, 0, message.length));
+		return data;
+	}
+
+
+	/**
+	 * @param flags The flags with one bit per unit.
+	 * @return Returns the number of flagged units.
+	 */
+	private static int countFlags(PackedBinary flags) {
+		int count = 0;
+		for (int i = 0; i < flags.getLength(); i++) {
+			if (flags.get(i)) count++;
+		}
+		return count;
+	}
+}
@@ -0,0 +1,132 @@
+package de.wolkenfarmer.experiment_elements.transcoder;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.wolkenfarmer.environment.logic.PackedBinary;
+import de.wolkenfarmer.environment.logic.UniDataType;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Round trips of the {@link ProductCode product code} with its default components and of all its {@link ProductCode#COMPONENTS components}.
+ * @author Wolkenfarmer
+ */
+class ProductCodeTest {
+	/** The number of code bits of a full block of the default product code (two parity codes of 8 message bits).*/
+	private static final int BLOCK_BITS = 9 * 9;
+
+
+	/**
+	 * Every component has to correct every single change, except the parity code, which has to detect it.
+	 */
+	@Test
+	void componentsHandleSingleErrors() {
+		Random random = new Random(1);
+		for (BinaryBlockCode code : ProductCode.COMPONENTS) {
+			for (int m = 0; m < 20; m++) {
+				long word = code.encode(random.nextLong() & ((1L << code.getDimension()) - 1));
+				assertEquals(word, code.decode(word), code + ": codeword got changed");
+				for (int i = 0; i < code.getLength(); i++) {
+					long expected = code instanceof SingleParityCode ? BinaryBlockCode.FAILURE : word;
+					assertEquals(expected, code.decode(word ^ (1L << i)), code + ": bit " + i);
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * The number of code bits and message bits have to be inverse for every length.
+	 */
+	@Test
+	void lengthsAreInverse() {
+		for (int bits = 0; bits <= 1000; bits++) {
+			assertEquals(bits, ProductCode.getMessageBits(ProductCode.getCodeBits(bits)), "bits = " + bits);
+		}
+	}
+
+
+	/**
+	 * The product code has to give every message back, even if every full block got one change.
+	 */
+	@Test
+	void roundTrip() {
+		ProductCode product = new ProductCode();
+		Random random = new Random(2);
+		for (int length = 0; length <= 40; length++) {
+			byte[] message = new byte[length];
+			random.nextBytes(message);
+			UniDataType data = product.doJob((byte) 0, packed(message));
+			PackedBinary changed = data.getPackedBinary();
+			assertEquals(ProductCode.getCodeBits(length * 8), changed.getLength(), "length = " + length);
+			for (int from = 0; from + BLOCK_BITS <= changed.getLength(); from += BLOCK_BITS) {
+				int i = from + random.nextInt(BLOCK_BITS);
+				changed.set(i, !changed.get(i));
+			}
+			data.setPackedBinary(changed);
+			data = product.doJob((byte) 1, data);
+			assertArrayEquals(message, data.getPackedBinary().toBytes(), "length = " + length);
+			assertEquals(0, countFlags(data.getErasures()), "length = " + length);
+		}
+	}
+
+
+	/**
+	 * Two changes in different rows and columns of a block can't be corrected by two parity codes,
+	 * so every unit which differs from the message has to be flagged.
+	 */
+	@Test
+	void uncorrectableErrorsGetFlagged() {
+		ProductCode product = new ProductCode();
+		Random random = new Random(3);
+		for (int b = 0; b < 100; b++) {
+			byte[] message = new byte[16];
+			random.nextBytes(message);
+			UniDataType data = product.doJob((byte) 0, packed(message));
+			PackedBinary changed = data.getPackedBinary();
+			int row = random.nextInt(8);
+			int column = random.nextInt(8);
+			changed.set(row * 9 + column, !changed.get(row * 9 + column));
+			int otherRow = (row + 1 + random.nextInt(7)) % 8;
+			int otherColumn = (column + 1 + random.nextInt(7)) % 8;
+			changed.set(otherRow * 9 + otherColumn, !changed.get(otherRow * 9 + otherColumn));
+			data.setPackedBinary(changed);
+			data = product.doJob((byte) 1, data);
+
+			byte[] decoded = data.getPackedBinary().toBytes();
+			PackedBinary flags = data.getErasures();
+			assertTrue(countFlags(flags) > 0, "nothing flagged");
+			for (int u = 0; u < message.length; u++) {
+				assertTrue(decoded[u] == message[u] || flags.get(u), "unit " + u + " changed without being flagged");
+			}
+		}
+	}
+
+
+	/**
+	 * @param message The message.
+	 * @return Returns the message as packed data with 8 bit units.
+	 */
+	private static UniDataType packed(byte[] message) {
+		UniDataType data = new UniDataType();
+		data.setPackedBinary(PackedBinary.fromBytes(message, 0, message.length));
+		return data;
+	}
+
+
+	/**
+	 * @param flags The flags with one bit per unit.
+	 * @return Returns the number of flagged units.
+	 */
+	private static int countFlags(PackedBinary flags) {
+		int count = 0;
+		for (int i = 0; i < flags.getLength(); i++) {
+			if (flags.get(i)) count++;
+		}
+		return count;
+	}
+}
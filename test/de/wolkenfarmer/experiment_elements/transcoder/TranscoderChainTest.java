@@ -0,0 +1,133 @@
+package de.wolkenfarmer.experiment_elements.transcoder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import de.wolkenfarmer.environment.logic.Run;
+import de.wolkenfarmer.environment.logic.UniDataType;
+import de.wolkenfarmer.experiment_elements.ExperimentElement;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Round trips through the {@link TranscoderChain transcoder chain} with a {@link RepetitionCode repetition code}
+ * (default 3 repetitions) as outer code and a {@link ParityCheck parity check} as inner code.
+ * @author Wolkenfarmer
+ */
+class TranscoderChainTest {
+	/** The message which gets encoded and decoded by the chains.*/
+	private static final String MESSAGE = "Hello World! ÄÖÜ €";
+
+
+	/**
+	 * Empties the chain and resets the default shape and inner transcoder of the interleaver again.
+	 */
+	@AfterEach
+	void reset() {
+		TranscoderChain.setStages();
+		Interleaver.setShape(false, 8, 8);
+		Interleaver.setInner(null);
+	}
+
+
+	/**
+	 * Without any changes, every message-version has to be the original message.
+	 */
+	@Test
+	void roundTrip() {
+		TranscoderChain.setStages(new RepetitionCode(), new ParityCheck());
+		UniDataType data = encode();
+		new TranscoderChain().doJob((byte) 1, data);
+		assertEquals(MESSAGE, Run.changedMessage);
+		assertEquals(MESSAGE, Run.correctedMessage);
+		assertEquals(MESSAGE, Run.correctedFlaggedMessage);
+	}
+
+
+	/**
+	 * The chain with an {@link Interleaver interleaver} between the stages has to restore the message as well,
+	 * also with a shape which doesn't fit the length of the code.
+	 */
+	@Test
+	void roundTripInterleaved() {
+		Interleaver.setShape(false, 3, 5);
+		TranscoderChain.setStages(new RepetitionCode(), new Interleaver(), new ParityCheck());
+		UniDataType data = encode();
+		new TranscoderChain().doJob((byte) 1, data);
+		assertEquals(MESSAGE, Run.correctedMessage);
+		assertEquals(MESSAGE, Run.correctedFlaggedMessage);
+	}
+
+
+	/**
+	 * A changed bit in a unit can only be detected by the inner parity check. It hands the unit on unflagged,
+	 * so that the outer repetition code corrects it.
+	 */
+	@Test
+	void innerStageHandsOnCorrectedData() {
+		TranscoderChain.setStages(new RepetitionCode(), new ParityCheck());
+		UniDataType data = encode();
+		String[] code = data.getStringBinaryArray();
+		for (int i = 0; i < code.length; i += 2) {
+			char[] unit = code[i].toCharArray();
+			int bit = (i * 5) % unit.length;
+			unit[bit] = unit[bit] == '0' ? '1' : '0';
+			code[i] = new String(unit);
+		}
+		data.setStringBinaryArray(code);
+		new TranscoderChain().doJob((byte) 1, data);
+		assertEquals(MESSAGE, Run.correctedMessage);
+		assertEquals(MESSAGE, Run.correctedFlaggedMessage);
+	}
+
+
+	/**
+	 * The chain has to prepare and finish every stage and the interleaver its inner transcoder.
+	 */
+	@Test
+	void forwardsRunPreparation() {
+		CountingStage outer = new CountingStage();
+		CountingStage inner = new CountingStage();
+		TranscoderChain.setStages(outer, inner);
+		new TranscoderChain().prepareRun();
+		new TranscoderChain().finishRun();
+		assertEquals("1,1", outer.prepared + "," + outer.finished);
+		assertEquals("1,1", inner.prepared + "," + inner.finished);
+
+		Interleaver.setInner(inner);
+		new Interleaver().prepareRun();
+		new Interleaver().finishRun();
+		assertEquals("2,2", inner.prepared + "," + inner.finished);
+	}
+
+
+	/**
+	 * Encodes {@link #MESSAGE} with the current stages of the chain.
+	 * @return Returns the code.
+	 */
+	private static UniDataType encode() {
+		UniDataType data = new UniDataType();
+		data.setStringUnicode(MESSAGE);
+		return new TranscoderChain().doJob((byte) 0, data);
+	}
+
+
+	/**
+	 * A stage which hands the data on unchanged and counts how often it got prepared and finished.
+	 */
+	private static class CountingStage extends ExperimentElement {
+		/** The number of calls of {@link #prepareRun()}.*/
+		int prepared;
+		/** The number of calls of {@link #finishRun()}.*/
+		int finished;
+
+		@Override
+		public UniDataType doJob(byte task, UniDataType data) {return data;}
+		@Override
+		public void buildGui(double parentWidth) {}
+		@Override
+		public void prepareRun() {prepared++;}
+		@Override
+		public void finishRun() {finished++;}
+	}
+}
@@ -0,0 +1,104 @@
+package de.wolkenfarmer.experiment_elements.transcoder;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.wolkenfarmer.environment.logic.PackedBinary;
+import de.wolkenfarmer.environment.logic.UniDataType;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Round trips of the {@link TurboTranscoder turbo code} with its default configuration
+ * (blocks of 128 message bits and 8 iterations).
+ * @author Wolkenfarmer
+ */
+class TurboTranscoderTest {
+	/** The number of code bits of a full block of the default turbo code.*/
+	private static final int BLOCK_BITS = 3 * 128 + 2 * TurboDecoder.TAIL;
+
+
+	/**
+	 * Every message length, including the shorter last blocks, has to be given back without changes.
+	 */
+	@Test
+	void roundTripWithoutErrors() {
+		TurboTranscoder turbo = new TurboTranscoder();
+		Random random = new Random(1);
+		for (int length = 0; length <= 40; length++) {
+			byte[] message = new byte[length];
+			random.nextBytes(message);
+			UniDataType data = turbo.doJob((byte) 0, packed(message));
+			assertEquals(3 * length * 8 + 2 * TurboDecoder.TAIL * ((length * 8 + 127) / 128), data.getPackedBinary().getLength());
+			data = turbo.doJob((byte) 1, data);
+			assertArrayEquals(message, data.getPackedBinary().toBytes(), "length = " + length);
+			assertEquals(0, countFlags(data.getErasures()), "length = " + length);
+		}
+	}
+
+
+	/**
+	 * A few changes and erased units per block have to be corrected. Every unit which still differs from the message has to be flagged.
+	 */
+	@Test
+	void roundTripWithErrorsAndErasures() {
+		TurboTranscoder turbo = new TurboTranscoder();
+		Random random = new Random(2);
+		int decoded = 0;
+		for (int m = 0; m < 200; m++) {
+			byte[] message = new byte[1 + random.nextInt(40)];
+			random.nextBytes(message);
+			UniDataType data = turbo.doJob((byte) 0, packed(message));
+			PackedBinary changed = data.getPackedBinary();
+			for (int from = 0; from < changed.getLength(); from += BLOCK_BITS) {
+				int blockLength = Math.min(BLOCK_BITS, changed.getLength() - from);
+				for (int e = 0; e < 4; e++) {
+					int i = from + random.nextInt(blockLength);
+					changed.set(i, !changed.get(i));
+				}
+			}
+			PackedBinary erasures = new PackedBinary(changed.getUnits() + (changed.getLength() % 8 == 0 ? 0 : 1), 8);
+			for (int u = 0; u < erasures.getLength(); u++) {
+				if (random.nextInt(50) == 0) erasures.set(u, true);
+			}
+			data.setPackedBinary(changed);
+			data.setErasures(erasures);
+			data = turbo.doJob((byte) 1, data);
+
+			byte[] result = data.getPackedBinary().toBytes();
+			PackedBinary flags = data.getErasures();
+			for (int u = 0; u < message.length; u++) {
+				assertTrue(result[u] == message[u] || flags.get(u), "unit " + u + " changed without being flagged");
+			}
+			if (countFlags(flags) == 0) decoded++;
+		}
+		assertTrue(decoded >= 190, "only " + decoded + " of 200 messages decoded");
+	}
+
+
+	/**
+	 * @param message The message.
+	 * @return Returns the message as packed data with 8 bit units.
+	 */
+	private static UniDataType packed(byte[] message) {
+		UniDataType data = new UniDataType();
+		data.setPackedBinary(PackedBinary.fromBytes(message, 0, message.length));
+		return data;
+	}
+
+
+	/**
+	 * @param flags The flags with one bit per unit.
+	 * @return Returns the number of flagged units.
+	 */
+	private static int countFlags(PackedBinary flags) {
+		int count = 0;
+		for (int i = 0; i < flags.getLength(); i++) {
+			if (flags.get(i)) count++;
+		}
+		return count;
+	}
+}